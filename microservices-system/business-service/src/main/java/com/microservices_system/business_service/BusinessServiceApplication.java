@@ -0,0 +1,17 @@
+package com.microservices_system.business_service;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableFeignClients
+@EnableScheduling
+public class BusinessServiceApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(BusinessServiceApplication.class, args);
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.microservices_system.business_service.admision;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class AdmisionConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmisionFilter> admisionFilter(
+            ControlAdmision controlAdmision,
+            @Value("${admision.habilitada:true}") boolean habilitada,
+            @Value("${admision.sobrecarga.retry-after-segundos:1}") long retryAfterSobrecargaSegundos) {
+        FilterRegistrationBean<AdmisionFilter> registro =
+                new FilterRegistrationBean<>(new AdmisionFilter(controlAdmision, retryAfterSobrecargaSegundos));
+        registro.addUrlPatterns("/api/*");
+        registro.setEnabled(habilitada);
+        // Antes que el resto de los filtros, para que rechazar sea lo más barato posible
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+}
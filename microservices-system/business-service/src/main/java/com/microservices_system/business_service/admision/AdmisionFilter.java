@@ -0,0 +1,61 @@
+package com.microservices_system.business_service.admision;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Aplica el {@link ControlAdmision} antes de que la petición llegue al
+ * controlador: responde 503 si hay sobrecarga para la prioridad del cliente y
+ * 429 si se le acabó la cuota, ambos con {@code Retry-After}. Una petición
+ * rechazada por sobrecarga no consume cuota.
+ */
+public class AdmisionFilter extends OncePerRequestFilter {
+    private final ControlAdmision controlAdmision;
+    private final long retryAfterSobrecargaSegundos;
+
+    public AdmisionFilter(ControlAdmision controlAdmision, long retryAfterSobrecargaSegundos) {
+        this.controlAdmision = controlAdmision;
+        this.retryAfterSobrecargaSegundos = retryAfterSobrecargaSegundos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CuotaCliente cuota = controlAdmision.cuota(request.getHeader(ControlAdmision.ENCABEZADO_CLAVE),
+                request.getRemoteAddr());
+        if (!controlAdmision.ocupar(cuota.prioridad())) {
+            rechazar(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSobrecargaSegundos,
+                    "Servicio sobrecargado, reintente más tarde");
+            return;
+        }
+        try {
+            long esperaNanos = cuota.consumir(System.nanoTime(), controlAdmision.costo(request.getRequestURI()));
+            if (esperaNanos > 0) {
+                rechazar(response, HttpStatus.TOO_MANY_REQUESTS, (esperaNanos + 999_999_999) / 1_000_000_000,
+                        "Cuota de peticiones excedida");
+                return;
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            controlAdmision.liberar();
+        }
+    }
+
+    private static void rechazar(HttpServletResponse response, HttpStatus estado, long retryAfterSegundos,
+                                 String mensaje) throws IOException {
+        response.setStatus(estado.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"" + mensaje + "\"}");
+    }
+}
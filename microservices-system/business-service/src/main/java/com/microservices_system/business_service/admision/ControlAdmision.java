@@ -0,0 +1,226 @@
+package com.microservices_system.business_service.admision;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decide qué peticiones de la API de negocio se atienden.
+ * <p>
+ * Cada cliente, identificado por {@code X-Api-Key} o, sin clave, por su
+ * dirección remota, tiene un cubo de tokens; cada petición consume el costo de
+ * su endpoint según {@code admision.costos} (1 si no figura). Solo las claves
+ * de {@code admision.claves} se reconocen: tienen cuota y prioridad propias (la
+ * cuota general y prioridad normal si no las indican). Una clave que no figura
+ * cuenta como si no se hubiera enviado, así que inventar o rotar claves no da
+ * más cuota que la de {@code admision.anonimos}, con prioridad baja, por
+ * dirección remota.
+ * <p>
+ * Se guardan como mucho {@code maximo-clientes} cubos. Al llegar al máximo se
+ * descartan los llenos y, si no alcanza, los que menos tiempo necesitan para
+ * llenarse, hasta bajar al 90%; descartar un cubo le devuelve al cliente la
+ * capacidad completa, así que se regala la menor cuota posible.
+ * <p>
+ * Aparte de las cuotas, se limita la cantidad de peticiones en curso: las de
+ * prioridad baja se rechazan al llegar a {@code porcentaje-baja} de
+ * {@code concurrencia-maxima}, las normales a {@code porcentaje-normal} y las
+ * altas al máximo. Todo el camino de cada petición es sin bloqueos.
+ */
+@Component
+@Slf4j
+public class ControlAdmision {
+    public static final String ENCABEZADO_CLAVE = "X-Api-Key";
+
+    private record Limite(double tasaPorSegundo, int capacidad, Prioridad prioridad) {
+    }
+
+    private final Limite general;
+    private final Limite anonimos;
+    private final Map<String, Limite> claves = new HashMap<>();
+    private final List<PathPattern> patronesCosto = new ArrayList<>();
+    private final List<Integer> costos = new ArrayList<>();
+    private final int[] limitePorPrioridad = new int[Prioridad.values().length];
+    private final int maximoClientes;
+
+    private final ConcurrentHashMap<String, CuotaCliente> cuotas = new ConcurrentHashMap<>();
+    private final AtomicBoolean limpiando = new AtomicBoolean();
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    public ControlAdmision(@Value("${admision.tasa-por-segundo:50}") double tasaPorSegundo,
+                           @Value("${admision.capacidad:100}") int capacidad,
+                           @Value("${admision.anonimos.tasa-por-segundo:10}") double tasaAnonimos,
+                           @Value("${admision.anonimos.capacidad:60}") int capacidadAnonimos,
+                           @Value("${admision.claves:}") List<String> claves,
+                           @Value("${admision.costos:}") List<String> costos,
+                           @Value("${admision.sobrecarga.concurrencia-maxima:150}") int concurrenciaMaxima,
+                           @Value("${admision.sobrecarga.porcentaje-normal:90}") int porcentajeNormal,
+                           @Value("${admision.sobrecarga.porcentaje-baja:70}") int porcentajeBaja,
+                           @Value("${admision.maximo-clientes:10000}") int maximoClientes) {
+        this.general = validar("general", new Limite(tasaPorSegundo, capacidad, Prioridad.NORMAL));
+        this.anonimos = validar("anonimos", new Limite(tasaAnonimos, capacidadAnonimos, Prioridad.BAJA));
+        claves.forEach(this::agregarClave);
+        costos.forEach(this::agregarCosto);
+        limitePorPrioridad[Prioridad.ALTA.ordinal()] = concurrenciaMaxima;
+        limitePorPrioridad[Prioridad.NORMAL.ordinal()] = concurrenciaMaxima * porcentajeNormal / 100;
+        limitePorPrioridad[Prioridad.BAJA.ordinal()] = concurrenciaMaxima * porcentajeBaja / 100;
+        this.maximoClientes = maximoClientes;
+    }
+
+    /**
+     * @param clave Valor de {@code X-Api-Key}, o null
+     * @param direccionRemota Dirección del cliente, usada si no envía clave
+     */
+    CuotaCliente cuota(String clave, String direccionRemota) {
+        String id = cliente(clave, direccionRemota);
+        CuotaCliente cuota = cuotas.get(id);
+        if (cuota != null) {
+            return cuota;
+        }
+        limpiarSiExcede();
+        return cuotas.computeIfAbsent(id, nueva -> crearCuota(claves.getOrDefault(id, anonimos)));
+    }
+
+    /**
+     * Identifica al cliente de una petición: la clave si figura en
+     * {@code admision.claves}, o si no la dirección remota precedida de {@code @}.
+     *
+     * @param clave Valor de {@code X-Api-Key}, o null
+     * @param direccionRemota Dirección del cliente
+     */
+    public String cliente(String clave, String direccionRemota) {
+        return clave != null && claves.containsKey(clave) ? clave : "@" + direccionRemota;
+    }
+
+    int clientes() {
+        return cuotas.size();
+    }
+
+    /**
+     * @param ruta URI de la petición
+     * @return Tokens que consume, según el primer patrón de {@code admision.costos} que coincida
+     */
+    int costo(String ruta) {
+        if (patronesCosto.isEmpty()) {
+            return 1;
+        }
+        PathContainer camino = PathContainer.parsePath(ruta);
+        for (int i = 0; i < patronesCosto.size(); i++) {
+            if (patronesCosto.get(i).matches(camino)) {
+                return costos.get(i);
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Reserva un lugar entre las peticiones en curso si la prioridad lo permite;
+     * si devuelve true hay que llamar a {@link #liberar()} al terminar.
+     */
+    boolean ocupar(Prioridad prioridad) {
+        if (enCurso.incrementAndGet() > limitePorPrioridad[prioridad.ordinal()]) {
+            enCurso.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void liberar() {
+        enCurso.decrementAndGet();
+    }
+
+    private static CuotaCliente crearCuota(Limite limite) {
+        return new CuotaCliente(limite.tasaPorSegundo(), limite.capacidad(), limite.prioridad(), System.nanoTime());
+    }
+
+    /**
+     * Al llegar a {@code maximo-clientes} baja la cantidad de cubos al 90%, de
+     * modo que la limpieza (y su recorrido completo) ocurre como mucho una vez
+     * cada décimo del máximo en clientes nuevos. Uno solo de los hilos la hace
+     * y los demás siguen de largo.
+     */
+    private void limpiarSiExcede() {
+        if (cuotas.size() < maximoClientes || !limpiando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long ahora = System.nanoTime();
+            int antes = cuotas.size();
+            cuotas.values().removeIf(cuota -> cuota.llena(ahora));
+            int exceso = cuotas.size() - maximoClientes * 9 / 10;
+            if (exceso > 0) {
+                // Se copia el instante de cada cubo: sigue cambiando mientras se ordena
+                record Candidato(String id, long faltaNanos) {
+                }
+                cuotas.entrySet().stream()
+                        .map(entrada -> new Candidato(entrada.getKey(), entrada.getValue().llenaEn() - ahora))
+                        .sorted(Comparator.comparingLong(Candidato::faltaNanos))
+                        .limit(exceso)
+                        .toList()
+                        .forEach(candidato -> cuotas.remove(candidato.id()));
+            }
+            log.debug("Cuotas de admisión descartadas: {}", antes - cuotas.size());
+        } finally {
+            limpiando.set(false);
+        }
+    }
+
+    /**
+     * Interpreta {@code clave[;tasa=n][;capacidad=n][;prioridad=alta|normal|baja]}.
+     */
+    private void agregarClave(String especificacion) {
+        String[] partes = especificacion.trim().split(";");
+        double tasa = general.tasaPorSegundo();
+        int capacidadClave = general.capacidad();
+        Prioridad prioridad = Prioridad.NORMAL;
+        for (int i = 1; i < partes.length; i++) {
+            String[] atributo = partes[i].trim().split("=", 2);
+            if (atributo.length != 2) {
+                throw new IllegalStateException("Atributo inválido en la clave: " + especificacion);
+            }
+            String valor = atributo[1].trim();
+            switch (atributo[0].trim()) {
+                case "tasa" -> tasa = Double.parseDouble(valor);
+                case "capacidad" -> capacidadClave = Integer.parseInt(valor);
+                case "prioridad" -> prioridad = Prioridad.valueOf(valor.toUpperCase(Locale.ROOT));
+                default -> throw new IllegalStateException("Atributo desconocido en la clave: " + especificacion);
+            }
+        }
+        claves.put(partes[0].trim(), validar(especificacion, new Limite(tasa, capacidadClave, prioridad)));
+    }
+
+    private static Limite validar(String origen, Limite limite) {
+        if (limite.tasaPorSegundo() <= 0 || limite.capacidad() < 1) {
+            throw new IllegalStateException("La cuota necesita una tasa positiva y capacidad de al menos 1: " + origen);
+        }
+        return limite;
+    }
+
+    /**
+     * Interpreta {@code patron=costo}, con patrones de ruta como los de {@code @GetMapping}.
+     */
+    private void agregarCosto(String especificacion) {
+        String[] partes = especificacion.trim().split("=", 2);
+        if (partes.length != 2) {
+            throw new IllegalStateException("Costo inválido, se espera patron=costo: " + especificacion);
+        }
+        int costo = Integer.parseInt(partes[1].trim());
+        if (costo < 1) {
+            throw new IllegalStateException("El costo debe ser al menos 1: " + especificacion);
+        }
+        patronesCosto.add(PathPatternParser.defaultInstance.parse(partes[0].trim()));
+        costos.add(costo);
+    }
+}
@@ -0,0 +1,67 @@
+package com.microservices_system.business_service.admision;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubo de tokens de un cliente, sin bloqueos.
+ * <p>
+ * En lugar de guardar los tokens disponibles y la última recarga, guarda un
+ * solo instante: aquel en que el cubo volvería a estar lleno. Consumir
+ * {@code costo} tokens lo corre {@code costo * intervalo} hacia adelante, y se
+ * admite mientras no quede más lejos que la capacidad completa. Así cada
+ * petición es una lectura y un compareAndSet.
+ */
+final class CuotaCliente {
+    private final long intervaloNanos;
+    private final int capacidad;
+    private final long toleranciaNanos;
+    private final Prioridad prioridad;
+    private final AtomicLong llenaEn;
+
+    CuotaCliente(double tasaPorSegundo, int capacidad, Prioridad prioridad, long ahora) {
+        this.intervaloNanos = Math.max(1, Math.round(1e9 / tasaPorSegundo));
+        this.capacidad = capacidad;
+        this.toleranciaNanos = intervaloNanos * capacidad;
+        this.prioridad = prioridad;
+        this.llenaEn = new AtomicLong(ahora);
+    }
+
+    Prioridad prioridad() {
+        return prioridad;
+    }
+
+    /**
+     * Intenta consumir {@code costo} tokens; un costo mayor que la capacidad
+     * cuenta como la capacidad completa.
+     *
+     * @return 0 si se admitió, o cuánto falta para que alcancen los tokens
+     */
+    long consumir(long ahora, int costo) {
+        long incremento = intervaloNanos * Math.min(costo, capacidad);
+        while (true) {
+            long actual = llenaEn.get();
+            long nueva = (actual - ahora > 0 ? actual : ahora) + incremento;
+            long exceso = nueva - ahora - toleranciaNanos;
+            if (exceso > 0) {
+                return exceso;
+            }
+            if (llenaEn.compareAndSet(actual, nueva)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Instante (de {@link System#nanoTime()}) en que el cubo vuelve a estar lleno
+     */
+    long llenaEn() {
+        return llenaEn.get();
+    }
+
+    /**
+     * Un cubo lleno equivale a uno nuevo, así que se puede descartar.
+     */
+    boolean llena(long ahora) {
+        return ahora - llenaEn.get() >= 0;
+    }
+}
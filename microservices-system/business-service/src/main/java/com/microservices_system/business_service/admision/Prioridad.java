@@ -0,0 +1,11 @@
+package com.microservices_system.business_service.admision;
+
+/**
+ * Prioridad de un cliente ante una sobrecarga: las peticiones de menor
+ * prioridad se rechazan primero.
+ */
+public enum Prioridad {
+    ALTA,
+    NORMAL,
+    BAJA
+}
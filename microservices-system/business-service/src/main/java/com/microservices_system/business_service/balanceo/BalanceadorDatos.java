@@ -0,0 +1,201 @@
+package com.microservices_system.business_service.balanceo;
+
+import com.microservices_system.business_service.dto.EstadoInstanciaDatosDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elige la instancia de data-service para cada llamada del cliente Feign
+ * entre las de {@code balanceo.instancias} (o solo {@code data.service.url}).
+ * <p>
+ * Entre las instancias no expulsadas de la zona propia, o de todas las zonas
+ * si la propia no tiene ninguna: con pesos iguales toma dos al azar y se queda
+ * con la de menos peticiones en curso; con pesos distintos sortea con peso
+ * efectivo {@code peso / (pendientes + 1)}, que sin carga respeta los pesos y
+ * bajo carga favorece a las menos ocupadas.
+ * <p>
+ * La expulsión es pasiva, por lo que se observa en las propias llamadas: una
+ * instancia sale de la rotación tras {@code errores-consecutivos} fallas de
+ * conexión o respuestas 5xx seguidas, o cuando su latencia promedio supera
+ * {@code factor-latencia} veces la mediana de las demás. Vuelve al vencer la
+ * expulsión, que se alarga con cada reincidencia. Nunca se expulsa más de
+ * {@code maximo-porcentaje} de las instancias, y si todas quedan fuera se
+ * usan igual.
+ */
+@Component
+@Slf4j
+public class BalanceadorDatos {
+    /** Respuestas necesarias antes de juzgar la latencia de una instancia. */
+    static final int MUESTRAS_MINIMAS = 10;
+
+    private final String urlBase;
+    private final List<InstanciaDatos> instancias = new ArrayList<>();
+    private final String zona;
+    private final int erroresConsecutivos;
+    private final double factorLatencia;
+    private final double latenciaMinimaMs;
+    private final long duracionExpulsionNanos;
+    private final int maximoPorcentajeExpulsadas;
+
+    public BalanceadorDatos(@Value("${data.service.url}") String urlBase,
+                            @Value("${balanceo.instancias:}") List<String> instancias,
+                            @Value("${balanceo.zona:}") String zona,
+                            @Value("${balanceo.expulsion.errores-consecutivos:5}") int erroresConsecutivos,
+                            @Value("${balanceo.expulsion.factor-latencia:3.0}") double factorLatencia,
+                            @Value("${balanceo.expulsion.latencia-minima-ms:100}") double latenciaMinimaMs,
+                            @Value("${balanceo.expulsion.duracion-ms:30000}") long duracionExpulsionMs,
+                            @Value("${balanceo.expulsion.maximo-porcentaje:50}") int maximoPorcentajeExpulsadas) {
+        this.urlBase = InstanciaDatos.sinBarraFinal(urlBase);
+        if (instancias.isEmpty()) {
+            this.instancias.add(new InstanciaDatos(this.urlBase, null, 1));
+        } else {
+            instancias.forEach(instancia -> this.instancias.add(InstanciaDatos.desde(instancia)));
+        }
+        this.zona = zona == null || zona.isBlank() ? null : zona;
+        this.erroresConsecutivos = erroresConsecutivos;
+        this.factorLatencia = factorLatencia;
+        this.latenciaMinimaMs = latenciaMinimaMs;
+        this.duracionExpulsionNanos = TimeUnit.MILLISECONDS.toNanos(duracionExpulsionMs);
+        this.maximoPorcentajeExpulsadas = maximoPorcentajeExpulsadas;
+    }
+
+    /**
+     * URL de {@code data.service.url}; el cliente la reemplaza por la de la
+     * instancia elegida.
+     */
+    String urlBase() {
+        return urlBase;
+    }
+
+    /**
+     * @param excluidas Instancias ya intentadas para esta llamada
+     * @return La instancia elegida, o null si no queda ninguna sin intentar
+     */
+    InstanciaDatos elegir(Set<InstanciaDatos> excluidas) {
+        long ahora = System.nanoTime();
+        List<InstanciaDatos> disponibles = new ArrayList<>(instancias.size());
+        List<InstanciaDatos> noExcluidas = new ArrayList<>(instancias.size());
+        for (InstanciaDatos instancia : instancias) {
+            if (instancia.reincorporarSiVencio(ahora)) {
+                log.info("Instancia de data-service {} reincorporada", instancia.url());
+            }
+            if (excluidas.contains(instancia)) {
+                continue;
+            }
+            noExcluidas.add(instancia);
+            if (!instancia.expulsada(ahora)) {
+                disponibles.add(instancia);
+            }
+        }
+        if (noExcluidas.isEmpty()) {
+            return null;
+        }
+        List<InstanciaDatos> candidatas = disponibles.isEmpty() ? noExcluidas : disponibles;
+        if (zona != null) {
+            List<InstanciaDatos> locales = candidatas.stream().filter(instancia -> zona.equals(instancia.zona())).toList();
+            if (!locales.isEmpty()) {
+                candidatas = locales;
+            }
+        }
+        return pesosIguales(candidatas) ? dosAlAzar(candidatas) : sorteoPorCarga(candidatas);
+    }
+
+    /**
+     * Registra el resultado de una llamada y expulsa a la instancia si corresponde.
+     *
+     * @param error Falla de conexión o respuesta 5xx
+     */
+    void registrar(InstanciaDatos instancia, long duracionNanos, boolean error) {
+        if (error) {
+            instancia.registrarError();
+            if (instancia.erroresConsecutivos.incrementAndGet() >= erroresConsecutivos) {
+                expulsar(instancia, instancia.erroresConsecutivos.get() + " errores seguidos");
+            }
+            return;
+        }
+        instancia.erroresConsecutivos.set(0);
+        double latencia = instancia.registrarLatencia(duracionNanos / 1e6);
+        if (instancia.muestras() >= MUESTRAS_MINIMAS && latencia > latenciaMinimaMs) {
+            double mediana = medianaLatenciaDeLasDemas(instancia);
+            if (mediana > 0 && latencia > factorLatencia * mediana) {
+                expulsar(instancia, String.format("latencia promedio %.0f ms contra una mediana de %.0f ms",
+                        latencia, mediana));
+            }
+        }
+    }
+
+    public List<EstadoInstanciaDatosDTO> obtenerEstado() {
+        long ahora = System.nanoTime();
+        return instancias.stream().map(instancia -> instancia.estado(ahora)).toList();
+    }
+
+    private synchronized void expulsar(InstanciaDatos instancia, String motivo) {
+        long ahora = System.nanoTime();
+        if (instancia.expulsada(ahora)) {
+            return;
+        }
+        long expulsadas = instancias.stream().filter(otra -> otra.expulsada(ahora)).count();
+        if ((expulsadas + 1) * 100 > (long) maximoPorcentajeExpulsadas * instancias.size()) {
+            log.debug("Instancia de data-service {} no expulsada ({}): ya hay {} fuera", instancia.url(), motivo,
+                    expulsadas);
+            return;
+        }
+        instancia.expulsar(ahora, duracionExpulsionNanos);
+        log.warn("Instancia de data-service {} expulsada: {}", instancia.url(), motivo);
+    }
+
+    private double medianaLatenciaDeLasDemas(InstanciaDatos instancia) {
+        long ahora = System.nanoTime();
+        double[] latencias = instancias.stream()
+                .filter(otra -> otra != instancia && !otra.expulsada(ahora) && otra.muestras() >= MUESTRAS_MINIMAS)
+                .mapToDouble(InstanciaDatos::latenciaMs)
+                .sorted()
+                .toArray();
+        if (latencias.length == 0) {
+            return 0;
+        }
+        int medio = latencias.length / 2;
+        return latencias.length % 2 == 1 ? latencias[medio] : (latencias[medio - 1] + latencias[medio]) / 2;
+    }
+
+    private static boolean pesosIguales(Collection<InstanciaDatos> candidatas) {
+        return candidatas.stream().mapToInt(InstanciaDatos::peso).distinct().count() <= 1;
+    }
+
+    private static InstanciaDatos dosAlAzar(List<InstanciaDatos> candidatas) {
+        ThreadLocalRandom azar = ThreadLocalRandom.current();
+        InstanciaDatos primera = candidatas.get(azar.nextInt(candidatas.size()));
+        if (candidatas.size() == 1) {
+            return primera;
+        }
+        int indice = azar.nextInt(candidatas.size() - 1);
+        InstanciaDatos segunda = candidatas.get(indice >= candidatas.indexOf(primera) ? indice + 1 : indice);
+        return segunda.pendientes.get() < primera.pendientes.get() ? segunda : primera;
+    }
+
+    private static InstanciaDatos sorteoPorCarga(List<InstanciaDatos> candidatas) {
+        double[] pesos = new double[candidatas.size()];
+        double total = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            InstanciaDatos instancia = candidatas.get(i);
+            pesos[i] = (double) instancia.peso() / (instancia.pendientes.get() + 1);
+            total += pesos[i];
+        }
+        double sorteo = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < pesos.length; i++) {
+            sorteo -= pesos[i];
+            if (sorteo < 0) {
+                return candidatas.get(i);
+            }
+        }
+        return candidatas.get(pesos.length - 1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.microservices_system.business_service.balanceo;
+
+import feign.Client;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BalanceoConfig {
+
+    /**
+     * Cliente HTTP que usa Feign para data-service (con {@code url} fija,
+     * Spring Cloud OpenFeign toma el {@link Client} del contexto).
+     */
+    @Bean
+    public Client clienteBalanceado(BalanceadorDatos balanceador) {
+        return new ClienteBalanceado(new Client.Default(null, null), balanceador);
+    }
+}
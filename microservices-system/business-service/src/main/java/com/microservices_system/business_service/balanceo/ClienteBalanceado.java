@@ -0,0 +1,58 @@
+package com.microservices_system.business_service.balanceo;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cliente HTTP de Feign que envía cada llamada a data-service a la instancia
+ * que elige el {@link BalanceadorDatos}, reemplazando {@code data.service.url}
+ * en la URL, y le informa la duración y el resultado. Un GET que no logra
+ * conectarse o leer la respuesta se reintenta una vez en otra instancia.
+ */
+public class ClienteBalanceado implements Client {
+    private final Client delegado;
+    private final BalanceadorDatos balanceador;
+
+    public ClienteBalanceado(Client delegado, BalanceadorDatos balanceador) {
+        this.delegado = delegado;
+        this.balanceador = balanceador;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String base = balanceador.urlBase();
+        if (!request.url().startsWith(base)) {
+            return delegado.execute(request, options);
+        }
+        String ruta = request.url().substring(base.length());
+        Set<InstanciaDatos> intentadas = new HashSet<>();
+        InstanciaDatos siguiente = balanceador.elegir(intentadas);
+        while (true) {
+            InstanciaDatos instancia = siguiente;
+            intentadas.add(instancia);
+            Request dirigida = Request.create(request.httpMethod(), instancia.url() + ruta, request.headers(),
+                    request.body(), request.charset(), request.requestTemplate());
+            instancia.pendientes.incrementAndGet();
+            long inicio = System.nanoTime();
+            try {
+                Response respuesta = delegado.execute(dirigida, options);
+                balanceador.registrar(instancia, System.nanoTime() - inicio, respuesta.status() >= 500);
+                return respuesta;
+            } catch (IOException e) {
+                balanceador.registrar(instancia, System.nanoTime() - inicio, true);
+                siguiente = request.httpMethod() == Request.HttpMethod.GET && intentadas.size() == 1
+                        ? balanceador.elegir(intentadas) : null;
+                if (siguiente == null) {
+                    throw e;
+                }
+            } finally {
+                instancia.pendientes.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.microservices_system.business_service.balanceo;
+
+import com.microservices_system.business_service.dto.EstadoInstanciaDatosDTO;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Una instancia de data-service con lo que el balanceo sabe de ella:
+ * peticiones en curso, latencia promedio móvil y estado de expulsión.
+ */
+final class InstanciaDatos {
+    /** Peso de la última respuesta en la latencia promedio móvil. */
+    private static final double ALFA_LATENCIA = 0.3;
+
+    private final String url;
+    private final String zona;
+    private final int peso;
+    final AtomicInteger pendientes = new AtomicInteger();
+    final AtomicInteger erroresConsecutivos = new AtomicInteger();
+    private final LongAdder peticiones = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+
+    private double latenciaMs;
+    private int muestras;
+    private long expulsadaHastaNanos;
+    private int expulsiones;
+
+    InstanciaDatos(String url, String zona, int peso) {
+        this.url = url;
+        this.zona = zona;
+        this.peso = peso;
+    }
+
+    /**
+     * Interpreta {@code url[;zona=nombre][;peso=n]}.
+     */
+    static InstanciaDatos desde(String especificacion) {
+        String[] partes = especificacion.trim().split(";");
+        String zona = null;
+        int peso = 1;
+        for (int i = 1; i < partes.length; i++) {
+            String[] clave = partes[i].trim().split("=", 2);
+            if (clave.length != 2) {
+                throw new IllegalStateException("Atributo inválido en la instancia: " + especificacion);
+            }
+            switch (clave[0].trim()) {
+                case "zona" -> zona = clave[1].trim();
+                case "peso" -> peso = Integer.parseInt(clave[1].trim());
+                default -> throw new IllegalStateException("Atributo desconocido en la instancia: " + especificacion);
+            }
+        }
+        if (peso < 1) {
+            throw new IllegalStateException("El peso debe ser al menos 1: " + especificacion);
+        }
+        return new InstanciaDatos(sinBarraFinal(partes[0].trim()), zona, peso);
+    }
+
+    static String sinBarraFinal(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    String url() {
+        return url;
+    }
+
+    String zona() {
+        return zona;
+    }
+
+    int peso() {
+        return peso;
+    }
+
+    /**
+     * Registra una respuesta exitosa y devuelve la latencia promedio actualizada.
+     */
+    synchronized double registrarLatencia(double ms) {
+        peticiones.increment();
+        latenciaMs = muestras == 0 ? ms : ALFA_LATENCIA * ms + (1 - ALFA_LATENCIA) * latenciaMs;
+        muestras++;
+        return latenciaMs;
+    }
+
+    void registrarError() {
+        peticiones.increment();
+        errores.increment();
+    }
+
+    synchronized double latenciaMs() {
+        return latenciaMs;
+    }
+
+    synchronized int muestras() {
+        return muestras;
+    }
+
+    synchronized boolean expulsada(long ahora) {
+        return expulsadaHastaNanos != 0 && ahora - expulsadaHastaNanos < 0;
+    }
+
+    /**
+     * Expulsa la instancia por {@code duracionNanos} multiplicado por la cantidad
+     * de expulsiones que lleva (hasta diez veces).
+     */
+    synchronized void expulsar(long ahora, long duracionNanos) {
+        expulsiones++;
+        expulsadaHastaNanos = ahora + duracionNanos * Math.min(expulsiones, 10);
+        erroresConsecutivos.set(0);
+    }
+
+    /**
+     * Reincorpora la instancia si su expulsión ya venció; vuelve sin historial
+     * de latencia para que se la juzgue por sus respuestas nuevas.
+     *
+     * @return true si estaba expulsada y se reincorporó en esta llamada
+     */
+    synchronized boolean reincorporarSiVencio(long ahora) {
+        if (expulsadaHastaNanos == 0 || ahora - expulsadaHastaNanos < 0) {
+            return false;
+        }
+        expulsadaHastaNanos = 0;
+        latenciaMs = 0;
+        muestras = 0;
+        return true;
+    }
+
+    synchronized EstadoInstanciaDatosDTO estado(long ahora) {
+        return new EstadoInstanciaDatosDTO(url, zona, peso, pendientes.get(), latenciaMs, peticiones.sum(),
+                errores.sum(), expulsada(ahora), expulsiones);
+    }
+}
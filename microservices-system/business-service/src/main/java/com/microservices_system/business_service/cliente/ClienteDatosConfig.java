@@ -0,0 +1,18 @@
+package com.microservices_system.business_service.cliente;
+
+import feign.codec.ErrorDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClienteDatosConfig {
+
+    /**
+     * Decodificador de errores que usa Feign para data-service (Spring Cloud
+     * OpenFeign lo toma del contexto, igual que el {@code Client}).
+     */
+    @Bean
+    public ErrorDecoder errorDecoderDatos() {
+        return new ErrorDecoderDatos();
+    }
+}
@@ -0,0 +1,45 @@
+package com.microservices_system.business_service.cliente;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+
+/**
+ * Decodifica los errores de data-service. Un 404 es una respuesta esperada
+ * (los servicios lo traducen a su propia excepción de recurso no encontrado),
+ * así que se entrega como un {@link FeignException.NotFound} sin traza de la
+ * pila, sin leer el cuerpo y con el mensaje armado solo si alguien lo pide.
+ * El resto de los estados pasan por el decodificador por defecto de Feign.
+ */
+public class ErrorDecoderDatos implements ErrorDecoder {
+    private final ErrorDecoder porDefecto = new ErrorDecoder.Default();
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        if (response.status() == 404 && response.request() != null) {
+            return new NoEncontrado(methodKey, response);
+        }
+        return porDefecto.decode(methodKey, response);
+    }
+
+    static final class NoEncontrado extends FeignException.NotFound {
+        private final String methodKey;
+
+        NoEncontrado(String methodKey, Response response) {
+            super(null, response.request(), null, response.headers());
+            this.methodKey = methodKey;
+        }
+
+        @Override
+        public String getMessage() {
+            Request request = request();
+            return "[404] during [" + request.httpMethod() + "] to [" + request.url() + "] [" + methodKey + "]";
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.microservices_system.business_service.controller;
+
+import com.microservices_system.business_service.admision.ControlAdmision;
+import com.microservices_system.business_service.balanceo.BalanceadorDatos;
+import com.microservices_system.business_service.dto.EstadoInstanciaDatosDTO;
+import com.microservices_system.business_service.dto.InventarioDTO;
+import com.microservices_system.business_service.dto.PaginaProductosDTO;
+import com.microservices_system.business_service.dto.ProductoDTO;
+import com.microservices_system.business_service.dto.ProductoRequest;
+import com.microservices_system.business_service.dto.ReporteDTO;
+import com.microservices_system.business_service.dto.ResultadoFiltroProductosDTO;
+import com.microservices_system.business_service.dto.ResumenCategoriaDTO;
+import com.microservices_system.business_service.dto.ValorStockProductoDTO;
+import com.microservices_system.business_service.idempotencia.AlmacenIdempotencia;
+import com.microservices_system.business_service.service.CategoriaBusinessService;
+import com.microservices_system.business_service.service.InventarioBusinessService;
+import com.microservices_system.business_service.service.ProductoBusinessService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Controlador REST para la capa de negocio del sistema de microservicios.
+ * Expone endpoints relacionados con la lógica de negocio de productos, categorías e inventario.
+ *
+ * @author Reynier124
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/api")
+@Validated
+public class BusinessController {
+    public static final String ENCABEZADO_FECHA_REFRESCO = "X-Reporte-Fecha-Refresco";
+    public static final String ENCABEZADO_ANTIGUEDAD = "X-Reporte-Antiguedad-Ms";
+    public static final String ENCABEZADO_VERSION = "X-Reporte-Version";
+    public static final String ENCABEZADO_IDEMPOTENCIA = "Idempotency-Key";
+
+    private final ProductoBusinessService productoBusinessService;
+    private final CategoriaBusinessService categoriaBusinessService;
+    private final InventarioBusinessService inventarioBusinessService;
+    private final BalanceadorDatos balanceadorDatos;
+    private final AlmacenIdempotencia almacenIdempotencia;
+    private final ControlAdmision controlAdmision;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param productoBusinessService Servicio de lógica de negocio para productos
+     * @param categoriaBusinessService Servicio de lógica de negocio para categorías
+     * @param inventarioBusinessService Servicio de lógica de negocio para inventario
+     * @param balanceadorDatos Balanceo entre las instancias de data-service
+     * @param almacenIdempotencia Resultados de las creaciones con Idempotency-Key
+     * @param controlAdmision Identificación de clientes, para separar sus claves de idempotencia
+     */
+    public BusinessController(ProductoBusinessService productoBusinessService,
+                              CategoriaBusinessService categoriaBusinessService,
+                              InventarioBusinessService inventarioBusinessService,
+                              BalanceadorDatos balanceadorDatos,
+                              AlmacenIdempotencia almacenIdempotencia,
+                              ControlAdmision controlAdmision) {
+        this.productoBusinessService = productoBusinessService;
+        this.categoriaBusinessService = categoriaBusinessService;
+        this.inventarioBusinessService = inventarioBusinessService;
+        this.balanceadorDatos = balanceadorDatos;
+        this.almacenIdempotencia = almacenIdempotencia;
+        this.controlAdmision = controlAdmision;
+    }
+
+    /**
+     * Obtiene la lista completa de productos disponibles en el sistema.
+     *
+     * @return Lista de ProductoDTO con todos los productos registrados
+     *
+     * @apiNote
+     * - URL: GET /api/productos
+     * - Respuesta: 200 OK con lista de productos (puede estar vacía)
+     * - Content-Type: application/json
+     *
+     * @example
+     * GET /api/productos
+     * Response: [
+     *   {
+     *     "id": 1,
+     *     "nombre": "Laptop HP",
+     *     "descripcion": "Laptop gaming 16GB RAM",
+     *     "precio": 1299.99
+     *   }
+     * ]
+     */
+    @GetMapping("/productos")
+    public List<ProductoDTO> obtenerTodosLosProductos() {
+        return productoBusinessService.obtenerTodosLosProductos();
+    }
+
+    /**
+     * Obtiene un producto específico por su ID.
+     *
+     * @param id Identificador único del producto
+     * @return ProductoDTO con los datos del producto solicitado
+     *
+     * @apiNote
+     * - URL: GET /api/productos/{id}
+     * - Path Parameter: id (Long) - ID del producto
+     * - Respuesta exitosa: 200 OK
+     * - Respuesta error: 404 NOT FOUND si el producto no existe
+     *
+     * @example
+     * GET /api/productos/1
+     * Response: {
+     *   "id": 1,
+     *   "nombre": "Laptop HP",
+     *   "descripcion": "Laptop gaming 16GB RAM",
+     *   "precio": 1299.99
+     * }
+     */
+    @GetMapping("/productos/{id}")
+    public ProductoDTO obtenerProductoPorId(@PathVariable Long id) {
+        return productoBusinessService.obtenerProductoPorId(id);
+    }
+
+    /**
+     * Crea un nuevo producto en el sistema.
+     *
+     * @param request Datos del producto a crear
+     * @param claveIdempotencia Clave opcional para reintentar sin crear duplicados
+     * @param claveApi Clave del cliente; las claves de idempotencia son propias de cada cliente
+     * @param peticion Petición HTTP; sin clave reconocida, el cliente es su dirección remota
+     * @return ProductoDTO con los datos del producto creado (incluye ID generado)
+     *
+     * @apiNote
+     * - URL: POST /api/productos
+     * - Body: ProductoRequest (JSON)
+     * - Respuesta exitosa: 201 CREATED
+     * - Content-Type: application/json
+     * - Idempotency-Key: un reintento con la misma clave y el mismo cuerpo recibe la
+     *   respuesta original sin volver a crear el producto; si la original sigue en
+     *   curso, espera su resultado. Misma clave con otro cuerpo: 422. Original aún
+     *   en curso tras la espera: 409. Las claves se recuerdan en cada instancia de
+     *   business-service; un reintento que llega a otra instancia vuelve a enviar el
+     *   alta y data-service la rechaza por nombre duplicado: 409
+     *
+     * @example
+     * POST /api/productos
+     * Idempotency-Key: 5f1c2a0e-8d7b-4c1e-9a35-0b6f2e7d4c91
+     * Body: {
+     *   "nombre": "Mouse Logitech",
+     *   "descripcion": "Mouse inalámbrico ergonómico",
+     *   "precio": 45.99
+     * }
+     * Response: {
+     *   "id": 2,
+     *   "nombre": "Mouse Logitech",
+     *   "descripcion": "Mouse inalámbrico ergonómico",
+     *   "precio": 45.99
+     * }
+     */
+    @PostMapping("/productos")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ProductoDTO crearProducto(@RequestBody ProductoRequest request,
+                                     @RequestHeader(value = ENCABEZADO_IDEMPOTENCIA, required = false)
+                                     String claveIdempotencia,
+                                     @RequestHeader(value = ControlAdmision.ENCABEZADO_CLAVE, required = false)
+                                     String claveApi,
+                                     HttpServletRequest peticion) {
+        String clave = claveIdempotencia == null ? null
+                : controlAdmision.cliente(claveApi, peticion.getRemoteAddr()) + ":" + claveIdempotencia;
+        return almacenIdempotencia.ejecutar(clave, request, () -> productoBusinessService.crearProducto(request));
+    }
+
+    /**
+     * Obtiene todos los productos que pertenecen a una categoría específica.
+     *
+     * @param nombre Nombre de la categoría
+     * @return Lista de ProductoDTO de la categoría especificada
+     *
+     * @apiNote
+     * - URL: GET /api/productos/categoria/{nombre}
+     * - Path Parameter: nombre (String) - Nombre de la categoría
+     * - Respuesta: 200 OK con lista de productos (puede estar vacía)
+     * - Content-Type: application/json
+     * - Nota: Búsqueda case-sensitive
+     *
+     * @example
+     * GET /api/productos/categoria/Electronics
+     * Response: [
+     *   {
+     *     "id": 1,
+     *     "nombre": "Laptop HP",
+     *     "descripcion": "Laptop gaming",
+     *     "precio": 1299.99
+     *   }
+     * ]
+     */
+    @GetMapping("/productos/categoria/{nombre}")
+    public List<ProductoDTO> obtenerProductosPorCategoria(@PathVariable String nombre) {
+        return productoBusinessService.obtenerProductosPorCategoria(nombre);
+    }
+
+    /**
+     * Busca productos por texto libre en nombre y descripción, ordenados por relevancia.
+     *
+     * @param q Texto a buscar
+     * @param limite Cantidad máxima de resultados (máximo 100)
+     * @return Lista de ProductoDTO, del más al menos relevante
+     *
+     * @apiNote
+     * - URL: GET /api/productos/buscar?q=teclado&limite=20
+     * - Respuesta exitosa: 200 OK con lista de productos (puede estar vacía)
+     * - Respuesta error: 409 CONFLICT si q está vacío
+     * - Búsqueda: Sin distinguir mayúsculas ni acentos; "tecl" encuentra "Teclado"
+     *
+     * @example
+     * GET /api/productos/buscar?q=laptop gaming
+     * Response: [
+     *   {
+     *     "id": 1,
+     *     "nombre": "Laptop HP",
+     *     "descripcion": "Laptop gaming",
+     *     "precio": 1299.99
+     *   }
+     * ]
+     */
+    @GetMapping("/productos/buscar")
+    public List<ProductoDTO> buscarProductos(@RequestParam String q,
+                                             @RequestParam(defaultValue = "20") int limite) {
+        return productoBusinessService.buscarProductos(q, limite);
+    }
+
+    /**
+     * Filtra productos por fragmento de nombre, rango de precio, categoría y disponibilidad,
+     * con orden y paginación resueltos en la base de datos.
+     *
+     * @param nombre Fragmento del nombre, sin distinguir mayúsculas (opcional)
+     * @param precioMin Precio mínimo inclusive (opcional)
+     * @param precioMax Precio máximo inclusive (opcional)
+     * @param categoriaId ID de la categoría (opcional)
+     * @param conStock true para productos con stock, false para productos sin stock (opcional)
+     * @param pagina Número de página, desde 0
+     * @param tamanio Productos por página (máximo 100)
+     * @param ordenarPor Campo de orden: id, nombre o precio
+     * @param direccion Dirección del orden: ASC o DESC
+     * @return Página de productos con indicador de página siguiente
+     *
+     * @apiNote
+     * - URL: GET /api/productos/filtro?nombre=lap&precioMin=100&conStock=true&ordenarPor=precio&direccion=DESC
+     * - Respuesta exitosa: 200 OK
+     * - Respuesta error: 409 CONFLICT si precioMin es mayor a precioMax o la dirección no es válida
+     * - Nota: Sin total de resultados; hayMas indica si existe una página siguiente
+     *
+     * @example
+     * GET /api/productos/filtro?nombre=lap&tamanio=1
+     * Response: {
+     *   "productos": [ { "id": 1, "nombre": "Laptop HP", "precio": 1299.99 } ],
+     *   "pagina": 0,
+     *   "tamanio": 1,
+     *   "hayMas": false
+     * }
+     */
+    @GetMapping("/productos/filtro")
+    public PaginaProductosDTO filtrarProductosPorCriterios(
+            @RequestParam(required = false) String nombre,
+            @RequestParam(required = false) BigDecimal precioMin,
+            @RequestParam(required = false) BigDecimal precioMax,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Boolean conStock,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio,
+            @RequestParam(defaultValue = "id") String ordenarPor,
+            @RequestParam(defaultValue = "ASC") String direccion) {
+        return productoBusinessService.filtrarProductosPorCriterios(nombre, precioMin, precioMax, categoriaId,
+                conStock, pagina, tamanio, ordenarPor, direccion);
+    }
+
+    /**
+     * Filtra productos por categoría, rango de precio y estado de stock en una sola llamada,
+     * con los conteos de cada faceta para armar los filtros de un listado.
+     *
+     * @param categoriaIds Categorías admitidas (opcional, repetible)
+     * @param precioMin Precio mínimo inclusive (opcional)
+     * @param precioMax Precio máximo inclusive (opcional)
+     * @param estados Estados de stock admitidos: SIN_STOCK, STOCK_BAJO, DISPONIBLE (opcional, repetible)
+     * @param pagina Número de página, desde 0
+     * @param tamanio Productos por página (máximo 100)
+     * @return Página de productos, total de coincidencias y conteos por faceta
+     *
+     * @apiNote
+     * - URL: GET /api/productos/filtrar?categoriaId=1&precioMin=10&precioMax=100&stock=DISPONIBLE
+     * - Respuesta exitosa: 200 OK
+     * - Respuesta error: 409 CONFLICT si precioMin es mayor a precioMax
+     * - Filtros: OR entre valores de una misma faceta, AND entre facetas
+     *
+     * @example
+     * GET /api/productos/filtrar?categoriaId=1&stock=STOCK_BAJO&stock=DISPONIBLE
+     * Response: {
+     *   "total": 12,
+     *   "productos": [ { "id": 1, "nombre": "Laptop HP", "precio": 1299.99 } ],
+     *   "categorias": { "1": 12, "2": 30 },
+     *   "rangosPrecio": { "0-10": 0, "10-50": 3, "50-100": 2, "100-500": 4, "500-1000": 1, "1000+": 2 },
+     *   "estadosStock": { "SIN_STOCK": 5, "STOCK_BAJO": 2, "DISPONIBLE": 10 }
+     * }
+     */
+    @GetMapping("/productos/filtrar")
+    public ResultadoFiltroProductosDTO filtrarProductos(
+            @RequestParam(name = "categoriaId", required = false) List<Long> categoriaIds,
+            @RequestParam(required = false) BigDecimal precioMin,
+            @RequestParam(required = false) BigDecimal precioMax,
+            @RequestParam(name = "stock", required = false) List<String> estados,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        return productoBusinessService.filtrarProductos(categoriaIds, precioMin, precioMax, estados, pagina, tamanio);
+    }
+
+    /**
+     * Genera un reporte de productos con stock bajo según criterios de negocio.
+     * Útil para alertas de reposición y gestión de inventario.
+     *
+     * @return Lista de InventarioDTO con productos que requieren reposición
+     *
+     * @apiNote
+     * - URL: GET /api/reportes/stock-bajo
+     * - Respuesta: 200 OK con lista de inventarios con stock bajo
+     * - Content-Type: application/json
+     * - Criterio: Definido por reglas de negocio (ej: stock menor a 10)
+     * - Frescura: se lee del reporte materializado; los encabezados X-Reporte-Fecha-Refresco,
+     *   X-Reporte-Antiguedad-Ms y X-Reporte-Version indican hasta cuándo refleja los cambios
+     *
+     * @example
+     * GET /api/reportes/stock-bajo
+     * Response: [
+     *   {
+     *     id: 1,
+     *     producto: {
+     *       id: 1,
+     *       nombre: "Laptop HP",
+     *       descripcion: "Laptop gaming",
+     *       precio: 1299.99
+     *     },
+     *     cantidad: 3,
+     *     stockMinimo: 10
+     *   }
+     * ]
+     */
+    @GetMapping("/reportes/stock-bajo")
+    public ResponseEntity<List<InventarioDTO>> obtenerProductosConStockBajo() {
+        return conFrescura(inventarioBusinessService.obtenerProductosConStockBajo());
+    }
+
+    /**
+     * Reporte financiero por categoría: valorización del inventario, unidades en stock
+     * y cantidad de productos con stock bajo, agregados en la capa de datos.
+     *
+     * @return Lista de ResumenCategoriaDTO ordenada por nombre de categoría
+     *
+     * @apiNote
+     * - URL: GET /api/reportes/por-categoria
+     * - Respuesta: 200 OK con una fila por categoría (incluye categorías sin inventario)
+     * - Content-Type: application/json
+     * - Nota: Los productos sin categoría no se incluyen
+     *
+     * @example
+     * GET /api/reportes/por-categoria
+     * Response: [
+     *   {
+     *     "categoriaId": 1,
+     *     "categoria": "Electronics",
+     *     "productos": 12,
+     *     "unidades": 340,
+     *     "valor": 84500.50,
+     *     "productosStockBajo": 2
+     *   }
+     * ]
+     */
+    @GetMapping("/reportes/por-categoria")
+    public List<ResumenCategoriaDTO> obtenerResumenPorCategoria() {
+        return inventarioBusinessService.obtenerResumenPorCategoria();
+    }
+
+    /**
+     * Obtiene los K productos que inmovilizan más capital en stock (cantidad * precio),
+     * en total o por categoría, sin descargar el inventario completo.
+     *
+     * @param k Cantidad de productos a retornar, en total o por categoría (máximo 1000)
+     * @param porCategoria Si es true, retorna los K primeros de cada categoría
+     * @return Lista de ValorStockProductoDTO ordenada por valor descendente
+     *
+     * @apiNote
+     * - URL: GET /api/reportes/top-valor?k=10&porCategoria=false
+     * - Respuesta exitosa: 200 OK
+     * - Respuesta error: 409 CONFLICT si k está fuera de rango
+     * - Nota: posicion es el puesto global, o dentro de la categoría si porCategoria es true
+     *
+     * @example
+     * GET /api/reportes/top-valor?k=2&porCategoria=true
+     * Response: [
+     *   { "productoId": 1, "nombre": "Laptop HP", "categoria": "Electronics", "valor": 19499.85, "posicion": 1 },
+     *   { "productoId": 4, "nombre": "Monitor LG", "categoria": "Electronics", "valor": 3200.00, "posicion": 2 },
+     *   { "productoId": 9, "nombre": "Silla", "categoria": "Muebles", "valor": 1500.00, "posicion": 1 }
+     * ]
+     */
+    @GetMapping("/reportes/top-valor")
+    public List<ValorStockProductoDTO> obtenerTopValorInventario(@RequestParam(defaultValue = "10") int k,
+                                                                 @RequestParam(defaultValue = "false") boolean porCategoria) {
+        return inventarioBusinessService.obtenerTopValorInventario(k, porCategoria);
+    }
+
+    /**
+     * Retorna el valor monetario total del inventario (cantidad por precio unitario),
+     * leído del reporte materializado que se refresca periódicamente.
+     *
+     * @return BigDecimal con el valor total del inventario
+     *
+     * @apiNote
+     * - URL: GET /api/reportes/valor-inventario
+     * - Respuesta: 200 OK con valor total como número
+     * - Content-Type: application/json
+     * - Formato: Número decimal con precisión monetaria
+     * - Frescura: encabezados X-Reporte-Fecha-Refresco, X-Reporte-Antiguedad-Ms y X-Reporte-Version
+     *
+     * @example
+     * GET /api/reportes/valor-inventario
+     * Response headers: X-Reporte-Fecha-Refresco: 2025-01-15T14:22:30, X-Reporte-Antiguedad-Ms: 12500
+     * Response: 25750.50
+     */
+    @GetMapping("/reportes/valor-inventario")
+    public ResponseEntity<BigDecimal> obtenerValorTotalInventario() {
+        return conFrescura(inventarioBusinessService.calcularValorTotalInventario());
+    }
+
+    /**
+     * Muestra cómo ve esta instancia a las de data-service entre las que reparte
+     * sus llamadas.
+     *
+     * @return Lista de EstadoInstanciaDatosDTO, una por instancia configurada
+     *
+     * @apiNote
+     * - URL: GET /api/balanceo
+     * - Respuesta: 200 OK con el estado de cada instancia
+     * - Content-Type: application/json
+     * - Latencia: promedio móvil de las respuestas exitosas desde la última reincorporación
+     *
+     * @example
+     * GET /api/balanceo
+     * Response: [{"url": "http://datos-a:8081", "zona": "a", "peso": 1, "pendientes": 2,
+     *             "latenciaPromedioMs": 14.2, "peticiones": 5120, "errores": 3,
+     *             "expulsada": false, "expulsiones": 0}]
+     */
+    @GetMapping("/balanceo")
+    public List<EstadoInstanciaDatosDTO> obtenerEstadoBalanceo() {
+        return balanceadorDatos.obtenerEstado();
+    }
+
+    private static <T> ResponseEntity<T> conFrescura(ReporteDTO<T> reporte) {
+        long antiguedadMs = Math.max(0, Duration.between(reporte.getFechaRefresco(), LocalDateTime.now()).toMillis());
+        return ResponseEntity.ok()
+                .header(ENCABEZADO_FECHA_REFRESCO, reporte.getFechaRefresco().toString())
+                .header(ENCABEZADO_ANTIGUEDAD, String.valueOf(antiguedadMs))
+                .header(ENCABEZADO_VERSION, String.valueOf(reporte.getVersion()))
+                .body(reporte.getDatos());
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservices_system.business_service.controller;
+
+import com.microservices_system.business_service.exceptions.ClaveIdempotenciaReutilizadaException;
+import com.microservices_system.business_service.exceptions.CuerposError;
+import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.exceptions.PeticionEnCursoException;
+import com.microservices_system.business_service.exceptions.RecursoDuplicadoException;
+import com.microservices_system.business_service.exceptions.RecursoNoEncontradoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class BusinessGlobalExceptionHandler {
+    private static final String ERROR_INESPERADO = "Ocurrió un error inesperado";
+    private static final String ERROR_COMUNICACION = "Error de comunicación con el servicio de datos";
+
+    private final CuerposError cuerposError = new CuerposError(ERROR_INESPERADO, ERROR_COMUNICACION);
+
+    // Recurso no encontrado
+    @ExceptionHandler(RecursoNoEncontradoException.class)
+    public ResponseEntity<byte[]> handleRecursoNoEncontrado(RecursoNoEncontradoException ex) {
+        return cuerposError.respuesta(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    //Recurso duplicado
+    @ExceptionHandler(RecursoDuplicadoException.class)
+    public ResponseEntity<byte[]> handleRecursoDuplicado(RecursoDuplicadoException ex) {
+        return cuerposError.respuesta(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    //Comunicación entre microservicios
+    @ExceptionHandler(MicroserviceCommunicationException.class)
+    public ResponseEntity<byte[]> handleMicroserviceComunication(MicroserviceCommunicationException ex) {
+        return cuerposError.respuesta(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+    }
+
+    //Validación de logica de negocio
+    @ExceptionHandler(ValidacionNegocioException.class)
+    public ResponseEntity<byte[]> handleValidacionNegocio(ValidacionNegocioException ex) {
+        return cuerposError.respuesta(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    // Clave de idempotencia usada con otro cuerpo
+    @ExceptionHandler(ClaveIdempotenciaReutilizadaException.class)
+    public ResponseEntity<byte[]> handleClaveIdempotenciaReutilizada(ClaveIdempotenciaReutilizadaException ex) {
+        return cuerposError.respuesta(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
+
+    // Petición original con la misma clave de idempotencia aún en curso
+    @ExceptionHandler(PeticionEnCursoException.class)
+    public ResponseEntity<byte[]> handlePeticionEnCurso(PeticionEnCursoException ex) {
+        return cuerposError.respuesta(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    // Error genérico
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
+        return cuerposError.respuesta(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_INESPERADO);
+    }
+}
\ No newline at end of file
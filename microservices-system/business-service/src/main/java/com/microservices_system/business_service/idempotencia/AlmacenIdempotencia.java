@@ -0,0 +1,158 @@
+package com.microservices_system.business_service.idempotencia;
+
+import com.microservices_system.business_service.exceptions.ClaveIdempotenciaReutilizadaException;
+import com.microservices_system.business_service.exceptions.PeticionEnCursoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Recuerda el resultado de las operaciones hechas con {@code Idempotency-Key}
+ * para que un reintento lo reciba de nuevo sin repetir la escritura.
+ * <p>
+ * La primera petición con una clave ejecuta la operación; las que llegan
+ * mientras está en curso esperan su resultado hasta {@code espera-ms}, y las
+ * posteriores lo reciben de inmediato. Se recuerdan los resultados exitosos y
+ * los rechazos de validación; una falla de comunicación u otro error
+ * inesperado libera la clave para que el reintento vuelva a ejecutar.
+ * <p>
+ * Las claves vencen a los {@code ttl-segundos} y se guardan como mucho
+ * {@code maximo-claves}, descartando primero las más antiguas. Las que están en
+ * curso no se descartan.
+ * <p>
+ * El almacén es de cada instancia de business-service: con varias instancias
+ * detrás de un balanceador, un reintento que llega a otra no encuentra la
+ * clave y vuelve a ejecutar la operación. Para el alta de productos eso no
+ * crea un duplicado, porque data-service exige nombres únicos y el reintento
+ * recibe 409; para que reciba la respuesta original, el balanceador debe
+ * enviar a cada cliente siempre a la misma instancia.
+ */
+@Component
+public class AlmacenIdempotencia {
+    private final int maximoClaves;
+    private final long ttlNanos;
+    private final long esperaMs;
+
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+    /** Entradas en orden de creación; solo se accede sincronizado. */
+    private final ArrayDeque<Entrada> orden = new ArrayDeque<>();
+
+    private static final class Entrada {
+        final String clave;
+        final Object solicitud;
+        final long creada;
+        final CompletableFuture<Object> resultado = new CompletableFuture<>();
+
+        Entrada(String clave, Object solicitud, long creada) {
+            this.clave = clave;
+            this.solicitud = solicitud;
+            this.creada = creada;
+        }
+
+        boolean vencida(long ahora, long ttlNanos) {
+            return resultado.isDone() && ahora - creada > ttlNanos;
+        }
+    }
+
+    public AlmacenIdempotencia(@Value("${idempotencia.maximo-claves:10000}") int maximoClaves,
+                               @Value("${idempotencia.ttl-segundos:86400}") long ttlSegundos,
+                               @Value("${idempotencia.espera-ms:15000}") long esperaMs) {
+        this.maximoClaves = maximoClaves;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+        this.esperaMs = esperaMs;
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por clave.
+     *
+     * @param clave Clave de idempotencia; si es null o vacía la operación se ejecuta sin más
+     * @param solicitud Cuerpo de la petición; un reintento con la misma clave debe enviar el mismo
+     * @param operacion Operación a ejecutar
+     * @return El resultado de la operación, propio o de la petición original
+     * @throws ClaveIdempotenciaReutilizadaException si la clave ya se usó con otra solicitud
+     * @throws PeticionEnCursoException si la petición original sigue en curso tras la espera
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T ejecutar(String clave, Object solicitud, Supplier<T> operacion) {
+        if (clave == null || clave.isBlank()) {
+            return operacion.get();
+        }
+        long ahora = System.nanoTime();
+        Entrada nueva = new Entrada(clave, solicitud, ahora);
+        Entrada existente;
+        while ((existente = entradas.putIfAbsent(clave, nueva)) != null) {
+            if (!existente.vencida(ahora, ttlNanos)) {
+                return (T) repetir(existente, solicitud);
+            }
+            entradas.remove(clave, existente);
+        }
+        registrar(nueva, ahora);
+
+        try {
+            T valor = operacion.get();
+            nueva.resultado.complete(valor);
+            return valor;
+        } catch (ValidacionNegocioException e) {
+            nueva.resultado.completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            entradas.remove(clave, nueva);
+            nueva.resultado.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    int tamanio() {
+        return entradas.size();
+    }
+
+    private Object repetir(Entrada original, Object solicitud) {
+        if (!Objects.equals(original.solicitud, solicitud)) {
+            throw new ClaveIdempotenciaReutilizadaException(
+                    "La clave de idempotencia ya se usó con otra solicitud: " + original.clave);
+        }
+        try {
+            return original.resultado.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new PeticionEnCursoException(
+                    "La petición original con esta clave de idempotencia sigue en curso: " + original.clave);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PeticionEnCursoException(
+                    "La petición original con esta clave de idempotencia sigue en curso: " + original.clave);
+        }
+    }
+
+    /**
+     * Agrega la entrada al orden de creación y descarta desde la más antigua
+     * las vencidas y las que exceden el máximo, deteniéndose en la primera que
+     * siga en curso.
+     */
+    private synchronized void registrar(Entrada nueva, long ahora) {
+        orden.addLast(nueva);
+        Entrada masAntigua;
+        while ((masAntigua = orden.peekFirst()) != null) {
+            boolean descartada = entradas.get(masAntigua.clave) != masAntigua;
+            if (!descartada && !masAntigua.vencida(ahora, ttlNanos)
+                    && (entradas.size() <= maximoClaves || !masAntigua.resultado.isDone())) {
+                return;
+            }
+            orden.pollFirst();
+            entradas.remove(masAntigua.clave, masAntigua);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.microservices_system.business_service.replica;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Catálogo almacenado fuera del heap en un archivo mapeado en memoria.
+ * Categorías, productos e inventarios se guardan como registros de ancho fijo
+ * ordenados por ID (el propio orden sirve de índice ID → posición, resuelto
+ * con búsqueda binaria), más un índice producto → inventario y un área de
+ * cadenas UTF-8 para nombres y descripciones. Un nodo que reinicia mapea el
+ * archivo y sirve lecturas de inmediato; los registros se decodifican al
+ * leerlos, sin mantener millones de objetos en el heap.
+ * El archivo es de solo lectura una vez escrito: se regenera completo en un
+ * archivo temporal que reemplaza al anterior con un move atómico.
+ */
+final class ArchivoCatalogo {
+    private static final int MAGICO = 0x43415431;
+    private static final int FORMATO = 1;
+    private static final int TAMANIO_CABECERA = 48;
+    private static final int TAMANIO_CATEGORIA = 24;
+    private static final int TAMANIO_PRODUCTO = 44;
+    private static final int TAMANIO_INVENTARIO = 36;
+    private static final int TAMANIO_INDICE = 12;
+    private static final int SIN_VALOR = Integer.MIN_VALUE;
+
+    private final Path ruta;
+    private final MappedByteBuffer datos;
+    private final long version;
+    private final long generadoMs;
+    private final int categorias;
+    private final int productos;
+    private final int inventarios;
+    private final int inicioProductos;
+    private final int inicioInventarios;
+    private final int inicioIndice;
+    private final int inicioCadenas;
+
+    private ArchivoCatalogo(Path ruta, MappedByteBuffer datos) throws IOException {
+        this.ruta = ruta;
+        this.datos = datos;
+        if (datos.capacity() < TAMANIO_CABECERA || datos.getInt(0) != MAGICO || datos.getInt(4) != FORMATO) {
+            throw new IOException("El archivo no es un catálogo válido: " + ruta);
+        }
+        this.version = datos.getLong(8);
+        this.generadoMs = datos.getLong(16);
+        this.categorias = datos.getInt(24);
+        this.productos = datos.getInt(28);
+        this.inventarios = datos.getInt(32);
+        int longitudCadenas = datos.getInt(36);
+        this.inicioProductos = TAMANIO_CABECERA + categorias * TAMANIO_CATEGORIA;
+        this.inicioInventarios = inicioProductos + productos * TAMANIO_PRODUCTO;
+        this.inicioIndice = inicioInventarios + inventarios * TAMANIO_INVENTARIO;
+        this.inicioCadenas = inicioIndice + inventarios * TAMANIO_INDICE;
+        if ((long) inicioCadenas + longitudCadenas != datos.capacity()) {
+            throw new IOException("El archivo de catálogo está truncado: " + ruta);
+        }
+    }
+
+    static ArchivoCatalogo abrir(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            return new ArchivoCatalogo(ruta, canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Escribe el estado completo en el archivo y lo retorna mapeado. Los lectores que
+     * todavía usan el mapeo anterior siguen viendo el archivo reemplazado.
+     */
+    static ArchivoCatalogo escribir(Path ruta, long version, List<EstadoCatalogo.Categoria> categorias,
+                                    List<EstadoCatalogo.Producto> productos,
+                                    List<EstadoCatalogo.Inventario> inventarios) throws IOException {
+        categorias = ordenados(categorias, EstadoCatalogo.Categoria::id);
+        productos = ordenados(productos, EstadoCatalogo.Producto::id);
+        List<EstadoCatalogo.Inventario> ordenInventarios = ordenados(inventarios, EstadoCatalogo.Inventario::id);
+        int[] porProducto = IntStream.range(0, ordenInventarios.size()).boxed()
+                .sorted(Comparator.comparingLong(i -> ordenInventarios.get(i).productoId()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        inventarios = ordenInventarios;
+        Cadenas cadenas = new Cadenas();
+
+        long tamanioRegistros = TAMANIO_CABECERA
+                + (long) categorias.size() * TAMANIO_CATEGORIA
+                + (long) productos.size() * TAMANIO_PRODUCTO
+                + (long) inventarios.size() * (TAMANIO_INVENTARIO + TAMANIO_INDICE);
+        for (EstadoCatalogo.Categoria categoria : categorias) {
+            cadenas.agregar(categoria.nombre());
+            cadenas.agregar(categoria.descripcion());
+        }
+        for (EstadoCatalogo.Producto producto : productos) {
+            cadenas.agregar(producto.nombre());
+            cadenas.agregar(producto.descripcion());
+        }
+        long tamanio = tamanioRegistros + cadenas.longitud;
+        if (tamanio > Integer.MAX_VALUE) {
+            throw new IOException("El catálogo excede el tamaño máximo de un archivo mapeado: " + tamanio + " bytes");
+        }
+
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer salida = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanio);
+            salida.putInt(MAGICO).putInt(FORMATO).putLong(version).putLong(System.currentTimeMillis())
+                    .putInt(categorias.size()).putInt(productos.size()).putInt(inventarios.size())
+                    .putInt((int) cadenas.longitud).putLong(0);
+            int cadena = 0;
+            for (EstadoCatalogo.Categoria categoria : categorias) {
+                salida.putLong(categoria.id());
+                cadena = cadenas.escribirReferencia(salida, cadena);
+                cadena = cadenas.escribirReferencia(salida, cadena);
+            }
+            for (EstadoCatalogo.Producto producto : productos) {
+                salida.putLong(producto.id()).putLong(producto.categoriaId());
+                escribirPrecio(salida, producto.precio());
+                cadena = cadenas.escribirReferencia(salida, cadena);
+                cadena = cadenas.escribirReferencia(salida, cadena);
+            }
+            for (EstadoCatalogo.Inventario inventario : inventarios) {
+                salida.putLong(inventario.id()).putLong(inventario.productoId()).putInt(inventario.cantidad())
+                        .putInt(inventario.stockMinimo() != null ? inventario.stockMinimo() : SIN_VALOR);
+                LocalDateTime fecha = inventario.fechaActualizacion();
+                salida.putLong(fecha != null ? fecha.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE)
+                        .putInt(fecha != null ? fecha.getNano() : 0);
+            }
+            for (int posicion : porProducto) {
+                salida.putLong(inventarios.get(posicion).productoId()).putInt(posicion);
+            }
+            cadenas.escribirArea(salida);
+            salida.force();
+        }
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return abrir(ruta);
+    }
+
+    long version() {
+        return version;
+    }
+
+    long generadoMs() {
+        return generadoMs;
+    }
+
+    Path ruta() {
+        return ruta;
+    }
+
+    EstadoCatalogo.Categoria categoria(long id) {
+        int i = buscar(TAMANIO_CABECERA, TAMANIO_CATEGORIA, categorias, id);
+        return i < 0 ? null : leerCategoria(i);
+    }
+
+    EstadoCatalogo.Producto producto(long id) {
+        int i = buscar(inicioProductos, TAMANIO_PRODUCTO, productos, id);
+        return i < 0 ? null : leerProducto(i);
+    }
+
+    EstadoCatalogo.Inventario inventario(long id) {
+        int i = buscar(inicioInventarios, TAMANIO_INVENTARIO, inventarios, id);
+        return i < 0 ? null : leerInventario(i);
+    }
+
+    EstadoCatalogo.Inventario inventarioDeProducto(long productoId) {
+        int i = buscar(inicioIndice, TAMANIO_INDICE, inventarios, productoId);
+        return i < 0 ? null : leerInventario(datos.getInt(inicioIndice + i * TAMANIO_INDICE + 8));
+    }
+
+    List<EstadoCatalogo.Categoria> categorias() {
+        List<EstadoCatalogo.Categoria> resultado = new ArrayList<>(categorias);
+        for (int i = 0; i < categorias; i++) {
+            resultado.add(leerCategoria(i));
+        }
+        return resultado;
+    }
+
+    List<EstadoCatalogo.Producto> productos() {
+        List<EstadoCatalogo.Producto> resultado = new ArrayList<>(productos);
+        for (int i = 0; i < productos; i++) {
+            resultado.add(leerProducto(i));
+        }
+        return resultado;
+    }
+
+    List<EstadoCatalogo.Inventario> inventarios() {
+        List<EstadoCatalogo.Inventario> resultado = new ArrayList<>(inventarios);
+        for (int i = 0; i < inventarios; i++) {
+            resultado.add(leerInventario(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Búsqueda binaria sobre registros ordenados cuyo primer campo es la clave long.
+     * Si la clave se repite (índice producto → inventario) retorna la última aparición.
+     */
+    private int buscar(int inicio, int tamanioRegistro, int cantidad, long clave) {
+        int bajo = 0;
+        int alto = cantidad - 1;
+        int encontrado = -1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            long actual = datos.getLong(inicio + medio * tamanioRegistro);
+            if (actual < clave) {
+                bajo = medio + 1;
+            } else if (actual > clave) {
+                alto = medio - 1;
+            } else {
+                encontrado = medio;
+                bajo = medio + 1;
+            }
+        }
+        return encontrado;
+    }
+
+    private EstadoCatalogo.Categoria leerCategoria(int i) {
+        int base = TAMANIO_CABECERA + i * TAMANIO_CATEGORIA;
+        return new EstadoCatalogo.Categoria(datos.getLong(base), leerCadena(base + 8), leerCadena(base + 16));
+    }
+
+    private EstadoCatalogo.Producto leerProducto(int i) {
+        int base = inicioProductos + i * TAMANIO_PRODUCTO;
+        int escala = datos.getInt(base + 24);
+        BigDecimal precio = escala == SIN_VALOR ? null : BigDecimal.valueOf(datos.getLong(base + 16), escala);
+        return new EstadoCatalogo.Producto(datos.getLong(base), leerCadena(base + 28), leerCadena(base + 36),
+                precio, datos.getLong(base + 8));
+    }
+
+    private EstadoCatalogo.Inventario leerInventario(int i) {
+        int base = inicioInventarios + i * TAMANIO_INVENTARIO;
+        int stockMinimo = datos.getInt(base + 20);
+        long segundos = datos.getLong(base + 24);
+        LocalDateTime fecha = segundos == Long.MIN_VALUE ? null
+                : LocalDateTime.ofEpochSecond(segundos, datos.getInt(base + 32), ZoneOffset.UTC);
+        return new EstadoCatalogo.Inventario(datos.getLong(base), datos.getLong(base + 8), datos.getInt(base + 16),
+                stockMinimo == SIN_VALOR ? null : stockMinimo, fecha);
+    }
+
+    private String leerCadena(int referencia) {
+        int longitud = datos.getInt(referencia + 4);
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        datos.get(inicioCadenas + datos.getInt(referencia), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void escribirPrecio(ByteBuffer salida, BigDecimal precio) throws IOException {
+        if (precio == null) {
+            salida.putLong(0).putInt(SIN_VALOR);
+            return;
+        }
+        BigInteger sinEscala = precio.unscaledValue();
+        if (sinEscala.bitLength() > 63) {
+            throw new IOException("Precio fuera de rango para el archivo de catálogo: " + precio);
+        }
+        salida.putLong(sinEscala.longValue()).putInt(precio.scale());
+    }
+
+    private static <T> List<T> ordenados(List<T> registros, ToLongFunction<T> id) {
+        List<T> copia = new ArrayList<>(registros);
+        copia.sort(Comparator.comparingLong(id));
+        return copia;
+    }
+
+    /**
+     * Área de cadenas UTF-8. Cada referencia ocupa 8 bytes: desplazamiento y longitud (-1 para null).
+     */
+    private static final class Cadenas {
+        private final List<byte[]> valores = new ArrayList<>();
+        private long longitud;
+        private int desplazamiento;
+
+        private void agregar(String valor) {
+            byte[] bytes = valor != null ? valor.getBytes(StandardCharsets.UTF_8) : null;
+            valores.add(bytes);
+            if (bytes != null) {
+                longitud += bytes.length;
+            }
+        }
+
+        private int escribirReferencia(ByteBuffer salida, int indice) {
+            byte[] bytes = valores.get(indice);
+            if (bytes == null) {
+                salida.putInt(0).putInt(-1);
+            } else {
+                salida.putInt(desplazamiento).putInt(bytes.length);
+                desplazamiento += bytes.length;
+            }
+            return indice + 1;
+        }
+
+        private void escribirArea(ByteBuffer salida) {
+            for (byte[] bytes : valores) {
+                if (bytes != null) {
+                    salida.put(bytes);
+                }
+            }
+        }
+    }
+}
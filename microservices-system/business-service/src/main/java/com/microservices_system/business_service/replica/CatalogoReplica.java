@@ -0,0 +1,211 @@
+package com.microservices_system.business_service.replica;
+
+import com.microservices_system.business_service.client.DataServiceClient;
+import com.microservices_system.business_service.dto.CategoriaDTO;
+import com.microservices_system.business_service.dto.FeedCambiosDTO;
+import com.microservices_system.business_service.dto.InventarioDTO;
+import com.microservices_system.business_service.dto.ProductoDTO;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Réplica en memoria del catálogo (categorías, productos e inventario) para
+ * servir lecturas sin llamar al servicio de datos. Se carga una vez desde
+ * GET /data/cambios/snapshot y luego se mantiene al día leyendo el feed de
+ * cambios. Si el servicio de datos no responde, se siguen sirviendo los
+ * datos de la última sincronización y su antigüedad crece.
+ * Solo se activa con catalogo.replica.habilitada=true.
+ * <p>
+ * Con catalogo.replica.archivo configurado, el catálogo se guarda fuera del
+ * heap en un archivo mapeado en memoria ({@link ArchivoCatalogo}). Al reiniciar
+ * se mapea ese archivo y se sirven lecturas antes de contactar al servicio de
+ * datos; los cambios posteriores se acumulan en heap y se consolidan en un
+ * archivo nuevo al superar catalogo.replica.max-cambios-en-memoria.
+ */
+@Component
+@Slf4j
+public class CatalogoReplica {
+    private final DataServiceClient dataServiceClient;
+    private final boolean habilitada;
+    private final int tamanioPagina;
+    private final Path rutaArchivo;
+    private final int maxCambiosEnMemoria;
+    private volatile EstadoCatalogo estado;
+    private volatile long ultimaSincronizacionMs;
+
+    public CatalogoReplica(DataServiceClient dataServiceClient,
+                           @Value("${catalogo.replica.habilitada:false}") boolean habilitada,
+                           @Value("${catalogo.replica.tamanio-pagina:1000}") int tamanioPagina,
+                           @Value("${catalogo.replica.archivo:}") String archivo,
+                           @Value("${catalogo.replica.max-cambios-en-memoria:10000}") int maxCambiosEnMemoria) {
+        this.dataServiceClient = dataServiceClient;
+        this.habilitada = habilitada;
+        this.tamanioPagina = tamanioPagina;
+        this.rutaArchivo = archivo == null || archivo.isBlank() ? null : Path.of(archivo);
+        this.maxCambiosEnMemoria = maxCambiosEnMemoria;
+    }
+
+    /**
+     * Indica si la réplica está habilitada y ya tiene un snapshot cargado.
+     */
+    public boolean disponible() {
+        return habilitada && estado != null;
+    }
+
+    /**
+     * Carga el snapshot inicial si todavía no existe y aplica todas las páginas
+     * pendientes del feed de cambios.
+     */
+    @Scheduled(fixedDelayString = "${catalogo.replica.intervalo-ms:1000}")
+    public void sincronizar() {
+        if (!habilitada) {
+            return;
+        }
+        try {
+            EstadoCatalogo actual = estado;
+            if (actual == null) {
+                actual = cargarInicial();
+                estado = actual;
+                log.info("Réplica del catálogo cargada en la versión {}", actual.version());
+            }
+            FeedCambiosDTO feed;
+            do {
+                feed = dataServiceClient.obtenerCambios(actual.version(), tamanioPagina);
+                actual = actual.aplicar(feed.getCambios(), feed.getUltimaVersion());
+                estado = actual;
+            } while (feed.isHayMas());
+            ultimaSincronizacionMs = System.currentTimeMillis();
+            if (rutaArchivo != null && actual.cambiosEnMemoria() > maxCambiosEnMemoria) {
+                estado = persistir(actual);
+            }
+        } catch (FeignException e) {
+            log.warn("No se pudo sincronizar la réplica del catálogo, se sigue sirviendo la versión {}",
+                    version(), e);
+        }
+    }
+
+    /**
+     * Consolida en el archivo los cambios acumulados en heap antes de detener el
+     * servicio, para que el próximo arranque parta de la versión más reciente.
+     */
+    @PreDestroy
+    public void guardar() {
+        EstadoCatalogo actual = estado;
+        if (rutaArchivo != null && actual != null && actual.cambiosEnMemoria() > 0) {
+            estado = persistir(actual);
+        }
+    }
+
+    private EstadoCatalogo cargarInicial() {
+        if (rutaArchivo != null && Files.exists(rutaArchivo)) {
+            try {
+                ArchivoCatalogo archivo = ArchivoCatalogo.abrir(rutaArchivo);
+                ultimaSincronizacionMs = archivo.generadoMs();
+                return EstadoCatalogo.sobre(archivo);
+            } catch (IOException e) {
+                log.warn("No se pudo abrir el archivo de catálogo {}, se carga desde el servicio de datos",
+                        rutaArchivo, e);
+            }
+        }
+        EstadoCatalogo inicial = EstadoCatalogo.desde(dataServiceClient.obtenerSnapshotCatalogo());
+        return rutaArchivo != null ? persistir(inicial) : inicial;
+    }
+
+    private EstadoCatalogo persistir(EstadoCatalogo actual) {
+        try {
+            ArchivoCatalogo archivo = ArchivoCatalogo.escribir(rutaArchivo, actual.version(),
+                    actual.categorias(), actual.productos(), actual.inventarios());
+            log.info("Catálogo de la versión {} guardado en {}", actual.version(), rutaArchivo);
+            return EstadoCatalogo.sobre(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el catálogo en {}, se mantiene en memoria", rutaArchivo, e);
+            return actual;
+        }
+    }
+
+    public long version() {
+        EstadoCatalogo actual = estado;
+        return actual != null ? actual.version() : 0L;
+    }
+
+    /**
+     * Milisegundos transcurridos desde la última sincronización completa con el servicio de datos.
+     */
+    public long antiguedadMs() {
+        return System.currentTimeMillis() - ultimaSincronizacionMs;
+    }
+
+    public List<ProductoDTO> obtenerProductos() {
+        EstadoCatalogo actual = estado;
+        return actual.productos().stream()
+                .map(producto -> productoDTO(actual, producto))
+                .toList();
+    }
+
+    public Optional<ProductoDTO> obtenerProducto(long id) {
+        EstadoCatalogo actual = estado;
+        return Optional.ofNullable(actual.producto(id))
+                .map(producto -> productoDTO(actual, producto));
+    }
+
+    public List<ProductoDTO> obtenerProductosPorCategoria(String nombreCategoria) {
+        EstadoCatalogo actual = estado;
+        return actual.productos().stream()
+                .filter(producto -> {
+                    EstadoCatalogo.Categoria categoria = actual.categoria(producto.categoriaId());
+                    return categoria != null && categoria.nombre().equals(nombreCategoria);
+                })
+                .map(producto -> productoDTO(actual, producto))
+                .toList();
+    }
+
+    public List<CategoriaDTO> obtenerCategorias() {
+        return estado.categorias().stream()
+                .map(categoria -> new CategoriaDTO(categoria.id(), categoria.nombre(), categoria.descripcion()))
+                .toList();
+    }
+
+    public List<InventarioDTO> obtenerInventarios() {
+        EstadoCatalogo actual = estado;
+        return actual.inventarios().stream()
+                .map(inventario -> inventarioDTO(actual, inventario))
+                .toList();
+    }
+
+    public List<InventarioDTO> obtenerInventariosConStockBajo() {
+        EstadoCatalogo actual = estado;
+        return actual.inventarios().stream()
+                .filter(CatalogoReplica::stockBajo)
+                .map(inventario -> inventarioDTO(actual, inventario))
+                .toList();
+    }
+
+    private static ProductoDTO productoDTO(EstadoCatalogo estado, EstadoCatalogo.Producto producto) {
+        EstadoCatalogo.Categoria categoria = estado.categoria(producto.categoriaId());
+        EstadoCatalogo.Inventario inventario = estado.inventarioDeProducto(producto.id());
+        return new ProductoDTO(producto.id(), producto.nombre(), producto.descripcion(), producto.precio(),
+                categoria != null ? categoria.nombre() : null,
+                inventario != null ? inventario.cantidad() : null,
+                inventario != null ? stockBajo(inventario) : null);
+    }
+
+    private static InventarioDTO inventarioDTO(EstadoCatalogo estado, EstadoCatalogo.Inventario inventario) {
+        EstadoCatalogo.Producto producto = estado.producto(inventario.productoId());
+        return new InventarioDTO(inventario.id(), producto != null ? productoDTO(estado, producto) : null,
+                inventario.cantidad(), inventario.stockMinimo(), inventario.fechaActualizacion());
+    }
+
+    private static boolean stockBajo(EstadoCatalogo.Inventario inventario) {
+        return inventario.stockMinimo() != null && inventario.cantidad() <= inventario.stockMinimo();
+    }
+}
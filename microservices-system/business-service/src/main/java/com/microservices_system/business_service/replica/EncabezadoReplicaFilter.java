@@ -0,0 +1,35 @@
+package com.microservices_system.business_service.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Informa en cada respuesta de la API de negocio la versión y la antigüedad de
+ * la réplica del catálogo, para que los clientes sepan cuán desactualizada
+ * puede estar una lectura.
+ */
+public class EncabezadoReplicaFilter extends OncePerRequestFilter {
+    public static final String ENCABEZADO_ANTIGUEDAD = "X-Catalogo-Antiguedad-Ms";
+    public static final String ENCABEZADO_VERSION = "X-Catalogo-Version";
+
+    private final CatalogoReplica catalogoReplica;
+
+    public EncabezadoReplicaFilter(CatalogoReplica catalogoReplica) {
+        this.catalogoReplica = catalogoReplica;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (catalogoReplica.disponible()) {
+            response.setHeader(ENCABEZADO_ANTIGUEDAD, String.valueOf(catalogoReplica.antiguedadMs()));
+            response.setHeader(ENCABEZADO_VERSION, String.valueOf(catalogoReplica.version()));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
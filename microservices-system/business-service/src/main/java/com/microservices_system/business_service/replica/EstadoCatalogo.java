@@ -0,0 +1,240 @@
+package com.microservices_system.business_service.replica;
+
+import com.microservices_system.business_service.dto.CambioDTO;
+import com.microservices_system.business_service.dto.CategoriaDTO;
+import com.microservices_system.business_service.dto.InventarioDatosDTO;
+import com.microservices_system.business_service.dto.ProductoDatosDTO;
+import com.microservices_system.business_service.dto.SnapshotCatalogoDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Versión inmutable del catálogo replicado. Cada sincronización con cambios
+ * produce una copia nueva que se publica de una sola vez, por lo que los
+ * lectores ven siempre categorías, productos e inventarios de la misma versión.
+ * <p>
+ * Puede apoyarse en un {@link ArchivoCatalogo} mapeado en memoria: en ese caso
+ * los mapas en heap solo contienen los cambios posteriores al archivo, con
+ * marcas para las entidades eliminadas, y el resto se lee del archivo.
+ */
+final class EstadoCatalogo {
+    record Categoria(long id, String nombre, String descripcion) {
+    }
+
+    record Producto(long id, String nombre, String descripcion, BigDecimal precio, long categoriaId) {
+    }
+
+    record Inventario(long id, long productoId, int cantidad, Integer stockMinimo, LocalDateTime fechaActualizacion) {
+    }
+
+    private static final Categoria CATEGORIA_ELIMINADA = new Categoria(0, null, null);
+    private static final Producto PRODUCTO_ELIMINADO = new Producto(0, null, null, null, 0);
+    private static final Inventario INVENTARIO_ELIMINADO = new Inventario(0, 0, 0, null, null);
+
+    private final long version;
+    private final ArchivoCatalogo archivo;
+    private final MapaLongVersionado<Categoria> categorias;
+    private final MapaLongVersionado<Producto> productos;
+    private final MapaLongVersionado<Inventario> inventarios;
+    private final MapaLongVersionado<Inventario> inventariosPorProducto;
+
+    private EstadoCatalogo(long version, ArchivoCatalogo archivo, MapaLongVersionado<Categoria> categorias,
+                           MapaLongVersionado<Producto> productos, MapaLongVersionado<Inventario> inventarios,
+                           MapaLongVersionado<Inventario> inventariosPorProducto) {
+        this.version = version;
+        this.archivo = archivo;
+        this.categorias = categorias;
+        this.productos = productos;
+        this.inventarios = inventarios;
+        this.inventariosPorProducto = inventariosPorProducto;
+    }
+
+    static EstadoCatalogo desde(SnapshotCatalogoDTO snapshot) {
+        EstadoCatalogo estado = new EstadoCatalogo(valor(snapshot.getVersion()), null,
+                new MapaLongVersionado<>(snapshot.getCategorias().size()),
+                new MapaLongVersionado<>(snapshot.getProductos().size()),
+                new MapaLongVersionado<>(snapshot.getInventarios().size()),
+                new MapaLongVersionado<>(snapshot.getInventarios().size()));
+        snapshot.getCategorias().forEach(estado::ponerCategoria);
+        snapshot.getProductos().forEach(estado::ponerProducto);
+        snapshot.getInventarios().forEach(estado::ponerInventario);
+        return estado;
+    }
+
+    static EstadoCatalogo sobre(ArchivoCatalogo archivo) {
+        return new EstadoCatalogo(archivo.version(), archivo, new MapaLongVersionado<>(16),
+                new MapaLongVersionado<>(16), new MapaLongVersionado<>(16), new MapaLongVersionado<>(16));
+    }
+
+    /**
+     * Aplica una página del feed de cambios sobre una copia de este estado.
+     * Los datos de cada cambio son el estado actual de la entidad, así que un
+     * cambio sin datos equivale a una eliminación y reaplicar un cambio no tiene efecto.
+     * La copia comparte con este estado la base de cada mapa y solo duplica los
+     * cambios acumulados sobre ella (ver {@link MapaLongVersionado}).
+     */
+    EstadoCatalogo aplicar(List<CambioDTO> cambios, long nuevaVersion) {
+        if (cambios.isEmpty()) {
+            return nuevaVersion == version ? this : new EstadoCatalogo(nuevaVersion, archivo, categorias, productos,
+                    inventarios, inventariosPorProducto);
+        }
+        EstadoCatalogo copia = new EstadoCatalogo(nuevaVersion, archivo, categorias.copia(), productos.copia(),
+                inventarios.copia(), inventariosPorProducto.copia());
+        for (CambioDTO cambio : cambios) {
+            long id = cambio.getEntidadId();
+            switch (cambio.getEntidad()) {
+                case "CATEGORIA" -> {
+                    if (cambio.getCategoria() != null) {
+                        copia.ponerCategoria(cambio.getCategoria());
+                    } else {
+                        copia.quitar(copia.categorias, id, CATEGORIA_ELIMINADA);
+                    }
+                }
+                case "PRODUCTO" -> {
+                    if (cambio.getProducto() != null) {
+                        copia.ponerProducto(cambio.getProducto());
+                    } else {
+                        copia.quitar(copia.productos, id, PRODUCTO_ELIMINADO);
+                    }
+                }
+                case "INVENTARIO" -> {
+                    copia.eliminarInventario(id);
+                    if (cambio.getInventario() != null) {
+                        copia.ponerInventario(cambio.getInventario());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return copia;
+    }
+
+    long version() {
+        return version;
+    }
+
+    ArchivoCatalogo archivo() {
+        return archivo;
+    }
+
+    /**
+     * Cantidad de entradas en heap por encima del archivo mapeado.
+     */
+    int cambiosEnMemoria() {
+        return categorias.tamanio() + productos.tamanio() + inventarios.tamanio();
+    }
+
+    Categoria categoria(long id) {
+        return buscar(categorias, id, CATEGORIA_ELIMINADA, archivo != null ? archivo::categoria : null);
+    }
+
+    Producto producto(long id) {
+        return buscar(productos, id, PRODUCTO_ELIMINADO, archivo != null ? archivo::producto : null);
+    }
+
+    Inventario inventario(long id) {
+        return buscar(inventarios, id, INVENTARIO_ELIMINADO, archivo != null ? archivo::inventario : null);
+    }
+
+    Inventario inventarioDeProducto(long productoId) {
+        return buscar(inventariosPorProducto, productoId, INVENTARIO_ELIMINADO,
+                archivo != null ? archivo::inventarioDeProducto : null);
+    }
+
+    List<Categoria> categorias() {
+        return combinar(archivo != null ? archivo.categorias() : List.of(), categorias, CATEGORIA_ELIMINADA,
+                Categoria::id);
+    }
+
+    List<Producto> productos() {
+        return combinar(archivo != null ? archivo.productos() : List.of(), productos, PRODUCTO_ELIMINADO,
+                Producto::id);
+    }
+
+    List<Inventario> inventarios() {
+        return combinar(archivo != null ? archivo.inventarios() : List.of(), inventarios, INVENTARIO_ELIMINADO,
+                Inventario::id);
+    }
+
+    private static <T> T buscar(MapaLongVersionado<T> mapa, long id, T eliminado, LongFunction<T> archivo) {
+        T valor = mapa.obtener(id);
+        if (valor == eliminado) {
+            return null;
+        }
+        return valor != null || archivo == null ? valor : archivo.apply(id);
+    }
+
+    /**
+     * Une los registros del archivo con los cambios en heap, ordenados por ID.
+     */
+    private static <T> List<T> combinar(List<T> base, MapaLongVersionado<T> cambios, T eliminado,
+                                        ToLongFunction<T> id) {
+        List<T> enMemoria = cambios.valores();
+        if (base.isEmpty()) {
+            return enMemoria.stream().filter(valor -> valor != eliminado).toList();
+        }
+        List<T> resultado = new ArrayList<>(base.size() + enMemoria.size());
+        for (T valor : base) {
+            if (cambios.obtener(id.applyAsLong(valor)) == null) {
+                resultado.add(valor);
+            }
+        }
+        for (T valor : enMemoria) {
+            if (valor != eliminado) {
+                resultado.add(valor);
+            }
+        }
+        resultado.sort(Comparator.comparingLong(id));
+        return resultado;
+    }
+
+    private <T> void quitar(MapaLongVersionado<T> mapa, long id, T eliminado) {
+        if (archivo != null) {
+            mapa.poner(id, eliminado);
+        } else {
+            mapa.eliminar(id);
+        }
+    }
+
+    private void ponerCategoria(CategoriaDTO categoria) {
+        categorias.poner(categoria.getId(), new Categoria(categoria.getId(), categoria.getNombre(),
+                categoria.getDescripcion()));
+    }
+
+    private void ponerProducto(ProductoDatosDTO producto) {
+        productos.poner(producto.getId(), new Producto(producto.getId(), producto.getNombre(),
+                producto.getDescripcion(), producto.getPrecio(), valor(producto.getCategoriaId())));
+    }
+
+    private void ponerInventario(InventarioDatosDTO datos) {
+        Inventario inventario = new Inventario(datos.getId(), valor(datos.getProductoId()),
+                datos.getCantidad() != null ? datos.getCantidad() : 0, datos.getStockMinimo(),
+                datos.getFechaActualizacion());
+        inventarios.poner(inventario.id(), inventario);
+        if (inventario.productoId() > 0) {
+            inventariosPorProducto.poner(inventario.productoId(), inventario);
+        }
+    }
+
+    private void eliminarInventario(long id) {
+        Inventario anterior = inventario(id);
+        quitar(inventarios, id, INVENTARIO_ELIMINADO);
+        if (anterior != null && anterior.productoId() > 0) {
+            Inventario actual = inventarioDeProducto(anterior.productoId());
+            if (actual != null && actual.id() == id) {
+                quitar(inventariosPorProducto, anterior.productoId(), INVENTARIO_ELIMINADO);
+            }
+        }
+    }
+
+    private static long valor(Long id) {
+        return id != null ? id : 0L;
+    }
+}
@@ -0,0 +1,158 @@
+package com.microservices_system.business_service.replica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mapa de claves long primitivas con direccionamiento abierto y sondeo lineal.
+ * Evita el boxing de claves y los nodos por entrada de un HashMap; las claves
+ * y los valores viven en dos arreglos paralelos. La clave 0 se reserva como
+ * marca de celda libre, por lo que solo admite IDs positivos.
+ * No es thread-safe: la réplica trabaja sobre copias (ver {@link MapaLongVersionado})
+ * y publica cada versión completa.
+ */
+final class MapaLong<V> {
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+    private long[] claves;
+    private Object[] valores;
+    private int mascara;
+    private int tamanio;
+
+    MapaLong(int capacidadEsperada) {
+        int capacidad = Integer.highestOneBit(Math.max(16, capacidadEsperada * 2) - 1) << 1;
+        claves = new long[capacidad];
+        valores = new Object[capacidad];
+        mascara = capacidad - 1;
+    }
+
+    private MapaLong(MapaLong<V> original) {
+        claves = original.claves.clone();
+        valores = original.valores.clone();
+        mascara = original.mascara;
+        tamanio = original.tamanio;
+    }
+
+    MapaLong<V> copia() {
+        return new MapaLong<>(this);
+    }
+
+    int tamanio() {
+        return tamanio;
+    }
+
+    @SuppressWarnings("unchecked")
+    V obtener(long clave) {
+        for (int i = indice(clave); claves[i] != 0; i = (i + 1) & mascara) {
+            if (claves[i] == clave) {
+                return (V) valores[i];
+            }
+        }
+        return null;
+    }
+
+    void poner(long clave, V valor) {
+        if (clave <= 0) {
+            throw new IllegalArgumentException("La clave debe ser positiva: " + clave);
+        }
+        if ((tamanio + 1) * 2 > claves.length) {
+            redimensionar(claves.length * 2);
+        }
+        int i = indice(clave);
+        while (claves[i] != 0 && claves[i] != clave) {
+            i = (i + 1) & mascara;
+        }
+        if (claves[i] == 0) {
+            claves[i] = clave;
+            tamanio++;
+        }
+        valores[i] = valor;
+    }
+
+    /**
+     * Elimina la clave desplazando hacia atrás las entradas siguientes del mismo
+     * grupo, para no dejar marcas de borrado que alarguen las búsquedas.
+     */
+    @SuppressWarnings("unchecked")
+    V eliminar(long clave) {
+        int i = indice(clave);
+        while (claves[i] != clave) {
+            if (claves[i] == 0) {
+                return null;
+            }
+            i = (i + 1) & mascara;
+        }
+        V anterior = (V) valores[i];
+        int hueco = i;
+        for (int j = (i + 1) & mascara; claves[j] != 0; j = (j + 1) & mascara) {
+            int ideal = indice(claves[j]);
+            if (((j - ideal) & mascara) >= ((j - hueco) & mascara)) {
+                claves[hueco] = claves[j];
+                valores[hueco] = valores[j];
+                hueco = j;
+            }
+        }
+        claves[hueco] = 0;
+        valores[hueco] = null;
+        tamanio--;
+        return anterior;
+    }
+
+    /**
+     * Retorna los valores ordenados por clave.
+     */
+    @SuppressWarnings("unchecked")
+    List<V> valores() {
+        long[] ordenadas = new long[tamanio];
+        int n = 0;
+        for (long clave : claves) {
+            if (clave != 0) {
+                ordenadas[n++] = clave;
+            }
+        }
+        Arrays.sort(ordenadas);
+        List<V> resultado = new ArrayList<>(tamanio);
+        for (long clave : ordenadas) {
+            resultado.add(obtener(clave));
+        }
+        return resultado;
+    }
+
+    /**
+     * Recorre las entradas sin orden definido.
+     */
+    @SuppressWarnings("unchecked")
+    void recorrer(Visitante<V> visitante) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != 0) {
+                visitante.visitar(claves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitante<V> {
+        void visitar(long clave, V valor);
+    }
+
+    private int indice(long clave) {
+        long h = clave * MEZCLA;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redimensionar(int capacidad) {
+        long[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        claves = new long[capacidad];
+        valores = new Object[capacidad];
+        mascara = capacidad - 1;
+        tamanio = 0;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (clavesAnteriores[i] != 0) {
+                poner(clavesAnteriores[i], (V) valoresAnteriores[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.microservices_system.business_service.replica;
+
+import java.util.List;
+
+/**
+ * Mapa de claves long con copias baratas, para publicar una versión nueva del
+ * catálogo por cada página del feed sin clonar el catálogo entero.
+ * <p>
+ * Tiene dos capas: una base que comparten todas las copias y que nunca se
+ * modifica, y los cambios propios de cada versión (con una marca para las claves
+ * borradas de la base). Copiar solo clona la capa de cambios; cuando esta crece
+ * por encima de {@link #limiteCambios(int)} se consolida en una base nueva, de
+ * modo que el costo de copiar queda acotado y el de consolidar se reparte entre
+ * muchas páginas.
+ * No es thread-safe: cada versión se modifica solo antes de publicarse.
+ */
+final class MapaLongVersionado<V> {
+    private static final Object BORRADO = new Object();
+    private static final int MINIMO_CAMBIOS = 1024;
+
+    private final MapaLong<V> base;
+    private final MapaLong<Object> cambios;
+    private int tamanio;
+
+    MapaLongVersionado(int capacidadEsperada) {
+        this(new MapaLong<>(16), new MapaLong<>(capacidadEsperada), 0);
+    }
+
+    private MapaLongVersionado(MapaLong<V> base, MapaLong<Object> cambios, int tamanio) {
+        this.base = base;
+        this.cambios = cambios;
+        this.tamanio = tamanio;
+    }
+
+    /**
+     * @return Una copia independiente: lo que se modifique en ella no afecta a esta
+     */
+    MapaLongVersionado<V> copia() {
+        if (cambios.tamanio() > limiteCambios(base.tamanio())) {
+            return new MapaLongVersionado<>(consolidado(), new MapaLong<>(16), tamanio);
+        }
+        return new MapaLongVersionado<>(base, cambios.copia(), tamanio);
+    }
+
+    /**
+     * Cambios que se toleran sobre la base antes de consolidar. Crece con la raíz
+     * del tamaño de la base, que equilibra lo que cuesta copiar los cambios en cada
+     * página con lo que cuesta, cada tanto, copiar la base.
+     */
+    static int limiteCambios(int tamanioBase) {
+        return Math.max(MINIMO_CAMBIOS, 32 * (int) Math.sqrt(tamanioBase));
+    }
+
+    int tamanio() {
+        return tamanio;
+    }
+
+    @SuppressWarnings("unchecked")
+    V obtener(long clave) {
+        Object valor = cambios.obtener(clave);
+        if (valor == BORRADO) {
+            return null;
+        }
+        return valor != null ? (V) valor : base.obtener(clave);
+    }
+
+    void poner(long clave, V valor) {
+        if (obtener(clave) == null) {
+            tamanio++;
+        }
+        cambios.poner(clave, valor);
+    }
+
+    void eliminar(long clave) {
+        if (obtener(clave) == null) {
+            return;
+        }
+        tamanio--;
+        if (base.obtener(clave) != null) {
+            cambios.poner(clave, BORRADO);
+        } else {
+            cambios.eliminar(clave);
+        }
+    }
+
+    /**
+     * Retorna los valores ordenados por clave.
+     */
+    List<V> valores() {
+        return cambios.tamanio() == 0 ? base.valores() : consolidado().valores();
+    }
+
+    /**
+     * Aplica los cambios sobre una copia de la base.
+     */
+    @SuppressWarnings("unchecked")
+    private MapaLong<V> consolidado() {
+        MapaLong<V> resultado = base.copia();
+        cambios.recorrer((clave, valor) -> {
+            if (valor == BORRADO) {
+                resultado.eliminar(clave);
+            } else {
+                resultado.poner(clave, (V) valor);
+            }
+        });
+        return resultado;
+    }
+}
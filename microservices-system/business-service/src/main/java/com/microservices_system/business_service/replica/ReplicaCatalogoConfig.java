@@ -0,0 +1,17 @@
+package com.microservices_system.business_service.replica;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReplicaCatalogoConfig {
+
+    @Bean
+    public FilterRegistrationBean<EncabezadoReplicaFilter> encabezadoReplicaFilter(CatalogoReplica catalogoReplica) {
+        FilterRegistrationBean<EncabezadoReplicaFilter> registro =
+                new FilterRegistrationBean<>(new EncabezadoReplicaFilter(catalogoReplica));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
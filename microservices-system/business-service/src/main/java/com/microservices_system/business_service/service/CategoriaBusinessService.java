@@ -3,6 +3,7 @@ package com.microservices_system.business_service.service;
 import com.microservices_system.business_service.client.DataServiceClient;
 import com.microservices_system.business_service.dto.CategoriaDTO;
 import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.replica.CatalogoReplica;
 import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,12 +14,17 @@ import java.util.List;
 @Slf4j
 public class CategoriaBusinessService {
     private final DataServiceClient dataServiceClient;
+    private final CatalogoReplica catalogoReplica;
 
-    public CategoriaBusinessService(DataServiceClient dataServiceClient) {
+    public CategoriaBusinessService(DataServiceClient dataServiceClient, CatalogoReplica catalogoReplica) {
         this.dataServiceClient = dataServiceClient;
+        this.catalogoReplica = catalogoReplica;
     }
 
     public List<CategoriaDTO> obtenerTodosLasCategorias() {
+        if (catalogoReplica.disponible()) {
+            return catalogoReplica.obtenerCategorias();
+        }
         try {
             return dataServiceClient.obtenerTodasLasCategorias();
         } catch (FeignException e) {
@@ -0,0 +1,131 @@
+package com.microservices_system.business_service.service;
+
+import com.microservices_system.business_service.client.DataServiceClient;
+import com.microservices_system.business_service.dto.FilaReporteInventarioDTO;
+import com.microservices_system.business_service.dto.InventarioDTO;
+import com.microservices_system.business_service.dto.ProductoDTO;
+import com.microservices_system.business_service.dto.ReporteDTO;
+import com.microservices_system.business_service.dto.ReporteStockBajoDTO;
+import com.microservices_system.business_service.dto.ReporteValorInventarioDTO;
+import com.microservices_system.business_service.dto.ResumenCategoriaDTO;
+import com.microservices_system.business_service.dto.ValorStockProductoDTO;
+import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.business_service.replica.CatalogoReplica;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+public class InventarioBusinessService {
+    private final DataServiceClient dataServiceClient;
+    private final CatalogoReplica catalogoReplica;
+
+    public InventarioBusinessService(DataServiceClient dataServiceClient, CatalogoReplica catalogoReplica) {
+        this.dataServiceClient = dataServiceClient;
+        this.catalogoReplica = catalogoReplica;
+    }
+
+    /**
+     * Productos con stock bajo. Con la réplica local disponible se leen de ella; si no,
+     * del reporte materializado del servicio de datos, sin recorrer el inventario.
+     */
+    public ReporteDTO<List<InventarioDTO>> obtenerProductosConStockBajo() {
+        if (catalogoReplica.disponible()) {
+            return deReplica(catalogoReplica.obtenerInventariosConStockBajo());
+        }
+        try {
+            ReporteStockBajoDTO reporte = dataServiceClient.obtenerReporteStockBajo();
+            List<InventarioDTO> inventarios = reporte.getProductos().stream()
+                    .map(InventarioBusinessService::inventarioDTO)
+                    .toList();
+            return new ReporteDTO<>(inventarios, reporte.getFechaRefresco(), reporte.getVersion());
+        } catch (FeignException e) {
+            log.error("Error al obtener productos del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    public List<ResumenCategoriaDTO> obtenerResumenPorCategoria() {
+        try {
+            return dataServiceClient.obtenerResumenInventarioPorCategoria();
+        } catch (FeignException e) {
+            log.error("Error al obtener el resumen de inventario por categoría del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    public List<ValorStockProductoDTO> obtenerTopValorInventario(int k, boolean porCategoria) {
+        if (k <= 0) {
+            throw new ValidacionNegocioException("K debe ser mayor a cero");
+        }
+        try {
+            return dataServiceClient.obtenerTopValorInventario(k, porCategoria);
+        } catch (FeignException e) {
+            log.error("Error al obtener el ranking de valor de inventario del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    /**
+     * Valor total del inventario. Con la réplica local disponible se calcula sobre ella;
+     * si no, se lee del reporte materializado del servicio de datos.
+     */
+    public ReporteDTO<BigDecimal> calcularValorTotalInventario() {
+        if (catalogoReplica.disponible()) {
+            return deReplica(calcularValor(catalogoReplica.obtenerInventarios()));
+        }
+        try {
+            ReporteValorInventarioDTO reporte = dataServiceClient.obtenerReporteValorInventario();
+            return new ReporteDTO<>(reporte.getValor(), reporte.getFechaRefresco(), reporte.getVersion());
+        } catch (FeignException e) {
+            log.error("Error al obtener el reporte de valor de inventario del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    private BigDecimal calcularValor(List<InventarioDTO> inventarios) {
+        log.info("Calculando valor total de inventario para {} productos", inventarios.size());
+
+        // Calcular el valor total multiplicando cantidad * precio del producto
+        BigDecimal valorTotal = inventarios.stream()
+                .filter(inventario -> inventario.getProducto() != null) // Filtrar inventarios sin producto
+                .filter(inventario -> inventario.getCantidad() != null && inventario.getCantidad() > 0) // Solo productos con stock
+                .map(inventario -> {
+                    BigDecimal precio = inventario.getProducto().getPrecio();
+                    Integer cantidad = inventario.getCantidad();
+
+                    // Validar que precio no sea null
+                    if (precio == null) {
+                        log.warn("Producto {} no tiene precio definido, se omitirá del cálculo",
+                                inventario.getProducto().getNombre());
+                        return BigDecimal.ZERO;
+                    }
+
+                    return precio.multiply(BigDecimal.valueOf(cantidad));
+                })
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        log.info("Valor total del inventario calculado: ${}", valorTotal);
+
+        return valorTotal;
+    }
+
+    private <T> ReporteDTO<T> deReplica(T datos) {
+        LocalDateTime sincronizacion = LocalDateTime.now().minus(Duration.ofMillis(catalogoReplica.antiguedadMs()));
+        return new ReporteDTO<>(datos, sincronizacion, catalogoReplica.version());
+    }
+
+    private static InventarioDTO inventarioDTO(FilaReporteInventarioDTO fila) {
+        ProductoDTO producto = new ProductoDTO(fila.getProductoId(), fila.getNombre(), null, fila.getPrecio(),
+                fila.getCategoria(), fila.getCantidad(), fila.isStockBajo());
+        return new InventarioDTO(fila.getInventarioId(), producto, fila.getCantidad(), fila.getStockMinimo(),
+                fila.getFechaActualizacion());
+    }
+}
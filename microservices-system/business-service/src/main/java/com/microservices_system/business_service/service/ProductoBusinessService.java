@@ -0,0 +1,143 @@
+package com.microservices_system.business_service.service;
+
+import com.microservices_system.business_service.client.DataServiceClient;
+import com.microservices_system.business_service.dto.PaginaProductosDTO;
+import com.microservices_system.business_service.dto.ProductoDTO;
+import com.microservices_system.business_service.dto.ProductoRequest;
+import com.microservices_system.business_service.dto.ResultadoFiltroProductosDTO;
+import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.exceptions.ProductoDuplicadoException;
+import com.microservices_system.business_service.exceptions.ProductoNoEncontradoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.business_service.replica.CatalogoReplica;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Service
+@Slf4j
+public class ProductoBusinessService {
+    private final DataServiceClient dataServiceClient;
+    private final CatalogoReplica catalogoReplica;
+
+    public ProductoBusinessService(DataServiceClient dataServiceClient, CatalogoReplica catalogoReplica) {
+        this.dataServiceClient = dataServiceClient;
+        this.catalogoReplica = catalogoReplica;
+    }
+
+    public List<ProductoDTO> obtenerTodosLosProductos() {
+        if (catalogoReplica.disponible()) {
+            return catalogoReplica.obtenerProductos();
+        }
+        try {
+            return dataServiceClient.obtenerTodosLosProductos();
+        } catch (FeignException e) {
+            log.error("Error al obtener productos del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    public ProductoDTO obtenerProductoPorId(Long id) {
+        if (catalogoReplica.disponible()) {
+            return catalogoReplica.obtenerProducto(id)
+                    .orElseThrow(() -> new ProductoNoEncontradoException("Producto no encontrado con ID: " + id));
+        }
+        try {
+            return dataServiceClient.obtenerProductoPorId(id);
+        } catch (FeignException.NotFound e) {
+            throw new ProductoNoEncontradoException("Producto no encontrado con ID: " + id);
+        } catch (FeignException e) {
+            log.error("Error al obtener producto del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    public ProductoDTO crearProducto(ProductoRequest request) {
+        // Validaciones de negocio
+        validarProducto(request);
+
+        try {
+            return dataServiceClient.crearProducto(request);
+        } catch (FeignException.Conflict e) {
+            // Nombre ya registrado, p. ej. por un reintento que llegó a otra instancia
+            throw new ProductoDuplicadoException("El producto ya está registrado: " + request.getNombre());
+        } catch (FeignException e) {
+            log.error("Error al crear producto en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    private void validarProducto(ProductoRequest request) {
+        if (request.getPrecio().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new ValidacionNegocioException("El precio debe ser mayor a cero");
+        }
+
+        if (request.getStock() < 0) {
+            throw new ValidacionNegocioException("El stock no puede ser negativo");
+        }
+    }
+
+    public List<ProductoDTO> obtenerProductosPorCategoria(String categoria) {
+        if (catalogoReplica.disponible()) {
+            return catalogoReplica.obtenerProductosPorCategoria(categoria);
+        }
+        try {
+            return dataServiceClient.obtenerProductosPorCategoria(categoria);
+        } catch (FeignException e) {
+            log.error("Error al obtener productos del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    public List<ProductoDTO> buscarProductos(String consulta, int limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new ValidacionNegocioException("El texto de búsqueda es requerido");
+        }
+        if (limite <= 0) {
+            throw new ValidacionNegocioException("El límite de resultados debe ser mayor a cero");
+        }
+        try {
+            return dataServiceClient.buscarProductos(consulta, limite);
+        } catch (FeignException e) {
+            log.error("Error al buscar productos en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    public PaginaProductosDTO filtrarProductosPorCriterios(String nombre, BigDecimal precioMin, BigDecimal precioMax,
+                                                          Long categoriaId, Boolean conStock, int pagina, int tamanio,
+                                                          String ordenarPor, String direccion) {
+        if (precioMin != null && precioMax != null && precioMin.compareTo(precioMax) > 0) {
+            throw new ValidacionNegocioException("El precio mínimo no puede ser mayor al precio máximo");
+        }
+        if (!"ASC".equalsIgnoreCase(direccion) && !"DESC".equalsIgnoreCase(direccion)) {
+            throw new ValidacionNegocioException("La dirección de orden debe ser ASC o DESC");
+        }
+        try {
+            return dataServiceClient.filtrarProductosPorCriterios(nombre, precioMin, precioMax, categoriaId, conStock,
+                    pagina, tamanio, ordenarPor, direccion.toUpperCase());
+        } catch (FeignException e) {
+            log.error("Error al filtrar productos en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+
+    public ResultadoFiltroProductosDTO filtrarProductos(List<Long> categoriaIds, BigDecimal precioMin, BigDecimal precioMax,
+                                                        List<String> estados, int pagina, int tamanio) {
+        if (precioMin != null && precioMax != null && precioMin.compareTo(precioMax) > 0) {
+            throw new ValidacionNegocioException("El precio mínimo no puede ser mayor al precio máximo");
+        }
+        if (pagina < 0 || tamanio <= 0) {
+            throw new ValidacionNegocioException("La página debe ser positiva y el tamaño mayor a cero");
+        }
+        try {
+            return dataServiceClient.filtrarProductos(categoriaIds, precioMin, precioMax, estados, pagina, tamanio);
+        } catch (FeignException e) {
+            log.error("Error al filtrar productos en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }
+    }
+}
\ No newline at end of file
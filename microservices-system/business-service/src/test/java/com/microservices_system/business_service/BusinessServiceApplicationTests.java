@@ -0,0 +1,13 @@
+package com.microservices_system.business_service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class BusinessServiceApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
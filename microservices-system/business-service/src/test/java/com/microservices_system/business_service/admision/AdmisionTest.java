@@ -0,0 +1,188 @@
+package com.microservices_system.business_service.admision;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmisionTest {
+
+    @Test
+    void cuandoSeAgotaLaCapacidad_entoncesEsperaHastaQueSeRecarguen() {
+        // Arrange: 10 tokens por segundo, capacidad 5
+        CuotaCliente cuota = new CuotaCliente(10, 5, Prioridad.NORMAL, 0);
+
+        // Act & Assert
+        assertEquals(0, cuota.consumir(0, 3));
+        assertEquals(0, cuota.consumir(0, 2));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), cuota.consumir(0, 1));
+        assertEquals(0, cuota.consumir(TimeUnit.MILLISECONDS.toNanos(100), 1));
+        assertFalse(cuota.llena(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertTrue(cuota.llena(TimeUnit.MILLISECONDS.toNanos(600)));
+    }
+
+    @Test
+    void cuandoElCostoSuperaLaCapacidad_entoncesConsumeLaCapacidadCompleta() {
+        // Arrange
+        CuotaCliente cuota = new CuotaCliente(10, 5, Prioridad.NORMAL, 0);
+
+        // Act & Assert
+        assertEquals(0, cuota.consumir(0, 50));
+        assertTrue(cuota.consumir(0, 1) > 0);
+    }
+
+    @Test
+    void cuandoLaRutaCoincideConUnPatron_entoncesUsaElCostoDelPrimero() {
+        // Arrange
+        ControlAdmision control = control(List.of(), 10);
+
+        // Act & Assert
+        assertEquals(10, control.costo("/api/reportes/valor-inventario"));
+        assertEquals(5, control.costo("/api/reportes/stock-bajo"));
+        assertEquals(2, control.costo("/api/productos/filtro"));
+        assertEquals(1, control.costo("/api/productos/7"));
+    }
+
+    @Test
+    void cuandoHaySobrecarga_entoncesSeRechazaPrimeroLaPrioridadBaja() {
+        // Arrange: máximo 10, normales hasta 9, bajas hasta 7
+        ControlAdmision control = control(List.of(), 10);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(control.ocupar(Prioridad.BAJA));
+        }
+
+        // Act & Assert
+        assertFalse(control.ocupar(Prioridad.BAJA));
+        assertTrue(control.ocupar(Prioridad.NORMAL));
+        assertTrue(control.ocupar(Prioridad.NORMAL));
+        assertFalse(control.ocupar(Prioridad.NORMAL));
+        assertTrue(control.ocupar(Prioridad.ALTA));
+        assertFalse(control.ocupar(Prioridad.ALTA));
+        control.liberar();
+        assertTrue(control.ocupar(Prioridad.ALTA));
+    }
+
+    @Test
+    void cuandoLaClaveTieneCuotaPropia_entoncesSeUsaEsaYSinClaveSeAgrupaPorDireccion() {
+        // Arrange
+        ControlAdmision control = control(List.of("socio;tasa=100;capacidad=2;prioridad=alta", "partner"), 10);
+
+        // Act
+        CuotaCliente socio = control.cuota("socio", "10.0.0.1");
+        CuotaCliente partner = control.cuota("partner", "10.0.0.1");
+        CuotaCliente anonimo = control.cuota(null, "10.0.0.1");
+
+        // Assert
+        assertEquals(Prioridad.ALTA, socio.prioridad());
+        assertEquals(Prioridad.NORMAL, partner.prioridad());
+        assertEquals(Prioridad.BAJA, anonimo.prioridad());
+        assertSame(anonimo, control.cuota("", "10.0.0.1"));
+        assertNotSame(anonimo, control.cuota(null, "10.0.0.2"));
+        assertSame(socio, control.cuota("socio", "10.0.0.9"));
+    }
+
+    @Test
+    void cuandoLaClaveNoEstaConfigurada_entoncesCuentaComoAnonimo() {
+        // Arrange
+        ControlAdmision control = control(List.of("socio"), 10);
+        CuotaCliente anonimo = control.cuota(null, "10.0.0.1");
+
+        // Act & Assert: inventar o rotar claves no da una cuota nueva
+        assertSame(anonimo, control.cuota("inventada-1", "10.0.0.1"));
+        assertSame(anonimo, control.cuota("inventada-2", "10.0.0.1"));
+        assertEquals(1, control.clientes());
+    }
+
+    @Test
+    void cuandoNoHayClaveReconocida_entoncesElClienteEsLaDireccionRemota() {
+        // Arrange
+        ControlAdmision control = control(List.of("socio"), 10);
+
+        // Act & Assert
+        assertEquals("socio", control.cliente("socio", "10.0.0.1"));
+        assertEquals("@10.0.0.1", control.cliente(null, "10.0.0.1"));
+        assertEquals("@10.0.0.2", control.cliente("inventada", "10.0.0.2"));
+    }
+
+    @Test
+    void cuandoSeAlcanzaElMaximoDeClientes_entoncesDescartaAunqueLosCubosNoEstenLlenos() {
+        // Arrange: máximo 100 clientes, todos con cuota recién consumida
+        ControlAdmision control = control(List.of(), 10);
+        for (int i = 0; i < 100; i++) {
+            control.cuota(null, "10.0.0." + i).consumir(System.nanoTime(), 10);
+        }
+
+        // Act
+        control.cuota(null, "10.0.1.1");
+
+        // Assert
+        assertTrue(control.clientes() <= 91, "Clientes tras la limpieza: " + control.clientes());
+        for (int i = 0; i < 50; i++) {
+            control.cuota(null, "10.0.2." + i);
+        }
+        assertTrue(control.clientes() < 100);
+    }
+
+    @Test
+    void cuandoLaClaveTieneUnAtributoDesconocido_entoncesFallaAlArrancar() {
+        assertThrows(IllegalStateException.class, () -> control(List.of("socio;region=x"), 10));
+        assertThrows(IllegalStateException.class, () -> control(List.of("socio;capacidad=0"), 10));
+    }
+
+    @Test
+    void cuandoSeExcedeLaCuota_entoncesResponde429ConRetryAfter() throws ServletException, IOException {
+        // Arrange: 10 tokens, el reporte de valor cuesta 10
+        AdmisionFilter filtro = new AdmisionFilter(control(List.of(), 10), 1);
+
+        // Act
+        MockHttpServletResponse primera = filtrar(filtro, "/api/reportes/valor-inventario");
+        MockHttpServletResponse segunda = filtrar(filtro, "/api/productos");
+
+        // Assert
+        assertEquals(200, primera.getStatus());
+        assertEquals(429, segunda.getStatus());
+        assertEquals("1", segunda.getHeader("Retry-After"));
+        assertTrue(segunda.getContentAsString().contains("\"error\""));
+    }
+
+    @Test
+    void cuandoHaySobrecarga_entoncesResponde503SinConsumirCuota() throws ServletException, IOException {
+        // Arrange
+        ControlAdmision control = control(List.of(), 10);
+        AdmisionFilter filtro = new AdmisionFilter(control, 2);
+        for (int i = 0; i < 7; i++) {
+            control.ocupar(Prioridad.BAJA);
+        }
+
+        // Act
+        MockHttpServletResponse rechazada = filtrar(filtro, "/api/reportes/valor-inventario");
+        control.liberar();
+        MockHttpServletResponse admitida = filtrar(filtro, "/api/reportes/valor-inventario");
+
+        // Assert
+        assertEquals(503, rechazada.getStatus());
+        assertEquals("2", rechazada.getHeader("Retry-After"));
+        assertEquals(200, admitida.getStatus());
+    }
+
+    private static ControlAdmision control(List<String> claves, int concurrenciaMaxima) {
+        return new ControlAdmision(50, 100, 1, 10, claves,
+                List.of("/api/reportes/valor-inventario=10", "/api/reportes/**=5", "/api/productos/filtr*=2"),
+                concurrenciaMaxima, 90, 70, 100);
+    }
+
+    private static MockHttpServletResponse filtrar(AdmisionFilter filtro, String ruta)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", ruta);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
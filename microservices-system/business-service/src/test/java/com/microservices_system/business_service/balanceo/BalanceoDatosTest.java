@@ -0,0 +1,218 @@
+package com.microservices_system.business_service.balanceo;
+
+import com.microservices_system.business_service.dto.EstadoInstanciaDatosDTO;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceoDatosTest {
+    private static final String URL_BASE = "http://data-service";
+
+    private final List<HttpServer> servidores = new ArrayList<>();
+    private final Map<String, AtomicInteger> atendidas = new HashMap<>();
+    private final Request.Options opciones = new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true);
+
+    @AfterEach
+    void tearDown() {
+        servidores.forEach(servidor -> servidor.stop(0));
+    }
+
+    @Test
+    void cuandoUnaInstanciaResponde5xx_entoncesSeExpulsaYVuelveAlVencer() throws IOException, InterruptedException {
+        // Arrange
+        String sana = levantar(200, 0);
+        String fallando = levantar(503, 0);
+        BalanceadorDatos balanceador = balanceador(List.of(sana, fallando), null, 3, 200);
+        Client cliente = new ClienteBalanceado(new Client.Default(null, null), balanceador);
+
+        // Act
+        for (int i = 0; i < 60; i++) {
+            llamar(cliente);
+        }
+
+        // Assert
+        EstadoInstanciaDatosDTO estado = estado(balanceador, fallando);
+        assertTrue(estado.getExpulsada());
+        assertEquals(1, estado.getExpulsiones());
+        assertEquals(3L, estado.getErrores());
+
+        Thread.sleep(250);
+        llamar(cliente);
+        assertFalse(estado(balanceador, fallando).getExpulsada());
+    }
+
+    @Test
+    void cuandoTodasFallan_entoncesNoSeExpulsaMasDeLaMitad() throws IOException {
+        // Arrange
+        String primera = levantar(503, 0);
+        String segunda = levantar(503, 0);
+        BalanceadorDatos balanceador = balanceador(List.of(primera, segunda), null, 2, 60_000);
+        Client cliente = new ClienteBalanceado(new Client.Default(null, null), balanceador);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertEquals(503, llamar(cliente));
+        }
+
+        // Assert
+        long expulsadas = balanceador.obtenerEstado().stream().filter(EstadoInstanciaDatosDTO::getExpulsada).count();
+        assertEquals(1, expulsadas);
+    }
+
+    @Test
+    void cuandoUnaInstanciaEsMuchoMasLenta_entoncesSeExpulsaPorLatencia() throws IOException {
+        // Arrange
+        String rapida1 = levantar(200, 0);
+        String rapida2 = levantar(200, 0);
+        String lenta = levantar(200, 150);
+        BalanceadorDatos balanceador = new BalanceadorDatos(URL_BASE, List.of(rapida1, rapida2, lenta), "",
+                100, 3.0, 100, 60_000, 50);
+        Client cliente = new ClienteBalanceado(new Client.Default(null, null), balanceador);
+
+        // Act
+        for (int i = 0; i < 120; i++) {
+            llamar(cliente);
+        }
+
+        // Assert
+        assertTrue(estado(balanceador, lenta).getExpulsada());
+        assertFalse(estado(balanceador, rapida1).getExpulsada());
+        assertFalse(estado(balanceador, rapida2).getExpulsada());
+    }
+
+    @Test
+    void cuandoLaInstanciaNoAceptaConexiones_entoncesElGetSeReintentaEnOtra() throws IOException {
+        // Arrange
+        String sana = levantar(200, 0);
+        String caida = levantar(200, 0);
+        servidores.get(1).stop(0);
+        BalanceadorDatos balanceador = balanceador(List.of(sana, caida), null, 100, 60_000);
+        Client cliente = new ClienteBalanceado(new Client.Default(null, null), balanceador);
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertEquals(200, llamar(cliente));
+        }
+        assertEquals(20, atendidas.get(sana).get());
+        assertTrue(estado(balanceador, caida).getErrores() > 0);
+    }
+
+    @Test
+    void cuandoLosPesosSonDistintos_entoncesSeRepartenEnEsaProporcion() {
+        // Arrange
+        BalanceadorDatos balanceador = balanceador(List.of("http://a;peso=3", "http://b;peso=1"), null, 5, 60_000);
+        int a = 0;
+
+        // Act
+        for (int i = 0; i < 4000; i++) {
+            if (balanceador.elegir(Collections.emptySet()).url().equals("http://a")) {
+                a++;
+            }
+        }
+
+        // Assert
+        assertEquals(0.75, a / 4000.0, 0.04);
+    }
+
+    @Test
+    void cuandoUnaInstanciaTieneMasPendientes_entoncesSeEligeLaOtra() {
+        // Arrange
+        BalanceadorDatos balanceador = balanceador(List.of("http://a", "http://b"), null, 5, 60_000);
+        balanceador.elegir(Collections.emptySet());
+        InstanciaDatos ocupada = balanceador.elegir(Collections.emptySet());
+        ocupada.pendientes.set(10);
+
+        // Act & Assert
+        for (int i = 0; i < 50; i++) {
+            assertNotSame(ocupada, balanceador.elegir(Collections.emptySet()));
+        }
+    }
+
+    @Test
+    void cuandoHayInstanciasEnLaZonaPropia_entoncesSoloSeUsanEsas() {
+        // Arrange
+        BalanceadorDatos balanceador = balanceador(
+                List.of("http://a1;zona=a", "http://b1;zona=b", "http://a2;zona=a"), "a", 5, 60_000);
+
+        // Act & Assert
+        for (int i = 0; i < 50; i++) {
+            assertEquals("a", balanceador.elegir(Collections.emptySet()).zona());
+        }
+    }
+
+    @Test
+    void cuandoNoHayInstanciasConfiguradas_entoncesUsaLaUrlDelCliente() {
+        // Arrange
+        BalanceadorDatos balanceador = balanceador(List.of(), null, 5, 60_000);
+
+        // Act & Assert
+        assertEquals(URL_BASE, balanceador.elegir(Collections.emptySet()).url());
+    }
+
+    @Test
+    void cuandoLaInstanciaTieneUnAtributoDesconocido_entoncesFalla() {
+        assertThrows(IllegalStateException.class, () -> InstanciaDatos.desde("http://a;region=x"));
+        assertThrows(IllegalStateException.class, () -> InstanciaDatos.desde("http://a;peso=0"));
+    }
+
+    private BalanceadorDatos balanceador(List<String> instancias, String zona, int erroresConsecutivos,
+                                         long duracionMs) {
+        return new BalanceadorDatos(URL_BASE, instancias, zona == null ? "" : zona, erroresConsecutivos, 3.0, 100,
+                duracionMs, 50);
+    }
+
+    private int llamar(Client cliente) throws IOException {
+        Request request = Request.create(Request.HttpMethod.GET, URL_BASE + "/data/productos", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        try (Response respuesta = cliente.execute(request, opciones)) {
+            return respuesta.status();
+        }
+    }
+
+    private String levantar(int estado, long demoraMs) throws IOException {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        String url = "http://127.0.0.1:" + servidor.getAddress().getPort();
+        AtomicInteger contador = new AtomicInteger();
+        servidor.createContext("/", intercambio -> {
+            contador.incrementAndGet();
+            try {
+                Thread.sleep(demoraMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] cuerpo = "[]".getBytes(StandardCharsets.UTF_8);
+            intercambio.sendResponseHeaders(estado, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        });
+        servidor.start();
+        servidores.add(servidor);
+        atendidas.put(url, contador);
+        return url;
+    }
+
+    private static EstadoInstanciaDatosDTO estado(BalanceadorDatos balanceador, String url) {
+        return balanceador.obtenerEstado().stream()
+                .filter(instancia -> instancia.getUrl().equals(url))
+                .findFirst()
+                .orElseThrow();
+    }
+}
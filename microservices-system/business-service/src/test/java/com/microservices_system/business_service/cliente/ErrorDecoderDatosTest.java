@@ -0,0 +1,58 @@
+package com.microservices_system.business_service.cliente;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorDecoderDatosTest {
+
+    private final ErrorDecoderDatos decoder = new ErrorDecoderDatos();
+
+    @Test
+    void cuandoDataServiceResponde404_entoncesDevuelveNotFoundSinTraza() {
+        // Arrange
+        Response response = respuesta(404, "{\"error\":\"Producto no encontrado con ID: 7\"}");
+
+        // Act
+        Exception excepcion = decoder.decode("DataServiceClient#obtenerProductoPorId(Long)", response);
+
+        // Assert
+        FeignException.NotFound notFound = assertInstanceOf(FeignException.NotFound.class, excepcion);
+        assertEquals(404, notFound.status());
+        assertEquals(0, notFound.getStackTrace().length);
+        assertTrue(notFound.getMessage().contains("http://data/data/productos/7"));
+        assertTrue(notFound.getMessage().contains("DataServiceClient#obtenerProductoPorId(Long)"));
+    }
+
+    @Test
+    void cuandoDataServiceRespondeOtroError_entoncesUsaElDecodificadorDeFeign() {
+        // Arrange
+        Response response = respuesta(500, "{\"error\":\"Ocurrió un error inesperado\"}");
+
+        // Act
+        Exception excepcion = decoder.decode("DataServiceClient#obtenerProductoPorId(Long)", response);
+
+        // Assert
+        FeignException.InternalServerError error = assertInstanceOf(FeignException.InternalServerError.class, excepcion);
+        assertTrue(error.getStackTrace().length > 0);
+        assertTrue(error.contentUTF8().contains("Ocurrió un error inesperado"));
+    }
+
+    private static Response respuesta(int estado, String cuerpo) {
+        Request request = Request.create(Request.HttpMethod.GET, "http://data/data/productos/7", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(estado)
+                .reason("error")
+                .request(request)
+                .headers(Map.of())
+                .body(cuerpo, StandardCharsets.UTF_8)
+                .build();
+    }
+}
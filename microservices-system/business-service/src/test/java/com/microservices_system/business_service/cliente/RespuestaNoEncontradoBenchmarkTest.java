@@ -0,0 +1,141 @@
+package com.microservices_system.business_service.cliente;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices_system.business_service.exceptions.CuerposError;
+import com.microservices_system.business_service.exceptions.ProductoNoEncontradoException;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark del camino de un 404: data-service responde que el producto no
+ * existe, business-service decodifica la respuesta de Feign, la traduce a
+ * {@link ProductoNoEncontradoException} y arma el cuerpo de error. Compara el
+ * camino anterior (excepciones con traza y un {@code Map} serializado con
+ * Jackson) con el actual, midiendo respuestas por segundo y
+ * bytes asignados por respuesta. Cada medición corre con la pila a la
+ * profundidad aproximada de una petición atendida por Spring MVC.
+ */
+@Tag("benchmark")
+@Slf4j
+class RespuestaNoEncontradoBenchmarkTest {
+
+    private static final int RESPUESTAS = 200_000;
+    private static final int IDS = 500;
+    private static final int PROFUNDIDAD_PILA = 120;
+    private static final String METODO = "DataServiceClient#obtenerProductoPorId(Long)";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ErrorDecoder decoderFeign = new ErrorDecoder.Default();
+    private final ErrorDecoder decoderDatos = new ErrorDecoderDatos();
+    private final CuerposError cuerposError = new CuerposError();
+    private final Response[] respuestas = new Response[IDS];
+
+    @Test
+    void respuestasNoEncontrado_ConExcepcionesSinTrazaYCuerpoSinJackson_DeberianAsignarMenos() throws Exception {
+        // Arrange
+        for (int id = 0; id < IDS; id++) {
+            respuestas[id] = respuesta(id);
+        }
+        assertEquals(objectMapper.readTree(anterior(7)), objectMapper.readTree(actual(7)));
+        medir(this::anterior);
+        medir(this::actual);
+
+        // Act
+        long[] antes = medir(this::anterior);
+        long[] despues = medir(this::actual);
+
+        // Assert
+        double bytesAntes = (double) antes[1] / RESPUESTAS;
+        double bytesDespues = (double) despues[1] / RESPUESTAS;
+        log.info("404 anterior: {} respuestas/s, {} bytes/respuesta",
+                RESPUESTAS * 1_000_000_000L / antes[0], Math.round(bytesAntes));
+        log.info("404 actual: {} respuestas/s, {} bytes/respuesta",
+                RESPUESTAS * 1_000_000_000L / despues[0], Math.round(bytesDespues));
+
+        assertTrue(bytesDespues < bytesAntes / 2,
+                "Se esperaba menos de la mitad de bytes por respuesta: " + bytesDespues + " vs " + bytesAntes);
+    }
+
+    /** Excepciones con traza y el cuerpo serializado con Jackson. */
+    private byte[] anterior(int id) {
+        Exception feign = decoderFeign.decode(METODO, respuestas[id]);
+        assertInstanceOf(FeignException.NotFound.class, feign);
+        RuntimeException dominio = new ConTraza("Producto no encontrado con ID: " + id);
+        try {
+            return objectMapper.writeValueAsBytes(Map.of("error", dominio.getMessage()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] actual(int id) {
+        Exception feign = decoderDatos.decode(METODO, respuestas[id]);
+        assertInstanceOf(FeignException.NotFound.class, feign);
+        RuntimeException dominio = new ProductoNoEncontradoException("Producto no encontrado con ID: " + id);
+        return cuerposError.cuerpo(dominio.getMessage());
+    }
+
+    /**
+     * @return Duración en nanosegundos y bytes asignados por el hilo
+     */
+    private long[] medir(Camino camino) {
+        long[] resultado = new long[2];
+        enProfundidad(PROFUNDIDAD_PILA, () -> {
+            com.sun.management.ThreadMXBean hilos =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long total = 0;
+            long bytesInicio = hilos.getCurrentThreadAllocatedBytes();
+            long comienzo = System.nanoTime();
+            for (int i = 0; i < RESPUESTAS; i++) {
+                total += camino.responder(i % IDS).length;
+            }
+            resultado[0] = System.nanoTime() - comienzo;
+            resultado[1] = hilos.getCurrentThreadAllocatedBytes() - bytesInicio;
+            assertTrue(total > 0);
+        });
+        return resultado;
+    }
+
+    private static void enProfundidad(int marcos, Runnable accion) {
+        if (marcos == 0) {
+            accion.run();
+        } else {
+            enProfundidad(marcos - 1, accion);
+        }
+    }
+
+    private static Response respuesta(int id) {
+        String cuerpo = "{\"error\":\"Producto no encontrado con ID: " + id + "\"}";
+        Request request = Request.create(Request.HttpMethod.GET, "http://data/data/productos/" + id, Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(404)
+                .reason("Not Found")
+                .request(request)
+                .headers(Map.of())
+                .body(cuerpo, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Camino {
+        byte[] responder(int id);
+    }
+
+    private static final class ConTraza extends RuntimeException {
+        ConTraza(String mensaje) {
+            super(mensaje);
+        }
+    }
+}
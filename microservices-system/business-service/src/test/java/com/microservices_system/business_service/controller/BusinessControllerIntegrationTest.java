@@ -2,23 +2,29 @@ package com.microservices_system.business_service.controller;
 
 import com.microservices_system.business_service.dto.ProductoDTO;
 import com.microservices_system.business_service.dto.ProductoRequest;
+import com.microservices_system.business_service.dto.ReporteDTO;
+import com.microservices_system.business_service.exceptions.ProductoNoEncontradoException;
 import com.microservices_system.business_service.service.CategoriaBusinessService;
 import com.microservices_system.business_service.service.InventarioBusinessService;
 import com.microservices_system.business_service.service.ProductoBusinessService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -26,7 +32,6 @@ import static org.mockito.Mockito.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
-@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
 class BusinessControllerIntegrationTest {
 
     @Autowired
@@ -138,6 +143,21 @@ class BusinessControllerIntegrationTest {
         verify(productoBusinessService).obtenerProductoPorId(productId);
     }
 
+    @Test
+    void cuandoObtenerProductoPorId_conIdInexistente_entoncesRetorna404ConMensaje() {
+        // Arrange
+        when(productoBusinessService.obtenerProductoPorId(999L))
+                .thenThrow(new ProductoNoEncontradoException("Producto no encontrado con ID: 999"));
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.getForEntity("/api/productos/999", Map.class);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(Map.of("error", "Producto no encontrado con ID: 999"), response.getBody());
+    }
+
     @Test
     void cuandoCrearProducto_conDatosValidos_entoncesRetornaProductoCreado() {
         // Arrange
@@ -182,6 +202,36 @@ class BusinessControllerIntegrationTest {
     }
 
 
+    @Test
+    void cuandoReintentarCrearProducto_conMismaIdempotencyKey_entoncesRepiteLaRespuestaSinCrearOtro() {
+        // Arrange
+        ProductoRequest productoRequest = createProductoRequest("Producto Idempotente", "Descripción", BigDecimal.valueOf(80.0));
+        ProductoDTO productoCreado = createProductoDTO(7L, "Producto Idempotente", "Descripción", BigDecimal.valueOf(80.0));
+
+        when(productoBusinessService.crearProducto(any(ProductoRequest.class)))
+                .thenReturn(productoCreado);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(BusinessController.ENCABEZADO_IDEMPOTENCIA, "reintento-7");
+
+        // Act
+        ResponseEntity<ProductoDTO> primera = restTemplate.postForEntity(
+                "/api/productos", new HttpEntity<>(productoRequest, headers), ProductoDTO.class);
+        ResponseEntity<ProductoDTO> reintento = restTemplate.postForEntity(
+                "/api/productos", new HttpEntity<>(productoRequest, headers), ProductoDTO.class);
+        productoRequest.setPrecio(BigDecimal.valueOf(90.0));
+        ResponseEntity<String> otroCuerpo = restTemplate.postForEntity(
+                "/api/productos", new HttpEntity<>(productoRequest, headers), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, primera.getStatusCode());
+        assertEquals(HttpStatus.CREATED, reintento.getStatusCode());
+        assertEquals(7L, reintento.getBody().getId());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, otroCuerpo.getStatusCode());
+
+        verify(productoBusinessService, times(1)).crearProducto(any(ProductoRequest.class));
+    }
+
+
     @Test
     void cuandoObtenerProductosPorCategoria_conCategoriaExistente_entoncesRetornaProductos() {
         // Arrange
@@ -252,8 +302,10 @@ class BusinessControllerIntegrationTest {
         // Arrange
         BigDecimal valorTotalEsperado = BigDecimal.valueOf(25500.75);
 
+        LocalDateTime fechaRefresco = LocalDateTime.now().minusSeconds(5);
+
         when(inventarioBusinessService.calcularValorTotalInventario())
-                .thenReturn(valorTotalEsperado);
+                .thenReturn(new ReporteDTO<>(valorTotalEsperado, fechaRefresco, 42L));
 
         // Act
         ResponseEntity<BigDecimal> response = restTemplate.getForEntity(
@@ -263,6 +315,10 @@ class BusinessControllerIntegrationTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(valorTotalEsperado, response.getBody());
+        assertEquals(fechaRefresco.toString(),
+                response.getHeaders().getFirst(BusinessController.ENCABEZADO_FECHA_REFRESCO));
+        assertEquals("42", response.getHeaders().getFirst(BusinessController.ENCABEZADO_VERSION));
+        assertTrue(Long.parseLong(response.getHeaders().getFirst(BusinessController.ENCABEZADO_ANTIGUEDAD)) >= 5000);
 
         verify(inventarioBusinessService).calcularValorTotalInventario();
     }
@@ -271,7 +327,7 @@ class BusinessControllerIntegrationTest {
     void cuandoObtenerValorTotalInventario_conInventarioVacio_entoncesRetornaCero() {
         // Arrange
         when(inventarioBusinessService.calcularValorTotalInventario())
-                .thenReturn(BigDecimal.ZERO);
+                .thenReturn(new ReporteDTO<>(BigDecimal.ZERO, LocalDateTime.now(), 0L));
 
         // Act
         ResponseEntity<BigDecimal> response = restTemplate.getForEntity(
@@ -0,0 +1,196 @@
+package com.microservices_system.business_service.idempotencia;
+
+import com.microservices_system.business_service.exceptions.ClaveIdempotenciaReutilizadaException;
+import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.exceptions.PeticionEnCursoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlmacenIdempotenciaTest {
+
+    @Test
+    void cuandoSeReintentaConLaMismaClave_entoncesDevuelveElResultadoOriginal() {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(100, 60, 1000);
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        // Act
+        String primero = almacen.ejecutar("k1", "cuerpo", () -> "creado-" + ejecuciones.incrementAndGet());
+        String reintento = almacen.ejecutar("k1", "cuerpo", () -> "creado-" + ejecuciones.incrementAndGet());
+
+        // Assert
+        assertEquals("creado-1", primero);
+        assertEquals("creado-1", reintento);
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void cuandoLaClaveSeUsaConOtraSolicitud_entoncesFalla() {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(100, 60, 1000);
+        almacen.ejecutar("k1", "cuerpo", () -> "creado");
+
+        // Act & Assert
+        assertThrows(ClaveIdempotenciaReutilizadaException.class,
+                () -> almacen.ejecutar("k1", "otro cuerpo", () -> "creado"));
+    }
+
+    @Test
+    void cuandoFallaLaValidacion_entoncesElReintentoRecibeElMismoRechazo() {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(100, 60, 1000);
+        AtomicInteger ejecuciones = new AtomicInteger();
+        ValidacionNegocioException rechazo = new ValidacionNegocioException("El precio debe ser mayor a cero");
+
+        // Act & Assert
+        for (int i = 0; i < 2; i++) {
+            ValidacionNegocioException lanzada = assertThrows(ValidacionNegocioException.class,
+                    () -> almacen.ejecutar("k1", "cuerpo", () -> {
+                        ejecuciones.incrementAndGet();
+                        throw rechazo;
+                    }));
+            assertSame(rechazo, lanzada);
+        }
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void cuandoFallaLaComunicacion_entoncesElReintentoVuelveAEjecutar() {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(100, 60, 1000);
+
+        // Act
+        assertThrows(MicroserviceCommunicationException.class, () -> almacen.ejecutar("k1", "cuerpo", () -> {
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos");
+        }));
+        String reintento = almacen.ejecutar("k1", "cuerpo", () -> "creado");
+
+        // Assert
+        assertEquals("creado", reintento);
+    }
+
+    @Test
+    void cuandoLleganDuplicadosConcurrentes_entoncesSeEjecutaUnaSolaVez() throws Exception {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(100, 60, 5000);
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+
+        try {
+            // Act
+            Future<String> original = hilos.submit(() -> almacen.ejecutar("k1", "cuerpo", () -> {
+                ejecuciones.incrementAndGet();
+                enCurso.countDown();
+                await(liberar);
+                return "creado";
+            }));
+            assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+            List<Future<String>> duplicados = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                duplicados.add(hilos.submit(() -> almacen.ejecutar("k1", "cuerpo", () -> {
+                    ejecuciones.incrementAndGet();
+                    return "duplicado";
+                })));
+            }
+            liberar.countDown();
+
+            // Assert
+            assertEquals("creado", original.get(5, TimeUnit.SECONDS));
+            for (Future<String> duplicado : duplicados) {
+                assertEquals("creado", duplicado.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, ejecuciones.get());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    void cuandoLaOriginalNoTerminaATiempo_entoncesElDuplicadoRecibeEnCurso() throws Exception {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(100, 60, 50);
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService hilo = Executors.newSingleThreadExecutor();
+
+        try {
+            hilo.submit(() -> almacen.ejecutar("k1", "cuerpo", () -> {
+                enCurso.countDown();
+                await(liberar);
+                return "creado";
+            }));
+            assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+            // Act & Assert
+            assertThrows(PeticionEnCursoException.class, () -> almacen.ejecutar("k1", "cuerpo", () -> "duplicado"));
+        } finally {
+            liberar.countDown();
+            hilo.shutdownNow();
+        }
+    }
+
+    @Test
+    void cuandoSeSuperaElMaximo_entoncesDescartaLasMasAntiguas() {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(3, 60, 1000);
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            almacen.ejecutar("k" + i, "cuerpo", ejecuciones::incrementAndGet);
+        }
+
+        // Assert
+        assertEquals(3, almacen.tamanio());
+        assertEquals(5, almacen.ejecutar("k4", "cuerpo", ejecuciones::incrementAndGet));
+        assertEquals(6, almacen.ejecutar("k0", "cuerpo", ejecuciones::incrementAndGet));
+    }
+
+    @Test
+    void cuandoLaClaveVence_entoncesSeVuelveAEjecutar() throws InterruptedException {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(100, 0, 1000);
+        almacen.ejecutar("k1", "cuerpo", () -> "primero");
+        Thread.sleep(5);
+
+        // Act & Assert
+        assertEquals("segundo", almacen.ejecutar("k1", "otro cuerpo", () -> "segundo"));
+        assertEquals(1, almacen.tamanio());
+    }
+
+    @Test
+    void cuandoNoHayClave_entoncesEjecutaSiempre() {
+        // Arrange
+        AlmacenIdempotencia almacen = new AlmacenIdempotencia(100, 60, 1000);
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        // Act
+        almacen.ejecutar(null, "cuerpo", ejecuciones::incrementAndGet);
+        almacen.ejecutar(" ", "cuerpo", ejecuciones::incrementAndGet);
+
+        // Assert
+        assertEquals(2, ejecuciones.get());
+        assertEquals(0, almacen.tamanio());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.microservices_system.business_service.replica;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchivoCatalogoTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void cuandoEscribirYAbrir_entoncesRecuperaLosMismosRegistros() throws IOException {
+        // Arrange
+        Path ruta = directorio.resolve("catalogo.bin");
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 15, 14, 22, 5, 123_000_000);
+        List<EstadoCatalogo.Categoria> categorias = List.of(new EstadoCatalogo.Categoria(2L, "Audio", null),
+                new EstadoCatalogo.Categoria(1L, "Periféricos", "Teclados, mouse y más"));
+        List<EstadoCatalogo.Producto> productos = List.of(
+                new EstadoCatalogo.Producto(9L, "Auriculares Ñandú", null, new BigDecimal("59.90"), 2L),
+                new EstadoCatalogo.Producto(4L, "Mouse", "Inalámbrico", new BigDecimal("20.00"), 1L),
+                new EstadoCatalogo.Producto(7L, "Cable", null, null, 0L));
+        List<EstadoCatalogo.Inventario> inventarios = List.of(
+                new EstadoCatalogo.Inventario(30L, 4L, 12, 5, fecha),
+                new EstadoCatalogo.Inventario(31L, 9L, 0, null, null));
+
+        // Act
+        ArchivoCatalogo.escribir(ruta, 120L, categorias, productos, inventarios);
+        ArchivoCatalogo archivo = ArchivoCatalogo.abrir(ruta);
+
+        // Assert
+        assertEquals(120L, archivo.version());
+        assertEquals(List.of(4L, 7L, 9L), archivo.productos().stream().map(EstadoCatalogo.Producto::id).toList());
+        assertEquals(new EstadoCatalogo.Producto(9L, "Auriculares Ñandú", null, new BigDecimal("59.90"), 2L),
+                archivo.producto(9L));
+        assertNull(archivo.producto(7L).precio());
+        assertNull(archivo.producto(5L));
+        assertEquals("Teclados, mouse y más", archivo.categoria(1L).descripcion());
+        assertEquals(new EstadoCatalogo.Inventario(30L, 4L, 12, 5, fecha), archivo.inventarioDeProducto(4L));
+        assertNull(archivo.inventarioDeProducto(9L).stockMinimo());
+        assertNull(archivo.inventarioDeProducto(7L));
+        assertFalse(Files.exists(directorio.resolve("catalogo.bin.tmp")));
+    }
+
+    @Test
+    void cuandoArchivoTruncado_entoncesLanzaIOException() throws IOException {
+        // Arrange
+        Path ruta = directorio.resolve("catalogo.bin");
+        ArchivoCatalogo.escribir(ruta, 1L, List.of(), List.of(new EstadoCatalogo.Producto(1L, "Mouse", null,
+                BigDecimal.ONE, 0L)), List.of());
+        byte[] contenido = Files.readAllBytes(ruta);
+        Files.write(ruta, java.util.Arrays.copyOf(contenido, contenido.length - 3));
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> ArchivoCatalogo.abrir(ruta));
+    }
+}
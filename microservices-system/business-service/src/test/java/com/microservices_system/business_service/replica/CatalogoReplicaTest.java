@@ -0,0 +1,166 @@
+package com.microservices_system.business_service.replica;
+
+import com.microservices_system.business_service.client.DataServiceClient;
+import com.microservices_system.business_service.dto.CambioDTO;
+import com.microservices_system.business_service.dto.CategoriaDTO;
+import com.microservices_system.business_service.dto.FeedCambiosDTO;
+import com.microservices_system.business_service.dto.InventarioDTO;
+import com.microservices_system.business_service.dto.InventarioDatosDTO;
+import com.microservices_system.business_service.dto.ProductoDTO;
+import com.microservices_system.business_service.dto.ProductoDatosDTO;
+import com.microservices_system.business_service.dto.SnapshotCatalogoDTO;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoReplicaTest {
+
+    @Mock
+    private DataServiceClient dataServiceClient;
+
+    private CatalogoReplica catalogoReplica;
+
+    @BeforeEach
+    void setUp() {
+        catalogoReplica = new CatalogoReplica(dataServiceClient, true, 2, null, 10_000);
+    }
+
+    @Test
+    void cuandoSincronizarPorPrimeraVez_entoncesCargaSnapshotYAplicaElFeed() {
+        // Arrange
+        when(dataServiceClient.obtenerSnapshotCatalogo()).thenReturn(new SnapshotCatalogoDTO(10L,
+                List.of(new CategoriaDTO(1L, "Periféricos", null)),
+                List.of(producto(5L, "Mouse", "20.00", 1L), producto(6L, "Teclado", "45.00", 1L)),
+                List.of(inventario(3L, 5L, 12, 5))));
+        when(dataServiceClient.obtenerCambios(10L, 2)).thenReturn(new FeedCambiosDTO(List.of(
+                cambio(11L, "INVENTARIO", 3L, "ACTUALIZACION", null, inventario(3L, 5L, 4, 5)),
+                cambio(12L, "PRODUCTO", 6L, "ELIMINACION", null, null)), 12L, true));
+        when(dataServiceClient.obtenerCambios(12L, 2)).thenReturn(new FeedCambiosDTO(List.of(
+                cambio(13L, "PRODUCTO", 7L, "CREACION", producto(7L, "Monitor", "300.00", 1L), null)), 13L, false));
+
+        // Act
+        catalogoReplica.sincronizar();
+
+        // Assert
+        assertTrue(catalogoReplica.disponible());
+        assertEquals(13L, catalogoReplica.version());
+        List<ProductoDTO> productos = catalogoReplica.obtenerProductos();
+        assertEquals(List.of(5L, 7L), productos.stream().map(ProductoDTO::getId).toList());
+        assertEquals("Periféricos", productos.get(0).getCategoriaNombre());
+        assertEquals(4, productos.get(0).getStock());
+        assertTrue(productos.get(0).getStockBajo());
+        assertNull(productos.get(1).getStock());
+
+        List<InventarioDTO> stockBajo = catalogoReplica.obtenerInventariosConStockBajo();
+        assertEquals(1, stockBajo.size());
+        assertEquals("Mouse", stockBajo.get(0).getProducto().getNombre());
+        assertEquals(2, catalogoReplica.obtenerProductosPorCategoria("Periféricos").size());
+    }
+
+    @Test
+    void cuandoServicioDeDatosNoResponde_entoncesSigueSirviendoLaUltimaVersion() {
+        // Arrange
+        when(dataServiceClient.obtenerSnapshotCatalogo()).thenReturn(new SnapshotCatalogoDTO(1L,
+                List.of(), List.of(producto(5L, "Mouse", "20.00", null)), List.of()));
+        when(dataServiceClient.obtenerCambios(1L, 2))
+                .thenReturn(new FeedCambiosDTO(Collections.emptyList(), 1L, false))
+                .thenThrow(mock(FeignException.class));
+        catalogoReplica.sincronizar();
+
+        // Act
+        catalogoReplica.sincronizar();
+
+        // Assert
+        assertTrue(catalogoReplica.disponible());
+        assertEquals("Mouse", catalogoReplica.obtenerProducto(5L).orElseThrow().getNombre());
+        verify(dataServiceClient, times(1)).obtenerSnapshotCatalogo();
+    }
+
+    @Test
+    void cuandoReplicaDeshabilitada_entoncesNoSincronizaNiEstaDisponible() {
+        // Arrange
+        CatalogoReplica deshabilitada = new CatalogoReplica(dataServiceClient, false, 2, null, 10_000);
+
+        // Act
+        deshabilitada.sincronizar();
+
+        // Assert
+        assertFalse(deshabilitada.disponible());
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void cuandoReiniciarConArchivo_entoncesSirveLecturasSinElServicioDeDatos(@TempDir Path directorio) {
+        // Arrange
+        String archivo = directorio.resolve("catalogo.bin").toString();
+        CatalogoReplica primerNodo = new CatalogoReplica(dataServiceClient, true, 2, archivo, 0);
+        when(dataServiceClient.obtenerSnapshotCatalogo()).thenReturn(new SnapshotCatalogoDTO(5L,
+                List.of(new CategoriaDTO(1L, "Periféricos", null)),
+                List.of(producto(5L, "Mouse", "20.00", 1L), producto(6L, "Teclado", "45.00", 1L)),
+                List.of(inventario(3L, 5L, 12, 5))));
+        when(dataServiceClient.obtenerCambios(5L, 2)).thenReturn(new FeedCambiosDTO(List.of(
+                cambio(6L, "PRODUCTO", 6L, "ELIMINACION", null, null),
+                cambio(7L, "INVENTARIO", 3L, "ACTUALIZACION", null, inventario(3L, 5L, 2, 5))), 7L, false));
+        primerNodo.sincronizar();
+
+        // Act
+        when(dataServiceClient.obtenerCambios(7L, 2)).thenThrow(mock(FeignException.class));
+        CatalogoReplica nodoReiniciado = new CatalogoReplica(dataServiceClient, true, 2, archivo, 0);
+        nodoReiniciado.sincronizar();
+
+        // Assert
+        assertTrue(nodoReiniciado.disponible());
+        assertEquals(7L, nodoReiniciado.version());
+        List<ProductoDTO> productos = nodoReiniciado.obtenerProductos();
+        assertEquals(1, productos.size());
+        assertEquals("Periféricos", productos.get(0).getCategoriaNombre());
+        assertEquals(2, productos.get(0).getStock());
+        verify(dataServiceClient, times(1)).obtenerSnapshotCatalogo();
+    }
+
+    @Test
+    void cuandoAplicarCambiosSobreArchivo_entoncesLasEliminacionesOcultanRegistrosDelArchivo(@TempDir Path directorio) {
+        // Arrange
+        String archivo = directorio.resolve("catalogo.bin").toString();
+        CatalogoReplica replica = new CatalogoReplica(dataServiceClient, true, 2, archivo, 10_000);
+        when(dataServiceClient.obtenerSnapshotCatalogo()).thenReturn(new SnapshotCatalogoDTO(1L, List.of(),
+                List.of(producto(5L, "Mouse", "20.00", null)), List.of(inventario(3L, 5L, 12, 5))));
+        when(dataServiceClient.obtenerCambios(1L, 2)).thenReturn(new FeedCambiosDTO(List.of(
+                cambio(2L, "INVENTARIO", 3L, "ELIMINACION", null, null),
+                cambio(3L, "PRODUCTO", 8L, "CREACION", producto(8L, "Parlante", "35.00", null), null)), 3L, false));
+
+        // Act
+        replica.sincronizar();
+
+        // Assert
+        assertEquals(List.of(5L, 8L), replica.obtenerProductos().stream().map(ProductoDTO::getId).toList());
+        assertNull(replica.obtenerProducto(5L).orElseThrow().getStock());
+        assertTrue(replica.obtenerInventarios().isEmpty());
+    }
+
+    private static ProductoDatosDTO producto(Long id, String nombre, String precio, Long categoriaId) {
+        return new ProductoDatosDTO(id, nombre, null, new BigDecimal(precio), categoriaId);
+    }
+
+    private static InventarioDatosDTO inventario(Long id, Long productoId, int cantidad, int stockMinimo) {
+        return new InventarioDatosDTO(id, productoId, cantidad, stockMinimo, null);
+    }
+
+    private static CambioDTO cambio(Long version, String entidad, Long entidadId, String operacion,
+                                    ProductoDatosDTO producto, InventarioDatosDTO inventario) {
+        return new CambioDTO(version, entidad, entidadId, operacion, null, producto, null, inventario);
+    }
+}
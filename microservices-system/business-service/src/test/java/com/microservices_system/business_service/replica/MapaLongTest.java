@@ -0,0 +1,62 @@
+package com.microservices_system.business_service.replica;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapaLongTest {
+
+    @Test
+    void cuandoPonerYEliminarAleatoriamente_entoncesCoincideConHashMap() {
+        // Arrange
+        MapaLong<String> mapa = new MapaLong<>(4);
+        Map<Long, String> referencia = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            long clave = 1 + random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(referencia.remove(clave), mapa.eliminar(clave));
+            } else {
+                String valor = "v" + i;
+                referencia.put(clave, valor);
+                mapa.poner(clave, valor);
+            }
+        }
+
+        // Assert
+        assertEquals(referencia.size(), mapa.tamanio());
+        for (long clave = 1; clave <= 500; clave++) {
+            assertEquals(referencia.get(clave), mapa.obtener(clave));
+        }
+        assertEquals(referencia.keySet().stream().sorted().map(referencia::get).toList(), mapa.valores());
+    }
+
+    @Test
+    void cuandoModificarCopia_entoncesElOriginalNoCambia() {
+        // Arrange
+        MapaLong<String> original = new MapaLong<>(4);
+        original.poner(1L, "uno");
+
+        // Act
+        MapaLong<String> copia = original.copia();
+        copia.poner(2L, "dos");
+        copia.eliminar(1L);
+
+        // Assert
+        assertEquals("uno", original.obtener(1L));
+        assertNull(original.obtener(2L));
+        assertEquals(1, original.tamanio());
+    }
+
+    @Test
+    void cuandoPonerClaveNoPositiva_entoncesLanzaExcepcion() {
+        MapaLong<String> mapa = new MapaLong<>(4);
+        assertThrows(IllegalArgumentException.class, () -> mapa.poner(0L, "cero"));
+    }
+}
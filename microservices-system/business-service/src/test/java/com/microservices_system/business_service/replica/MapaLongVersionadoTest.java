@@ -0,0 +1,72 @@
+package com.microservices_system.business_service.replica;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapaLongVersionadoTest {
+
+    @Test
+    void cuandoSeModificanCopiasSucesivas_entoncesCadaVersionConservaSuContenido() {
+        // Arrange
+        MapaLongVersionado<String> mapa = new MapaLongVersionado<>(4);
+        Map<Long, String> referencia = new HashMap<>();
+        List<MapaLongVersionado<String>> versiones = new ArrayList<>();
+        List<Map<Long, String>> referencias = new ArrayList<>();
+        Random random = new Random(7);
+
+        // Act
+        for (int pagina = 0; pagina < 200; pagina++) {
+            mapa = mapa.copia();
+            for (int i = 0; i < 50; i++) {
+                long clave = 1 + random.nextInt(3000);
+                if (random.nextInt(3) == 0) {
+                    referencia.remove(clave);
+                    mapa.eliminar(clave);
+                } else {
+                    String valor = pagina + "-" + i;
+                    referencia.put(clave, valor);
+                    mapa.poner(clave, valor);
+                }
+            }
+            versiones.add(mapa);
+            referencias.add(new HashMap<>(referencia));
+        }
+
+        // Assert
+        for (int v = 0; v < versiones.size(); v++) {
+            MapaLongVersionado<String> version = versiones.get(v);
+            Map<Long, String> esperado = referencias.get(v);
+            assertEquals(esperado.size(), version.tamanio());
+            for (long clave = 1; clave <= 3000; clave++) {
+                assertEquals(esperado.get(clave), version.obtener(clave));
+            }
+            assertEquals(esperado.keySet().stream().sorted().map(esperado::get).toList(), version.valores());
+        }
+    }
+
+    @Test
+    void cuandoLosCambiosSuperanElLimite_entoncesLaCopiaLosConsolidaEnLaBase() {
+        // Arrange
+        MapaLongVersionado<Long> mapa = new MapaLongVersionado<>(16);
+        for (long clave = 1; clave <= MapaLongVersionado.limiteCambios(0) + 1; clave++) {
+            mapa.poner(clave, clave);
+        }
+
+        // Act
+        MapaLongVersionado<Long> copia = mapa.copia();
+        copia.eliminar(1);
+
+        // Assert
+        assertNull(copia.obtener(1));
+        assertEquals(1L, mapa.obtener(1));
+        assertEquals(mapa.tamanio() - 1, copia.tamanio());
+        assertEquals(2L, copia.valores().get(0));
+    }
+}
@@ -2,6 +2,7 @@ package com.microservices_system.business_service.services;
 import com.microservices_system.business_service.client.DataServiceClient;
 import com.microservices_system.business_service.dto.CategoriaDTO;
 import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.replica.CatalogoReplica;
 import com.microservices_system.business_service.service.CategoriaBusinessService;
 import feign.FeignException;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,9 @@ class CategoriaBusinessServiceTest {
     @Mock
     private DataServiceClient dataServiceClient;
 
+    @Mock
+    private CatalogoReplica catalogoReplica;
+
     @InjectMocks
     private CategoriaBusinessService categoriaBusinessService;
 
@@ -0,0 +1,292 @@
+package com.microservices_system.business_service.services;
+import com.microservices_system.business_service.client.DataServiceClient;
+import com.microservices_system.business_service.dto.FilaReporteInventarioDTO;
+import com.microservices_system.business_service.dto.InventarioDTO;
+import com.microservices_system.business_service.dto.ProductoDTO;
+import com.microservices_system.business_service.dto.ReporteDTO;
+import com.microservices_system.business_service.dto.ReporteStockBajoDTO;
+import com.microservices_system.business_service.dto.ReporteValorInventarioDTO;
+import com.microservices_system.business_service.dto.ResumenCategoriaDTO;
+import com.microservices_system.business_service.dto.ValorStockProductoDTO;
+import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.business_service.replica.CatalogoReplica;
+import com.microservices_system.business_service.service.InventarioBusinessService;
+import feign.FeignException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventarioBusinessServiceTest {
+
+    @Mock
+    private DataServiceClient dataServiceClient;
+
+    @Mock
+    private CatalogoReplica catalogoReplica;
+
+    @InjectMocks
+    private InventarioBusinessService inventarioBusinessService;
+
+    @Test
+    void cuandoObtenerProductosConStockBajo_entoncesLeeElReporteMaterializado() {
+        // Arrange
+        LocalDateTime fechaRefresco = LocalDateTime.now().minusSeconds(10);
+        ReporteStockBajoDTO reporte = new ReporteStockBajoDTO(Arrays.asList(
+                new FilaReporteInventarioDTO(1L, 11L, 1L, "Computación", "Producto 1", 3, 5,
+                        BigDecimal.valueOf(100), BigDecimal.valueOf(300), true, fechaRefresco),
+                new FilaReporteInventarioDTO(2L, 12L, 0L, null, "Producto 2", 2, 10,
+                        BigDecimal.valueOf(200), BigDecimal.valueOf(400), true, fechaRefresco)
+        ), fechaRefresco, 15L);
+
+        when(dataServiceClient.obtenerReporteStockBajo()).thenReturn(reporte);
+
+        // Act
+        ReporteDTO<List<InventarioDTO>> resultado = inventarioBusinessService.obtenerProductosConStockBajo();
+
+        // Assert
+        assertNotNull(resultado);
+        assertEquals(fechaRefresco, resultado.getFechaRefresco());
+        assertEquals(15L, resultado.getVersion());
+        assertEquals(2, resultado.getDatos().size());
+        assertEquals(11L, resultado.getDatos().get(0).getId());
+        assertEquals(3, resultado.getDatos().get(0).getCantidad());
+        assertEquals("Computación", resultado.getDatos().get(0).getProducto().getCategoriaNombre());
+        assertEquals(2, resultado.getDatos().get(1).getCantidad());
+        assertTrue(resultado.getDatos().get(1).getProducto().getStockBajo());
+        verify(dataServiceClient).obtenerReporteStockBajo();
+    }
+
+    @Test
+    void cuandoObtenerProductosConStockBajo_conReplicaDisponible_entoncesNoConsultaElServicioDeDatos() {
+        // Arrange
+        List<InventarioDTO> inventarios = List.of(crearInventarioDTO(1L, 3, 5, "Producto 1", BigDecimal.valueOf(100)));
+        when(catalogoReplica.disponible()).thenReturn(true);
+        when(catalogoReplica.obtenerInventariosConStockBajo()).thenReturn(inventarios);
+        when(catalogoReplica.antiguedadMs()).thenReturn(2000L);
+        when(catalogoReplica.version()).thenReturn(7L);
+
+        // Act
+        ReporteDTO<List<InventarioDTO>> resultado = inventarioBusinessService.obtenerProductosConStockBajo();
+
+        // Assert
+        assertEquals(inventarios, resultado.getDatos());
+        assertEquals(7L, resultado.getVersion());
+        assertTrue(resultado.getFechaRefresco().isBefore(LocalDateTime.now().minusSeconds(1)));
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void cuandoObtenerProductosConStockBajo_yOcurreFeignException_entoncesLanzaMicroserviceCommunicationException() {
+        // Arrange
+        when(dataServiceClient.obtenerReporteStockBajo())
+                .thenThrow(mock(FeignException.class));
+
+        // Act & Assert
+        assertThrows(MicroserviceCommunicationException.class, () -> {
+            inventarioBusinessService.obtenerProductosConStockBajo();
+        });
+
+        verify(dataServiceClient).obtenerReporteStockBajo();
+    }
+
+    @Test
+    void cuandoCalcularValorTotalInventario_entoncesLeeElReporteMaterializado() {
+        // Arrange
+        LocalDateTime fechaRefresco = LocalDateTime.now().minusSeconds(3);
+        when(dataServiceClient.obtenerReporteValorInventario()).thenReturn(
+                new ReporteValorInventarioDTO(new BigDecimal("2000"), 15L, 3L, 0L, fechaRefresco, 20L));
+
+        // Act
+        ReporteDTO<BigDecimal> resultado = inventarioBusinessService.calcularValorTotalInventario();
+
+        // Assert
+        assertEquals(new BigDecimal("2000"), resultado.getDatos());
+        assertEquals(fechaRefresco, resultado.getFechaRefresco());
+        assertEquals(20L, resultado.getVersion());
+        verify(dataServiceClient).obtenerReporteValorInventario();
+    }
+
+    @Test
+    void cuandoCalcularValorTotalInventario_conReplica_entoncesRetornaValorCorrecto() {
+        // Arrange
+        List<InventarioDTO> inventarios = Arrays.asList(
+                crearInventarioDTO(1L, 10, 5, "Producto 1", BigDecimal.valueOf(100)), // 10 * 100 = 1000
+                crearInventarioDTO(2L, 5, 3, "Producto 2", BigDecimal.valueOf(200)),  // 5 * 200 = 1000
+                crearInventarioDTO(3L, 0, 2, "Producto 3", BigDecimal.valueOf(50))    // 0 * 50 = 0 (sin stock)
+        );
+
+        usarReplica(inventarios);
+
+        // Act
+        BigDecimal resultado = inventarioBusinessService.calcularValorTotalInventario().getDatos();
+
+        // Assert
+        assertNotNull(resultado);
+        assertEquals(new BigDecimal("2000"), resultado);
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void cuandoCalcularValorTotalInventario_conProductosSinPrecio_entoncesOmiteDelCalculo() {
+        // Arrange
+        List<InventarioDTO> inventarios = Arrays.asList(
+                crearInventarioDTO(1L, 10, 5, "Producto 1", BigDecimal.valueOf(100)), // 10 * 100 = 1000
+                crearInventarioDTO(2L, 5, 3, "Producto 2", null)  // Sin precio, se omite
+        );
+
+        usarReplica(inventarios);
+
+        // Act
+        BigDecimal resultado = inventarioBusinessService.calcularValorTotalInventario().getDatos();
+
+        // Assert
+        assertNotNull(resultado);
+        assertEquals(new BigDecimal("1000"), resultado);
+    }
+
+    @Test
+    void cuandoCalcularValorTotalInventario_conInventariosSinProducto_entoncesOmiteDelCalculo() {
+        // Arrange
+        InventarioDTO inventarioSinProducto = new InventarioDTO();
+        inventarioSinProducto.setId(1L);
+        inventarioSinProducto.setCantidad(10);
+        inventarioSinProducto.setProducto(null);
+
+        List<InventarioDTO> inventarios = Arrays.asList(
+                inventarioSinProducto,
+                crearInventarioDTO(2L, 5, 3, "Producto 2", BigDecimal.valueOf(200))
+        );
+
+        usarReplica(inventarios);
+
+        // Act
+        BigDecimal resultado = inventarioBusinessService.calcularValorTotalInventario().getDatos();
+
+        // Assert
+        assertNotNull(resultado);
+        assertEquals(new BigDecimal("1000"), resultado);
+    }
+
+    @Test
+    void cuandoCalcularValorTotalInventario_conInventarioVacio_entoncesRetornaCero() {
+        // Arrange
+        usarReplica(Collections.emptyList());
+
+        // Act
+        BigDecimal resultado = inventarioBusinessService.calcularValorTotalInventario().getDatos();
+
+        // Assert
+        assertNotNull(resultado);
+        assertEquals(BigDecimal.ZERO, resultado);
+    }
+
+    @Test
+    void cuandoCalcularValorTotalInventario_yOcurreFeignException_entoncesLanzaMicroserviceCommunicationException() {
+        // Arrange
+        when(dataServiceClient.obtenerReporteValorInventario())
+                .thenThrow(mock(FeignException.class));
+
+        // Act & Assert
+        assertThrows(MicroserviceCommunicationException.class, () -> {
+            inventarioBusinessService.calcularValorTotalInventario();
+        });
+
+        verify(dataServiceClient).obtenerReporteValorInventario();
+    }
+
+    @Test
+    void cuandoCalcularValorTotalInventario_conCantidadNull_entoncesOmiteDelCalculo() {
+        // Arrange
+        InventarioDTO inventarioConCantidadNull = crearInventarioDTO(1L, null, 5, "Producto 1", BigDecimal.valueOf(100));
+        List<InventarioDTO> inventarios = Arrays.asList(
+                inventarioConCantidadNull,
+                crearInventarioDTO(2L, 5, 3, "Producto 2", BigDecimal.valueOf(200))
+        );
+
+        usarReplica(inventarios);
+
+        // Act
+        BigDecimal resultado = inventarioBusinessService.calcularValorTotalInventario().getDatos();
+
+        // Assert
+        assertNotNull(resultado);
+        assertEquals(new BigDecimal("1000"), resultado);
+    }
+
+    private void usarReplica(List<InventarioDTO> inventarios) {
+        when(catalogoReplica.disponible()).thenReturn(true);
+        when(catalogoReplica.obtenerInventarios()).thenReturn(inventarios);
+    }
+
+    private InventarioDTO crearInventarioDTO(Long id, Integer cantidad, Integer stockMinimo,
+                                             String nombreProducto, BigDecimal precio) {
+        ProductoDTO producto = new ProductoDTO();
+        producto.setId(id);
+        producto.setNombre(nombreProducto);
+        producto.setPrecio(precio);
+
+        InventarioDTO inventario = new InventarioDTO();
+        inventario.setId(id);
+        inventario.setCantidad(cantidad);
+        inventario.setStockMinimo(stockMinimo);
+        inventario.setProducto(producto);
+        inventario.setFechaActualizacion(LocalDateTime.now());
+
+        return inventario;
+    }
+
+    @Test
+    void cuandoObtenerTopValorInventario_entoncesDelegaEnElServicioDeDatos() {
+        // Arrange
+        List<ValorStockProductoDTO> top = List.of(new ValorStockProductoDTO(1L, "Laptop", 1L, "Computación",
+                5, BigDecimal.valueOf(1000), BigDecimal.valueOf(5000), 1));
+        when(dataServiceClient.obtenerTopValorInventario(1, false)).thenReturn(top);
+
+        // Act
+        List<ValorStockProductoDTO> resultado = inventarioBusinessService.obtenerTopValorInventario(1, false);
+
+        // Assert
+        assertEquals(top, resultado);
+        verify(dataServiceClient).obtenerTopValorInventario(1, false);
+    }
+
+    @Test
+    void cuandoObtenerTopValorInventario_conKInvalido_entoncesLanzaValidacionNegocioException() {
+        // Act & Assert
+        assertThrows(ValidacionNegocioException.class, () -> inventarioBusinessService.obtenerTopValorInventario(0, true));
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void cuandoObtenerResumenPorCategoria_yOcurreFeignException_entoncesLanzaMicroserviceCommunicationException() {
+        // Arrange
+        when(dataServiceClient.obtenerResumenInventarioPorCategoria()).thenThrow(mock(FeignException.class));
+
+        // Act & Assert
+        assertThrows(MicroserviceCommunicationException.class, () -> inventarioBusinessService.obtenerResumenPorCategoria());
+    }
+
+    @Test
+    void cuandoObtenerResumenPorCategoria_entoncesRetornaFilasAgregadas() {
+        // Arrange
+        List<ResumenCategoriaDTO> resumen = List.of(
+                new ResumenCategoriaDTO(1L, "Computación", 3L, 115L, BigDecimal.valueOf(10000), 0L));
+        when(dataServiceClient.obtenerResumenInventarioPorCategoria()).thenReturn(resumen);
+
+        // Act & Assert
+        assertEquals(resumen, inventarioBusinessService.obtenerResumenPorCategoria());
+    }
+}
@@ -1,11 +1,14 @@
 package com.microservices_system.business_service.services;
 
 import com.microservices_system.business_service.client.DataServiceClient;
+import com.microservices_system.business_service.dto.PaginaProductosDTO;
 import com.microservices_system.business_service.dto.ProductoDTO;
 import com.microservices_system.business_service.dto.ProductoRequest;
 import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.exceptions.ProductoDuplicadoException;
 import com.microservices_system.business_service.exceptions.ProductoNoEncontradoException;
 import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.business_service.replica.CatalogoReplica;
 import com.microservices_system.business_service.service.ProductoBusinessService;
 import feign.FeignException;
 import org.junit.jupiter.api.Test;
@@ -17,6 +20,7 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +31,9 @@ class ProductoBusinessServiceTest {
     @Mock
     private DataServiceClient dataServiceClient;
 
+    @Mock
+    private CatalogoReplica catalogoReplica;
+
     @InjectMocks
     private ProductoBusinessService productoBusinessService;
 
@@ -188,6 +195,23 @@ class ProductoBusinessServiceTest {
         verify(dataServiceClient, never()).crearProducto(any());
     }
 
+    @Test
+    void cuandoCrearProducto_yDataServiceRespondeConflicto_entoncesLanzaProductoDuplicadoException() {
+        // Arrange
+        ProductoRequest request = new ProductoRequest();
+        request.setNombre("Producto Test");
+        request.setPrecio(BigDecimal.valueOf(100));
+        request.setStock(10);
+
+        when(dataServiceClient.crearProducto(request))
+                .thenThrow(mock(FeignException.Conflict.class));
+
+        // Act & Assert
+        ProductoDuplicadoException excepcion = assertThrows(ProductoDuplicadoException.class,
+                () -> productoBusinessService.crearProducto(request));
+        assertEquals("El producto ya está registrado: Producto Test", excepcion.getMessage());
+    }
+
     @Test
     void cuandoCrearProducto_yOcurreFeignException_entoncesLanzaMicroserviceCommunicationException() {
         // Arrange
@@ -259,4 +283,73 @@ class ProductoBusinessServiceTest {
         assertTrue(resultado.isEmpty());
         verify(dataServiceClient).obtenerProductosPorCategoria(categoria);
     }
-}
\ No newline at end of file
+
+    @Test
+    void cuandoReplicaDisponible_entoncesLeeDeLaReplicaSinLlamarAlServicioDeDatos() {
+        // Arrange
+        ProductoDTO producto = new ProductoDTO(1L, "Producto 1", "Descripción 1",
+                BigDecimal.valueOf(100), "Categoría 1", 10, false);
+        when(catalogoReplica.disponible()).thenReturn(true);
+        when(catalogoReplica.obtenerProducto(1L)).thenReturn(Optional.of(producto));
+        when(catalogoReplica.obtenerProducto(2L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals(producto, productoBusinessService.obtenerProductoPorId(1L));
+        assertThrows(ProductoNoEncontradoException.class, () -> productoBusinessService.obtenerProductoPorId(2L));
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void cuandoBuscarProductos_entoncesDelegaEnElServicioDeDatos() {
+        // Arrange
+        List<ProductoDTO> productosEsperados = List.of(
+                new ProductoDTO(1L, "Teclado Mecánico", "Switch azul", BigDecimal.valueOf(90), "Periféricos", 5, false));
+        when(dataServiceClient.buscarProductos("teclado", 20)).thenReturn(productosEsperados);
+
+        // Act
+        List<ProductoDTO> resultado = productoBusinessService.buscarProductos("teclado", 20);
+
+        // Assert
+        assertEquals(productosEsperados, resultado);
+        verify(dataServiceClient).buscarProductos("teclado", 20);
+    }
+
+    @Test
+    void cuandoBuscarProductos_conTextoVacio_entoncesLanzaValidacionNegocioException() {
+        // Act & Assert
+        ValidacionNegocioException exception = assertThrows(ValidacionNegocioException.class, () -> {
+            productoBusinessService.buscarProductos("  ", 20);
+        });
+
+        assertEquals("El texto de búsqueda es requerido", exception.getMessage());
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void cuandoFiltrarProductos_conPrecioMinimoMayorAlMaximo_entoncesLanzaValidacionNegocioException() {
+        // Act & Assert
+        ValidacionNegocioException exception = assertThrows(ValidacionNegocioException.class, () -> {
+            productoBusinessService.filtrarProductos(List.of(1L), BigDecimal.valueOf(100), BigDecimal.TEN,
+                    null, 0, 20);
+        });
+
+        assertEquals("El precio mínimo no puede ser mayor al precio máximo", exception.getMessage());
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void cuandoFiltrarProductosPorCriterios_entoncesNormalizaLaDireccionYDelega() {
+        // Arrange
+        PaginaProductosDTO pagina = new PaginaProductosDTO(List.of(), 0, 20, false);
+        when(dataServiceClient.filtrarProductosPorCriterios("lap", null, null, 1L, true, 0, 20, "precio", "DESC"))
+                .thenReturn(pagina);
+
+        // Act
+        PaginaProductosDTO resultado = productoBusinessService.filtrarProductosPorCriterios(
+                "lap", null, null, 1L, true, 0, 20, "precio", "desc");
+
+        // Assert
+        assertEquals(pagina, resultado);
+        verify(dataServiceClient).filtrarProductosPorCriterios("lap", null, null, 1L, true, 0, 20, "precio", "DESC");
+    }
+}
@@ -0,0 +1,84 @@
+package com.microservices_system.business_service.client;
+
+import com.microservices_system.business_service.dto.CategoriaDTO;
+import com.microservices_system.business_service.dto.FeedCambiosDTO;
+import com.microservices_system.business_service.dto.InventarioDTO;
+import com.microservices_system.business_service.dto.PaginaProductosDTO;
+import com.microservices_system.business_service.dto.ProductoDTO;
+import com.microservices_system.business_service.dto.ProductoRequest;
+import com.microservices_system.business_service.dto.ResultadoFiltroProductosDTO;
+import com.microservices_system.business_service.dto.ReporteStockBajoDTO;
+import com.microservices_system.business_service.dto.ReporteValorInventarioDTO;
+import com.microservices_system.business_service.dto.ResumenCategoriaDTO;
+import com.microservices_system.business_service.dto.SnapshotCatalogoDTO;
+import com.microservices_system.business_service.dto.ValorStockProductoDTO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@FeignClient(name = "data-service", url = "${data.service.url}")
+public interface DataServiceClient {
+    @GetMapping("/data/productos")
+    List<ProductoDTO> obtenerTodosLosProductos();
+
+    @GetMapping("/data/productos/{id}")
+    ProductoDTO obtenerProductoPorId(@PathVariable Long id);
+
+    @PostMapping("/data/productos")
+    ProductoDTO crearProducto(@RequestBody ProductoRequest request);
+
+    @PutMapping("/data/productos/{id}")
+    ProductoDTO actualizarProducto(@PathVariable Long id, @RequestBody ProductoRequest request);
+
+    @DeleteMapping("/data/productos/{id}")
+    void eliminarProducto(@PathVariable Long id);
+
+    @GetMapping("/data/productos/categoria/{nombre}")
+    List<ProductoDTO> obtenerProductosPorCategoria(@PathVariable String nombre);
+
+    @GetMapping("/data/productos/buscar")
+    List<ProductoDTO> buscarProductos(@RequestParam("q") String consulta, @RequestParam("limite") int limite);
+
+    @GetMapping("/data/productos/filtro")
+    PaginaProductosDTO filtrarProductosPorCriterios(@RequestParam(value = "nombre", required = false) String nombre,
+                                                    @RequestParam(value = "precioMin", required = false) BigDecimal precioMin,
+                                                    @RequestParam(value = "precioMax", required = false) BigDecimal precioMax,
+                                                    @RequestParam(value = "categoriaId", required = false) Long categoriaId,
+                                                    @RequestParam(value = "conStock", required = false) Boolean conStock,
+                                                    @RequestParam("pagina") int pagina,
+                                                    @RequestParam("tamanio") int tamanio,
+                                                    @RequestParam("ordenarPor") String ordenarPor,
+                                                    @RequestParam("direccion") String direccion);
+
+    @GetMapping("/data/productos/filtrar")
+    ResultadoFiltroProductosDTO filtrarProductos(@RequestParam(value = "categoriaId", required = false) List<Long> categoriaIds,
+                                                 @RequestParam(value = "precioMin", required = false) BigDecimal precioMin,
+                                                 @RequestParam(value = "precioMax", required = false) BigDecimal precioMax,
+                                                 @RequestParam(value = "stock", required = false) List<String> estados,
+                                                 @RequestParam("pagina") int pagina,
+                                                 @RequestParam("tamanio") int tamanio);
+
+    @GetMapping("/data/categorias")
+    List<CategoriaDTO> obtenerTodasLasCategorias();
+
+    @GetMapping("/data/reportes/stock-bajo")
+    ReporteStockBajoDTO obtenerReporteStockBajo();
+
+    @GetMapping("/data/reportes/valor-inventario")
+    ReporteValorInventarioDTO obtenerReporteValorInventario();
+
+    @GetMapping("/data/inventario/por-categoria")
+    List<ResumenCategoriaDTO> obtenerResumenInventarioPorCategoria();
+
+    @GetMapping("/data/inventario/top-valor")
+    List<ValorStockProductoDTO> obtenerTopValorInventario(@RequestParam("k") int k,
+                                                          @RequestParam("porCategoria") boolean porCategoria);
+
+    @GetMapping("/data/cambios")
+    FeedCambiosDTO obtenerCambios(@RequestParam("desde") long desde, @RequestParam("limite") int limite);
+
+    @GetMapping("/data/cambios/snapshot")
+    SnapshotCatalogoDTO obtenerSnapshotCatalogo();
+}
@@ -0,0 +1,21 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CambioDTO {
+    private Long version;
+    private String entidad;
+    private Long entidadId;
+    private String operacion;
+    private LocalDateTime fecha;
+    private ProductoDatosDTO producto;
+    private CategoriaDTO categoria;
+    private InventarioDatosDTO inventario;
+}
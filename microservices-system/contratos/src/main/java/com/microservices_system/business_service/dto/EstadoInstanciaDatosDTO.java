@@ -0,0 +1,24 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de una instancia de data-service vista por el balanceo de esta
+ * instancia de negocio. Los acumulados cuentan desde el arranque.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoInstanciaDatosDTO {
+    private String url;
+    private String zona;
+    private Integer peso;
+    private Integer pendientes;
+    private Double latenciaPromedioMs;
+    private Long peticiones;
+    private Long errores;
+    private Boolean expulsada;
+    private Integer expulsiones;
+}
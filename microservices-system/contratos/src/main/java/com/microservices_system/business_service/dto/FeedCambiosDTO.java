@@ -0,0 +1,16 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedCambiosDTO {
+    private List<CambioDTO> cambios;
+    private Long ultimaVersion;
+    private boolean hayMas;
+}
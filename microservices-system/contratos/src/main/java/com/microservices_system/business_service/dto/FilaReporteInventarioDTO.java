@@ -0,0 +1,25 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FilaReporteInventarioDTO {
+    private Long productoId;
+    private Long inventarioId;
+    private Long categoriaId;
+    private String categoria;
+    private String nombre;
+    private Integer cantidad;
+    private Integer stockMinimo;
+    private BigDecimal precio;
+    private BigDecimal valor;
+    private boolean stockBajo;
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,18 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventarioDatosDTO {
+    private Long id;
+    private Long productoId;
+    private Integer cantidad;
+    private Integer stockMinimo;
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,20 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de un reporte junto con su frescura: momento hasta el que refleja
+ * los cambios del catálogo y versión del feed de cambios correspondiente.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReporteDTO<T> {
+    private T datos;
+    private LocalDateTime fechaRefresco;
+    private Long version;
+}
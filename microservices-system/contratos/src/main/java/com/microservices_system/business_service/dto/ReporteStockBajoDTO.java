@@ -0,0 +1,17 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReporteStockBajoDTO {
+    private List<FilaReporteInventarioDTO> productos;
+    private LocalDateTime fechaRefresco;
+    private Long version;
+}
@@ -0,0 +1,20 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReporteValorInventarioDTO {
+    private BigDecimal valor;
+    private Long unidades;
+    private Long productos;
+    private Long productosStockBajo;
+    private LocalDateTime fechaRefresco;
+    private Long version;
+}
@@ -0,0 +1,19 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoFiltroProductosDTO {
+    private Long total;
+    private List<ProductoDTO> productos;
+    private Map<Long, Integer> categorias;
+    private Map<String, Integer> rangosPrecio;
+    private Map<String, Integer> estadosStock;
+}
@@ -0,0 +1,19 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumenCategoriaDTO {
+    private Long categoriaId;
+    private String categoria;
+    private Long productos;
+    private Long unidades;
+    private BigDecimal valor;
+    private Long productosStockBajo;
+}
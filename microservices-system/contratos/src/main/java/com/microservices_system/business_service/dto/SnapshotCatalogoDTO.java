@@ -0,0 +1,17 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SnapshotCatalogoDTO {
+    private Long version;
+    private List<CategoriaDTO> categorias;
+    private List<ProductoDatosDTO> productos;
+    private List<InventarioDatosDTO> inventarios;
+}
@@ -0,0 +1,21 @@
+package com.microservices_system.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ValorStockProductoDTO {
+    private Long productoId;
+    private String nombre;
+    private Long categoriaId;
+    private String categoria;
+    private Integer cantidad;
+    private BigDecimal precio;
+    private BigDecimal valor;
+    private Integer posicion;
+}
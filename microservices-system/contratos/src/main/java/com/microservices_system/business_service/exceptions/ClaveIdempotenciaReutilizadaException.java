@@ -0,0 +1,7 @@
+package com.microservices_system.business_service.exceptions;
+
+public class ClaveIdempotenciaReutilizadaException extends RuntimeException {
+    public ClaveIdempotenciaReutilizadaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.microservices_system.business_service.exceptions;
+
+public class ConflictoConcurrenciaException extends RuntimeException {
+    public ConflictoConcurrenciaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,68 @@
+package com.microservices_system.business_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cuerpos {@code {"error": "..."}} para los manejadores de excepciones, sin
+ * armar un {@code Map} ni pasar por Jackson en cada respuesta de error.
+ * <p>
+ * Los mensajes fijos (el del error genérico, el de comunicación) se serializan
+ * una sola vez al crear la instancia. El resto llevan el ID o el nombre del
+ * recurso y casi nunca se repiten, así que se serializan en cada respuesta.
+ */
+public class CuerposError {
+    private final Map<String, byte[]> fijos;
+
+    /**
+     * @param mensajesFijos Mensajes sin datos variables que se sirven ya serializados
+     */
+    public CuerposError(String... mensajesFijos) {
+        this.fijos = Stream.of(mensajesFijos).distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), CuerposError::serializar));
+    }
+
+    public ResponseEntity<byte[]> respuesta(HttpStatus estado, String mensaje) {
+        return ResponseEntity.status(estado)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cuerpo(mensaje));
+    }
+
+    /**
+     * @return El cuerpo serializado en UTF-8; el de un mensaje fijo es compartido, no se debe modificar
+     */
+    public byte[] cuerpo(String mensaje) {
+        String texto = String.valueOf(mensaje);
+        byte[] fijo = fijos.get(texto);
+        return fijo != null ? fijo : serializar(texto);
+    }
+
+    static byte[] serializar(String mensaje) {
+        StringBuilder json = new StringBuilder(mensaje.length() + 14).append("{\"error\":\"");
+        for (int i = 0; i < mensaje.length(); i++) {
+            char c = mensaje.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
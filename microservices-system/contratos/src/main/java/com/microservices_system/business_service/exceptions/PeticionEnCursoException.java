@@ -0,0 +1,7 @@
+package com.microservices_system.business_service.exceptions;
+
+public class PeticionEnCursoException extends RuntimeException {
+    public PeticionEnCursoException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,11 @@
 package com.microservices_system.business_service.exceptions;
 
+/**
+ * Alta con un nombre o clave que ya existe. Sin traza de la pila, igual que
+ * {@link RecursoNoEncontradoException}.
+ */
 public abstract class RecursoDuplicadoException extends RuntimeException {
     public RecursoDuplicadoException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,12 @@
+package com.microservices_system.business_service.exceptions;
+
+/**
+ * Recurso inexistente. Es parte del tráfico normal (enlaces viejos, sondeos de
+ * caché) y se responde con 404 sin registrarse, así que no captura la traza de
+ * la pila.
+ */
+public abstract class RecursoNoEncontradoException extends RuntimeException {
+    public RecursoNoEncontradoException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,7 +1,11 @@
 package com.microservices_system.business_service.exceptions;
 
+/**
+ * Solicitud que no cumple una regla de negocio. Sin traza de la pila: el
+ * mensaje alcanza para el cliente y el manejador no la registra.
+ */
 public class ValidacionNegocioException extends RuntimeException {
     public ValidacionNegocioException(String mensaje) {
-        super(mensaje);
+        super(mensaje, null, false, false);
     }
 }
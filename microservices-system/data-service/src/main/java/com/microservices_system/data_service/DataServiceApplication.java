@@ -1,13 +1,13 @@
-package com.microservices_system;
+package com.microservices_system.data_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
-public class MicroservicesSystemApplication {
+public class DataServiceApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(MicroservicesSystemApplication.class, args);
+		SpringApplication.run(DataServiceApplication.class, args);
 	}
 
 }
@@ -0,0 +1,17 @@
+package com.microservices_system.data_service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas periódicas (publicación del feed, sincronización de
+ * índices, refresco de reportes, etc.). Con {@code programacion.habilitada=false}
+ * no corre ninguna y cada tarea se invoca a mano, como en las pruebas que miden
+ * contadores globales y no deben ver actividad de fondo.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "programacion.habilitada", havingValue = "true", matchIfMissing = true)
+public class ProgramacionConfig {
+}
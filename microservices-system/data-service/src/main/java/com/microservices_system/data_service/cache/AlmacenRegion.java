@@ -0,0 +1,115 @@
+package com.microservices_system.data_service.cache;
+
+import com.microservices_system.data_service.dto.EstadisticaRegionCache;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Almacenamiento en memoria de una región: un LRU acotado a
+ * {@code tamanioMaximo} entradas cuyas entradas vencen a los
+ * {@code ttlSegundos} de escritas (0 = sin límite en ambos casos).
+ * <p>
+ * Los bloqueos que Hibernate deja mientras una transacción modifica una
+ * entidad ({@link SoftLock}) no se expulsan ni vencen: perderlos permitiría
+ * que una lectura concurrente vuelva a cachear el valor anterior.
+ */
+class AlmacenRegion implements DomainDataStorageAccess {
+    private final String nombre;
+    private final int tamanioMaximo;
+    private final long ttlSegundos;
+    private final long ttlNanos;
+    private final LinkedHashMap<Object, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder escrituras = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+    private final LongAdder vencimientos = new LongAdder();
+
+    private record Entrada(Object valor, long vence) {
+        boolean vencida(long ahora) {
+            return !(valor instanceof SoftLock) && ahora - vence > 0;
+        }
+    }
+
+    AlmacenRegion(String nombre, int tamanioMaximo, long ttlSegundos) {
+        this.nombre = nombre;
+        this.tamanioMaximo = tamanioMaximo;
+        this.ttlSegundos = ttlSegundos;
+        this.ttlNanos = ttlSegundos > 0 ? TimeUnit.SECONDS.toNanos(ttlSegundos) : 0;
+    }
+
+    @Override
+    public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entrada entrada = entradas.get(key);
+        if (entrada == null) {
+            fallos.increment();
+            return null;
+        }
+        if (ttlNanos > 0 && entrada.vencida(System.nanoTime())) {
+            entradas.remove(key);
+            vencimientos.increment();
+            fallos.increment();
+            return null;
+        }
+        aciertos.increment();
+        return entrada.valor();
+    }
+
+    @Override
+    public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        long ahora = System.nanoTime();
+        entradas.put(key, new Entrada(value, ttlNanos > 0 ? ahora + ttlNanos : ahora));
+        escrituras.increment();
+        if (tamanioMaximo > 0 && entradas.size() > tamanioMaximo) {
+            Iterator<Entrada> recorrido = entradas.values().iterator();
+            while (recorrido.hasNext() && entradas.size() > tamanioMaximo) {
+                if (!(recorrido.next().valor() instanceof SoftLock)) {
+                    recorrido.remove();
+                    expulsiones.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean contains(Object key) {
+        Entrada entrada = entradas.get(key);
+        return entrada != null && (ttlNanos == 0 || !entrada.vencida(System.nanoTime()));
+    }
+
+    @Override
+    public synchronized void removeFromCache(Object key, SharedSessionContractImplementor session) {
+        entradas.remove(key);
+    }
+
+    @Override
+    public synchronized void clearCache(SharedSessionContractImplementor session) {
+        entradas.clear();
+    }
+
+    @Override
+    public synchronized void evictData() {
+        entradas.clear();
+    }
+
+    @Override
+    public synchronized void evictData(Object key) {
+        entradas.remove(key);
+    }
+
+    @Override
+    public synchronized void release() {
+        entradas.clear();
+    }
+
+    synchronized EstadisticaRegionCache estadistica() {
+        return new EstadisticaRegionCache(nombre, entradas.size(), tamanioMaximo, ttlSegundos,
+                aciertos.sum(), fallos.sum(), escrituras.sum(), expulsiones.sum(), vencimientos.sum());
+    }
+}
@@ -0,0 +1,104 @@
+package com.microservices_system.data_service.cache;
+
+import com.microservices_system.data_service.dto.EstadisticaRegionCache;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de segundo nivel de Hibernate en memoria del proceso para datos de
+ * referencia. Cada región (entidad {@link #CATEGORIAS}, consultas por nombre
+ * en {@link #CONSULTAS}) tiene su propio límite de entradas y de antigüedad;
+ * las regiones sin límites configurados usan los de {@code consultas}. La
+ * región de marcas de tiempo, que invalida las consultas cacheadas cuando
+ * cambia una tabla, no se acota: expulsar una marca podría devolver
+ * resultados viejos.
+ * <p>
+ * {@code Producto} no se cachea: su inventario es el lado inverso de un
+ * one-to-one y Hibernate lo vuelve a consultar por cada producto que arma
+ * desde el cache, así que una consulta cacheada de N productos cuesta N
+ * viajes en lugar de uno.
+ * <p>
+ * Las escrituras por JPA invalidan solas las entradas afectadas. Las que se
+ * hacen por JDBC sobre {@code categorias} no pasan por Hibernate y deben
+ * evitarse mientras el cache esté habilitado.
+ */
+@Component
+public class CacheSegundoNivel extends RegionFactoryTemplate {
+    public static final String CATEGORIAS = "categorias";
+    public static final String CONSULTAS = "consultas";
+
+    private record Limites(int tamanioMaximo, long ttlSegundos) {
+    }
+
+    private final Map<String, Limites> limites;
+    private final Map<String, AlmacenRegion> regiones = new ConcurrentHashMap<>();
+
+    public CacheSegundoNivel(@Value("${cache.segundo-nivel.categorias.tamanio-maximo:1000}") int tamanioCategorias,
+                             @Value("${cache.segundo-nivel.categorias.ttl-segundos:3600}") long ttlCategorias,
+                             @Value("${cache.segundo-nivel.consultas.tamanio-maximo:2000}") int tamanioConsultas,
+                             @Value("${cache.segundo-nivel.consultas.ttl-segundos:300}") long ttlConsultas) {
+        this.limites = Map.of(
+                CATEGORIAS, new Limites(tamanioCategorias, ttlCategorias),
+                CONSULTAS, new Limites(tamanioConsultas, ttlConsultas));
+    }
+
+    /**
+     * @return Contadores de cada región creada por Hibernate, ordenados por nombre
+     */
+    public List<EstadisticaRegionCache> obtenerEstadisticas() {
+        return regiones.values().stream()
+                .map(AlmacenRegion::estadistica)
+                .sorted(Comparator.comparing(EstadisticaRegionCache::getRegion))
+                .toList();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return crear(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return crear(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        AlmacenRegion almacen = new AlmacenRegion(regionName, 0, 0);
+        regiones.put(regionName, almacen);
+        return almacen;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        regiones.clear();
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regiones.values().forEach(AlmacenRegion::release);
+        regiones.clear();
+    }
+
+    private AlmacenRegion crear(String nombre) {
+        Limites limitesRegion = limites.getOrDefault(nombre, limites.get(CONSULTAS));
+        AlmacenRegion almacen = new AlmacenRegion(nombre, limitesRegion.tamanioMaximo(), limitesRegion.ttlSegundos());
+        regiones.put(nombre, almacen);
+        return almacen;
+    }
+}
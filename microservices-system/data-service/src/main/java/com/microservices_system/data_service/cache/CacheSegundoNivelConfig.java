@@ -0,0 +1,37 @@
+package com.microservices_system.data_service.cache;
+
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Conecta {@link CacheSegundoNivel} a Hibernate. Solo se cachean las
+ * entidades marcadas con {@code @Cacheable} y las consultas con el hint
+ * {@code org.hibernate.cacheable}. Con sharding el cache de consultas queda
+ * apagado: la misma consulta devuelve filas distintas en cada shard y la
+ * clave del cache no distingue el shard.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer(
+            CacheSegundoNivel cache,
+            @Value("${cache.segundo-nivel.habilitado:true}") boolean habilitado,
+            @Value("${sharding.habilitado:false}") boolean sharding) {
+        return propiedades -> {
+            if (!habilitado) {
+                propiedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                propiedades.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            propiedades.put(AvailableSettings.CACHE_REGION_FACTORY, cache);
+            propiedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            propiedades.put(AvailableSettings.USE_QUERY_CACHE, !sharding);
+            propiedades.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+        };
+    }
+}
@@ -0,0 +1,980 @@
+package com.microservices_system.data_service.controller;
+
+import com.microservices_system.data_service.dto.AjusteInventarioRequest;
+import com.microservices_system.data_service.dto.AjusteInventarioRespuesta;
+import com.microservices_system.data_service.cache.CacheSegundoNivel;
+import com.microservices_system.data_service.dto.ContencionProducto;
+import com.microservices_system.data_service.dto.EstadisticaFiltroNombres;
+import com.microservices_system.data_service.dto.EstadisticaRegionCache;
+import com.microservices_system.data_service.dto.EstadoPool;
+import com.microservices_system.data_service.dto.EstadoStock;
+import com.microservices_system.data_service.dto.FeedCambios;
+import com.microservices_system.data_service.dto.ResumenCategoria;
+import com.microservices_system.data_service.dto.PaginaProductos;
+import com.microservices_system.data_service.dto.ResultadoImportacion;
+import com.microservices_system.data_service.dto.ReporteStockBajo;
+import com.microservices_system.data_service.dto.ReporteValorInventario;
+import com.microservices_system.data_service.dto.ResultadoFiltroProductos;
+import com.microservices_system.data_service.dto.SnapshotCatalogo;
+import com.microservices_system.data_service.dto.StockHistorico;
+import com.microservices_system.data_service.dto.ValorStockProducto;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.MovimientoInventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.pool.TelemetriaPool;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.services.BusquedaProductoService;
+import com.microservices_system.data_service.services.CambioService;
+import com.microservices_system.data_service.services.CatalogoDistribuidoService;
+import com.microservices_system.data_service.services.CategoriaService;
+import com.microservices_system.data_service.services.ExportacionService;
+import com.microservices_system.data_service.services.FiltroProductoService;
+import com.microservices_system.data_service.services.ImportacionService;
+import com.microservices_system.data_service.services.InventarioService;
+import com.microservices_system.data_service.services.ProductoService;
+import com.microservices_system.data_service.services.ReporteInventarioService;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador REST para la capa de datos del sistema de microservicios.
+ * Expone endpoints CRUD básicos para el acceso directo a entidades de datos.
+ * Proporciona operaciones fundamentales sin lógica de negocio adicional.
+ *
+ * @author Reynier124
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/data")
+@Validated
+public class DataController {
+    private final ProductoService productoService;
+    private final CategoriaService categoriaService;
+    private final InventarioService inventarioService;
+    private final CambioService cambioService;
+    private final BusquedaProductoService busquedaProductoService;
+    private final FiltroProductoService filtroProductoService;
+    private final ReporteInventarioService reporteInventarioService;
+    private final ImportacionService importacionService;
+    private final ExportacionService exportacionService;
+    private final CatalogoDistribuidoService catalogoDistribuidoService;
+    private final TelemetriaPool telemetriaPool;
+    private final CacheSegundoNivel cacheSegundoNivel;
+    private final FiltroNombres filtroNombres;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param productoService Servicio de datos para productos
+     * @param categoriaService Servicio de datos para categorías
+     * @param inventarioService Servicio de datos para inventario
+     * @param cambioService Servicio del log de cambios
+     * @param busquedaProductoService Servicio de búsqueda de texto sobre productos
+     * @param filtroProductoService Servicio de filtrado de productos por facetas
+     * @param reporteInventarioService Servicio de reportes de inventario materializados
+     * @param importacionService Servicio de importación masiva desde CSV
+     * @param exportacionService Servicio de exportación columnar del catálogo
+     * @param catalogoDistribuidoService Servicio que dirige productos e inventario a su shard
+     * @param telemetriaPool Métricas de los pools de conexiones
+     * @param cacheSegundoNivel Cache de segundo nivel de Hibernate
+     * @param filtroNombres Filtros de nombres para las altas de productos y categorías
+     */
+    public DataController(ProductoService productoService,
+                          CategoriaService categoriaService,
+                          InventarioService inventarioService,
+                          CambioService cambioService,
+                          BusquedaProductoService busquedaProductoService,
+                          FiltroProductoService filtroProductoService,
+                          ReporteInventarioService reporteInventarioService,
+                          ImportacionService importacionService,
+                          ExportacionService exportacionService,
+                          CatalogoDistribuidoService catalogoDistribuidoService,
+                          TelemetriaPool telemetriaPool,
+                          CacheSegundoNivel cacheSegundoNivel,
+                          FiltroNombres filtroNombres) {
+        this.productoService = productoService;
+        this.categoriaService = categoriaService;
+        this.inventarioService = inventarioService;
+        this.cambioService = cambioService;
+        this.busquedaProductoService = busquedaProductoService;
+        this.filtroProductoService = filtroProductoService;
+        this.reporteInventarioService = reporteInventarioService;
+        this.importacionService = importacionService;
+        this.exportacionService = exportacionService;
+        this.catalogoDistribuidoService = catalogoDistribuidoService;
+        this.telemetriaPool = telemetriaPool;
+        this.cacheSegundoNivel = cacheSegundoNivel;
+        this.filtroNombres = filtroNombres;
+    }
+
+    /**
+     * Obtiene todos los productos almacenados en la base de datos.
+     * Operación de lectura directa sin filtros ni lógica de negocio.
+     *
+     * @return Lista de entidades Producto
+     *
+     * @apiNote
+     * - URL: GET /data/productos
+     * - Respuesta: 200 OK con lista completa de productos
+     * - Content-Type: application/json
+     * - Nota: Retorna entidades completas, no DTOs
+     *
+     * @example
+     * GET /data/productos
+     * Response: [
+     *   {
+     *     "id": 1,
+     *     "nombre": "Laptop HP",
+     *     "descripcion": "Laptop gaming 16GB RAM",
+     *     "precio": 1299.99,
+     *     "categoria": {...},
+     *     "fechaCreacion": "2025-01-15T10:30:00"
+     *   }
+     * ]
+     */
+    @GetMapping("/productos")
+    public List<Producto> obtenerTodosLosProductos() {
+        return catalogoDistribuidoService.obtenerTodos();
+    }
+
+    /**
+     * Busca y retorna un producto por su identificador único.
+     *
+     * @param id Identificador único del producto
+     * @return Entidad Producto con todos sus datos
+     *
+     * @apiNote
+     * - URL: GET /data/productos/{id}
+     * - Path Parameter: id (Long) - ID del producto
+     * - Respuesta exitosa: 200 OK
+     * - Respuesta error: 404 NOT FOUND
+     *
+     * @example
+     * GET /data/productos/1
+     * Response: {
+     *   "id": 1,
+     *   "nombre": "Laptop HP",
+     *   "descripcion": "Laptop gaming 16GB RAM",
+     *   "precio": 1299.99,
+     *   "categoria": {...}
+     * }
+     */
+    @GetMapping("/productos/{id}")
+    public Producto obtenerProductoPorId(@PathVariable Long id) {
+        return catalogoDistribuidoService.buscarPorId(id);
+    }
+
+    /**
+     * Crea un nuevo producto en la base de datos.
+     * Operación de inserción directa con validaciones básicas.
+     *
+     * @param producto Entidad Producto a persistir
+     * @return Producto guardado con ID generado y datos actualizados
+     *
+     * @apiNote
+     * - URL: POST /data/productos
+     * - Body: Producto (JSON) - Entidad completa
+     * - Respuesta exitosa: 201 CREATED
+     * - Respuesta error: 400 BAD REQUEST
+     * - Nota: ID debe ser null o se ignorará
+     *
+     * @example
+     * POST /data/productos
+     * Body: {
+     *   "nombre": "Teclado Mecánico",
+     *   "descripcion": "Teclado RGB switch azul",
+     *   "precio": 89.99,
+     *   "categoria": { "id": 1 }
+     * }
+     */
+    @PostMapping("/productos")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Producto crearProducto(@RequestBody Producto producto) {
+        return catalogoDistribuidoService.guardar(producto);
+    }
+
+    /**
+     * Actualiza un producto existente en la base de datos.
+     * Reemplaza completamente los datos del producto identificado por el ID.
+     *
+     * @param id Identificador del producto a actualizar
+     * @param producto Nuevos datos del producto
+     * @return Producto actualizado con los nuevos datos
+     *
+     * @apiNote
+     * - URL: PUT /data/productos/{id}
+     * - Path Parameter: id (Long) - ID del producto
+     * - Body: Producto (JSON) - Datos actualizados
+     * - Respuesta exitosa: 200 OK
+     * - Respuesta error: 404 NOT FOUND
+     * - Nota: Actualización completa, no parcial
+     *
+     * @example
+     * PUT /data/productos/1
+     * Body: {
+     *   "nombre": "Laptop HP Actualizada",
+     *   "descripcion": "Nueva descripción",
+     *   "precio": 1399.99,
+     *   "categoria": { "id": 2 }
+     * }
+     */
+    @PutMapping("/productos/{id}")
+    public Producto actualizarProducto(@PathVariable Long id, @RequestBody Producto producto) {
+        return catalogoDistribuidoService.actualizar(id, producto);
+    }
+
+    /**
+     * Elimina un producto de la base de datos de forma permanente.
+     *
+     * @param id Identificador del producto a eliminar
+     *
+     * @apiNote
+     * - URL: DELETE /data/productos/{id}
+     * - Path Parameter: id (Long) - ID del producto
+     * - Respuesta exitosa: 204 NO CONTENT (sin body)
+     * - Respuesta error: 404 NOT FOUND
+     * - Advertencia: Operación irreversible
+     *
+     * @example
+     * DELETE /data/productos/1
+     * Response: 204 No Content (sin body)
+     */
+    @DeleteMapping("/productos/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void eliminarProducto(@PathVariable Long id) {
+        catalogoDistribuidoService.eliminar(id);
+    }
+
+    /**
+     * Busca productos que pertenecen a una categoría específica.
+     * Filtrado directo por nombre de categoría.
+     *
+     * @param nombre Nombre exacto de la categoría
+     * @return Lista de productos de la categoría especificada
+     *
+     * @apiNote
+     * - URL: GET /data/productos/categoria/{nombre}
+     * - Path Parameter: nombre (String) - Nombre de categoría
+     * - Respuesta: 200 OK con lista de productos
+     * - Content-Type: application/json
+     * - Búsqueda: Case-sensitive, coincidencia exacta
+     *
+     * @example
+     * GET /data/productos/categoria/Electronics
+     * Response: [
+     *   {
+     *     "id": 1,
+     *     "nombre": "Laptop HP",
+     *     "categoria": { "nombre": "Electronics" }
+     *   }
+     * ]
+     */
+    @GetMapping("/productos/categoria/{nombre}")
+    public List<Producto> obtenerProductosPorCategoria(@PathVariable String nombre) {
+        return catalogoDistribuidoService.buscarPorCategoria(nombre);
+    }
+
+    /**
+     * Busca productos por texto libre en nombre y descripción, ordenados por relevancia.
+     *
+     * @param q Texto a buscar
+     * @param limite Cantidad máxima de resultados (máximo 100)
+     * @return Lista de productos, del más al menos relevante
+     *
+     * @apiNote
+     * - URL: GET /data/productos/buscar?q=teclado&limite=20
+     * - Respuesta: 200 OK con lista de productos (vacía si no hay coincidencias)
+     * - Búsqueda: Sin distinguir mayúsculas ni acentos; cada término coincide también como prefijo
+     * - Nota: El índice se actualiza desde el log de cambios, con un retraso de hasta un segundo
+     *
+     * @example
+     * GET /data/productos/buscar?q=tecl mec
+     * Response: [
+     *   {
+     *     "id": 4,
+     *     "nombre": "Teclado Mecánico",
+     *     "descripcion": "Teclado RGB switch azul",
+     *     "precio": 89.99
+     *   }
+     * ]
+     */
+    @GetMapping("/productos/buscar")
+    public List<Producto> buscarProductos(@RequestParam String q,
+                                          @RequestParam(defaultValue = "20") int limite) {
+        return busquedaProductoService.buscar(q, limite);
+    }
+
+    /**
+     * Filtra productos en la base de datos combinando criterios opcionales, con orden y paginación.
+     * Todos los criterios se resuelven en SQL y no se ejecuta consulta de conteo.
+     *
+     * @param nombre Fragmento del nombre, sin distinguir mayúsculas (opcional)
+     * @param precioMin Precio mínimo inclusive (opcional)
+     * @param precioMax Precio máximo inclusive (opcional)
+     * @param categoriaId ID de la categoría (opcional)
+     * @param conStock true para productos con stock, false para productos sin stock (opcional)
+     * @param pagina Número de página, desde 0
+     * @param tamanio Productos por página (máximo 100)
+     * @param ordenarPor Campo de orden: id, nombre o precio
+     * @param direccion Dirección del orden: ASC o DESC
+     * @return Página de productos con indicador de página siguiente
+     *
+     * @apiNote
+     * - URL: GET /data/productos/filtro?nombre=lap&precioMax=1500&conStock=true&ordenarPor=precio&direccion=DESC
+     * - Respuesta exitosa: 200 OK
+     * - Respuesta error: 409 CONFLICT si el campo de orden o la paginación no son válidos
+     * - Nota: Sin total de resultados; hayMas indica si existe una página siguiente
+     *
+     * @example
+     * GET /data/productos/filtro?nombre=lap&conStock=true&tamanio=1
+     * Response: {
+     *   "productos": [ { "id": 1, "nombre": "Laptop HP", "precio": 1299.99 } ],
+     *   "pagina": 0,
+     *   "tamanio": 1,
+     *   "hayMas": true
+     * }
+     */
+    @GetMapping("/productos/filtro")
+    public PaginaProductos filtrarProductosPorCriterios(
+            @RequestParam(required = false) String nombre,
+            @RequestParam(required = false) BigDecimal precioMin,
+            @RequestParam(required = false) BigDecimal precioMax,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) Boolean conStock,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio,
+            @RequestParam(defaultValue = "id") String ordenarPor,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direccion) {
+        return productoService.buscarPorCriterios(nombre, precioMin, precioMax, categoriaId, conStock,
+                pagina, tamanio, ordenarPor, direccion);
+    }
+
+    /**
+     * Filtra productos por categoría, rango de precio y estado de stock en una sola consulta.
+     * Los valores de una misma faceta se combinan con OR y las facetas entre sí con AND.
+     *
+     * @param categoriaIds Categorías admitidas (opcional, repetible)
+     * @param precioMin Precio mínimo inclusive (opcional)
+     * @param precioMax Precio máximo inclusive (opcional)
+     * @param estados Estados de stock admitidos: SIN_STOCK, STOCK_BAJO, DISPONIBLE (opcional, repetible)
+     * @param pagina Número de página, desde 0
+     * @param tamanio Productos por página (máximo 100)
+     * @return Página de productos ordenada por ID, total de coincidencias y conteos por faceta
+     *
+     * @apiNote
+     * - URL: GET /data/productos/filtrar?categoriaId=1&categoriaId=2&precioMin=10&precioMax=100&stock=DISPONIBLE
+     * - Respuesta: 200 OK con el resultado del filtro
+     * - Conteos: cada faceta se cuenta aplicando los filtros de las demás facetas pero no el propio
+     * - Nota: El índice se actualiza desde el log de cambios, con un retraso de hasta un segundo
+     *
+     * @example
+     * GET /data/productos/filtrar?categoriaId=1&stock=STOCK_BAJO&stock=DISPONIBLE&tamanio=1
+     * Response: {
+     *   "total": 12,
+     *   "productos": [ { "id": 1, "nombre": "Laptop HP", "precio": 1299.99 } ],
+     *   "categorias": { "1": 12, "2": 30 },
+     *   "rangosPrecio": { "0-10": 0, "10-50": 3, "50-100": 2, "100-500": 4, "500-1000": 1, "1000+": 2 },
+     *   "estadosStock": { "SIN_STOCK": 5, "STOCK_BAJO": 2, "DISPONIBLE": 10 }
+     * }
+     */
+    @GetMapping("/productos/filtrar")
+    public ResultadoFiltroProductos filtrarProductos(
+            @RequestParam(name = "categoriaId", required = false) List<Long> categoriaIds,
+            @RequestParam(required = false) BigDecimal precioMin,
+            @RequestParam(required = false) BigDecimal precioMax,
+            @RequestParam(name = "stock", required = false) List<EstadoStock> estados,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        return filtroProductoService.filtrar(categoriaIds, precioMin, precioMax, estados, pagina, tamanio);
+    }
+
+    /**
+     * Obtiene el inventario de productos con stock bajo según criterios del servicio.
+     * Consulta directa a la capa de datos sin procesamiento adicional.
+     *
+     * @return Lista de entidades Inventario con stock insuficiente
+     *
+     * @apiNote
+     * - URL: GET /data/inventario/stock-bajo
+     * - Respuesta: 200 OK con lista de inventarios
+     * - Content-Type: application/json
+     * - Criterio: Definido en capa de servicio de datos
+     *
+     * @example
+     * GET /data/inventario/stock-bajo
+     * Response: [
+     *   {
+     *     "id": 1,
+     *     "producto": { "nombre": "Mouse" },
+     *     "cantidad": 2,
+     *     "stockMinimo": 10,
+     *     "ubicacion": "A1-B2"
+     *   }
+     * ]
+     */
+    @GetMapping("/inventario/stock-bajo")
+    public List<Inventario> obtenerProductosConStockBajo() {
+        return catalogoDistribuidoService.obtenerProductosConStockBajo();
+    }
+
+    /**
+     * Obtiene el registro completo del inventario almacenado.
+     * Lista todos los registros de inventario sin filtros.
+     *
+     * @return Lista completa de entidades Inventario
+     *
+     * @apiNote
+     * - URL: GET /data/inventario
+     * - Respuesta: 200 OK con inventario completo
+     * - Content-Type: application/json
+     * - Advertencia: Puede retornar gran cantidad de datos
+     *
+     * @example
+     * GET /data/inventario
+     * Response: [
+     *   {
+     *     "id": 1,
+     *     "producto": { "nombre": "Laptop" },
+     *     "cantidad": 50,
+     *     "stockMinimo": 10,
+     *     "ubicacion": "A1-C3",
+     *     "fechaActualizacion": "2025-01-15T14:22:00"
+     *   }
+     * ]
+     */
+    @GetMapping("/inventario")
+    public List<Inventario> obtenerTodoElInventario() {
+        return catalogoDistribuidoService.obtenerInventarios();
+    }
+
+    /**
+     * Obtiene los productos con más conflictos de bloqueo optimista en inventario.
+     * Permite detectar los productos más disputados por escrituras concurrentes.
+     *
+     * @param limite Cantidad máxima de productos a retornar
+     * @return Lista de contadores ordenada por conflictos descendente
+     *
+     * @apiNote
+     * - URL: GET /data/inventario/contencion?limite=20
+     * - Respuesta: 200 OK con lista de contadores
+     * - Content-Type: application/json
+     * - Nota: Contadores en memoria, se reinician con el servicio
+     *
+     * @example
+     * GET /data/inventario/contencion?limite=5
+     * Response: [
+     *   {
+     *     "productoId": 7,
+     *     "conflictos": 120,
+     *     "reintentos": 118,
+     *     "agotados": 2
+     *   }
+     * ]
+     */
+    @GetMapping("/inventario/contencion")
+    public List<ContencionProducto> obtenerContencionInventario(@RequestParam(defaultValue = "20") int limite) {
+        return inventarioService.obtenerContencion(limite);
+    }
+
+    /**
+     * Obtiene por categoría la valorización del inventario, las unidades en stock y la
+     * cantidad de productos con stock bajo. Solo se transfieren las filas agregadas.
+     *
+     * @return Lista de resúmenes ordenada por nombre de categoría
+     *
+     * @apiNote
+     * - URL: GET /data/inventario/por-categoria
+     * - Respuesta: 200 OK con una fila por categoría (incluye categorías sin inventario)
+     * - Stock bajo: cantidad menor o igual al stock mínimo, igual que /data/inventario/stock-bajo
+     * - Nota: Los productos sin categoría no se incluyen
+     *
+     * @example
+     * GET /data/inventario/por-categoria
+     * Response: [
+     *   {
+     *     "categoriaId": 1,
+     *     "categoria": "Electronics",
+     *     "productos": 12,
+     *     "unidades": 340,
+     *     "valor": 84500.50,
+     *     "productosStockBajo": 2
+     *   }
+     * ]
+     */
+    @GetMapping("/inventario/por-categoria")
+    public List<ResumenCategoria> obtenerResumenInventarioPorCategoria() {
+        return catalogoDistribuidoService.obtenerResumenPorCategoria();
+    }
+
+    /**
+     * Obtiene los productos que inmovilizan más capital en stock (cantidad * precio).
+     * El ranking se calcula en la base de datos y solo se transfieren K filas.
+     *
+     * @param k Cantidad de productos a retornar, en total o por categoría (máximo 1000)
+     * @param porCategoria Si es true, retorna los K primeros de cada categoría
+     * @return Lista ordenada por valor descendente (por categoría y posición si porCategoria es true)
+     *
+     * @apiNote
+     * - URL: GET /data/inventario/top-valor?k=10&porCategoria=false
+     * - Respuesta exitosa: 200 OK
+     * - Respuesta error: 409 CONFLICT si k está fuera de rango
+     * - Nota: Solo considera productos con stock; los empates se ordenan por ID de producto
+     *
+     * @example
+     * GET /data/inventario/top-valor?k=1
+     * Response: [
+     *   {
+     *     "productoId": 1,
+     *     "nombre": "Laptop HP",
+     *     "categoriaId": 1,
+     *     "categoria": "Electronics",
+     *     "cantidad": 15,
+     *     "precio": 1299.99,
+     *     "valor": 19499.85,
+     *     "posicion": 1
+     *   }
+     * ]
+     */
+    @GetMapping("/inventario/top-valor")
+    public List<ValorStockProducto> obtenerTopValorInventario(@RequestParam(defaultValue = "10") int k,
+                                                              @RequestParam(defaultValue = "false") boolean porCategoria) {
+        return catalogoDistribuidoService.obtenerTopPorValor(k, porCategoria);
+    }
+
+    /**
+     * Importa productos, categorías y stock desde un CSV enviado como cuerpo de la petición.
+     * El archivo se procesa en streaming y en lotes transaccionales, por lo que puede
+     * tener millones de filas; las filas inválidas se informan sin detener la importación.
+     *
+     * @param cuerpo Contenido del CSV en UTF-8, con encabezado
+     * @return Conteos de productos y categorías creados o actualizados, y errores por fila
+     *
+     * @apiNote
+     * - URL: POST /data/import
+     * - Content-Type: text/csv (el cuerpo es el archivo, sin multipart)
+     * - Columnas: nombre y precio obligatorias; descripcion, categoria, cantidad y stockMinimo opcionales
+     * - Productos: se buscan por nombre sin distinguir mayúsculas; si existen se actualizan
+     * - Categorías: se buscan por nombre y se crean si no existen
+     * - Respuesta exitosa: 200 OK con el resumen (errores acotados a las primeras 1000 filas)
+     * - Respuesta error: 409 CONFLICT si el encabezado es inválido o el CSV está mal formado;
+     *   los lotes ya escritos quedan confirmados
+     * - Lote: importacion.tamanio-lote (por defecto 500 filas por transacción)
+     *
+     * @example
+     * POST /data/import
+     * Body:
+     *   nombre,precio,categoria,cantidad,stockMinimo
+     *   Laptop HP,1299.99,Electronics,15,5
+     *   Mouse,abc,Electronics,40,10
+     * Response: {
+     *   "filas": 2,
+     *   "productosCreados": 1,
+     *   "productosActualizados": 0,
+     *   "categoriasCreadas": 0,
+     *   "filasConError": 1,
+     *   "errores": [ { "linea": 3, "mensaje": "Valor numérico inválido: abc" } ]
+     * }
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResultadoImportacion importar(InputStream cuerpo) throws IOException {
+        return importacionService.importar(new InputStreamReader(cuerpo, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Exporta el catálogo con su inventario en un archivo binario columnar, pensado
+     * para procesos de análisis que hoy descargan el snapshot JSON. El archivo se
+     * escribe mientras se recorre la base de datos, sin armar la respuesta en memoria.
+     *
+     * @return Cuerpo que escribe el archivo en la respuesta
+     *
+     * @apiNote
+     * - URL: GET /data/export/catalogo
+     * - Respuesta: 200 OK, application/octet-stream (adjunto catalogo.catx)
+     * - Columnas: id, nombre, descripcion, categoria (diccionario), precio en centavos,
+     *   cantidad y stockMinimo (enteros empaquetados, solo productos con inventario)
+     * - Lectura: LectorCatalogoColumnar; el formato está documentado en EscritorCatalogoColumnar
+     * - Continuación: el encabezado trae la versión del feed desde la que seguir con GET /data/cambios
+     *
+     * @example
+     * GET /data/export/catalogo
+     * Response: 200 OK
+     * Content-Disposition: attachment; filename="catalogo.catx"
+     */
+    @GetMapping(value = "/export/catalogo", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarCatalogo() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalogo.catx\"")
+                .body(salida -> exportacionService.exportarCatalogo(salida));
+    }
+
+    /**
+     * Obtiene los productos con stock bajo desde el reporte materializado.
+     * No recorre el inventario: lee las filas marcadas en el último refresco.
+     *
+     * @return Productos con stock bajo, momento del refresco y versión del feed aplicada
+     *
+     * @apiNote
+     * - URL: GET /data/reportes/stock-bajo
+     * - Respuesta: 200 OK con el reporte
+     * - Frescura: refleja los cambios hasta fechaRefresco; el refresco corre cada
+     *   reportes.inventario.intervalo-ms (por defecto 30 s)
+     * - Stock bajo: cantidad menor o igual al stock mínimo, igual que /data/inventario/stock-bajo
+     *
+     * @example
+     * GET /data/reportes/stock-bajo
+     * Response: {
+     *   "productos": [
+     *     {
+     *       "productoId": 3,
+     *       "inventarioId": 3,
+     *       "categoriaId": 1,
+     *       "categoria": "Electronics",
+     *       "nombre": "Mouse",
+     *       "cantidad": 2,
+     *       "stockMinimo": 10,
+     *       "precio": 25.00,
+     *       "valor": 50.00,
+     *       "stockBajo": true,
+     *       "fechaActualizacion": "2025-01-15T14:22:00"
+     *     }
+     *   ],
+     *   "fechaRefresco": "2025-01-15T14:22:30",
+     *   "version": 1520
+     * }
+     */
+    @GetMapping("/reportes/stock-bajo")
+    public ReporteStockBajo obtenerReporteStockBajo() {
+        return reporteInventarioService.obtenerStockBajo();
+    }
+
+    /**
+     * Obtiene los totales del inventario desde el reporte materializado.
+     * Suma los agregados por categoría en lugar de recorrer el inventario.
+     *
+     * @return Valor total, unidades, productos, momento del refresco y versión del feed aplicada
+     *
+     * @apiNote
+     * - URL: GET /data/reportes/valor-inventario
+     * - Respuesta: 200 OK con el reporte
+     * - Frescura: refleja los cambios hasta fechaRefresco
+     * - Nota: Los productos sin precio suman unidades pero no valor
+     *
+     * @example
+     * GET /data/reportes/valor-inventario
+     * Response: {
+     *   "valor": 84500.50,
+     *   "unidades": 340,
+     *   "productos": 12,
+     *   "productosStockBajo": 2,
+     *   "fechaRefresco": "2025-01-15T14:22:30",
+     *   "version": 1520
+     * }
+     */
+    @GetMapping("/reportes/valor-inventario")
+    public ReporteValorInventario obtenerReporteValorInventario() {
+        return reporteInventarioService.obtenerValorInventario();
+    }
+
+    /**
+     * Obtiene el estado de los pools de conexiones: ocupación, histograma del
+     * tiempo de espera para obtener una conexión y tiempo de retención por endpoint.
+     * Permite detectar saturación del pool y los endpoints que más la provocan.
+     *
+     * @return Estado de cada pool (uno, o uno por shard/réplica si están habilitados)
+     *
+     * @apiNote
+     * - URL: GET /data/pool
+     * - Respuesta: 200 OK con lista de pools
+     * - Ocupación: instantánea con hasta 1 s de antigüedad
+     * - Histograma: cubetas acumuladas, cada una con su límite superior
+     * - Nota: Contadores en memoria, se reinician con el servicio; el uso fuera
+     *   de peticiones HTTP (tareas programadas, exportación) se agrupa aparte
+     *
+     * @example
+     * GET /data/pool
+     * Response: [
+     *   {
+     *     "nombre": "HikariPool-1",
+     *     "activas": 3,
+     *     "inactivas": 7,
+     *     "total": 10,
+     *     "esperando": 0,
+     *     "maximo": 10,
+     *     "minimo": 10,
+     *     "adquisiciones": 15200,
+     *     "timeouts": 0,
+     *     "esperaPromedioMs": 0.04,
+     *     "esperaMaximaMs": 12.5,
+     *     "histogramaEspera": { "<=0.1ms": 15000, "<=0.5ms": 150, ..., ">5000ms": 0 },
+     *     "usoPorEndpoint": [
+     *       { "endpoint": "GET /data/productos/{id}", "usos": 9000, "promedioMs": 1.2, "maximoMs": 40 }
+     *     ]
+     *   }
+     * ]
+     */
+    @GetMapping("/pool")
+    public List<EstadoPool> obtenerEstadoPool() {
+        return telemetriaPool.obtenerEstados();
+    }
+
+    /**
+     * Obtiene los contadores de cada región del cache de segundo nivel.
+     * Permite ver la tasa de aciertos y si los límites de tamaño o antigüedad
+     * de una región están descartando entradas útiles.
+     *
+     * @return Una fila por región (entidades, consultas y marcas de tiempo)
+     *
+     * @apiNote
+     * - URL: GET /data/cache
+     * - Respuesta: 200 OK con lista de regiones; vacía si el cache está deshabilitado
+     * - Límites: cache.segundo-nivel.&lt;region&gt;.tamanio-maximo y ttl-segundos (0 = sin límite)
+     * - Nota: Contadores en memoria, se reinician con el servicio
+     *
+     * @example
+     * GET /data/cache
+     * Response: [
+     *   {
+     *     "region": "categorias",
+     *     "elementos": 12,
+     *     "tamanioMaximo": 1000,
+     *     "ttlSegundos": 3600,
+     *     "aciertos": 5400,
+     *     "fallos": 14,
+     *     "escrituras": 14,
+     *     "expulsiones": 0,
+     *     "vencimientos": 2
+     *   }
+     * ]
+     */
+    @GetMapping("/cache")
+    public List<EstadisticaRegionCache> obtenerEstadisticasCache() {
+        return cacheSegundoNivel.obtenerEstadisticas();
+    }
+
+    /**
+     * Obtiene el estado de los filtros de nombres que evitan la consulta de
+     * duplicados en las altas. Si la tasa observada de falsos positivos se aleja
+     * de la configurada, el filtro se llenó antes de la próxima reconstrucción.
+     *
+     * @return Una fila por tabla (productos y categorías)
+     *
+     * @apiNote
+     * - URL: GET /data/filtros-nombres
+     * - Respuesta: 200 OK con lista de filtros
+     * - tasaEstimada: según los bits encendidos; tasaFalsosPositivos: observada en las altas
+     * - Nota: Contadores en memoria, se reinician con el servicio
+     *
+     * @example
+     * GET /data/filtros-nombres
+     * Response: [
+     *   {
+     *     "tabla": "productos",
+     *     "construido": true,
+     *     "fechaReconstruccion": "2025-01-15T14:20:00",
+     *     "nombresReconstruccion": 48000,
+     *     "capacidad": 96000,
+     *     "bits": 920192,
+     *     "funciones": 7,
+     *     "tasaEstimada": 0.0004,
+     *     "consultas": 12000,
+     *     "descartadas": 11990,
+     *     "falsosPositivos": 4,
+     *     "tasaFalsosPositivos": 0.0003
+     *   }
+     * ]
+     */
+    @GetMapping("/filtros-nombres")
+    public List<EstadisticaFiltroNombres> obtenerEstadisticasFiltrosNombres() {
+        return filtroNombres.obtenerEstadisticas();
+    }
+
+    /**
+     * Registra un ajuste relativo de stock para un producto.
+     * Los ajustes del mismo producto recibidos dentro de la ventana configurada
+     * se evalúan en orden de llegada y los aceptados se suman en un único
+     * UPDATE; la respuesta se envía cuando ese lote queda confirmado en la base
+     * de datos. Un ajuste rechazado no impide aplicar los demás del lote.
+     *
+     * @param productoId Identificador del producto
+     * @param request Ajuste a aplicar (delta positivo o negativo)
+     * @return Confirmación del ajuste con los datos del lote aplicado
+     *
+     * @apiNote
+     * - URL: POST /data/inventario/{productoId}/ajustes
+     * - Body: AjusteInventarioRequest (JSON)
+     * - Respuesta exitosa: 200 OK tras el commit del lote
+     * - Respuesta error: 409 CONFLICT si no hay inventario o el stock quedaría negativo o excedería el máximo
+     * - Ventana: inventario.ajustes.ventana-ms (por defecto 50 ms)
+     *
+     * @example
+     * POST /data/inventario/1/ajustes
+     * Body: { "delta": -2 }
+     * Response: {
+     *   "productoId": 1,
+     *   "delta": -2,
+     *   "deltaLote": -7,
+     *   "ajustesLote": 4
+     * }
+     */
+    @PostMapping("/inventario/{productoId}/ajustes")
+    public CompletableFuture<AjusteInventarioRespuesta> ajustarInventario(@PathVariable Long productoId,
+                                                                         @RequestBody AjusteInventarioRequest request) {
+        return inventarioService.ajustarCantidad(productoId, request.getDelta());
+    }
+
+    /**
+     * Obtiene los movimientos de stock de un producto en un rango de fechas.
+     * Los movimientos provienen del libro mayor de inventario, que solo admite inserciones.
+     *
+     * @param productoId Identificador del producto
+     * @param desde Inicio del rango (ISO-8601)
+     * @param hasta Fin del rango (ISO-8601)
+     * @return Lista de movimientos ordenada cronológicamente
+     *
+     * @apiNote
+     * - URL: GET /data/inventario/{productoId}/movimientos?desde=...&hasta=...
+     * - Respuesta: 200 OK con lista de movimientos (puede estar vacía)
+     * - Tipos: ENTRADA, SALIDA, AJUSTE (cantidad con signo)
+     *
+     * @example
+     * GET /data/inventario/1/movimientos?desde=2025-01-01T00:00:00&hasta=2025-01-31T23:59:59
+     * Response: [
+     *   {
+     *     "id": 10,
+     *     "productoId": 1,
+     *     "tipo": "SALIDA",
+     *     "cantidad": -3,
+     *     "fecha": "2025-01-15T14:22:00",
+     *     "periodo": 202501
+     *   }
+     * ]
+     */
+    @GetMapping("/inventario/{productoId}/movimientos")
+    public List<MovimientoInventario> obtenerMovimientosInventario(
+            @PathVariable Long productoId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        return catalogoDistribuidoService.obtenerMovimientos(productoId, desde, hasta);
+    }
+
+    /**
+     * Reconstruye el stock que tenía un producto en una fecha determinada.
+     * Lee el último snapshot anterior a la fecha y reproduce los movimientos posteriores.
+     *
+     * @param productoId Identificador del producto
+     * @param fecha Fecha de consulta (ISO-8601)
+     * @return Stock histórico con la cantidad de movimientos reproducidos
+     *
+     * @apiNote
+     * - URL: GET /data/inventario/{productoId}/stock-historico?fecha=...
+     * - Respuesta: 200 OK
+     * - Nota: El historial comienza cuando se registró el primer movimiento del producto
+     *
+     * @example
+     * GET /data/inventario/1/stock-historico?fecha=2025-01-15T12:00:00
+     * Response: {
+     *   "productoId": 1,
+     *   "fecha": "2025-01-15T12:00:00",
+     *   "cantidad": 42,
+     *   "movimientosReproducidos": 3
+     * }
+     */
+    @GetMapping("/inventario/{productoId}/stock-historico")
+    public StockHistorico obtenerStockHistorico(
+            @PathVariable Long productoId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fecha) {
+        return catalogoDistribuidoService.obtenerStockEn(productoId, fecha);
+    }
+
+    /**
+     * Obtiene los cambios de productos, categorías e inventario posteriores a una versión.
+     * Permite a cachés y réplicas sincronizarse en tiempo proporcional a los cambios
+     * y no al tamaño del catálogo.
+     *
+     * @param desde Última versión procesada por el consumidor (0 para leer desde el inicio)
+     * @param limite Cantidad máxima de cambios a retornar (máximo 1000)
+     * @return Página de cambios ordenada por versión, con la versión a usar en la próxima consulta
+     *
+     * @apiNote
+     * - URL: GET /data/cambios?desde=0&limite=500
+     * - Respuesta: 200 OK con la página de cambios
+     * - Operaciones: CREACION, ACTUALIZACION, ELIMINACION
+     * - Nota: Los datos enviados son el estado actual de la entidad; si hayMas es true
+     *   se debe volver a consultar con desde=ultimaVersion
+     * - Visibilidad: Un cambio aparece cuando se le asigna versión, poco después de su
+     *   commit (cambios.publicacion-ms); las versiones siguen el orden de confirmación
+     *
+     * @example
+     * GET /data/cambios?desde=120&limite=2
+     * Response: {
+     *   "cambios": [
+     *     {
+     *       "version": 121,
+     *       "entidad": "INVENTARIO",
+     *       "entidadId": 3,
+     *       "operacion": "ACTUALIZACION",
+     *       "fecha": "2025-01-15T14:22:00",
+     *       "inventario": { "id": 3, "productoId": 7, "cantidad": 12, "stockMinimo": 5 }
+     *     },
+     *     {
+     *       "version": 122,
+     *       "entidad": "PRODUCTO",
+     *       "entidadId": 9,
+     *       "operacion": "ELIMINACION",
+     *       "fecha": "2025-01-15T14:23:10"
+     *     }
+     *   ],
+     *   "ultimaVersion": 122,
+     *   "hayMas": true
+     * }
+     */
+    @GetMapping("/cambios")
+    public FeedCambios obtenerCambios(@RequestParam(defaultValue = "0") long desde,
+                                      @RequestParam(defaultValue = "500") int limite) {
+        return cambioService.obtenerCambios(desde, limite);
+    }
+
+    /**
+     * Obtiene el estado completo del catálogo para inicializar una réplica.
+     * Después de cargarlo, la réplica se mantiene al día con GET /data/cambios
+     * a partir de la versión retornada.
+     *
+     * @return Categorías, productos e inventarios actuales junto con la versión del feed
+     *
+     * @apiNote
+     * - URL: GET /data/cambios/snapshot
+     * - Respuesta: 200 OK con el catálogo completo
+     * - Advertencia: Puede retornar gran cantidad de datos; usar solo al iniciar la réplica
+     *
+     * @example
+     * GET /data/cambios/snapshot
+     * Response: {
+     *   "version": 122,
+     *   "categorias": [ { "id": 1, "nombre": "Periféricos" } ],
+     *   "productos": [ { "id": 7, "nombre": "Mouse", "precio": 25.00, "categoriaId": 1 } ],
+     *   "inventarios": [ { "id": 3, "productoId": 7, "cantidad": 12, "stockMinimo": 5 } ]
+     * }
+     */
+    @GetMapping("/cambios/snapshot")
+    public SnapshotCatalogo obtenerSnapshotCatalogo() {
+        return cambioService.obtenerSnapshot();
+    }
+}
@@ -0,0 +1,55 @@
+package com.microservices_system.data_service.controller;
+
+import com.microservices_system.business_service.exceptions.ConflictoConcurrenciaException;
+import com.microservices_system.business_service.exceptions.CuerposError;
+import com.microservices_system.business_service.exceptions.MicroserviceCommunicationException;
+import com.microservices_system.business_service.exceptions.RecursoDuplicadoException;
+import com.microservices_system.business_service.exceptions.RecursoNoEncontradoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+    private static final String ERROR_INESPERADO = "Ocurrió un error inesperado";
+
+    private final CuerposError cuerposError = new CuerposError(ERROR_INESPERADO);
+
+    // Recurso no encontrado
+    @ExceptionHandler(RecursoNoEncontradoException.class)
+    public ResponseEntity<byte[]> handleRecursoNoEncontrado(RecursoNoEncontradoException ex) {
+        return cuerposError.respuesta(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    //Recurso duplicado
+    @ExceptionHandler(RecursoDuplicadoException.class)
+    public ResponseEntity<byte[]> handleRecursoDuplicado(RecursoDuplicadoException ex) {
+        return cuerposError.respuesta(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    //Comunicación entre microservicios
+    @ExceptionHandler(MicroserviceCommunicationException.class)
+    public ResponseEntity<byte[]> handleMicroserviceComunication(MicroserviceCommunicationException ex) {
+        return cuerposError.respuesta(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+    }
+
+    //Validación de logica de negocio
+    @ExceptionHandler(ValidacionNegocioException.class)
+    public ResponseEntity<byte[]> handleValidacionNegocio(ValidacionNegocioException ex) {
+        return cuerposError.respuesta(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    //Conflicto de bloqueo optimista
+    @ExceptionHandler(ConflictoConcurrenciaException.class)
+    public ResponseEntity<byte[]> handleConflictoConcurrencia(ConflictoConcurrenciaException ex) {
+        return cuerposError.respuesta(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    // Error genérico
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
+        return cuerposError.respuesta(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_INESPERADO);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AjusteInventarioRequest {
+    private Integer delta;
+}
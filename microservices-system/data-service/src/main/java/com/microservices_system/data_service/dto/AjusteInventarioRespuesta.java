@@ -0,0 +1,20 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Confirmación de un ajuste de stock aplicado dentro de un lote coalescido.
+ * Incluye el delta total aplicado al producto en el lote y cuántos ajustes
+ * aceptados lo componían.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AjusteInventarioRespuesta {
+    private Long productoId;
+    private Integer delta;
+    private Integer deltaLote;
+    private Integer ajustesLote;
+}
@@ -0,0 +1,28 @@
+package com.microservices_system.data_service.dto;
+
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del feed de cambios. Solo el campo correspondiente a la entidad viene
+ * informado, con su estado actual; en las eliminaciones (o si la entidad ya no
+ * existe) no se envían datos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambioEntidad {
+    private Long version;
+    private EntidadCambio entidad;
+    private Long entidadId;
+    private OperacionCambio operacion;
+    private LocalDateTime fecha;
+    private ProductoDatos producto;
+    private CategoriaDatos categoria;
+    private InventarioDatos inventario;
+}
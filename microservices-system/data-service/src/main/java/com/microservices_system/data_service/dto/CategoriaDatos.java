@@ -0,0 +1,17 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado plano de una categoría publicado en el feed de cambios.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoriaDatos {
+    private Long id;
+    private String nombre;
+    private String descripcion;
+}
@@ -0,0 +1,19 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de contención optimista acumulados para un producto.
+ * Permite identificar los productos (SKUs) con más escrituras concurrentes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContencionProducto {
+    private Long productoId;
+    private Long conflictos;
+    private Long reintentos;
+    private Long agotados;
+}
@@ -0,0 +1,16 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila de un CSV de importación que no se pudo aplicar, con su línea en el archivo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorImportacion {
+    private Long linea;
+    private String mensaje;
+}
@@ -0,0 +1,31 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado del filtro de nombres de una tabla. La tasa observada de falsos
+ * positivos es la proporción de nombres nuevos que el filtro no pudo descartar
+ * y terminaron consultándose en la base de datos; los contadores son desde el
+ * arranque.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticaFiltroNombres {
+    private String tabla;
+    private Boolean construido;
+    private LocalDateTime fechaReconstruccion;
+    private Long nombresReconstruccion;
+    private Long capacidad;
+    private Long bits;
+    private Integer funciones;
+    private Double tasaEstimada;
+    private Long consultas;
+    private Long descartadas;
+    private Long falsosPositivos;
+    private Double tasaFalsosPositivos;
+}
@@ -0,0 +1,25 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de una región del cache de segundo nivel desde el arranque.
+ * Una expulsión libera lugar por tamaño; un vencimiento descarta una entrada
+ * por antigüedad al leerla.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticaRegionCache {
+    private String region;
+    private Integer elementos;
+    private Integer tamanioMaximo;
+    private Long ttlSegundos;
+    private Long aciertos;
+    private Long fallos;
+    private Long escrituras;
+    private Long expulsiones;
+    private Long vencimientos;
+}
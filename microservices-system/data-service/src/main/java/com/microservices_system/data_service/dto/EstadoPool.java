@@ -0,0 +1,32 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado de un pool de conexiones: ocupación actual, distribución del tiempo
+ * de espera para obtener una conexión y tiempo de retención por endpoint.
+ * Los acumulados cuentan desde el arranque del pool.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoPool {
+    private String nombre;
+    private Integer activas;
+    private Integer inactivas;
+    private Integer total;
+    private Integer esperando;
+    private Integer maximo;
+    private Integer minimo;
+    private Long adquisiciones;
+    private Long timeouts;
+    private Double esperaPromedioMs;
+    private Double esperaMaximaMs;
+    private Map<String, Long> histogramaEspera;
+    private List<UsoConexionEndpoint> usoPorEndpoint;
+}
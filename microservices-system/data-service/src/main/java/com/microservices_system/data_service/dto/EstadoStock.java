@@ -0,0 +1,22 @@
+package com.microservices_system.data_service.dto;
+
+/**
+ * Estado de stock de un producto para el filtrado por facetas.
+ * SIN_STOCK incluye a los productos sin inventario; STOCK_BAJO sigue el mismo
+ * criterio que el reporte de stock bajo (cantidad menor o igual al mínimo).
+ */
+public enum EstadoStock {
+    SIN_STOCK,
+    STOCK_BAJO,
+    DISPONIBLE;
+
+    public static EstadoStock de(Integer cantidad, Integer stockMinimo) {
+        if (cantidad == null || cantidad <= 0) {
+            return SIN_STOCK;
+        }
+        if (stockMinimo != null && cantidad <= stockMinimo) {
+            return STOCK_BAJO;
+        }
+        return DISPONIBLE;
+    }
+}
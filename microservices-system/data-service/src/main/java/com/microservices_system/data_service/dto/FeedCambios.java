@@ -0,0 +1,20 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del feed de cambios. ultimaVersion es el valor a enviar como
+ * parámetro desde en la siguiente consulta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedCambios {
+    private List<CambioEntidad> cambios;
+    private Long ultimaVersion;
+    private boolean hayMas;
+}
@@ -0,0 +1,21 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado plano de un inventario publicado en el feed de cambios.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventarioDatos {
+    private Long id;
+    private Long productoId;
+    private Integer cantidad;
+    private Integer stockMinimo;
+    private LocalDateTime fechaActualizacion;
+}
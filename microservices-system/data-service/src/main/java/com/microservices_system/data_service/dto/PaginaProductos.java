@@ -0,0 +1,22 @@
+package com.microservices_system.data_service.dto;
+
+import com.microservices_system.data_service.entity.Producto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de productos sin total de resultados: hayMas indica si existe una
+ * página siguiente, lo que evita la consulta de conteo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaProductos {
+    private List<Producto> productos;
+    private Integer pagina;
+    private Integer tamanio;
+    private boolean hayMas;
+}
@@ -0,0 +1,21 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Estado plano de un producto publicado en el feed de cambios.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoDatos {
+    private Long id;
+    private String nombre;
+    private String descripcion;
+    private BigDecimal precio;
+    private Long categoriaId;
+}
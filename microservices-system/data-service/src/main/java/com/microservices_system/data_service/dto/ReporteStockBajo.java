@@ -0,0 +1,22 @@
+package com.microservices_system.data_service.dto;
+
+import com.microservices_system.data_service.entity.ReporteInventarioProducto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Productos con stock bajo leídos del reporte materializado, junto con el
+ * momento del último refresco y la versión del feed de cambios que refleja.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteStockBajo {
+    private List<ReporteInventarioProducto> productos;
+    private LocalDateTime fechaRefresco;
+    private Long version;
+}
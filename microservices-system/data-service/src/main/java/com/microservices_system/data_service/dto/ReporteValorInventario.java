@@ -0,0 +1,24 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Totales del inventario leídos del reporte materializado, junto con el momento
+ * del último refresco y la versión del feed de cambios que reflejan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteValorInventario {
+    private BigDecimal valor;
+    private Long unidades;
+    private Long productos;
+    private Long productosStockBajo;
+    private LocalDateTime fechaRefresco;
+    private Long version;
+}
@@ -0,0 +1,26 @@
+package com.microservices_system.data_service.dto;
+
+import com.microservices_system.data_service.entity.Producto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Página de productos que cumplen un filtro por facetas, junto con los
+ * conteos de cada faceta. El conteo de un valor considera los filtros de las
+ * demás facetas pero no el de la propia, de modo que indica cuántos productos
+ * quedarían si se agregara ese valor a la selección.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoFiltroProductos {
+    private Long total;
+    private List<Producto> productos;
+    private Map<Long, Integer> categorias;
+    private Map<String, Integer> rangosPrecio;
+    private Map<EstadoStock, Integer> estadosStock;
+}
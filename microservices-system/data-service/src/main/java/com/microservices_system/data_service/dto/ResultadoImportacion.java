@@ -0,0 +1,24 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resumen de una importación masiva. La lista de errores se acota para que un
+ * archivo con muchas filas inválidas no haga crecer la respuesta sin límite;
+ * filasConError cuenta todas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacion {
+    private Long filas;
+    private Long productosCreados;
+    private Long productosActualizados;
+    private Long categoriasCreadas;
+    private Long filasConError;
+    private List<ErrorImportacion> errores;
+}
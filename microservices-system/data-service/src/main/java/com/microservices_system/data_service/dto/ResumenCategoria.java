@@ -0,0 +1,23 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Agregados de inventario de una categoría: productos con inventario, unidades
+ * en stock, valorización (cantidad * precio) y productos con stock bajo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumenCategoria {
+    private Long categoriaId;
+    private String categoria;
+    private Long productos;
+    private Long unidades;
+    private BigDecimal valor;
+    private Long productosStockBajo;
+}
@@ -0,0 +1,23 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Estado completo del catálogo para inicializar una réplica. version es la
+ * versión del feed de cambios desde la que la réplica debe seguir leyendo;
+ * los cambios posteriores pueden estar ya reflejados y se aplican de nuevo
+ * sin efecto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotCatalogo {
+    private Long version;
+    private List<CategoriaDatos> categorias;
+    private List<ProductoDatos> productos;
+    private List<InventarioDatos> inventarios;
+}
@@ -0,0 +1,20 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock de un producto reconstruido a una fecha dada a partir del libro mayor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistorico {
+    private Long productoId;
+    private LocalDateTime fecha;
+    private Integer cantidad;
+    private Long movimientosReproducidos;
+}
@@ -0,0 +1,19 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tiempo que las peticiones a un endpoint retienen conexiones del pool,
+ * desde que la obtienen hasta que la devuelven.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsoConexionEndpoint {
+    private String endpoint;
+    private Long usos;
+    private Double promedioMs;
+    private Long maximoMs;
+}
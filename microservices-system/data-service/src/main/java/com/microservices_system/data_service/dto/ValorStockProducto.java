@@ -0,0 +1,25 @@
+package com.microservices_system.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Capital inmovilizado en el stock de un producto (cantidad * precio) y su
+ * posición en el ranking, global o dentro de su categoría.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValorStockProducto {
+    private Long productoId;
+    private String nombre;
+    private Long categoriaId;
+    private String categoria;
+    private Integer cantidad;
+    private BigDecimal precio;
+    private BigDecimal valor;
+    private Integer posicion;
+}
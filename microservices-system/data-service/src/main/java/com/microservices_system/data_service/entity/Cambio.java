@@ -0,0 +1,42 @@
+package com.microservices_system.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro del log de cambios (outbox). Se inserta en la misma transacción que
+ * la escritura que describe, sin versión; la versión del feed se asigna después
+ * del commit (ver {@code CambioService.publicar}), en el orden en que los
+ * cambios se vuelven visibles y no en el de sus IDs.
+ */
+@Entity
+@Table(name = "cambios")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Cambio {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private EntidadCambio entidad;
+
+    @Column(name = "entidad_id", nullable = false, updatable = false)
+    private Long entidadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private OperacionCambio operacion;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime fecha;
+
+    @Column(unique = true)
+    private Long version;
+}
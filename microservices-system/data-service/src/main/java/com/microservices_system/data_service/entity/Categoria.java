@@ -1,14 +1,19 @@
 package com.microservices_system.data_service.entity;
 
+import com.microservices_system.data_service.cache.CacheSegundoNivel;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivel.CATEGORIAS)
 @Table(name = "categorias")
 @Data
 @NoArgsConstructor
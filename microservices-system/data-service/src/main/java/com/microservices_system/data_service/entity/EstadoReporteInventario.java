@@ -0,0 +1,30 @@
+package com.microservices_system.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de agua de los reportes materializados: versión del feed de cambios
+ * hasta la que están aplicados y momento del último refresco. Tiene una sola fila.
+ */
+@Entity
+@Table(name = "reporte_inventario_estado")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoReporteInventario {
+    public static final Integer ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "fecha_refresco", nullable = false)
+    private LocalDateTime fechaRefresco;
+}
@@ -30,5 +30,8 @@ public class Inventario {
     @Column(name = "fecha_actualizacion")
     @Temporal(TemporalType.TIMESTAMP)
     private LocalDateTime fechaActualizacion;
+
+    @Version
+    private Long version;
 }
 
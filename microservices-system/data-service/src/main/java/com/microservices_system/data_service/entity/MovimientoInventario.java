@@ -0,0 +1,46 @@
+package com.microservices_system.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Movimiento de stock del libro mayor de inventario (solo inserción).
+ * La columna periodo (yyyyMM) es la clave de partición por tiempo. La
+ * secuencia se asigna después del commit y ordena los movimientos por orden de
+ * confirmación (ver {@code MovimientoInventarioService#compactar()}).
+ */
+@Entity
+@Table(name = "movimientos_inventario", indexes = {
+        @Index(name = "idx_movimientos_producto", columnList = "producto_id, secuencia")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimientoInventario {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "producto_id", nullable = false, updatable = false)
+    private Long productoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10, updatable = false)
+    private TipoMovimiento tipo;
+
+    @Column(nullable = false, updatable = false)
+    private Integer cantidad;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime fecha;
+
+    @Column(nullable = false, updatable = false)
+    private Integer periodo;
+
+    @Column(unique = true)
+    private Long secuencia;
+}
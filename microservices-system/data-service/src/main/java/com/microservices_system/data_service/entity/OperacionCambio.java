@@ -0,0 +1,7 @@
+package com.microservices_system.data_service.entity;
+
+public enum OperacionCambio {
+    CREACION,
+    ACTUALIZACION,
+    ELIMINACION
+}
@@ -0,0 +1,38 @@
+package com.microservices_system.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Agregado materializado por categoría de {@link ReporteInventarioProducto}.
+ * El valor total del inventario es la suma de estas filas.
+ */
+@Entity
+@Table(name = "reporte_inventario_categorias")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteInventarioCategoria {
+    /**
+     * Categoría agregada, o 0 para los productos sin categoría.
+     */
+    @Id
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    @Column(nullable = false)
+    private Long productos;
+
+    @Column(nullable = false)
+    private Long unidades;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "productos_stock_bajo", nullable = false)
+    private Long productosStockBajo;
+}
@@ -0,0 +1,60 @@
+package com.microservices_system.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila materializada de los reportes de inventario: un producto con inventario,
+ * su valor en stock y si está por debajo del mínimo. La mantiene
+ * {@code ReporteInventarioService} a partir del feed de cambios.
+ */
+@Entity
+@Table(name = "reporte_inventario_productos", indexes = {
+        @Index(name = "idx_reporte_inventario_categoria", columnList = "categoria_id"),
+        @Index(name = "idx_reporte_inventario_inventario", columnList = "inventario_id"),
+        @Index(name = "idx_reporte_inventario_stock_bajo", columnList = "stock_bajo")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteInventarioProducto {
+    @Id
+    @Column(name = "producto_id")
+    private Long productoId;
+
+    @Column(name = "inventario_id", nullable = false)
+    private Long inventarioId;
+
+    /**
+     * Categoría del producto, o 0 si no tiene.
+     */
+    @Column(name = "categoria_id", nullable = false)
+    private Long categoriaId;
+
+    private String categoria;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Column(name = "stock_minimo")
+    private Integer stockMinimo;
+
+    private BigDecimal precio;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "stock_bajo", nullable = false)
+    private boolean stockBajo;
+
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,37 @@
+package com.microservices_system.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock acumulado de un producto hasta una secuencia dada del libro mayor.
+ * Acota la cantidad de movimientos a reproducir en consultas históricas.
+ */
+@Entity
+@Table(name = "snapshots_inventario", indexes = {
+        @Index(name = "idx_snapshots_producto_fecha", columnList = "producto_id, fecha")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotInventario {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Column(name = "ultima_secuencia", nullable = false)
+    private Long ultimaSecuencia;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+}
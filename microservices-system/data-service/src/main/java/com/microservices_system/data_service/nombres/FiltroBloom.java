@@ -0,0 +1,98 @@
+package com.microservices_system.data_service.nombres;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de tamaño fijo que admite agregar y consultar desde varios
+ * hilos sin bloqueos. Responde "no está" con certeza y "puede estar" con una
+ * probabilidad de error que crece a medida que se llena.
+ */
+final class FiltroBloom {
+    private final AtomicLongArray palabras;
+    private final long cantidadBits;
+    private final int funciones;
+    private final long capacidad;
+
+    /**
+     * @param capacidad Elementos para los que se dimensiona
+     * @param tasaFalsosPositivos Tasa de falsos positivos esperada con {@code capacidad} elementos
+     */
+    FiltroBloom(long capacidad, double tasaFalsosPositivos) {
+        long n = Math.max(1, capacidad);
+        long bits = (long) Math.ceil(-n * Math.log(tasaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        int cantidadPalabras = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.palabras = new AtomicLongArray(cantidadPalabras);
+        this.cantidadBits = cantidadPalabras * 64L;
+        this.funciones = (int) Math.max(1, Math.min(16, Math.round((double) cantidadBits / n * Math.log(2))));
+        this.capacidad = n;
+    }
+
+    void agregar(String clave) {
+        long hash = hash(clave);
+        long h1 = mezclar(hash);
+        long h2 = mezclar(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funciones; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long palabra = palabras.get(indice);
+            while ((palabra & mascara) == 0 && !palabras.weakCompareAndSetVolatile(indice, palabra, palabra | mascara)) {
+                palabra = palabras.get(indice);
+            }
+        }
+    }
+
+    boolean puedeContener(String clave) {
+        long hash = hash(clave);
+        long h1 = mezclar(hash);
+        long h2 = mezclar(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funciones; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            if ((palabras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long capacidad() {
+        return capacidad;
+    }
+
+    long cantidadBits() {
+        return cantidadBits;
+    }
+
+    int funciones() {
+        return funciones;
+    }
+
+    /**
+     * Tasa de falsos positivos que corresponde a la proporción actual de bits
+     * encendidos; recorre todo el arreglo.
+     */
+    double tasaEstimada() {
+        long encendidos = 0;
+        for (int i = 0; i < palabras.length(); i++) {
+            encendidos += Long.bitCount(palabras.get(i));
+        }
+        return Math.pow((double) encendidos / cantidadBits, funciones);
+    }
+
+    /** FNV-1a de 64 bits sobre los caracteres. */
+    private static long hash(String clave) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < clave.length(); i++) {
+            hash ^= clave.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /** Finalizador de SplitMix64, para repartir los bits de FNV. */
+    private static long mezclar(long x) {
+        x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        return x ^ (x >>> 31);
+    }
+}
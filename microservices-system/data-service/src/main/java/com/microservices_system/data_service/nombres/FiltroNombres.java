@@ -0,0 +1,222 @@
+package com.microservices_system.data_service.nombres;
+
+import com.microservices_system.data_service.dto.EstadisticaFiltroNombres;
+import com.microservices_system.data_service.repositories.CategoriaRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Filtros de Bloom con los nombres de productos y categorías, para no consultar
+ * {@code existsByNombreIgnoreCase} antes de cada alta: si el filtro descarta el
+ * nombre no hace falta ir a la base de datos, y si no lo descarta se consulta
+ * como siempre.
+ * <p>
+ * Cada filtro se construye con los nombres de todos los shards, dimensionado
+ * para {@code margen-crecimiento} veces la cantidad actual, y se reconstruye
+ * cada {@code reconstruccion-ms} para descartar los nombres borrados o
+ * renombrados y volver a la tasa de falsos positivos configurada. Las altas y
+ * los cambios de nombre de este proceso se agregan al momento (y otra vez al
+ * confirmarse, por si una reconstrucción leyó la tabla antes). Los nombres que
+ * crea otra instancia de data-service no se ven hasta la próxima
+ * reconstrucción; en ese intervalo el duplicado exacto lo frena la restricción
+ * única de la columna. Esa restricción distingue mayúsculas en H2 y
+ * PostgreSQL (en MySQL la colación por defecto no), así que un nombre que solo
+ * difiere en mayúsculas pasa hasta la reconstrucción, salvo que se creen los
+ * índices de {@code db/postgres/nombres_unicos.sql}.
+ * <p>
+ * Mientras no se construyó por primera vez, o con {@code habilitado: false},
+ * todas las comprobaciones van a la base de datos.
+ */
+@Component
+@Slf4j
+public class FiltroNombres {
+
+    public enum Tabla {
+        PRODUCTOS,
+        CATEGORIAS
+    }
+
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final EnrutadorShards enrutador;
+    private final boolean habilitado;
+    private final double tasaFalsosPositivos;
+    private final double margenCrecimiento;
+    private final EstadoTabla[] estados = {new EstadoTabla(Tabla.PRODUCTOS), new EstadoTabla(Tabla.CATEGORIAS)};
+
+    public FiltroNombres(ProductoRepository productoRepository,
+                         CategoriaRepository categoriaRepository,
+                         EnrutadorShards enrutador,
+                         @Value("${filtro-nombres.habilitado:true}") boolean habilitado,
+                         @Value("${filtro-nombres.tasa-falsos-positivos:0.01}") double tasaFalsosPositivos,
+                         @Value("${filtro-nombres.margen-crecimiento:2.0}") double margenCrecimiento) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.enrutador = enrutador;
+        this.habilitado = habilitado;
+        this.tasaFalsosPositivos = tasaFalsosPositivos;
+        this.margenCrecimiento = margenCrecimiento;
+    }
+
+    /**
+     * Indica si ya existe un nombre, consultando la base de datos solo cuando
+     * el filtro no puede descartarlo.
+     *
+     * @param consulta Comprobación en la base de datos
+     */
+    public boolean existe(Tabla tabla, String nombre, Supplier<Boolean> consulta) {
+        EstadoTabla estado = estados[tabla.ordinal()];
+        FiltroBloom filtro = estado.filtro;
+        if (filtro == null) {
+            return consulta.get();
+        }
+        estado.consultas.increment();
+        if (!filtro.puedeContener(normalizar(nombre))) {
+            estado.descartadas.increment();
+            return false;
+        }
+        boolean existe = consulta.get();
+        if (!existe) {
+            estado.falsosPositivos.increment();
+        }
+        return existe;
+    }
+
+    /**
+     * Agrega un nombre creado o renombrado. Dentro de una transacción se vuelve
+     * a agregar al confirmarse, por si entretanto se reconstruyó el filtro.
+     */
+    public void agregar(Tabla tabla, String nombre) {
+        if (!habilitado || nombre == null) {
+            return;
+        }
+        EstadoTabla estado = estados[tabla.ordinal()];
+        String clave = normalizar(nombre);
+        estado.agregar(clave);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    estado.agregar(clave);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reconstruye los filtros desde la base de datos. La primera ejecución es
+     * al arrancar. No es de solo lectura para leer del primario: una réplica
+     * atrasada podría no tener nombres recién confirmados.
+     */
+    @Scheduled(fixedDelayString = "${filtro-nombres.reconstruccion-ms:600000}")
+    @Transactional
+    public void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        reconstruir(estados[Tabla.PRODUCTOS.ordinal()], productoRepository::findAllNombres);
+        reconstruir(estados[Tabla.CATEGORIAS.ordinal()], categoriaRepository::findAllNombres);
+    }
+
+    /**
+     * @return El estado de cada filtro, en el orden de {@link Tabla}
+     */
+    public List<EstadisticaFiltroNombres> obtenerEstadisticas() {
+        return Arrays.stream(estados).map(EstadoTabla::estadistica).toList();
+    }
+
+    private void reconstruir(EstadoTabla estado, Supplier<List<String>> nombres) {
+        estado.iniciarReconstruccion();
+        try {
+            List<String> todos = new ArrayList<>();
+            enrutador.enTodos(nombres).forEach(todos::addAll);
+            FiltroBloom nuevo = new FiltroBloom(Math.max(1000, (long) (todos.size() * margenCrecimiento)),
+                    tasaFalsosPositivos);
+            todos.forEach(nombre -> nuevo.agregar(normalizar(nombre)));
+            estado.reemplazar(nuevo, todos.size());
+            log.debug("Filtro de nombres de {} reconstruido con {} nombres", estado.tabla, todos.size());
+        } catch (RuntimeException e) {
+            estado.cancelarReconstruccion();
+            log.warn("No se pudo reconstruir el filtro de nombres de {}", estado.tabla, e);
+        }
+    }
+
+    /**
+     * La base compara con {@code UPPER} en ambos lados; pasar por mayúsculas
+     * antes de minúsculas hace que dos nombres iguales para la base den la
+     * misma clave aunque difieran en letras sin par exacto de mayúscula.
+     */
+    static String normalizar(String nombre) {
+        return nombre.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    private static final class EstadoTabla {
+        final Tabla tabla;
+        final LongAdder consultas = new LongAdder();
+        final LongAdder descartadas = new LongAdder();
+        final LongAdder falsosPositivos = new LongAdder();
+        volatile FiltroBloom filtro;
+        volatile LocalDateTime fechaReconstruccion;
+        volatile long nombresReconstruccion;
+        /** Nombres agregados durante una reconstrucción; null si no hay ninguna en curso. */
+        private List<String> pendientes;
+
+        EstadoTabla(Tabla tabla) {
+            this.tabla = tabla;
+        }
+
+        synchronized void agregar(String clave) {
+            if (filtro != null) {
+                filtro.agregar(clave);
+            }
+            if (pendientes != null) {
+                pendientes.add(clave);
+            }
+        }
+
+        synchronized void iniciarReconstruccion() {
+            pendientes = new ArrayList<>();
+        }
+
+        synchronized void reemplazar(FiltroBloom nuevo, long nombres) {
+            pendientes.forEach(nuevo::agregar);
+            pendientes = null;
+            filtro = nuevo;
+            fechaReconstruccion = LocalDateTime.now();
+            nombresReconstruccion = nombres;
+        }
+
+        synchronized void cancelarReconstruccion() {
+            pendientes = null;
+        }
+
+        EstadisticaFiltroNombres estadistica() {
+            FiltroBloom actual = filtro;
+            long falsos = falsosPositivos.sum();
+            long nuevos = falsos + descartadas.sum();
+            return new EstadisticaFiltroNombres(tabla.name().toLowerCase(Locale.ROOT), actual != null,
+                    fechaReconstruccion, nombresReconstruccion,
+                    actual != null ? actual.capacidad() : 0L,
+                    actual != null ? actual.cantidadBits() : 0L,
+                    actual != null ? actual.funciones() : 0,
+                    actual != null ? actual.tasaEstimada() : 0.0,
+                    consultas.sum(), descartadas.sum(), falsos,
+                    nuevos > 0 ? (double) falsos / nuevos : 0.0);
+        }
+    }
+}
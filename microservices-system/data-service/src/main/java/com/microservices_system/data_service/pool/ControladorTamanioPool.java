@@ -0,0 +1,88 @@
+package com.microservices_system.data_service.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ajusta el tamaño máximo de cada pool a la concurrencia medida. Por la ley
+ * de Little, las conexiones ocupadas en promedio son la tasa de adquisiciones
+ * por el tiempo promedio de retención; el objetivo es esa cifra con un margen
+ * de {@code holgura}, sin bajar de las conexiones activas en el momento, más
+ * los hilos que están esperando una conexión. El pool crece al objetivo de
+ * una vez y se achica de a una conexión por período, siempre dentro de
+ * {@code minimo} y {@code maximo}.
+ * <p>
+ * Al achicar, Hikari no cierra conexiones en uso: las que sobran se retiran
+ * cuando quedan inactivas más de {@code idleTimeout}. Por eso el mínimo de
+ * conexiones inactivas de cada pool se baja a {@code minimo}.
+ */
+@Component
+@ConditionalOnProperty(name = "pool.adaptativo.habilitado", havingValue = "true")
+@Slf4j
+public class ControladorTamanioPool {
+    private final TelemetriaPool telemetria;
+    private final int minimo;
+    private final int maximo;
+    private final double holgura;
+
+    public ControladorTamanioPool(TelemetriaPool telemetria,
+                                  @Value("${pool.adaptativo.minimo:2}") int minimo,
+                                  @Value("${pool.adaptativo.maximo:10}") int maximo,
+                                  @Value("${pool.adaptativo.holgura:1.5}") double holgura) {
+        if (minimo < 1 || maximo < minimo) {
+            throw new IllegalStateException("pool.adaptativo requiere 1 <= minimo <= maximo");
+        }
+        this.telemetria = telemetria;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.holgura = holgura;
+    }
+
+    @Scheduled(fixedDelayString = "${pool.adaptativo.intervalo-ms:10000}")
+    public void ajustar() {
+        for (HikariDataSource dataSource : telemetria.dataSources()) {
+            RegistroPool registro = telemetria.registro(dataSource);
+            if (registro != null) {
+                ajustar(dataSource.getHikariConfigMXBean(), registro);
+            }
+        }
+    }
+
+    private void ajustar(HikariConfigMXBean config, RegistroPool registro) {
+        RegistroPool.Muestra muestra = registro.muestrear();
+        int actual = config.getMaximumPoolSize();
+        int objetivo = objetivo(muestra.adquisicionesPorSegundo(), muestra.usoPromedioMs(),
+                registro.activas(), registro.esperando());
+        int nuevo = objetivo > actual ? objetivo : Math.max(objetivo, actual - 1);
+        if (config.getMinimumIdle() > minimo) {
+            config.setMinimumIdle(minimo);
+        }
+        if (nuevo != actual) {
+            log.info("Pool {}: máximo {} -> {} ({} adquisiciones/s, {} ms de retención promedio)",
+                    registro.nombre(), actual, nuevo,
+                    String.format("%.1f", muestra.adquisicionesPorSegundo()),
+                    String.format("%.1f", muestra.usoPromedioMs()));
+            config.setMaximumPoolSize(nuevo);
+        }
+    }
+
+    /**
+     * Tamaño de pool necesario según la ley de Little (L = λ·W), acotado a
+     * {@code [minimo, maximo]}.
+     *
+     * @param adquisicionesPorSegundo Tasa de llegada λ
+     * @param usoPromedioMs Tiempo de retención promedio W
+     * @param activas Conexiones ocupadas al momento de medir
+     * @param esperando Hilos esperando una conexión al momento de medir
+     */
+    int objetivo(double adquisicionesPorSegundo, double usoPromedioMs, int activas, int esperando) {
+        double concurrencia = adquisicionesPorSegundo * usoPromedioMs / 1_000;
+        int necesarias = Math.max((int) Math.ceil(concurrencia * holgura), activas) + esperando;
+        return Math.min(maximo, Math.max(minimo, necesarias));
+    }
+}
@@ -0,0 +1,36 @@
+package com.microservices_system.data_service.pool;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Deja a mano del hilo el endpoint que está atendiendo (método y patrón de
+ * la ruta, p. ej. {@code GET /data/productos/{id}}) para que
+ * {@link RegistroPool} le atribuya el tiempo de retención de las conexiones.
+ * Se usa el patrón y no la URL para que todos los IDs cuenten juntos.
+ */
+public class InterceptorEndpointPool implements HandlerInterceptor {
+    private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+
+    /**
+     * @return Endpoint que atiende el hilo actual, o null fuera de una petición
+     */
+    public static String actual() {
+        return ENDPOINT.get();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        ENDPOINT.set(request.getMethod() + " " + (patron != null ? patron : request.getRequestURI()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ENDPOINT.remove();
+    }
+}
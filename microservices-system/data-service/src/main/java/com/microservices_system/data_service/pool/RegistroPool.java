@@ -0,0 +1,169 @@
+package com.microservices_system.data_service.pool;
+
+import com.microservices_system.data_service.dto.EstadoPool;
+import com.microservices_system.data_service.dto.UsoConexionEndpoint;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de un pool Hikari. Hikari llama a este registro en el hilo que
+ * obtiene o devuelve la conexión, así que el uso se atribuye al endpoint que
+ * ese hilo está atendiendo ({@link InterceptorEndpointPool}).
+ */
+class RegistroPool implements IMetricsTracker {
+    static final String SIN_PETICION = "(fuera de petición)";
+
+    /** Límites superiores de las cubetas del histograma de espera, en microsegundos. */
+    private static final long[] LIMITES_ESPERA_MICROS =
+            {100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000, 5_000_000};
+
+    private final String nombre;
+    private final PoolStats estadisticas;
+    private final LongAdder[] cubetasEspera = new LongAdder[LIMITES_ESPERA_MICROS.length + 1];
+    private final LongAdder adquisiciones = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final LongAccumulator esperaMaximaNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder usos = new LongAdder();
+    private final LongAdder usoTotalMs = new LongAdder();
+    private final Map<String, UsoEndpoint> usoPorEndpoint = new ConcurrentHashMap<>();
+
+    private long ultimaMuestraNanos = System.nanoTime();
+    private long ultimasAdquisiciones;
+    private long ultimosUsos;
+    private long ultimoUsoTotalMs;
+
+    private static final class UsoEndpoint {
+        private final LongAdder usos = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final LongAccumulator maximoMs = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Actividad del pool entre dos llamadas a {@link #muestrear()}.
+     */
+    record Muestra(long adquisiciones, long usos, long usoTotalMs, long duracionNanos) {
+        double adquisicionesPorSegundo() {
+            return duracionNanos == 0 ? 0 : adquisiciones * 1e9 / duracionNanos;
+        }
+
+        double usoPromedioMs() {
+            return usos == 0 ? 0 : (double) usoTotalMs / usos;
+        }
+    }
+
+    RegistroPool(String nombre, PoolStats estadisticas) {
+        this.nombre = nombre;
+        this.estadisticas = estadisticas;
+        for (int i = 0; i < cubetasEspera.length; i++) {
+            cubetasEspera[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        adquisiciones.increment();
+        esperaTotalNanos.add(elapsedAcquiredNanos);
+        esperaMaximaNanos.accumulate(elapsedAcquiredNanos);
+        long micros = elapsedAcquiredNanos / 1_000;
+        int cubeta = 0;
+        while (cubeta < LIMITES_ESPERA_MICROS.length && micros > LIMITES_ESPERA_MICROS[cubeta]) {
+            cubeta++;
+        }
+        cubetasEspera[cubeta].increment();
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usos.increment();
+        usoTotalMs.add(elapsedBorrowedMillis);
+        String endpoint = InterceptorEndpointPool.actual();
+        UsoEndpoint uso = usoPorEndpoint.computeIfAbsent(endpoint != null ? endpoint : SIN_PETICION,
+                clave -> new UsoEndpoint());
+        uso.usos.increment();
+        uso.totalMs.add(elapsedBorrowedMillis);
+        uso.maximoMs.accumulate(elapsedBorrowedMillis);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    String nombre() {
+        return nombre;
+    }
+
+    int activas() {
+        return estadisticas.getActiveConnections();
+    }
+
+    int esperando() {
+        return estadisticas.getPendingThreads();
+    }
+
+    /**
+     * Devuelve la actividad desde la muestra anterior (o desde el arranque
+     * del pool en la primera llamada).
+     */
+    synchronized Muestra muestrear() {
+        long ahora = System.nanoTime();
+        long adquisicionesActuales = adquisiciones.sum();
+        long usosActuales = usos.sum();
+        long usoActualMs = usoTotalMs.sum();
+        Muestra muestra = new Muestra(adquisicionesActuales - ultimasAdquisiciones, usosActuales - ultimosUsos,
+                usoActualMs - ultimoUsoTotalMs, ahora - ultimaMuestraNanos);
+        ultimaMuestraNanos = ahora;
+        ultimasAdquisiciones = adquisicionesActuales;
+        ultimosUsos = usosActuales;
+        ultimoUsoTotalMs = usoActualMs;
+        return muestra;
+    }
+
+    EstadoPool estado() {
+        Map<String, Long> histograma = new LinkedHashMap<>();
+        for (int i = 0; i < LIMITES_ESPERA_MICROS.length; i++) {
+            histograma.put("<=" + formatearMs(LIMITES_ESPERA_MICROS[i]) + "ms", cubetasEspera[i].sum());
+        }
+        histograma.put(">" + formatearMs(LIMITES_ESPERA_MICROS[LIMITES_ESPERA_MICROS.length - 1]) + "ms",
+                cubetasEspera[LIMITES_ESPERA_MICROS.length].sum());
+
+        List<UsoConexionEndpoint> endpoints = usoPorEndpoint.entrySet().stream()
+                .map(entrada -> {
+                    UsoEndpoint uso = entrada.getValue();
+                    long cantidad = uso.usos.sum();
+                    return new UsoConexionEndpoint(entrada.getKey(), cantidad,
+                            cantidad == 0 ? 0 : (double) uso.totalMs.sum() / cantidad, uso.maximoMs.get());
+                })
+                .sorted(Comparator.comparing(UsoConexionEndpoint::getUsos).reversed()
+                        .thenComparing(UsoConexionEndpoint::getEndpoint))
+                .toList();
+
+        long cantidadAdquisiciones = adquisiciones.sum();
+        return new EstadoPool(nombre,
+                estadisticas.getActiveConnections(),
+                estadisticas.getIdleConnections(),
+                estadisticas.getTotalConnections(),
+                estadisticas.getPendingThreads(),
+                estadisticas.getMaxConnections(),
+                estadisticas.getMinConnections(),
+                cantidadAdquisiciones,
+                timeouts.sum(),
+                cantidadAdquisiciones == 0 ? 0 : esperaTotalNanos.sum() / 1e6 / cantidadAdquisiciones,
+                esperaMaximaNanos.get() / 1e6,
+                histograma,
+                endpoints);
+    }
+
+    private static String formatearMs(long micros) {
+        return micros % 1_000 == 0 ? Long.toString(micros / 1_000) : Double.toString(micros / 1_000.0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservices_system.data_service.pool;
+
+import com.microservices_system.data_service.dto.EstadoPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Instrumenta los pools Hikari del servicio: el DataSource de Spring Boot se
+ * registra al crearse el bean ({@link TelemetriaPoolConfig}); los pools que se
+ * arman a mano (shards, réplicas) se registran con
+ * {@link #registrar(HikariDataSource)} antes de usarse. Las métricas viven en memoria y se reinician con el servicio.
+ */
+@Component
+public class TelemetriaPool implements MetricsTrackerFactory {
+    private final List<HikariDataSource> dataSources = new CopyOnWriteArrayList<>();
+    private final Map<String, RegistroPool> registros = new ConcurrentHashMap<>();
+
+    public void registrar(HikariDataSource dataSource) {
+        dataSource.setMetricsTrackerFactory(this);
+        dataSources.add(dataSource);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        RegistroPool registro = new RegistroPool(poolName, poolStats);
+        registros.put(poolName, registro);
+        return registro;
+    }
+
+    /**
+     * @return Estado de cada pool que ya abrió conexiones, ordenado por nombre
+     */
+    public List<EstadoPool> obtenerEstados() {
+        return dataSources.stream()
+                .map(this::registro)
+                .filter(Objects::nonNull)
+                .map(RegistroPool::estado)
+                .sorted(Comparator.comparing(EstadoPool::getNombre))
+                .toList();
+    }
+
+    List<HikariDataSource> dataSources() {
+        return dataSources;
+    }
+
+    /**
+     * @return Registro del pool, o null si todavía no arrancó
+     */
+    RegistroPool registro(HikariDataSource dataSource) {
+        String nombre = dataSource.getPoolName();
+        return nombre != null ? registros.get(nombre) : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.microservices_system.data_service.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra en {@link TelemetriaPool} los pools Hikari que se declaran como
+ * beans, y {@link InterceptorEndpointPool} para atribuir el uso de conexiones
+ * a los endpoints de datos.
+ */
+@Configuration
+public class TelemetriaPoolConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static BeanPostProcessor registroPoolsHikari(ObjectProvider<TelemetriaPool> telemetriaPool) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    telemetriaPool.getObject().registrar(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new InterceptorEndpointPool()).addPathPatterns("/data/**");
+    }
+}
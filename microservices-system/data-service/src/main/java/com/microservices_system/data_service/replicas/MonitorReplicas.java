@@ -0,0 +1,133 @@
+package com.microservices_system.data_service.replicas;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide el retraso de cada réplica contra el primario y elige dónde se ejecuta
+ * cada transacción de solo lectura. El retraso se mide con el log de cambios:
+ * es la antigüedad del cambio más viejo del primario que la réplica todavía no
+ * tiene. Una réplica con retraso mayor a {@code retrasoMaximoMs}, o que no
+ * responde, deja de recibir lecturas hasta la próxima medición en que se ponga
+ * al día; sin réplicas disponibles las lecturas van al primario.
+ */
+@Slf4j
+public class MonitorReplicas {
+    static final String PRIMARIO = "primario";
+
+    private final HikariDataSource primario;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final JdbcTemplate jdbcPrimario;
+    private final long retrasoMaximoMs;
+    private final AtomicInteger siguiente = new AtomicInteger();
+    private final AtomicLong lecturasEnReplicas = new AtomicLong();
+    private final AtomicLong lecturasEnPrimario = new AtomicLong();
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile boolean disponible;
+        private volatile long retrasoMs = -1;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+    }
+
+    MonitorReplicas(HikariDataSource primario, List<HikariDataSource> poolsReplicas, long retrasoMaximoMs) {
+        this.primario = primario;
+        this.jdbcPrimario = new JdbcTemplate(primario);
+        this.retrasoMaximoMs = retrasoMaximoMs;
+        poolsReplicas.forEach(pool -> replicas.add(new Replica(pool)));
+    }
+
+    /**
+     * Actualiza el retraso de cada réplica. Hasta la primera medición ninguna
+     * réplica está disponible y las lecturas van al primario.
+     */
+    @Scheduled(fixedDelayString = "${replicas.intervalo-ms:1000}")
+    public void medir() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            try {
+                Long aplicada = replica.jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cambios", Long.class);
+                Timestamp pendiente = jdbcPrimario.queryForObject(
+                        "SELECT MIN(fecha) FROM cambios WHERE id > ?", Timestamp.class, aplicada);
+                long retraso = pendiente == null ? 0
+                        : Math.max(0, Duration.between(pendiente.toLocalDateTime(), LocalDateTime.now()).toMillis());
+                boolean disponible = retraso <= retrasoMaximoMs;
+                if (disponible != replica.disponible) {
+                    log.info("Réplica {} {} (retraso {} ms)", i, disponible ? "disponible" : "retirada", retraso);
+                }
+                replica.retrasoMs = retraso;
+                replica.disponible = disponible;
+            } catch (RuntimeException e) {
+                if (replica.disponible) {
+                    log.warn("Réplica {} retirada: no se pudo medir su retraso", i, e);
+                }
+                replica.retrasoMs = -1;
+                replica.disponible = false;
+            }
+        }
+    }
+
+    /**
+     * Clave del DataSource para la próxima lectura: una réplica disponible en
+     * ronda, o el primario si no hay ninguna.
+     */
+    Object elegir() {
+        int cantidad = replicas.size();
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int indice = (inicio + i) % cantidad;
+            if (replicas.get(indice).disponible) {
+                lecturasEnReplicas.incrementAndGet();
+                return indice;
+            }
+        }
+        lecturasEnPrimario.incrementAndGet();
+        return PRIMARIO;
+    }
+
+    DataSource primario() {
+        return primario;
+    }
+
+    List<DataSource> dataSourcesReplicas() {
+        return replicas.stream().<DataSource>map(replica -> replica.dataSource).toList();
+    }
+
+    /**
+     * @return Retraso medido de cada réplica en milisegundos, -1 si no respondió
+     */
+    public List<Long> retrasos() {
+        return replicas.stream().map(replica -> replica.retrasoMs).toList();
+    }
+
+    public long lecturasEnReplicas() {
+        return lecturasEnReplicas.get();
+    }
+
+    public long lecturasEnPrimario() {
+        return lecturasEnPrimario.get();
+    }
+
+    @PreDestroy
+    void cerrar() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primario.close();
+    }
+}
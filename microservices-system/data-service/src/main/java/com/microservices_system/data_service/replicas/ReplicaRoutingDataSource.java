@@ -0,0 +1,20 @@
+package com.microservices_system.data_service.replicas;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource de las transacciones de solo lectura: entrega conexiones de la
+ * réplica que elija {@link MonitorReplicas}, o del primario si ninguna está al día.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private final MonitorReplicas monitor;
+
+    ReplicaRoutingDataSource(MonitorReplicas monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return monitor.elegir();
+    }
+}
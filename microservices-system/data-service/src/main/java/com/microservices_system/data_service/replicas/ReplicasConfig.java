@@ -0,0 +1,78 @@
+package com.microservices_system.data_service.replicas;
+
+import com.microservices_system.data_service.pool.TelemetriaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Separa lecturas y escrituras: las transacciones de solo lectura
+ * ({@code @Transactional(readOnly = true)}) usan las réplicas de
+ * {@code replicas.urls} y el resto el primario de {@code spring.datasource}.
+ * La conexión real se obtiene recién en la primera sentencia, cuando ya se
+ * sabe si la transacción es de solo lectura. No se combina con sharding: ambas
+ * configuraciones declaran el DataSource principal y el arranque falla si las
+ * dos están habilitadas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replicas.habilitado", havingValue = "true")
+public class ReplicasConfig {
+
+    @Bean
+    public MonitorReplicas monitorReplicas(DataSourceProperties propiedades,
+                                           @Value("${replicas.urls}") List<String> urls,
+                                           @Value("${replicas.retraso-maximo-ms:1000}") long retrasoMaximoMs,
+                                           @Value("${sharding.habilitado:false}") boolean sharding,
+                                           TelemetriaPool telemetriaPool) {
+        if (sharding) {
+            throw new IllegalStateException("replicas.habilitado y sharding.habilitado no se pueden habilitar a la vez");
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("replicas.urls debe indicar al menos una réplica");
+        }
+        HikariDataSource primario = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primario.setPoolName("primario");
+        telemetriaPool.registrar(primario);
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            telemetriaPool.registrar(replica);
+            replicas.add(replica);
+        }
+        return new MonitorReplicas(primario, replicas, retrasoMaximoMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(MonitorReplicas monitor) {
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(MonitorReplicas.PRIMARIO, monitor.primario());
+        List<DataSource> replicas = monitor.dataSourcesReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            destinos.put(i, replicas.get(i));
+        }
+        ReplicaRoutingDataSource lecturas = new ReplicaRoutingDataSource(monitor);
+        lecturas.setTargetDataSources(destinos);
+        lecturas.setLenientFallback(false);
+        lecturas.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(monitor.primario());
+        dataSource.setReadOnlyDataSource(lecturas);
+        return dataSource;
+    }
+}
@@ -0,0 +1,22 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.entity.Cambio;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface CambioRepository extends JpaRepository<Cambio, Long> {
+    List<Cambio> findByVersionGreaterThanOrderByVersionAsc(Long desde, Limit cantidad);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Cambio> findByVersionIsNullOrderByIdAsc(Limit cantidad);
+
+    List<Cambio> findAllByOrderByIdAsc(Limit cantidad);
+
+    @Query("SELECT MAX(c.version) FROM Cambio c")
+    Long findUltimaVersion();
+}
@@ -0,0 +1,28 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.cache.CacheSegundoNivel;
+import com.microservices_system.data_service.entity.Categoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+    Boolean existsByNombreIgnoreCase(String nombre);
+
+    @Query("SELECT c.nombre FROM Categoria c")
+    List<String> findAllNombres();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheSegundoNivel.CONSULTAS)})
+    Optional<Categoria> findByNombreIgnoreCase(String nombre);
+
+    @Query("SELECT c FROM Categoria c WHERE LOWER(c.nombre) IN :nombres")
+    List<Categoria> findByNombreEnMinusculasIn(@Param("nombres") Collection<String> nombres);
+}
@@ -0,0 +1,18 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.entity.EstadoReporteInventario;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface EstadoReporteInventarioRepository extends JpaRepository<EstadoReporteInventario, Integer> {
+    /**
+     * Bloquea la marca de agua para que dos instancias no refresquen los reportes a la vez.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EstadoReporteInventario e WHERE e.id = 1")
+    Optional<EstadoReporteInventario> bloquear();
+}
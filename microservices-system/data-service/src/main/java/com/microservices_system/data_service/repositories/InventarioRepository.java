@@ -0,0 +1,67 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.dto.ResumenCategoria;
+import com.microservices_system.data_service.entity.Inventario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+public interface InventarioRepository extends JpaRepository<Inventario, Long> {
+    Optional<Inventario> findByProductoId(Long id);
+
+    @Query("SELECT i FROM Inventario i WHERE i.cantidad <= i.stockMinimo")
+    List<Inventario> findInventariosConStockBajo();
+
+    @Query("SELECT CASE WHEN i.cantidad >= :cantidadRequerida THEN true ELSE false END " +
+            "FROM Inventario i WHERE i.producto.id = :productoId")
+    Boolean tieneStockSuficiente(@Param("productoId") Long productoId,
+                                 @Param("cantidadRequerida") Integer cantidadRequerida);
+
+    List<Inventario> findByCantidad(Integer cantidad);
+
+    @Query("SELECT i FROM Inventario i JOIN FETCH i.producto")
+    List<Inventario> findAllWithProducto();
+
+    @Query("SELECT new com.microservices_system.data_service.dto.ResumenCategoria(" +
+            "c.id, c.nombre, COUNT(i.id), COALESCE(SUM(i.cantidad), 0L), COALESCE(SUM(i.cantidad * p.precio), 0BD), " +
+            "SUM(CASE WHEN i.cantidad <= i.stockMinimo THEN 1L ELSE 0L END)) " +
+            "FROM Categoria c LEFT JOIN c.productos p LEFT JOIN p.inventario i " +
+            "GROUP BY c.id, c.nombre ORDER BY c.nombre")
+    List<ResumenCategoria> resumirPorCategoria();
+
+    @Query(value = "SELECT p.id AS productoId, p.nombre AS nombre, c.id AS categoriaId, c.nombre AS categoria, " +
+            "i.cantidad AS cantidad, p.precio AS precio, i.cantidad * p.precio AS valor, " +
+            "ROW_NUMBER() OVER (ORDER BY i.cantidad * p.precio DESC, p.id) AS posicion " +
+            "FROM inventario i JOIN productos p ON p.id = i.producto_id " +
+            "LEFT JOIN categorias c ON c.id = p.categoria_id " +
+            "WHERE i.cantidad > 0 " +
+            "ORDER BY i.cantidad * p.precio DESC, p.id " +
+            "LIMIT :k", nativeQuery = true)
+    List<ValorStock> findTopPorValor(@Param("k") int k);
+
+    @Query(value = "SELECT productoId, nombre, categoriaId, categoria, cantidad, precio, valor, posicion FROM (" +
+            "SELECT p.id AS productoId, p.nombre AS nombre, c.id AS categoriaId, c.nombre AS categoria, " +
+            "i.cantidad AS cantidad, p.precio AS precio, i.cantidad * p.precio AS valor, " +
+            "ROW_NUMBER() OVER (PARTITION BY p.categoria_id ORDER BY i.cantidad * p.precio DESC, p.id) AS posicion " +
+            "FROM inventario i JOIN productos p ON p.id = i.producto_id " +
+            "LEFT JOIN categorias c ON c.id = p.categoria_id " +
+            "WHERE i.cantidad > 0) ranking " +
+            "WHERE posicion <= :k " +
+            "ORDER BY categoria, posicion", nativeQuery = true)
+    List<ValorStock> findTopPorValorPorCategoria(@Param("k") int k);
+
+    interface ValorStock {
+        Long getProductoId();
+        String getNombre();
+        Long getCategoriaId();
+        String getCategoria();
+        Integer getCantidad();
+        BigDecimal getPrecio();
+        BigDecimal getValor();
+        Integer getPosicion();
+    }
+}
@@ -0,0 +1,45 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.entity.MovimientoInventario;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MovimientoInventarioRepository extends JpaRepository<MovimientoInventario, Long> {
+    List<MovimientoInventario> findByProductoIdAndFechaBetweenOrderByIdAsc(Long productoId,
+                                                                          LocalDateTime desde,
+                                                                          LocalDateTime hasta);
+
+    @Query("SELECT COALESCE(SUM(m.cantidad), 0) AS total, COUNT(m) AS movimientos FROM MovimientoInventario m " +
+            "WHERE m.productoId = :productoId AND (m.secuencia > :desde OR m.secuencia IS NULL) AND m.fecha <= :fecha")
+    ResumenMovimientos resumirDesde(@Param("productoId") Long productoId,
+                                    @Param("desde") Long desde,
+                                    @Param("fecha") LocalDateTime fecha);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<MovimientoInventario> findBySecuenciaIsNullOrderByIdAsc(Limit cantidad);
+
+    @Query("SELECT MAX(m.secuencia) FROM MovimientoInventario m")
+    Long findUltimaSecuencia();
+
+    @Query("SELECT m.productoId AS productoId, SUM(m.cantidad) AS total, MAX(m.fecha) AS ultimaFecha " +
+            "FROM MovimientoInventario m WHERE m.secuencia > :desde AND m.secuencia <= :hasta GROUP BY m.productoId")
+    List<TramoMovimientos> agruparPorProducto(@Param("desde") Long desde, @Param("hasta") Long hasta);
+
+    interface ResumenMovimientos {
+        Long getTotal();
+        Long getMovimientos();
+    }
+
+    interface TramoMovimientos {
+        Long getProductoId();
+        Long getTotal();
+        LocalDateTime getUltimaFecha();
+    }
+}
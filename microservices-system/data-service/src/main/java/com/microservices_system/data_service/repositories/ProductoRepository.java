@@ -0,0 +1,53 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.entity.Producto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductoRepository extends JpaRepository<Producto, Long>, JpaSpecificationExecutor<Producto> {
+    Boolean existsByNombreIgnoreCase(String nombre);
+
+    @Query("SELECT p.nombre FROM Producto p")
+    List<String> findAllNombres();
+
+    @Query("SELECT e FROM Producto e LEFT JOIN FETCH e.inventario WHERE e.categoria.nombre = :nombreCategoria")
+    List<Producto> findByNombreCategoria(String nombreCategoria);
+
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.inventario WHERE p.id IN :ids")
+    List<Producto> findAllConInventarioByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.inventario")
+    List<Producto> findAllConInventario();
+
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.inventario WHERE LOWER(p.nombre) IN :nombres")
+    List<Producto> findConInventarioByNombreEnMinusculasIn(@Param("nombres") Collection<String> nombres);
+
+    @Query("SELECT p.id AS id, p.nombre AS nombre, p.descripcion AS descripcion FROM Producto p")
+    List<TextoProducto> findAllTextos();
+
+    interface TextoProducto {
+        Long getId();
+        String getNombre();
+        String getDescripcion();
+    }
+
+    @Query("SELECT p.id AS id, c.id AS categoriaId, p.precio AS precio, i.id AS inventarioId, " +
+            "i.cantidad AS cantidad, i.stockMinimo AS stockMinimo " +
+            "FROM Producto p LEFT JOIN p.categoria c LEFT JOIN p.inventario i ORDER BY p.id")
+    List<FacetasProducto> findAllFacetas();
+
+    interface FacetasProducto {
+        Long getId();
+        Long getCategoriaId();
+        BigDecimal getPrecio();
+        Long getInventarioId();
+        Integer getCantidad();
+        Integer getStockMinimo();
+    }
+}
@@ -0,0 +1,88 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.Producto;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Criterios componibles para filtrar productos en la base de datos. Cada método
+ * retorna null cuando el criterio no se indicó, de modo que se pueden combinar
+ * con {@link Specification#allOf} sin chequeos previos.
+ */
+public final class ProductoSpecifications {
+    private static final char ESCAPE = '\\';
+
+    private ProductoSpecifications() {
+    }
+
+    /**
+     * Nombre que contiene el fragmento, sin distinguir mayúsculas. Los comodines
+     * de LIKE en el fragmento se buscan de forma literal.
+     */
+    public static Specification<Producto> nombreContiene(String fragmento) {
+        if (fragmento == null || fragmento.isBlank()) {
+            return null;
+        }
+        String patron = "%" + escaparLike(fragmento.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("nombre")), patron, ESCAPE);
+    }
+
+    public static Specification<Producto> precioDesde(BigDecimal minimo) {
+        return minimo == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("precio"), minimo);
+    }
+
+    public static Specification<Producto> precioHasta(BigDecimal maximo) {
+        return maximo == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("precio"), maximo);
+    }
+
+    public static Specification<Producto> deCategoria(Long categoriaId) {
+        return categoriaId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("categoria").get("id"), categoriaId);
+    }
+
+    /**
+     * Productos con stock disponible (true) o sin inventario o con cantidad cero (false).
+     */
+    public static Specification<Producto> conStock(Boolean conStock) {
+        if (conStock == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> disponible = query.subquery(Long.class);
+            Root<Inventario> inventario = disponible.from(Inventario.class);
+            disponible.select(inventario.get("id"))
+                    .where(cb.equal(inventario.get("producto"), root), cb.greaterThan(inventario.get("cantidad"), 0));
+            return conStock ? cb.exists(disponible) : cb.not(cb.exists(disponible));
+        };
+    }
+
+    /**
+     * Carga el inventario en la misma consulta para evitar una consulta por producto.
+     * Solo aplica a consultas que retornan productos, no a las de conteo.
+     */
+    public static Specification<Producto> conInventario() {
+        return (root, query, cb) -> {
+            if (query != null && Producto.class.equals(query.getResultType())) {
+                root.fetch("inventario", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    private static String escaparLike(String texto) {
+        StringBuilder escapado = new StringBuilder(texto.length());
+        for (char c : texto.toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escapado.append(ESCAPE);
+            }
+            escapado.append(c);
+        }
+        return escapado.toString();
+    }
+}
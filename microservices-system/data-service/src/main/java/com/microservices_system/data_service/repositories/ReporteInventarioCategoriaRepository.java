@@ -0,0 +1,34 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.entity.ReporteInventarioCategoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface ReporteInventarioCategoriaRepository extends JpaRepository<ReporteInventarioCategoria, Long> {
+    String SQL_AGREGADOS = "INSERT INTO reporte_inventario_categorias " +
+            "(categoria_id, productos, unidades, valor, productos_stock_bajo) " +
+            "SELECT categoria_id, COUNT(*), SUM(cantidad), SUM(valor), " +
+            "SUM(CASE WHEN stock_bajo THEN 1 ELSE 0 END) FROM reporte_inventario_productos";
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reporte_inventario_categorias"))
+    @Query(value = "DELETE FROM reporte_inventario_categorias WHERE categoria_id IN (:categoriaIds)", nativeQuery = true)
+    int eliminarCategorias(@Param("categoriaIds") Collection<Long> categoriaIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reporte_inventario_categorias"))
+    @Query(value = SQL_AGREGADOS + " WHERE categoria_id IN (:categoriaIds) GROUP BY categoria_id", nativeQuery = true)
+    int agregarCategorias(@Param("categoriaIds") Collection<Long> categoriaIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reporte_inventario_categorias"))
+    @Query(value = SQL_AGREGADOS + " GROUP BY categoria_id", nativeQuery = true)
+    int agregarTodas();
+}
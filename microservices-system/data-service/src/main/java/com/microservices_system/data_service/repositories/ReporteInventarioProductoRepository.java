@@ -0,0 +1,49 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.entity.ReporteInventarioProducto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReporteInventarioProductoRepository extends JpaRepository<ReporteInventarioProducto, Long> {
+    String SQL_FILAS = "INSERT INTO reporte_inventario_productos (producto_id, inventario_id, categoria_id, categoria, " +
+            "nombre, cantidad, stock_minimo, precio, valor, stock_bajo, fecha_actualizacion) " +
+            "SELECT p.id, i.id, COALESCE(p.categoria_id, 0), c.nombre, p.nombre, COALESCE(i.cantidad, 0), " +
+            "i.stock_minimo, p.precio, COALESCE(i.cantidad * p.precio, 0), " +
+            "CASE WHEN i.cantidad <= i.stock_minimo THEN TRUE ELSE FALSE END, i.fecha_actualizacion " +
+            "FROM inventario i JOIN productos p ON p.id = i.producto_id " +
+            "LEFT JOIN categorias c ON c.id = p.categoria_id";
+
+    List<ReporteInventarioProducto> findByStockBajoTrueOrderByProductoIdAsc();
+
+    @Query("SELECT r.productoId FROM ReporteInventarioProducto r WHERE r.inventarioId IN :inventarioIds")
+    List<Long> findProductoIdsByInventarioIdIn(@Param("inventarioIds") Collection<Long> inventarioIds);
+
+    @Query("SELECT r.productoId FROM ReporteInventarioProducto r WHERE r.categoriaId IN :categoriaIds")
+    List<Long> findProductoIdsByCategoriaIdIn(@Param("categoriaIds") Collection<Long> categoriaIds);
+
+    @Query("SELECT DISTINCT r.categoriaId FROM ReporteInventarioProducto r WHERE r.productoId IN :productoIds")
+    List<Long> findCategoriaIdsByProductoIdIn(@Param("productoIds") Collection<Long> productoIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reporte_inventario_productos"))
+    @Query(value = "DELETE FROM reporte_inventario_productos WHERE producto_id IN (:productoIds)", nativeQuery = true)
+    int eliminarProductos(@Param("productoIds") Collection<Long> productoIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reporte_inventario_productos"))
+    @Query(value = SQL_FILAS + " WHERE p.id IN (:productoIds)", nativeQuery = true)
+    int materializarProductos(@Param("productoIds") Collection<Long> productoIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reporte_inventario_productos"))
+    @Query(value = SQL_FILAS, nativeQuery = true)
+    int materializarTodos();
+}
@@ -0,0 +1,23 @@
+package com.microservices_system.data_service.repositories;
+
+import com.microservices_system.data_service.entity.SnapshotInventario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SnapshotInventarioRepository extends JpaRepository<SnapshotInventario, Long> {
+    Optional<SnapshotInventario> findFirstByProductoIdAndFechaLessThanEqualOrderByUltimaSecuenciaDesc(Long productoId,
+                                                                                                     LocalDateTime fecha);
+
+    @Query("SELECT s FROM SnapshotInventario s WHERE s.productoId IN :productoIds AND s.ultimaSecuencia = " +
+            "(SELECT MAX(s2.ultimaSecuencia) FROM SnapshotInventario s2 WHERE s2.productoId = s.productoId)")
+    List<SnapshotInventario> findUltimosPorProducto(@Param("productoIds") Collection<Long> productoIds);
+
+    @Query("SELECT MAX(s.ultimaSecuencia) FROM SnapshotInventario s")
+    Long findUltimaSecuenciaCompactada();
+}
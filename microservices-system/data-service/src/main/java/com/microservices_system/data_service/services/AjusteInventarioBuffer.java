@@ -0,0 +1,238 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.AjusteInventarioRespuesta;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Acumula ajustes de stock (deltas) por producto durante una ventana corta y
+ * los aplica juntos: un único UPDATE sumado por producto, enviados todos en un
+ * mismo batch JDBC y una sola transacción, junto con sus movimientos en el
+ * libro mayor y sus entradas en el log de cambios. Cada solicitud se confirma cuando la transacción del lote que
+ * la contiene hace commit.
+ * <p>
+ * Dentro del lote los ajustes se evalúan en orden de llegada contra el stock
+ * leído (y bloqueado) al empezar la transacción: se rechaza solo el ajuste que
+ * dejaría el stock negativo o por encima del máximo, y los siguientes se
+ * evalúan sobre el stock que dejaron los aceptados.
+ * <p>
+ * Con sharding el lote se divide por el shard de cada producto y cada parte se
+ * aplica en una transacción en su shard.
+ */
+@Component
+@Slf4j
+public class AjusteInventarioBuffer {
+    static final String SQL_AJUSTE =
+            "UPDATE inventario SET cantidad = cantidad + ?, fecha_actualizacion = ?, " +
+            "version = COALESCE(version, 0) + 1 WHERE producto_id = ? AND cantidad + ? >= 0";
+    static final String SQL_STOCK = "SELECT producto_id, cantidad FROM inventario WHERE producto_id IN (%s) FOR UPDATE";
+    private static final int TAMANIO_CONSULTA_STOCK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final MovimientoInventarioService movimientoInventarioService;
+    private final CambioService cambioService;
+    private final EnrutadorShards enrutador;
+    private Map<Long, Lote> pendientes = new HashMap<>();
+
+    public AjusteInventarioBuffer(JdbcTemplate jdbcTemplate,
+                                  TransactionOperations transactionOperations,
+                                  MovimientoInventarioService movimientoInventarioService,
+                                  CambioService cambioService,
+                                  EnrutadorShards enrutador) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.movimientoInventarioService = movimientoInventarioService;
+        this.cambioService = cambioService;
+        this.enrutador = enrutador;
+    }
+
+    /**
+     * Registra un ajuste para el próximo lote.
+     *
+     * @param productoId Producto cuyo stock se ajusta
+     * @param delta      Variación de stock (positiva para entradas, negativa para salidas)
+     * @return Futuro que se completa cuando el lote se confirma en base de datos
+     */
+    public CompletableFuture<AjusteInventarioRespuesta> registrar(Long productoId, Integer delta) {
+        if (delta == null || delta == 0) {
+            throw new ValidacionNegocioException("El ajuste de stock debe ser distinto de cero");
+        }
+        CompletableFuture<AjusteInventarioRespuesta> confirmacion = new CompletableFuture<>();
+        synchronized (this) {
+            pendientes.computeIfAbsent(productoId, id -> new Lote()).agregar(delta, confirmacion);
+        }
+        return confirmacion;
+    }
+
+    /**
+     * Aplica todos los ajustes acumulados. Se ejecuta periódicamente según la ventana configurada.
+     */
+    @Scheduled(fixedDelayString = "${inventario.ajustes.ventana-ms:50}")
+    public void aplicarPendientes() {
+        Map<Long, Lote> lotes;
+        synchronized (this) {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            lotes = pendientes;
+            pendientes = new HashMap<>();
+        }
+
+        Map<Integer, Map<Long, Lote>> porShard = new TreeMap<>();
+        lotes.forEach((productoId, lote) -> porShard
+                .computeIfAbsent(enrutador.shardDeId(productoId), shard -> new HashMap<>())
+                .put(productoId, lote));
+        porShard.forEach((shard, lotesShard) -> enrutador.en(shard, () -> {
+            aplicar(lotesShard);
+            return null;
+        }));
+    }
+
+    /**
+     * Aplica en una transacción los ajustes de productos de un mismo shard.
+     */
+    private void aplicar(Map<Long, Lote> lotes) {
+        List<Long> productoIds = new ArrayList<>(lotes.keySet());
+        LocalDateTime ahora = LocalDateTime.now();
+
+        Map<Long, Integer> aplicados = new LinkedHashMap<>();
+        int[] filas;
+        try {
+            filas = transactionOperations.execute(status -> {
+                Map<Long, Integer> stock = leerStock(productoIds);
+                aplicados.clear();
+                List<Object[]> argumentos = new ArrayList<>();
+                for (Long productoId : productoIds) {
+                    int suma = lotes.get(productoId).resolver(productoId, stock.get(productoId));
+                    if (suma != 0) {
+                        aplicados.put(productoId, suma);
+                        argumentos.add(new Object[]{suma, ahora, productoId, suma});
+                    }
+                }
+                int[] actualizadas = jdbcTemplate.batchUpdate(SQL_AJUSTE, argumentos);
+                movimientoInventarioService.registrarLote(aplicados, ahora);
+                cambioService.registrarInventariosDeProductos(aplicados.keySet(), OperacionCambio.ACTUALIZACION, ahora);
+                return actualizadas;
+            });
+        } catch (RuntimeException e) {
+            log.error("Error al aplicar lote de {} ajustes de inventario", productoIds.size(), e);
+            lotes.values().forEach(lote -> lote.fallar(e));
+            return;
+        }
+
+        int fila = 0;
+        for (Long productoId : aplicados.keySet()) {
+            // Las filas están bloqueadas desde la lectura, así que el UPDATE no debería quedar sin efecto
+            if (!aplicado(filas[fila++])) {
+                lotes.remove(productoId).fallar(new ValidacionNegocioException(
+                        "No se pudo ajustar el inventario del producto " + productoId));
+            }
+        }
+        lotes.forEach((productoId, lote) -> lote.confirmar(productoId));
+        log.debug("Aplicado lote de ajustes de inventario para {} productos", productoIds.size());
+    }
+
+    /**
+     * Lee y bloquea el stock de los productos del lote, para que ningún otro
+     * cambio lo modifique entre la evaluación de los ajustes y el UPDATE.
+     */
+    private Map<Long, Integer> leerStock(List<Long> productoIds) {
+        Map<Long, Integer> stock = new HashMap<>(productoIds.size() * 2);
+        for (int inicio = 0; inicio < productoIds.size(); inicio += TAMANIO_CONSULTA_STOCK) {
+            List<Long> tramo = productoIds.subList(inicio, Math.min(inicio + TAMANIO_CONSULTA_STOCK, productoIds.size()));
+            String marcadores = String.join(", ", Collections.nCopies(tramo.size(), "?"));
+            RowCallbackHandler lector = fila -> stock.put(fila.getLong(1), fila.getInt(2));
+            jdbcTemplate.query(String.format(SQL_STOCK, marcadores), lector, tramo.toArray());
+        }
+        return stock;
+    }
+
+    private static boolean aplicado(int filas) {
+        return filas > 0 || filas == Statement.SUCCESS_NO_INFO;
+    }
+
+    @PreDestroy
+    public void vaciar() {
+        aplicarPendientes();
+    }
+
+    private static final class Lote {
+        private final List<Integer> deltas = new ArrayList<>();
+        private final List<CompletableFuture<AjusteInventarioRespuesta>> confirmaciones = new ArrayList<>();
+        /** Motivo de rechazo de cada ajuste; null si se aceptó. */
+        private ValidacionNegocioException[] rechazos;
+        private int suma;
+        private int aceptados;
+
+        private void agregar(int delta, CompletableFuture<AjusteInventarioRespuesta> confirmacion) {
+            deltas.add(delta);
+            confirmaciones.add(confirmacion);
+        }
+
+        /**
+         * Evalúa los ajustes en orden de llegada a partir del stock actual.
+         *
+         * @param stockActual Stock del producto, o null si no tiene inventario
+         * @return Suma de los ajustes aceptados
+         */
+        private int resolver(Long productoId, Integer stockActual) {
+            rechazos = new ValidacionNegocioException[deltas.size()];
+            suma = 0;
+            aceptados = 0;
+            long stock = stockActual != null ? stockActual : 0;
+            for (int i = 0; i < deltas.size(); i++) {
+                long resultado = stock + deltas.get(i);
+                if (stockActual == null) {
+                    rechazos[i] = new ValidacionNegocioException(
+                            "No se pudo ajustar el inventario del producto " + productoId + ": no existe");
+                } else if (resultado < 0) {
+                    rechazos[i] = new ValidacionNegocioException("No se pudo ajustar el inventario del producto " +
+                            productoId + ": el stock resultante sería negativo");
+                } else if (resultado > Integer.MAX_VALUE) {
+                    rechazos[i] = new ValidacionNegocioException("No se pudo ajustar el inventario del producto " +
+                            productoId + ": el stock resultante excede el máximo admitido");
+                } else {
+                    stock = resultado;
+                    suma += deltas.get(i);
+                    aceptados++;
+                }
+            }
+            return suma;
+        }
+
+        private void confirmar(Long productoId) {
+            for (int i = 0; i < confirmaciones.size(); i++) {
+                if (rechazos[i] != null) {
+                    confirmaciones.get(i).completeExceptionally(rechazos[i]);
+                } else {
+                    confirmaciones.get(i).complete(
+                            new AjusteInventarioRespuesta(productoId, deltas.get(i), suma, aceptados));
+                }
+            }
+        }
+
+        private void fallar(Throwable causa) {
+            confirmaciones.forEach(confirmacion -> confirmacion.completeExceptionally(causa));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.CambioEntidad;
+import com.microservices_system.data_service.dto.FeedCambios;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository.TextoProducto;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Búsqueda de texto libre sobre productos. Mantiene un {@link IndiceProductos}
+ * en memoria que se construye una vez desde la base de datos y se actualiza
+ * leyendo el feed de cambios, por lo que solo refleja escrituras confirmadas
+ * (incluidas las bajas en cascada al eliminar una categoría).
+ * Con sharding el índice cubre los productos de todos los shards.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class BusquedaProductoService {
+    static final int LIMITE_MAXIMO = 100;
+    private static final int TAMANIO_PAGINA_CAMBIOS = 1000;
+
+    private final ProductoRepository productoRepository;
+    private final CambioService cambioService;
+    private final EnrutadorShards enrutador;
+    private volatile IndiceProductos indice;
+    private long version;
+
+    public BusquedaProductoService(ProductoRepository productoRepository, CambioService cambioService,
+                                   EnrutadorShards enrutador) {
+        this.productoRepository = productoRepository;
+        this.cambioService = cambioService;
+        this.enrutador = enrutador;
+    }
+
+    /**
+     * Busca productos por nombre y descripción, ordenados por relevancia (BM25).
+     * Cada término de la consulta coincide también como prefijo, sin distinguir
+     * mayúsculas ni acentos.
+     *
+     * @param consulta Texto libre a buscar
+     * @param limite   Cantidad máxima de resultados
+     */
+    public List<Producto> buscar(String consulta, int limite) {
+        IndiceProductos actual = indice;
+        if (actual == null) {
+            sincronizar();
+            actual = indice;
+        }
+        List<Long> ids = actual.buscar(consulta, Math.min(limite, LIMITE_MAXIMO));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Producto> productos = enrutador
+                .reunir(() -> productoRepository.findAllById(ids), Comparator.comparing(Producto::getId)).stream()
+                .collect(Collectors.toMap(Producto::getId, Function.identity()));
+        return ids.stream()
+                .map(productos::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Aplica al índice los cambios de productos publicados desde la última sincronización.
+     * Construye el índice desde la base de datos la primera vez o cuando acumula demasiadas
+     * entradas huérfanas.
+     */
+    @Scheduled(fixedDelayString = "${busqueda.productos.intervalo-ms:1000}")
+    public synchronized void sincronizar() {
+        if (indice == null || indice.requiereReconstruccion()) {
+            reconstruir();
+        }
+        FeedCambios feed;
+        do {
+            feed = cambioService.obtenerCambios(version, TAMANIO_PAGINA_CAMBIOS);
+            for (CambioEntidad cambio : feed.getCambios()) {
+                if (cambio.getEntidad() != EntidadCambio.PRODUCTO) {
+                    continue;
+                }
+                if (cambio.getProducto() != null) {
+                    indice.indexar(cambio.getEntidadId(), cambio.getProducto().getNombre(),
+                            cambio.getProducto().getDescripcion());
+                } else {
+                    indice.eliminar(cambio.getEntidadId());
+                }
+            }
+            version = feed.getUltimaVersion();
+        } while (feed.isHayMas());
+    }
+
+    private void reconstruir() {
+        long versionInicial = cambioService.obtenerVersionVisible();
+        IndiceProductos nuevo = new IndiceProductos();
+        enrutador.reunir(productoRepository::findAllTextos, Comparator.comparing(TextoProducto::getId))
+                .forEach(texto -> nuevo.indexar(texto.getId(), texto.getNombre(), texto.getDescripcion()));
+        indice = nuevo;
+        version = versionInicial;
+        log.info("Índice de búsqueda de productos construido con {} productos", nuevo.tamanio());
+    }
+}
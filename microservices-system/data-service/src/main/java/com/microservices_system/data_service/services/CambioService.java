@@ -0,0 +1,278 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.CambioEntidad;
+import com.microservices_system.data_service.dto.CategoriaDatos;
+import com.microservices_system.data_service.dto.FeedCambios;
+import com.microservices_system.data_service.dto.InventarioDatos;
+import com.microservices_system.data_service.dto.ProductoDatos;
+import com.microservices_system.data_service.dto.SnapshotCatalogo;
+import com.microservices_system.data_service.entity.Cambio;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.repositories.CambioRepository;
+import com.microservices_system.data_service.repositories.CategoriaRepository;
+import com.microservices_system.data_service.repositories.InventarioRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Log de cambios de productos, categorías e inventario (patrón outbox).
+ * Cada escritura registra su cambio dentro de la misma transacción, por lo que
+ * el feed nunca publica cambios revertidos ni pierde cambios confirmados.
+ * Los datos de cada entidad se resuelven al leer el feed, en una consulta por
+ * tipo de entidad, y reflejan el estado actual.
+ * <p>
+ * La versión del feed no es el ID del cambio: una transacción que obtuvo un ID
+ * menor puede hacer commit después de otra con un ID mayor, y un consumidor que
+ * ya avanzó por encima de ese ID lo perdería. Los cambios se insertan sin versión
+ * y {@link #publicar()} les asigna versiones crecientes una vez confirmados, de
+ * modo que todo cambio que se vuelve visible recibe una versión mayor que las ya
+ * publicadas y el feed no tiene huecos.
+ * <p>
+ * Con sharding el feed es el del shard principal: las escrituras de los shards
+ * secundarios registran sus cambios en su propio shard y {@link RelevoCambios}
+ * los copia al principal, donde se publican como cualquier otro. Los productos e
+ * inventarios de cada cambio se leen de su shard.
+ */
+@Service
+@Transactional
+public class CambioService {
+    static final int LIMITE_MAXIMO = 1000;
+    static final int LOTE_PUBLICACION = 1000;
+    static final String SQL_CAMBIO =
+            "INSERT INTO cambios (entidad, entidad_id, operacion, fecha) VALUES (?, ?, ?, ?)";
+    static final String SQL_CAMBIO_INVENTARIO_POR_PRODUCTO =
+            "INSERT INTO cambios (entidad, entidad_id, operacion, fecha) " +
+            "SELECT 'INVENTARIO', id, ?, ? FROM inventario WHERE producto_id = ?";
+    static final String SQL_BAJA_PRODUCTOS_DE_CATEGORIA =
+            "INSERT INTO cambios (entidad, entidad_id, operacion, fecha) " +
+            "SELECT 'PRODUCTO', id, 'ELIMINACION', ? FROM productos WHERE categoria_id = ?";
+    static final String SQL_BAJA_INVENTARIOS_DE_CATEGORIA =
+            "INSERT INTO cambios (entidad, entidad_id, operacion, fecha) " +
+            "SELECT 'INVENTARIO', i.id, 'ELIMINACION', ? FROM inventario i " +
+            "JOIN productos p ON i.producto_id = p.id WHERE p.categoria_id = ?";
+    private static final Comparator<Producto> PRODUCTO_POR_ID = Comparator.comparing(Producto::getId);
+    private static final Comparator<Inventario> INVENTARIO_POR_ID = Comparator.comparing(Inventario::getId);
+
+    private final CambioRepository cambioRepository;
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final InventarioRepository inventarioRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EnrutadorShards enrutador;
+
+    public CambioService(CambioRepository cambioRepository,
+                         ProductoRepository productoRepository,
+                         CategoriaRepository categoriaRepository,
+                         InventarioRepository inventarioRepository,
+                         JdbcTemplate jdbcTemplate,
+                         EnrutadorShards enrutador) {
+        this.cambioRepository = cambioRepository;
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.inventarioRepository = inventarioRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enrutador = enrutador;
+    }
+
+    public void registrar(EntidadCambio entidad, Long entidadId, OperacionCambio operacion) {
+        if (entidadId == null) {
+            return;
+        }
+        cambioRepository.save(new Cambio(null, entidad, entidadId, operacion, LocalDateTime.now(), null));
+    }
+
+    /**
+     * Registra en un único batch JDBC un cambio por cada entidad indicada.
+     */
+    public void registrarLote(EntidadCambio entidad, Collection<Long> entidadIds, OperacionCambio operacion,
+                              LocalDateTime fecha) {
+        if (entidadIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> argumentos = new ArrayList<>(entidadIds.size());
+        for (Long entidadId : entidadIds) {
+            argumentos.add(new Object[]{entidad.name(), entidadId, operacion.name(), fecha});
+        }
+        jdbcTemplate.batchUpdate(SQL_CAMBIO, argumentos);
+    }
+
+    /**
+     * Registra en un único batch JDBC un cambio por cada inventario de los productos indicados.
+     * Lo usan las escrituras que trabajan por producto sin cargar la entidad Inventario.
+     */
+    public void registrarInventariosDeProductos(Collection<Long> productoIds, OperacionCambio operacion, LocalDateTime fecha) {
+        if (productoIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> argumentos = new ArrayList<>(productoIds.size());
+        for (Long productoId : productoIds) {
+            argumentos.add(new Object[]{operacion.name(), fecha, productoId});
+        }
+        jdbcTemplate.batchUpdate(SQL_CAMBIO_INVENTARIO_POR_PRODUCTO, argumentos);
+    }
+
+    /**
+     * Registra la baja de una categoría junto con la de sus productos e inventarios,
+     * que se eliminan en cascada. Debe invocarse antes de borrar la categoría.
+     */
+    public void registrarBajaCategoria(Long categoriaId) {
+        LocalDateTime ahora = LocalDateTime.now();
+        jdbcTemplate.update(SQL_BAJA_INVENTARIOS_DE_CATEGORIA, ahora, categoriaId);
+        jdbcTemplate.update(SQL_BAJA_PRODUCTOS_DE_CATEGORIA, ahora, categoriaId);
+        registrar(EntidadCambio.CATEGORIA, categoriaId, OperacionCambio.ELIMINACION);
+    }
+
+    /**
+     * Asigna versión a los cambios confirmados que todavía no la tienen, en orden
+     * de ID, a continuación de la última versión publicada. Un cambio cuya
+     * transacción todavía no hizo commit no es visible acá y recibe su versión en
+     * una pasada posterior, siempre mayor que cualquiera que un consumidor ya haya
+     * leído. Si otra instancia publica a la vez, la restricción única sobre la
+     * versión hace fallar a una de las dos, que reintenta en la próxima pasada.
+     *
+     * @return Cantidad de cambios publicados
+     */
+    @Scheduled(fixedDelayString = "${cambios.publicacion-ms:100}")
+    public int publicar() {
+        int publicados = 0;
+        List<Cambio> pendientes;
+        do {
+            pendientes = cambioRepository.findByVersionIsNullOrderByIdAsc(Limit.of(LOTE_PUBLICACION));
+            if (pendientes.isEmpty()) {
+                break;
+            }
+            long version = ultimaVersion();
+            for (Cambio cambio : pendientes) {
+                cambio.setVersion(++version);
+            }
+            cambioRepository.flush();
+            publicados += pendientes.size();
+        } while (pendientes.size() == LOTE_PUBLICACION);
+        return publicados;
+    }
+
+    /**
+     * Obtiene los cambios publicados posteriores a una versión.
+     *
+     * @param desde  Última versión ya procesada por el consumidor (0 para empezar)
+     * @param limite Cantidad máxima de cambios a retornar
+     */
+    @Transactional(readOnly = true)
+    public FeedCambios obtenerCambios(long desde, int limite) {
+        int tamanio = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        List<Cambio> cambios = cambioRepository.findByVersionGreaterThanOrderByVersionAsc(
+                desde, Limit.of(tamanio + 1));
+        boolean hayMas = cambios.size() > tamanio;
+        if (hayMas) {
+            cambios = cambios.subList(0, tamanio);
+        }
+
+        Set<Long> productoIds = ids(cambios, EntidadCambio.PRODUCTO);
+        Set<Long> inventarioIds = ids(cambios, EntidadCambio.INVENTARIO);
+        Map<Long, ProductoDatos> productos = enrutador
+                .reunir(() -> productoRepository.findAllConInventarioByIdIn(productoIds), PRODUCTO_POR_ID).stream()
+                .map(CambioService::datos)
+                .collect(Collectors.toMap(ProductoDatos::getId, Function.identity()));
+        Map<Long, CategoriaDatos> categorias = categoriaRepository
+                .findAllById(ids(cambios, EntidadCambio.CATEGORIA)).stream()
+                .map(CambioService::datos)
+                .collect(Collectors.toMap(CategoriaDatos::getId, Function.identity()));
+        Map<Long, InventarioDatos> inventarios = enrutador
+                .reunir(() -> inventarioRepository.findAllById(inventarioIds), INVENTARIO_POR_ID).stream()
+                .map(CambioService::datos)
+                .collect(Collectors.toMap(InventarioDatos::getId, Function.identity()));
+
+        List<CambioEntidad> entradas = new ArrayList<>(cambios.size());
+        for (Cambio cambio : cambios) {
+            CambioEntidad entrada = new CambioEntidad(cambio.getVersion(), cambio.getEntidad(), cambio.getEntidadId(),
+                    cambio.getOperacion(), cambio.getFecha(), null, null, null);
+            if (cambio.getOperacion() != OperacionCambio.ELIMINACION) {
+                switch (cambio.getEntidad()) {
+                    case PRODUCTO -> entrada.setProducto(productos.get(cambio.getEntidadId()));
+                    case CATEGORIA -> entrada.setCategoria(categorias.get(cambio.getEntidadId()));
+                    case INVENTARIO -> entrada.setInventario(inventarios.get(cambio.getEntidadId()));
+                }
+            }
+            entradas.add(entrada);
+        }
+        long ultimaVersion = cambios.isEmpty() ? desde : cambios.get(cambios.size() - 1).getVersion();
+        return new FeedCambios(entradas, ultimaVersion, hayMas);
+    }
+
+    /**
+     * Obtiene el estado completo del catálogo junto con la versión del feed desde la
+     * que continuar. La versión se toma antes de leer las entidades, de modo que todo
+     * cambio no reflejado en el snapshot tiene una versión mayor y llega por el feed.
+     */
+    @Transactional(readOnly = true)
+    public SnapshotCatalogo obtenerSnapshot() {
+        long version = obtenerVersionVisible();
+        List<CategoriaDatos> categorias = categoriaRepository.findAll().stream()
+                .map(CambioService::datos)
+                .toList();
+        List<ProductoDatos> productos = enrutador.reunir(productoRepository::findAllConInventario, PRODUCTO_POR_ID).stream()
+                .map(CambioService::datos)
+                .toList();
+        List<InventarioDatos> inventarios = enrutador.reunir(inventarioRepository::findAll, INVENTARIO_POR_ID).stream()
+                .map(CambioService::datos)
+                .toList();
+        return new SnapshotCatalogo(version, categorias, productos, inventarios);
+    }
+
+    /**
+     * Última versión publicada del feed. Quien lea el estado actual de las
+     * entidades después de obtenerla puede continuar el feed desde ella sin perder
+     * cambios: los que todavía no se publicaron recibirán una versión mayor.
+     */
+    @Transactional(readOnly = true)
+    public long obtenerVersionVisible() {
+        return ultimaVersion();
+    }
+
+    private long ultimaVersion() {
+        Long version = cambioRepository.findUltimaVersion();
+        return version != null ? version : 0L;
+    }
+
+    private static Set<Long> ids(List<Cambio> cambios, EntidadCambio entidad) {
+        return cambios.stream()
+                .filter(cambio -> cambio.getEntidad() == entidad && cambio.getOperacion() != OperacionCambio.ELIMINACION)
+                .map(Cambio::getEntidadId)
+                .collect(Collectors.toSet());
+    }
+
+    private static ProductoDatos datos(Producto producto) {
+        Long categoriaId = producto.getCategoria() != null ? producto.getCategoria().getId() : null;
+        return new ProductoDatos(producto.getId(), producto.getNombre(), producto.getDescripcion(),
+                producto.getPrecio(), categoriaId);
+    }
+
+    private static CategoriaDatos datos(Categoria categoria) {
+        return new CategoriaDatos(categoria.getId(), categoria.getNombre(), categoria.getDescripcion());
+    }
+
+    private static InventarioDatos datos(Inventario inventario) {
+        Long productoId = inventario.getProducto() != null ? inventario.getProducto().getId() : null;
+        return new InventarioDatos(inventario.getId(), productoId, inventario.getCantidad(),
+                inventario.getStockMinimo(), inventario.getFechaActualizacion());
+    }
+}
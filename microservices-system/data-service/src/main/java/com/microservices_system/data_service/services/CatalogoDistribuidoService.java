@@ -0,0 +1,182 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ProductoDuplicadoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.ResumenCategoria;
+import com.microservices_system.data_service.dto.StockHistorico;
+import com.microservices_system.data_service.dto.ValorStockProducto;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.MovimientoInventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Punto de entrada de productos e inventario cuando los datos pueden estar
+ * repartidos en shards ({@link EnrutadorShards}). Las operaciones sobre un
+ * producto se dirigen a su shard; los listados se consultan en todos los shards
+ * en paralelo y se unen ordenados por ID. No es transaccional: cada operación
+ * abre su transacción en el shard que corresponde.
+ * <p>
+ * Las categorías se administran en el shard principal y se copian al shard de
+ * sus productos la primera vez que se guarda uno ahí. Los movimientos de
+ * inventario de un producto viven en su shard; los agregados (resumen por
+ * categoría, ranking por valor) se calculan en cada shard y se combinan acá.
+ */
+@Service
+public class CatalogoDistribuidoService {
+    private final ProductoService productoService;
+    private final InventarioService inventarioService;
+    private final ProductoRepository productoRepository;
+    private final EnrutadorShards enrutador;
+    private final FiltroNombres filtroNombres;
+
+    public CatalogoDistribuidoService(ProductoService productoService,
+                                      InventarioService inventarioService,
+                                      ProductoRepository productoRepository,
+                                      EnrutadorShards enrutador,
+                                      FiltroNombres filtroNombres) {
+        this.productoService = productoService;
+        this.inventarioService = inventarioService;
+        this.productoRepository = productoRepository;
+        this.enrutador = enrutador;
+        this.filtroNombres = filtroNombres;
+    }
+
+    public Producto guardar(Producto producto) {
+        if (enrutador.cantidad() > 1 && filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, producto.getNombre(),
+                () -> enrutador.enTodos(() -> productoRepository.existsByNombreIgnoreCase(producto.getNombre()))
+                        .contains(Boolean.TRUE))) {
+            throw new ProductoDuplicadoException("El producto ya está registrado: " + producto.getNombre());
+        }
+        int shard = enrutador.shardDeCategoria(categoriaId(producto));
+        copiarCategoria(producto, shard);
+        return enrutador.en(shard, () -> productoService.guardar(producto));
+    }
+
+    public Producto buscarPorId(Long id) {
+        return enrutador.en(enrutador.shardDeId(id), () -> productoService.buscarPorId(id));
+    }
+
+    public List<Producto> obtenerTodos() {
+        return enrutador.reunir(productoService::obtenerTodos, Comparator.comparing(Producto::getId));
+    }
+
+    public List<Producto> buscarPorCategoria(String nombreCategoria) {
+        return enrutador.reunir(() -> productoService.buscarPorCategoria(nombreCategoria),
+                Comparator.comparing(Producto::getId));
+    }
+
+    /**
+     * Actualiza el producto en su shard. La categoría nueva debe pertenecer al
+     * mismo shard: mover un producto entre shards cambiaría su ID.
+     */
+    public Producto actualizar(Long id, Producto producto) {
+        int shard = enrutador.shardDeId(id);
+        if (enrutador.shardDeCategoria(categoriaId(producto)) != shard) {
+            throw new ValidacionNegocioException(
+                    "La categoría indicada pertenece a otro shard; no se puede mover el producto " + id);
+        }
+        copiarCategoria(producto, shard);
+        return enrutador.en(shard, () -> productoService.actualizar(id, producto));
+    }
+
+    public void eliminar(Long id) {
+        enrutador.en(enrutador.shardDeId(id), () -> {
+            productoService.eliminar(id);
+            return null;
+        });
+    }
+
+    public List<Inventario> obtenerInventarios() {
+        return enrutador.reunir(inventarioService::obtenerTodos, Comparator.comparing(Inventario::getId));
+    }
+
+    public List<Inventario> obtenerProductosConStockBajo() {
+        return enrutador.reunir(inventarioService::obtenerProductosConStockBajo,
+                Comparator.comparing(Inventario::getId));
+    }
+
+    public List<MovimientoInventario> obtenerMovimientos(Long productoId, LocalDateTime desde, LocalDateTime hasta) {
+        return enrutador.en(enrutador.shardDeId(productoId),
+                () -> inventarioService.obtenerMovimientos(productoId, desde, hasta));
+    }
+
+    public StockHistorico obtenerStockEn(Long productoId, LocalDateTime fecha) {
+        return enrutador.en(enrutador.shardDeId(productoId), () -> inventarioService.obtenerStockEn(productoId, fecha));
+    }
+
+    /**
+     * Suma el resumen de cada shard por categoría. Todos los shards conocen las
+     * categorías de sus productos; el principal, además, las que no tienen ninguno.
+     */
+    public List<ResumenCategoria> obtenerResumenPorCategoria() {
+        if (enrutador.cantidad() == 1) {
+            return inventarioService.obtenerResumenPorCategoria();
+        }
+        Map<Long, ResumenCategoria> porCategoria = new LinkedHashMap<>();
+        for (List<ResumenCategoria> resumenes : enrutador.enTodos(inventarioService::obtenerResumenPorCategoria)) {
+            for (ResumenCategoria resumen : resumenes) {
+                porCategoria.merge(resumen.getCategoriaId(), resumen, (total, parcial) -> new ResumenCategoria(
+                        total.getCategoriaId(), total.getCategoria(),
+                        total.getProductos() + parcial.getProductos(),
+                        total.getUnidades() + parcial.getUnidades(),
+                        total.getValor().add(parcial.getValor()),
+                        total.getProductosStockBajo() + parcial.getProductosStockBajo()));
+            }
+        }
+        List<ResumenCategoria> resumenes = new ArrayList<>(porCategoria.values());
+        resumenes.sort(Comparator.comparing(ResumenCategoria::getCategoria));
+        return resumenes;
+    }
+
+    /**
+     * Une los K primeros de cada shard y se queda con los K primeros del total (o
+     * de cada categoría), con el mismo orden y desempate que la consulta de un shard.
+     */
+    public List<ValorStockProducto> obtenerTopPorValor(int k, boolean porCategoria) {
+        if (enrutador.cantidad() == 1) {
+            return inventarioService.obtenerTopPorValor(k, porCategoria);
+        }
+        Comparator<ValorStockProducto> orden = Comparator.comparing(ValorStockProducto::getValor).reversed()
+                .thenComparing(ValorStockProducto::getProductoId);
+        if (porCategoria) {
+            orden = Comparator.comparing(ValorStockProducto::getCategoria, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(ValorStockProducto::getCategoriaId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+                    .thenComparing(orden);
+        }
+        List<ValorStockProducto> unidos = enrutador.reunir(() -> inventarioService.obtenerTopPorValor(k, porCategoria), orden);
+        List<ValorStockProducto> top = new ArrayList<>();
+        Long grupo = null;
+        int posicion = 0;
+        for (ValorStockProducto fila : unidos) {
+            if (porCategoria && (posicion == 0 || !Objects.equals(grupo, fila.getCategoriaId()))) {
+                grupo = fila.getCategoriaId();
+                posicion = 0;
+            }
+            if (posicion < k) {
+                fila.setPosicion(++posicion);
+                top.add(fila);
+            }
+        }
+        return top;
+    }
+
+    private void copiarCategoria(Producto producto, int shard) {
+        enrutador.copiarCategoria(categoriaId(producto), shard);
+    }
+
+    private static Long categoriaId(Producto producto) {
+        return producto.getCategoria() != null ? producto.getCategoria().getId() : null;
+    }
+}
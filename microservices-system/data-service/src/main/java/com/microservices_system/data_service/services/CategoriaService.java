@@ -0,0 +1,97 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.CategoriaDuplicadaException;
+import com.microservices_system.business_service.exceptions.CategoriaNoEncontradaException;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.repositories.CategoriaRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional
+public class CategoriaService {
+    private final CategoriaRepository categoriaRepository;
+    private final CambioService cambioService;
+    private final FiltroNombres filtroNombres;
+    private final MovimientoInventarioService movimientoInventarioService;
+
+    public CategoriaService(CategoriaRepository categoriaRepository, CambioService cambioService,
+                            FiltroNombres filtroNombres, MovimientoInventarioService movimientoInventarioService) {
+        this.categoriaRepository = categoriaRepository;
+        this.cambioService = cambioService;
+        this.filtroNombres = filtroNombres;
+        this.movimientoInventarioService = movimientoInventarioService;
+    }
+
+    public Categoria guardar(Categoria categoria) {
+        if (filtroNombres.existe(FiltroNombres.Tabla.CATEGORIAS, categoria.getNombre(),
+                () -> categoriaRepository.existsByNombreIgnoreCase(categoria.getNombre()))) {
+            throw new CategoriaDuplicadaException("La categoría ya está registrada: " + categoria.getNombre());
+        }
+        Categoria guardada;
+        try {
+            guardada = categoriaRepository.save(categoria);
+        } catch (DataIntegrityViolationException e) {
+            if (!ViolacionUnicidad.es(e)) {
+                throw e;
+            }
+            // Alta concurrente del mismo nombre, o de otra instancia que el filtro aún no conoce
+            throw new CategoriaDuplicadaException("La categoría ya está registrada: " + categoria.getNombre());
+        }
+        filtroNombres.agregar(FiltroNombres.Tabla.CATEGORIAS, guardada.getNombre());
+        cambioService.registrar(EntidadCambio.CATEGORIA, guardada.getId(), OperacionCambio.CREACION);
+        return guardada;
+    }
+
+    @Transactional(readOnly = true)
+    public Categoria buscarPorId(Long id) {
+        return categoriaRepository.findById(id)
+                .orElseThrow(() -> new CategoriaNoEncontradaException("Categoría no encontrada con ID: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Categoria buscarPorNombre(String nombre) {
+        return categoriaRepository.findByNombreIgnoreCase(nombre)
+                .orElseThrow(() -> new CategoriaNoEncontradaException("Categoría no encontrada con nombre: " + nombre));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Categoria> obtenerTodas() {
+        return categoriaRepository.findAll();
+    }
+
+    public Categoria actualizar(Long id, Categoria categoria) {
+        if (!categoriaRepository.existsById(id)) {
+            throw new CategoriaNoEncontradaException("Categoría no encontrada con ID: " + id);
+        }
+        categoria.setId(id);
+        Categoria actualizada;
+        try {
+            // El flush hace que la restricción única falle acá y no al confirmar la transacción
+            actualizada = categoriaRepository.saveAndFlush(categoria);
+        } catch (DataIntegrityViolationException e) {
+            if (!ViolacionUnicidad.es(e)) {
+                throw e;
+            }
+            throw new CategoriaDuplicadaException("La categoría ya está registrada: " + categoria.getNombre());
+        }
+        filtroNombres.agregar(FiltroNombres.Tabla.CATEGORIAS, actualizada.getNombre());
+        cambioService.registrar(EntidadCambio.CATEGORIA, id, OperacionCambio.ACTUALIZACION);
+        return actualizada;
+    }
+
+    public void eliminar(Long id) {
+        if (!categoriaRepository.existsById(id)) {
+            throw new CategoriaNoEncontradaException("Categoría no encontrada con ID: " + id);
+        }
+        cambioService.registrarBajaCategoria(id);
+        movimientoInventarioService.registrarBajaCategoria(id);
+        categoriaRepository.deleteById(id);
+    }
+}
\ No newline at end of file
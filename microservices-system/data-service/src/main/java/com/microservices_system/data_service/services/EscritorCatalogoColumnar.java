@@ -0,0 +1,203 @@
+package com.microservices_system.data_service.services;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escribe el catálogo en formato columnar binario, por bloques de filas.
+ * <p>
+ * Formato (enteros variables en LEB128; los con signo en zigzag):
+ * <pre>
+ * archivo := "CATX" version:u8 escalaPrecio:u8 versionCambios:varlong bloque* 0:varint
+ * bloque  := filas:varint
+ *            nuevasCategorias:varint texto*          entradas que se agregan al diccionario
+ *            id:varlong-zigzag[filas]                 delta respecto del ID anterior
+ *            categoria:empaquetado[filas]             índice en el diccionario, 0 = sin categoría
+ *            precio:varlong-zigzag[filas]             precio * 10^escalaPrecio
+ *            conInventario:bitmap[filas]
+ *            cantidad:empaquetado[conInventario]      solo filas con inventario
+ *            stockMinimo:empaquetado[conInventario]
+ *            nombre:texto[filas]
+ *            descripcion:texto-nulable[filas]
+ * empaquetado := ancho:u8 bits(ancho * n, LSB primero, zigzag)
+ * texto := largo:varint utf8   texto-nulable := (largo + 1):varint utf8, 0 = null
+ * </pre>
+ * El diccionario de categorías es acumulativo: un bloque solo trae los nombres
+ * que no aparecieron en bloques anteriores. {@code versionCambios} es la versión
+ * del feed de cambios desde la que se puede seguir leyendo, igual que en
+ * {@code GET /data/cambios/snapshot}.
+ */
+final class EscritorCatalogoColumnar {
+    static final byte[] MAGIA = {'C', 'A', 'T', 'X'};
+    static final int VERSION = 1;
+    static final int ESCALA_PRECIO = 2;
+    static final int TAMANIO_BLOQUE = 4096;
+
+    private final DataOutputStream salida;
+    private final Map<String, Integer> diccionario = new HashMap<>();
+    private final List<String> nuevasCategorias = new ArrayList<>();
+    private final long[] ids = new long[TAMANIO_BLOQUE];
+    private final int[] categorias = new int[TAMANIO_BLOQUE];
+    private final long[] precios = new long[TAMANIO_BLOQUE];
+    private final boolean[] conInventario = new boolean[TAMANIO_BLOQUE];
+    private final int[] cantidades = new int[TAMANIO_BLOQUE];
+    private final int[] stockMinimos = new int[TAMANIO_BLOQUE];
+    private final String[] nombres = new String[TAMANIO_BLOQUE];
+    private final String[] descripciones = new String[TAMANIO_BLOQUE];
+    private int filas;
+    private int filasConInventario;
+    private long ultimoId;
+    private long totalFilas;
+
+    EscritorCatalogoColumnar(OutputStream salida, long versionCambios) throws IOException {
+        this.salida = new DataOutputStream(new BufferedOutputStream(salida, 64 * 1024));
+        this.salida.write(MAGIA);
+        this.salida.writeByte(VERSION);
+        this.salida.writeByte(ESCALA_PRECIO);
+        escribirVarLong(versionCambios);
+    }
+
+    void agregar(long id, String nombre, String descripcion, BigDecimal precio, String categoria,
+                 Integer cantidad, Integer stockMinimo) throws IOException {
+        ids[filas] = id;
+        nombres[filas] = nombre;
+        descripciones[filas] = descripcion;
+        precios[filas] = precio != null ? precio.movePointRight(ESCALA_PRECIO).longValueExact() : 0L;
+        categorias[filas] = categoria != null ? indiceCategoria(categoria) : 0;
+        conInventario[filas] = cantidad != null;
+        if (cantidad != null) {
+            cantidades[filasConInventario] = cantidad;
+            stockMinimos[filasConInventario] = stockMinimo != null ? stockMinimo : 0;
+            filasConInventario++;
+        }
+        if (++filas == TAMANIO_BLOQUE) {
+            escribirBloque();
+        }
+    }
+
+    /**
+     * Escribe el bloque pendiente y la marca de fin, y vacía el buffer. No cierra la salida.
+     *
+     * @return Cantidad de filas escritas
+     */
+    long terminar() throws IOException {
+        if (filas > 0) {
+            escribirBloque();
+        }
+        escribirVarLong(0);
+        salida.flush();
+        return totalFilas;
+    }
+
+    private int indiceCategoria(String categoria) {
+        Integer indice = diccionario.get(categoria);
+        if (indice == null) {
+            indice = diccionario.size() + 1;
+            diccionario.put(categoria, indice);
+            nuevasCategorias.add(categoria);
+        }
+        return indice;
+    }
+
+    private void escribirBloque() throws IOException {
+        escribirVarLong(filas);
+        escribirVarLong(nuevasCategorias.size());
+        for (String categoria : nuevasCategorias) {
+            escribirTexto(categoria);
+        }
+        nuevasCategorias.clear();
+
+        for (int i = 0; i < filas; i++) {
+            escribirVarLong(zigzag(ids[i] - ultimoId));
+            ultimoId = ids[i];
+        }
+        escribirEmpaquetados(categorias, filas);
+        for (int i = 0; i < filas; i++) {
+            escribirVarLong(zigzag(precios[i]));
+        }
+        escribirBitmap(conInventario, filas);
+        escribirEmpaquetados(cantidades, filasConInventario);
+        escribirEmpaquetados(stockMinimos, filasConInventario);
+        for (int i = 0; i < filas; i++) {
+            escribirTexto(nombres[i]);
+        }
+        for (int i = 0; i < filas; i++) {
+            if (descripciones[i] == null) {
+                escribirVarLong(0);
+            } else {
+                byte[] bytes = descripciones[i].getBytes(StandardCharsets.UTF_8);
+                escribirVarLong(bytes.length + 1L);
+                salida.write(bytes);
+            }
+        }
+
+        totalFilas += filas;
+        filas = 0;
+        filasConInventario = 0;
+    }
+
+    private void escribirEmpaquetados(int[] valores, int cantidad) throws IOException {
+        int union = 0;
+        for (int i = 0; i < cantidad; i++) {
+            union |= zigzag(valores[i]);
+        }
+        int ancho = 32 - Integer.numberOfLeadingZeros(union);
+        salida.writeByte(ancho);
+        long acumulado = 0;
+        int bits = 0;
+        for (int i = 0; i < cantidad; i++) {
+            acumulado |= (zigzag(valores[i]) & 0xFFFFFFFFL) << bits;
+            bits += ancho;
+            while (bits >= 8) {
+                salida.writeByte((int) acumulado);
+                acumulado >>>= 8;
+                bits -= 8;
+            }
+        }
+        if (bits > 0) {
+            salida.writeByte((int) acumulado);
+        }
+    }
+
+    private void escribirBitmap(boolean[] valores, int cantidad) throws IOException {
+        for (int inicio = 0; inicio < cantidad; inicio += 8) {
+            int octeto = 0;
+            for (int i = inicio; i < Math.min(inicio + 8, cantidad); i++) {
+                if (valores[i]) {
+                    octeto |= 1 << (i - inicio);
+                }
+            }
+            salida.writeByte(octeto);
+        }
+    }
+
+    private void escribirTexto(String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escribirVarLong(bytes.length);
+        salida.write(bytes);
+    }
+
+    private void escribirVarLong(long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            salida.writeByte((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.writeByte((int) valor);
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static int zigzag(int valor) {
+        return (valor << 1) ^ (valor >> 31);
+    }
+}
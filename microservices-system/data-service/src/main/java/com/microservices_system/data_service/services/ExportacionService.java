@@ -0,0 +1,91 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Exportación del catálogo con su inventario en formato columnar
+ * ({@link EscritorCatalogoColumnar}) para procesos de análisis. Las filas se
+ * leen con un cursor de solo lectura y solo avance, de a {@code tamanioFetch}
+ * filas, y se escriben por bloques: la memoria no depende del tamaño del catálogo.
+ * Con sharding se recorren los shards de a uno, cada uno con su cursor.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class ExportacionService {
+    static final String SQL_CATALOGO = "SELECT p.id, p.nombre, p.descripcion, p.precio, c.nombre AS categoria, " +
+            "i.cantidad, i.stock_minimo FROM productos p " +
+            "LEFT JOIN categorias c ON c.id = p.categoria_id " +
+            "LEFT JOIN inventario i ON i.producto_id = p.id " +
+            "ORDER BY p.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CambioService cambioService;
+    private final EnrutadorShards enrutador;
+    private final TransactionTemplate lectura;
+    private final int tamanioFetch;
+
+    public ExportacionService(JdbcTemplate jdbcTemplate,
+                              CambioService cambioService,
+                              EnrutadorShards enrutador,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${exportacion.tamanio-fetch:1000}") int tamanioFetch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cambioService = cambioService;
+        this.enrutador = enrutador;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.tamanioFetch = Math.max(1, tamanioFetch);
+    }
+
+    /**
+     * Escribe el catálogo completo, ordenado por ID de producto (con sharding,
+     * ordenado dentro de cada shard y un shard a continuación del otro). La salida no se cierra.
+     *
+     * @param salida Destino del archivo
+     * @return Cantidad de productos exportados
+     */
+    public long exportarCatalogo(OutputStream salida) throws IOException {
+        long versionCambios = cambioService.obtenerVersionVisible();
+        EscritorCatalogoColumnar escritor = new EscritorCatalogoColumnar(salida, versionCambios);
+        try {
+            enrutador.enCadaShard(shard -> lectura.executeWithoutResult(estado -> exportar(escritor)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long filas = escritor.terminar();
+        log.info("Catálogo exportado en formato columnar: {} productos, versión de cambios {}", filas, versionCambios);
+        return filas;
+    }
+
+    private void exportar(EscritorCatalogoColumnar escritor) {
+        jdbcTemplate.query(conexion -> {
+            PreparedStatement sentencia = conexion.prepareStatement(SQL_CATALOGO,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            sentencia.setFetchSize(tamanioFetch);
+            return sentencia;
+        }, (RowCallbackHandler) fila -> {
+            try {
+                escritor.agregar(fila.getLong(1), fila.getString(2), fila.getString(3),
+                        fila.getBigDecimal(4), fila.getString(5),
+                        fila.getObject(6, Integer.class), fila.getObject(7, Integer.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
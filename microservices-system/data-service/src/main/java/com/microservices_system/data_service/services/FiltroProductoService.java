@@ -0,0 +1,151 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.CambioEntidad;
+import com.microservices_system.data_service.dto.EstadoStock;
+import com.microservices_system.data_service.dto.FeedCambios;
+import com.microservices_system.data_service.dto.InventarioDatos;
+import com.microservices_system.data_service.dto.ProductoDatos;
+import com.microservices_system.data_service.dto.ResultadoFiltroProductos;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository.FacetasProducto;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filtrado de productos por categoría, rango de precio y estado de stock con
+ * conteos por faceta. Mantiene un {@link IndiceFacetas} en memoria que se
+ * construye una vez desde la base de datos y se actualiza leyendo el feed de
+ * cambios de productos e inventario. Con sharding el índice cubre los
+ * productos de todos los shards.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class FiltroProductoService {
+    static final int TAMANIO_MAXIMO = 100;
+    private static final int TAMANIO_PAGINA_CAMBIOS = 1000;
+
+    private final ProductoRepository productoRepository;
+    private final CambioService cambioService;
+    private final EnrutadorShards enrutador;
+    private volatile IndiceFacetas indice;
+    private long version;
+
+    public FiltroProductoService(ProductoRepository productoRepository, CambioService cambioService,
+                                 EnrutadorShards enrutador) {
+        this.productoRepository = productoRepository;
+        this.cambioService = cambioService;
+        this.enrutador = enrutador;
+    }
+
+    /**
+     * Filtra productos combinando las facetas: dentro de una faceta los valores se
+     * suman (OR) y entre facetas se intersectan (AND). Una faceta sin valores no filtra.
+     *
+     * @param categoriaIds Categorías admitidas
+     * @param precioMin    Precio mínimo (inclusive)
+     * @param precioMax    Precio máximo (inclusive)
+     * @param estados      Estados de stock admitidos
+     * @param pagina       Número de página, desde 0
+     * @param tamanio      Cantidad de productos por página
+     */
+    public ResultadoFiltroProductos filtrar(Collection<Long> categoriaIds, BigDecimal precioMin, BigDecimal precioMax,
+                                            Collection<EstadoStock> estados, int pagina, int tamanio) {
+        IndiceFacetas actual = indice;
+        if (actual == null) {
+            sincronizar();
+            actual = indice;
+        }
+        int limite = Math.min(Math.max(tamanio, 0), TAMANIO_MAXIMO);
+        IndiceFacetas.Resultado resultado = actual.filtrar(
+                new IndiceFacetas.Filtro(categoriaIds, precioMin, precioMax, estados),
+                Math.multiplyExact(Math.max(pagina, 0), limite), limite);
+
+        List<Producto> productos = List.of();
+        if (!resultado.ids().isEmpty()) {
+            Map<Long, Producto> porId = enrutador
+                    .reunir(() -> productoRepository.findAllById(resultado.ids()), Comparator.comparing(Producto::getId))
+                    .stream()
+                    .collect(Collectors.toMap(Producto::getId, Function.identity()));
+            productos = resultado.ids().stream()
+                    .map(porId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        return new ResultadoFiltroProductos(resultado.total(), productos, resultado.categorias(),
+                resultado.rangosPrecio(), resultado.estadosStock());
+    }
+
+    /**
+     * Aplica al índice los cambios de productos e inventario publicados desde la última
+     * sincronización. Construye el índice desde la base de datos la primera vez o cuando
+     * acumula demasiados ordinales libres.
+     */
+    @Scheduled(fixedDelayString = "${filtro.productos.intervalo-ms:1000}")
+    public synchronized void sincronizar() {
+        if (indice == null || indice.requiereReconstruccion()) {
+            reconstruir();
+        }
+        FeedCambios feed;
+        do {
+            feed = cambioService.obtenerCambios(version, TAMANIO_PAGINA_CAMBIOS);
+            feed.getCambios().forEach(this::aplicar);
+            version = feed.getUltimaVersion();
+        } while (feed.isHayMas());
+    }
+
+    private void aplicar(CambioEntidad cambio) {
+        switch (cambio.getEntidad()) {
+            case PRODUCTO -> {
+                ProductoDatos producto = cambio.getProducto();
+                if (producto != null) {
+                    indice.actualizarProducto(producto.getId(), producto.getCategoriaId(), producto.getPrecio());
+                } else {
+                    indice.eliminarProducto(cambio.getEntidadId());
+                }
+            }
+            case INVENTARIO -> {
+                InventarioDatos inventario = cambio.getInventario();
+                if (inventario != null) {
+                    indice.actualizarInventario(inventario.getId(), inventario.getProductoId(),
+                            inventario.getCantidad(), inventario.getStockMinimo());
+                } else {
+                    indice.eliminarInventario(cambio.getEntidadId());
+                }
+            }
+            default -> {
+                // Las bajas de categoría publican también la baja de cada producto.
+            }
+        }
+    }
+
+    private void reconstruir() {
+        long versionInicial = cambioService.obtenerVersionVisible();
+        IndiceFacetas nuevo = new IndiceFacetas();
+        List<FacetasProducto> productos = enrutador.reunir(productoRepository::findAllFacetas,
+                Comparator.comparing(FacetasProducto::getId));
+        for (FacetasProducto producto : productos) {
+            nuevo.actualizarProducto(producto.getId(), producto.getCategoriaId(), producto.getPrecio());
+            if (producto.getInventarioId() != null) {
+                nuevo.actualizarInventario(producto.getInventarioId(), producto.getId(),
+                        producto.getCantidad(), producto.getStockMinimo());
+            }
+        }
+        indice = nuevo;
+        version = versionInicial;
+        log.info("Índice de facetas de productos construido con {} productos", nuevo.tamanio());
+    }
+}
@@ -0,0 +1,671 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.ErrorImportacion;
+import com.microservices_system.data_service.dto.ResultadoImportacion;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.repositories.CategoriaRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de productos, categorías y stock desde un CSV.
+ * El archivo se lee de a un registro y se agrupa en lotes: cada lote se valida
+ * en un pool de hilos y se escribe en su propia transacción, en el orden del
+ * archivo. Como mucho hay {@code lotesEnVuelo} lotes leídos y sin escribir, así
+ * que la memoria no depende del tamaño del archivo: si la escritura se atrasa,
+ * se deja de leer la entrada.
+ * <p>
+ * Los productos se identifican por nombre (sin distinguir mayúsculas): si existe
+ * se actualiza, si no se crea. Las categorías se resuelven por nombre a través
+ * de una caché local de la importación y se crean si no existen. Si un lote falla
+ * al escribirse se reintenta fila por fila para informar qué filas fallaron.
+ * <p>
+ * Con sharding las categorías del lote se crean primero en el shard principal y
+ * cada fila se escribe en el shard de su producto: el que ya lo guarda si existe,
+ * o el de su categoría si es nuevo. Cada shard recibe su parte del lote en una
+ * transacción propia.
+ */
+@Service
+@Slf4j
+public class ImportacionService {
+    static final int MAXIMO_ERRORES_REPORTADOS = 1000;
+    static final Set<String> COLUMNAS = Set.of("nombre", "descripcion", "precio", "categoria", "cantidad", "stockminimo");
+    static final String SQL_INSERTAR_PRODUCTO =
+            "INSERT INTO productos (nombre, descripcion, precio, categoria_id) VALUES (?, ?, ?, ?)";
+    static final String SQL_ACTUALIZAR_PRODUCTO =
+            "UPDATE productos SET descripcion = ?, precio = ?, categoria_id = ? WHERE id = ?";
+    static final String SQL_INSERTAR_INVENTARIO =
+            "INSERT INTO inventario (producto_id, cantidad, stock_minimo, fecha_actualizacion, version) " +
+            "VALUES (?, ?, ?, ?, 0)";
+    /** Control optimista igual al de JPA: falla si el inventario cambió desde que se leyó. */
+    static final String SQL_ACTUALIZAR_INVENTARIO =
+            "UPDATE inventario SET cantidad = ?, stock_minimo = ?, fecha_actualizacion = ?, " +
+            "version = COALESCE(version, 0) + 1 WHERE id = ? AND COALESCE(version, 0) = ?";
+
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MovimientoInventarioService movimientoInventarioService;
+    private final CambioService cambioService;
+    private final FiltroNombres filtroNombres;
+    private final TransactionOperations transactionOperations;
+    private final EnrutadorShards enrutador;
+    private final ExecutorService validadores;
+    private final int tamanioLote;
+    private final int lotesEnVuelo;
+
+    public ImportacionService(ProductoRepository productoRepository,
+                              CategoriaRepository categoriaRepository,
+                              JdbcTemplate jdbcTemplate,
+                              MovimientoInventarioService movimientoInventarioService,
+                              CambioService cambioService,
+                              FiltroNombres filtroNombres,
+                              TransactionOperations transactionOperations,
+                              EnrutadorShards enrutador,
+                              @Value("${importacion.tamanio-lote:500}") int tamanioLote,
+                              @Value("${importacion.hilos-validacion:0}") int hilosValidacion) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.movimientoInventarioService = movimientoInventarioService;
+        this.cambioService = cambioService;
+        this.filtroNombres = filtroNombres;
+        this.transactionOperations = transactionOperations;
+        this.enrutador = enrutador;
+        this.tamanioLote = Math.max(1, tamanioLote);
+        int hilos = hilosValidacion > 0 ? hilosValidacion : Runtime.getRuntime().availableProcessors();
+        this.lotesEnVuelo = hilos * 2;
+        AtomicInteger numero = new AtomicInteger();
+        this.validadores = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "importacion-validacion-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Importa un CSV con encabezado. Columnas admitidas (en cualquier orden):
+     * nombre y precio (obligatorias), descripcion, categoria, cantidad y stockMinimo.
+     * Las celdas vacías de columnas opcionales conservan el valor actual.
+     *
+     * @param reader Contenido del CSV; se lee una sola vez, de forma secuencial
+     * @return Conteos de la importación y errores por fila
+     */
+    public ResultadoImportacion importar(Reader reader) throws IOException {
+        LectorCsv lector = new LectorCsv(reader);
+        Encabezado encabezado = encabezado(lector.siguiente());
+        Importacion importacion = new Importacion();
+        Deque<Future<List<Fila>>> enVuelo = new ArrayDeque<>();
+        try {
+            List<Registro> lote = new ArrayList<>(tamanioLote);
+            List<String> campos;
+            while ((campos = lector.siguiente()) != null) {
+                lote.add(new Registro(lector.linea(), campos));
+                if (lote.size() == tamanioLote) {
+                    enVuelo.add(validar(lote, encabezado));
+                    lote = new ArrayList<>(tamanioLote);
+                    if (enVuelo.size() >= lotesEnVuelo) {
+                        escribir(esperar(enVuelo.poll()), importacion);
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                enVuelo.add(validar(lote, encabezado));
+            }
+            while (!enVuelo.isEmpty()) {
+                escribir(esperar(enVuelo.poll()), importacion);
+            }
+        } finally {
+            enVuelo.forEach(pendiente -> pendiente.cancel(true));
+        }
+        log.info("Importación terminada: {} filas, {} productos creados, {} actualizados, {} con error",
+                importacion.filas, importacion.productosCreados, importacion.productosActualizados, importacion.filasConError);
+        return importacion.resultado();
+    }
+
+    private static Encabezado encabezado(List<String> encabezado) {
+        if (encabezado == null) {
+            throw new ValidacionNegocioException("El archivo CSV está vacío");
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < encabezado.size(); i++) {
+            String columna = encabezado.get(i).trim().toLowerCase(Locale.ROOT);
+            if (!COLUMNAS.contains(columna)) {
+                throw new ValidacionNegocioException("Columna desconocida en el encabezado: " + encabezado.get(i));
+            }
+            if (columnas.put(columna, i) != null) {
+                throw new ValidacionNegocioException("Columna repetida en el encabezado: " + encabezado.get(i));
+            }
+        }
+        if (!columnas.containsKey("nombre") || !columnas.containsKey("precio")) {
+            throw new ValidacionNegocioException("El encabezado debe incluir las columnas nombre y precio");
+        }
+        return new Encabezado(columnas, encabezado.size());
+    }
+
+    private Future<List<Fila>> validar(List<Registro> registros, Encabezado encabezado) {
+        return validadores.submit(() -> registros.stream()
+                .map(registro -> validar(registro, encabezado))
+                .toList());
+    }
+
+    private static Fila validar(Registro registro, Encabezado encabezado) {
+        long linea = registro.linea();
+        List<String> campos = registro.campos();
+        Map<String, Integer> columnas = encabezado.indices();
+        int esperadas = encabezado.tamanio();
+        if (campos.size() != esperadas) {
+            return Fila.error(linea, "Se esperaban " + esperadas + " columnas y la fila tiene " + campos.size());
+        }
+        try {
+            String nombre = texto(campos, columnas, "nombre", 100);
+            if (nombre == null) {
+                return Fila.error(linea, "El nombre es obligatorio");
+            }
+            String precioTexto = texto(campos, columnas, "precio", 20);
+            if (precioTexto == null) {
+                return Fila.error(linea, "El precio es obligatorio");
+            }
+            BigDecimal precio;
+            try {
+                precio = new BigDecimal(precioTexto);
+            } catch (NumberFormatException e) {
+                throw new NumberFormatException(precioTexto);
+            }
+            if (precio.signum() <= 0) {
+                return Fila.error(linea, "El precio debe ser mayor a cero");
+            }
+            if (precio.scale() > 2 || precio.precision() - precio.scale() > 8) {
+                return Fila.error(linea, "El precio admite hasta 8 enteros y 2 decimales: " + precioTexto);
+            }
+            return new Fila(linea, nombre, texto(campos, columnas, "descripcion", 500), precio,
+                    texto(campos, columnas, "categoria", 100), entero(campos, columnas, "cantidad"),
+                    entero(campos, columnas, "stockminimo"), null);
+        } catch (NumberFormatException e) {
+            return Fila.error(linea, "Valor numérico inválido: " + e.getMessage());
+        } catch (ValidacionNegocioException e) {
+            return Fila.error(linea, e.getMessage());
+        }
+    }
+
+    private static String texto(List<String> campos, Map<String, Integer> columnas, String columna, int largoMaximo) {
+        Integer indice = columnas.get(columna);
+        if (indice == null) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        if (valor.isEmpty()) {
+            return null;
+        }
+        if (valor.length() > largoMaximo) {
+            throw new ValidacionNegocioException("La columna " + columna + " supera los " + largoMaximo + " caracteres");
+        }
+        return valor;
+    }
+
+    private static Integer entero(List<String> campos, Map<String, Integer> columnas, String columna) {
+        String valor = texto(campos, columnas, columna, 11);
+        if (valor == null) {
+            return null;
+        }
+        int numero;
+        try {
+            numero = Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(valor);
+        }
+        if (numero < 0) {
+            throw new ValidacionNegocioException("La columna " + columna + " no puede ser negativa");
+        }
+        return numero;
+    }
+
+    private static List<Fila> esperar(Future<List<Fila>> lote) {
+        try {
+            return lote.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al validar un lote de la importación", e.getCause());
+        }
+    }
+
+    /**
+     * Escribe las filas válidas de un lote en una transacción. Los conteos y las
+     * categorías creadas se incorporan a la importación solo tras el commit.
+     */
+    private void escribir(List<Fila> filas, Importacion importacion) {
+        List<Fila> validas = new ArrayList<>(filas.size());
+        for (Fila fila : filas) {
+            importacion.filas++;
+            if (fila.error() != null) {
+                importacion.error(fila.linea(), fila.error());
+            } else {
+                validas.add(fila);
+            }
+        }
+        if (validas.isEmpty()) {
+            return;
+        }
+        if (enrutador.cantidad() == 1) {
+            escribirValidas(validas, importacion);
+            return;
+        }
+        repartir(validas, importacion).forEach((shard, filasShard) -> enrutador.en(shard, () -> {
+            escribirValidas(filasShard, importacion);
+            return null;
+        }));
+    }
+
+    private void escribirValidas(List<Fila> validas, Importacion importacion) {
+        try {
+            importacion.confirmar(transactionOperations.execute(status -> aplicar(validas, importacion.categorias)));
+        } catch (RuntimeException e) {
+            if (validas.size() == 1) {
+                importacion.error(validas.get(0).linea(), mensaje(e));
+                return;
+            }
+            log.warn("Falló la escritura de un lote de {} filas desde la línea {}; se reintenta fila por fila",
+                    validas.size(), validas.get(0).linea());
+            for (Fila fila : validas) {
+                try {
+                    importacion.confirmar(transactionOperations.execute(status -> aplicar(List.of(fila), importacion.categorias)));
+                } catch (RuntimeException errorFila) {
+                    importacion.error(fila.linea(), mensaje(errorFila));
+                }
+            }
+        }
+    }
+
+    /**
+     * Crea en el shard principal las categorías del lote que falten, asigna cada
+     * fila al shard de su producto y copia ahí las categorías que usa. Una fila que
+     * llevaría un producto existente a una categoría de otro shard se informa como
+     * error: moverlo cambiaría su ID.
+     *
+     * @return Las filas de cada shard, en el orden del archivo
+     */
+    private Map<Integer, List<Fila>> repartir(List<Fila> validas, Importacion importacion) {
+        importacion.confirmar(enrutador.en(EnrutadorShards.PRINCIPAL, () -> transactionOperations.execute(status -> {
+            Lote lote = new Lote();
+            resolverCategorias(validas, importacion.categorias, lote);
+            cambioService.registrarLote(EntidadCambio.CATEGORIA, lote.categoriasCreadas.values(),
+                    OperacionCambio.CREACION, LocalDateTime.now());
+            return lote;
+        })));
+
+        Set<String> nombres = validas.stream().map(fila -> clave(fila.nombre())).collect(Collectors.toSet());
+        Map<String, Integer> shardsPorNombre = new HashMap<>();
+        for (Producto existente : enrutador.reunir(() -> productoRepository.findConInventarioByNombreEnMinusculasIn(nombres),
+                Comparator.comparing(Producto::getId))) {
+            shardsPorNombre.putIfAbsent(clave(existente.getNombre()), enrutador.shardDeId(existente.getId()));
+        }
+        Map<Integer, List<Fila>> porShard = new TreeMap<>();
+        for (Fila fila : validas) {
+            Long categoriaId = fila.categoria() != null ? importacion.categorias.get(clave(fila.categoria())) : null;
+            int shard = shardsPorNombre.computeIfAbsent(clave(fila.nombre()),
+                    nombre -> enrutador.shardDeCategoria(categoriaId));
+            if (categoriaId != null && enrutador.shardDeCategoria(categoriaId) != shard) {
+                importacion.error(fila.linea(), "La categoría " + fila.categoria() +
+                        " pertenece a otro shard; no se puede mover el producto " + fila.nombre());
+                continue;
+            }
+            porShard.computeIfAbsent(shard, destino -> new ArrayList<>()).add(fila);
+        }
+        porShard.forEach((shard, filas) -> filas.stream()
+                .map(Fila::categoria)
+                .filter(Objects::nonNull)
+                .map(categoria -> importacion.categorias.get(clave(categoria)))
+                .distinct()
+                .forEach(categoriaId -> enrutador.copiarCategoria(categoriaId, shard)));
+        return porShard;
+    }
+
+    /**
+     * Resuelve el estado final de cada producto del lote en memoria y lo escribe
+     * con un batch JDBC por sentencia: altas y modificaciones de productos y de
+     * inventarios. Las altas recuperan en el mismo batch los IDs generados.
+     */
+    private Lote aplicar(List<Fila> filas, Map<String, Long> cacheCategorias) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Lote lote = new Lote();
+        Map<String, Long> categorias = resolverCategorias(filas, cacheCategorias, lote);
+
+        Map<String, ProductoImportado> productos = new LinkedHashMap<>();
+        for (Producto existente : productoRepository.findConInventarioByNombreEnMinusculasIn(
+                filas.stream().map(fila -> clave(fila.nombre())).collect(Collectors.toSet()))) {
+            productos.putIfAbsent(clave(existente.getNombre()), ProductoImportado.de(existente));
+        }
+        for (Fila fila : filas) {
+            Long categoriaId = fila.categoria() != null ? categorias.get(clave(fila.categoria())) : null;
+            ProductoImportado producto = productos.get(clave(fila.nombre()));
+            if (producto == null) {
+                producto = new ProductoImportado(null, fila.nombre(), fila.descripcion(), fila.precio(), categoriaId);
+                productos.put(clave(fila.nombre()), producto);
+            } else {
+                producto.actualizar(fila.descripcion(), fila.precio(), categoriaId);
+            }
+            if (fila.cantidad() != null || fila.stockMinimo() != null) {
+                producto.actualizarInventario(fila.cantidad(), fila.stockMinimo());
+            }
+        }
+
+        List<ProductoImportado> nuevos = new ArrayList<>();
+        List<ProductoImportado> existentes = new ArrayList<>();
+        productos.values().forEach(producto -> (producto.id == null ? nuevos : existentes).add(producto));
+        insertar(SQL_INSERTAR_PRODUCTO, nuevos, (ps, producto) -> {
+            ps.setString(1, producto.nombre);
+            ps.setString(2, producto.descripcion);
+            ps.setBigDecimal(3, producto.precio);
+            ps.setObject(4, producto.categoriaId, Types.BIGINT);
+        }, (producto, id) -> producto.id = id);
+        jdbcTemplate.batchUpdate(SQL_ACTUALIZAR_PRODUCTO, existentes, existentes.size(), (ps, producto) -> {
+            ps.setString(1, producto.descripcion);
+            ps.setBigDecimal(2, producto.precio);
+            ps.setObject(3, producto.categoriaId, Types.BIGINT);
+            ps.setLong(4, producto.id);
+        });
+        nuevos.forEach(producto -> {
+            filtroNombres.agregar(FiltroNombres.Tabla.PRODUCTOS, producto.nombre);
+            lote.productosCreados.add(producto.id);
+        });
+        existentes.forEach(producto -> lote.productosActualizados.add(producto.id));
+
+        List<ProductoImportado> inventariosNuevos = new ArrayList<>();
+        List<ProductoImportado> inventariosModificados = new ArrayList<>();
+        for (ProductoImportado producto : productos.values()) {
+            if (producto.inventarioModificado) {
+                (producto.inventarioId == null ? inventariosNuevos : inventariosModificados).add(producto);
+            }
+        }
+        insertar(SQL_INSERTAR_INVENTARIO, inventariosNuevos, (ps, producto) -> {
+            ps.setLong(1, producto.id);
+            ps.setInt(2, producto.cantidad);
+            ps.setInt(3, valor(producto.stockMinimo));
+            ps.setObject(4, ahora);
+        }, (producto, id) -> producto.inventarioId = id);
+        int[][] filasActualizadas = jdbcTemplate.batchUpdate(SQL_ACTUALIZAR_INVENTARIO, inventariosModificados,
+                inventariosModificados.size(), (ps, producto) -> {
+                    ps.setInt(1, producto.cantidad);
+                    ps.setObject(2, producto.stockMinimo, Types.INTEGER);
+                    ps.setObject(3, ahora);
+                    ps.setLong(4, producto.inventarioId);
+                    ps.setLong(5, producto.inventarioVersion);
+                });
+        for (int[] tanda : filasActualizadas) {
+            for (int filasTanda : tanda) {
+                if (filasTanda == 0) {
+                    throw new OptimisticLockingFailureException("Un inventario del lote cambió durante la importación");
+                }
+            }
+        }
+
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        for (ProductoImportado producto : productos.values()) {
+            if (producto.inventarioModificado && producto.cantidad != producto.cantidadAnterior) {
+                deltas.put(producto.id, producto.cantidad - producto.cantidadAnterior);
+            }
+        }
+        movimientoInventarioService.registrarLote(deltas, ahora);
+        cambioService.registrarLote(EntidadCambio.CATEGORIA, lote.categoriasCreadas.values(), OperacionCambio.CREACION, ahora);
+        cambioService.registrarLote(EntidadCambio.PRODUCTO, lote.productosCreados, OperacionCambio.CREACION, ahora);
+        cambioService.registrarLote(EntidadCambio.PRODUCTO, lote.productosActualizados, OperacionCambio.ACTUALIZACION, ahora);
+        cambioService.registrarLote(EntidadCambio.INVENTARIO, idsInventario(inventariosNuevos), OperacionCambio.CREACION, ahora);
+        cambioService.registrarLote(EntidadCambio.INVENTARIO, idsInventario(inventariosModificados),
+                OperacionCambio.ACTUALIZACION, ahora);
+        return lote;
+    }
+
+    /**
+     * Inserta las filas en un único batch y asigna a cada una el ID generado,
+     * que los drivers devuelven en el orden del batch.
+     */
+    private <T> void insertar(String sql, List<T> filas, ParameterizedPreparedStatementSetter<T> parametros,
+                              BiConsumer<T, Long> asignarId) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        KeyHolder claves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(conexion -> conexion.prepareStatement(sql, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        parametros.setValues(ps, filas.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return filas.size();
+                    }
+                }, claves);
+        List<Map<String, Object>> generadas = claves.getKeyList();
+        if (generadas.size() != filas.size()) {
+            throw new IllegalStateException("Se esperaban " + filas.size() + " IDs generados y se obtuvieron "
+                    + generadas.size());
+        }
+        for (int i = 0; i < filas.size(); i++) {
+            asignarId.accept(filas.get(i), ((Number) generadas.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private static List<Long> idsInventario(List<ProductoImportado> productos) {
+        return productos.stream().map(producto -> producto.inventarioId).toList();
+    }
+
+    /**
+     * Resuelve los IDs de las categorías del lote: primero en la caché de la
+     * importación, luego en la base de datos, y crea las que no existen.
+     */
+    private Map<String, Long> resolverCategorias(List<Fila> filas, Map<String, Long> cache, Lote lote) {
+        Map<String, String> faltantes = new LinkedHashMap<>();
+        for (Fila fila : filas) {
+            if (fila.categoria() != null && !cache.containsKey(clave(fila.categoria()))) {
+                faltantes.putIfAbsent(clave(fila.categoria()), fila.categoria());
+            }
+        }
+        if (faltantes.isEmpty()) {
+            return cache;
+        }
+        Map<String, Long> categorias = new HashMap<>(cache);
+        for (Categoria existente : categoriaRepository.findByNombreEnMinusculasIn(faltantes.keySet())) {
+            categorias.put(clave(existente.getNombre()), existente.getId());
+            lote.categoriasResueltas.put(clave(existente.getNombre()), existente.getId());
+        }
+        faltantes.forEach((clave, nombre) -> {
+            if (!categorias.containsKey(clave)) {
+                Categoria nueva = categoriaRepository.save(new Categoria(null, nombre, null, new ArrayList<>()));
+                filtroNombres.agregar(FiltroNombres.Tabla.CATEGORIAS, nombre);
+                categorias.put(clave, nueva.getId());
+                lote.categoriasResueltas.put(clave, nueva.getId());
+                lote.categoriasCreadas.put(clave, nueva.getId());
+            }
+        });
+        return categorias;
+    }
+
+    private static String mensaje(RuntimeException e) {
+        Throwable causa = NestedExceptionUtils.getMostSpecificCause(e);
+        return causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+    }
+
+    private static String clave(String nombre) {
+        return nombre.toLowerCase(Locale.ROOT);
+    }
+
+    private static int valor(Integer cantidad) {
+        return cantidad != null ? cantidad : 0;
+    }
+
+    @PreDestroy
+    public void detener() {
+        validadores.shutdownNow();
+    }
+
+    /**
+     * Estado final de un producto del lote y de su inventario, antes de escribirlo.
+     */
+    private static final class ProductoImportado {
+        private Long id;
+        private final String nombre;
+        private String descripcion;
+        private BigDecimal precio;
+        private Long categoriaId;
+        private Long inventarioId;
+        private long inventarioVersion;
+        private int cantidad;
+        private int cantidadAnterior;
+        private Integer stockMinimo;
+        private boolean inventarioModificado;
+
+        private ProductoImportado(Long id, String nombre, String descripcion, BigDecimal precio, Long categoriaId) {
+            this.id = id;
+            this.nombre = nombre;
+            this.descripcion = descripcion;
+            this.precio = precio;
+            this.categoriaId = categoriaId;
+        }
+
+        private static ProductoImportado de(Producto producto) {
+            ProductoImportado importado = new ProductoImportado(producto.getId(), producto.getNombre(),
+                    producto.getDescripcion(), producto.getPrecio(),
+                    producto.getCategoria() != null ? producto.getCategoria().getId() : null);
+            Inventario inventario = producto.getInventario();
+            if (inventario != null) {
+                importado.inventarioId = inventario.getId();
+                importado.inventarioVersion = inventario.getVersion() != null ? inventario.getVersion() : 0L;
+                importado.cantidad = valor(inventario.getCantidad());
+                importado.cantidadAnterior = importado.cantidad;
+                importado.stockMinimo = inventario.getStockMinimo();
+            }
+            return importado;
+        }
+
+        private void actualizar(String descripcion, BigDecimal precio, Long categoriaId) {
+            this.precio = precio;
+            if (descripcion != null) {
+                this.descripcion = descripcion;
+            }
+            if (categoriaId != null) {
+                this.categoriaId = categoriaId;
+            }
+        }
+
+        /**
+         * Un inventario que no existía se crea con las celdas vacías en cero; uno
+         * existente conserva los valores de las celdas vacías.
+         */
+        private void actualizarInventario(Integer cantidad, Integer stockMinimo) {
+            if (inventarioId == null && !inventarioModificado) {
+                this.cantidad = valor(cantidad);
+                this.stockMinimo = valor(stockMinimo);
+            } else {
+                if (cantidad != null) {
+                    this.cantidad = cantidad;
+                }
+                if (stockMinimo != null) {
+                    this.stockMinimo = stockMinimo;
+                }
+            }
+            inventarioModificado = true;
+        }
+    }
+
+    private record Encabezado(Map<String, Integer> indices, int tamanio) {
+    }
+
+    private record Registro(long linea, List<String> campos) {
+    }
+
+    private record Fila(long linea, String nombre, String descripcion, BigDecimal precio, String categoria,
+                Integer cantidad, Integer stockMinimo, String error) {
+        static Fila error(long linea, String mensaje) {
+            return new Fila(linea, null, null, null, null, null, null, mensaje);
+        }
+    }
+
+    /**
+     * Efectos de un lote escrito, que se suman a la importación después del commit.
+     */
+    private static final class Lote {
+        private final Set<Long> productosCreados = new LinkedHashSet<>();
+        private final Set<Long> productosActualizados = new LinkedHashSet<>();
+        private final Map<String, Long> categoriasCreadas = new LinkedHashMap<>();
+        private final Map<String, Long> categoriasResueltas = new HashMap<>();
+    }
+
+    private static final class Importacion {
+        private final Map<String, Long> categorias = new HashMap<>();
+        private final List<ErrorImportacion> errores = new ArrayList<>();
+        private long filas;
+        private long productosCreados;
+        private long productosActualizados;
+        private long categoriasCreadas;
+        private long filasConError;
+
+        private void confirmar(Lote lote) {
+            categorias.putAll(lote.categoriasResueltas);
+            productosCreados += lote.productosCreados.size();
+            productosActualizados += lote.productosActualizados.size();
+            categoriasCreadas += lote.categoriasCreadas.size();
+        }
+
+        private void error(long linea, String mensaje) {
+            filasConError++;
+            if (errores.size() < MAXIMO_ERRORES_REPORTADOS) {
+                errores.add(new ErrorImportacion(linea, mensaje));
+            }
+        }
+
+        private ResultadoImportacion resultado() {
+            return new ResultadoImportacion(filas, productosCreados, productosActualizados, categoriasCreadas,
+                    filasConError, errores);
+        }
+    }
+}
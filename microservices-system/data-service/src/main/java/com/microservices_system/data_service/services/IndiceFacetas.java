@@ -0,0 +1,311 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.EstadoStock;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de facetas de productos en memoria: un bitmap por categoría, por
+ * rango de precio y por estado de stock. Cada producto recibe un ordinal denso
+ * que es su posición en todos los bitmaps, así que un filtro se resuelve con
+ * OR entre los valores elegidos de una faceta y AND entre facetas.
+ * <p>
+ * Los bitmaps solo contienen productos vigentes: eliminar un producto limpia
+ * sus bits y deja libre su ordinal, que no se reutiliza hasta reconstruir el
+ * índice para que el orden de los ordinales siga siendo el de los IDs.
+ */
+final class IndiceFacetas {
+    static final long[] LIMITES_PRECIO_CENTAVOS = {1_000, 5_000, 10_000, 50_000, 100_000};
+    static final String[] RANGOS_PRECIO = {"0-10", "10-50", "50-100", "100-500", "500-1000", "1000+"};
+    private static final EstadoStock[] ESTADOS = EstadoStock.values();
+    private static final long SIN_CATEGORIA = 0L;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalPorId = new HashMap<>();
+    private final Map<Long, Long> productoPorInventario = new HashMap<>();
+    private final Map<Long, BitSet> porCategoria = new HashMap<>();
+    private final BitSet[] porRango = bitmaps(RANGOS_PRECIO.length);
+    private final BitSet[] porEstado = bitmaps(ESTADOS.length);
+    private final BitSet vigentes = new BitSet();
+    private long[] ids = new long[1024];
+    private long[] categorias = new long[1024];
+    private long[] precios = new long[1024];
+    private int ordinales;
+
+    record Filtro(Collection<Long> categoriaIds, BigDecimal precioMin, BigDecimal precioMax,
+                  Collection<EstadoStock> estados) {
+    }
+
+    record Resultado(long total, List<Long> ids, Map<Long, Integer> categorias,
+                     Map<String, Integer> rangosPrecio, Map<EstadoStock, Integer> estadosStock) {
+    }
+
+    /**
+     * Registra un producto o actualiza su categoría y precio. Un producto nuevo
+     * queda sin stock hasta que se registre su inventario.
+     */
+    void actualizarProducto(long id, Long categoriaId, BigDecimal precio) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalPorId.get(id);
+            if (ordinal == null) {
+                ordinal = nuevoOrdinal(id);
+                porEstado[EstadoStock.SIN_STOCK.ordinal()].set(ordinal);
+            } else {
+                limpiarCategoriaYPrecio(ordinal);
+            }
+            categorias[ordinal] = categoriaId != null ? categoriaId : SIN_CATEGORIA;
+            precios[ordinal] = centavos(precio, RoundingMode.HALF_UP);
+            if (categoriaId != null) {
+                porCategoria.computeIfAbsent(categoriaId, c -> new BitSet()).set(ordinal);
+            }
+            porRango[rango(precios[ordinal])].set(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza el estado de stock de un producto ya indexado; si el producto no
+     * está indexado el inventario se ignora.
+     */
+    void actualizarInventario(long inventarioId, long productoId, Integer cantidad, Integer stockMinimo) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalPorId.get(productoId);
+            if (ordinal != null) {
+                productoPorInventario.put(inventarioId, productoId);
+                asignarEstado(ordinal, EstadoStock.de(cantidad, stockMinimo));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void eliminarInventario(long inventarioId) {
+        lock.writeLock().lock();
+        try {
+            Long productoId = productoPorInventario.remove(inventarioId);
+            Integer ordinal = productoId != null ? ordinalPorId.get(productoId) : null;
+            if (ordinal != null) {
+                asignarEstado(ordinal, EstadoStock.SIN_STOCK);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void eliminarProducto(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalPorId.remove(id);
+            if (ordinal != null) {
+                limpiarCategoriaYPrecio(ordinal);
+                for (BitSet estado : porEstado) {
+                    estado.clear(ordinal);
+                }
+                vigentes.clear(ordinal);
+                ids[ordinal] = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int tamanio() {
+        lock.readLock().lock();
+        try {
+            return ordinalPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si más de la cuarta parte de los ordinales quedó libre y conviene
+     * reconstruir el índice para compactar los bitmaps.
+     */
+    boolean requiereReconstruccion() {
+        lock.readLock().lock();
+        try {
+            int libres = ordinales - ordinalPorId.size();
+            return libres > 1024 && libres > ordinales / 4;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resuelve el filtro y retorna los IDs de la página pedida, ordenados por ID,
+     * junto con los conteos por faceta. Una faceta sin valores elegidos no filtra.
+     */
+    Resultado filtrar(Filtro filtro, int desde, int limite) {
+        lock.readLock().lock();
+        try {
+            BitSet categoria = unir(filtro.categoriaIds() == null ? null
+                    : filtro.categoriaIds().stream().map(porCategoria::get).toList());
+            BitSet precio = rangoPrecio(filtro.precioMin(), filtro.precioMax());
+            BitSet estado = unir(filtro.estados() == null ? null
+                    : filtro.estados().stream().map(e -> porEstado[e.ordinal()]).toList());
+
+            BitSet resultado = interseccion(categoria, precio, estado);
+            List<Long> pagina = new ArrayList<>(Math.max(Math.min(limite, 1024), 0));
+            int ordinal = resultado.nextSetBit(0);
+            for (int salteados = 0; ordinal >= 0 && salteados < desde; salteados++) {
+                ordinal = resultado.nextSetBit(ordinal + 1);
+            }
+            for (; ordinal >= 0 && pagina.size() < limite; ordinal = resultado.nextSetBit(ordinal + 1)) {
+                pagina.add(ids[ordinal]);
+            }
+
+            BitSet auxiliar = new BitSet(ordinales);
+            Map<Long, Integer> conteoCategorias = new TreeMap<>();
+            BitSet sinCategoria = interseccion(null, precio, estado);
+            porCategoria.forEach((id, bits) -> {
+                int conteo = contar(bits, sinCategoria, auxiliar);
+                if (conteo > 0) {
+                    conteoCategorias.put(id, conteo);
+                }
+            });
+            Map<String, Integer> conteoRangos = new LinkedHashMap<>();
+            BitSet sinPrecio = interseccion(categoria, null, estado);
+            for (int i = 0; i < porRango.length; i++) {
+                conteoRangos.put(RANGOS_PRECIO[i], contar(porRango[i], sinPrecio, auxiliar));
+            }
+            Map<EstadoStock, Integer> conteoEstados = new EnumMap<>(EstadoStock.class);
+            BitSet sinEstado = interseccion(categoria, precio, null);
+            for (EstadoStock valor : ESTADOS) {
+                conteoEstados.put(valor, contar(porEstado[valor.ordinal()], sinEstado, auxiliar));
+            }
+            return new Resultado(resultado.cardinality(), pagina, conteoCategorias, conteoRangos, conteoEstados);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Productos cuyo precio está entre los límites (inclusive). Los rangos que
+     * quedan completamente dentro se toman enteros; en los de los extremos se
+     * compara el precio de cada producto.
+     */
+    private BitSet rangoPrecio(BigDecimal minimo, BigDecimal maximo) {
+        if (minimo == null && maximo == null) {
+            return null;
+        }
+        long desde = minimo != null ? centavos(minimo, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long hasta = maximo != null ? centavos(maximo, RoundingMode.FLOOR) : Long.MAX_VALUE;
+        BitSet bits = new BitSet(ordinales);
+        for (int i = 0; i < porRango.length; i++) {
+            long inferior = i == 0 ? Long.MIN_VALUE : LIMITES_PRECIO_CENTAVOS[i - 1];
+            long superior = i == LIMITES_PRECIO_CENTAVOS.length ? Long.MAX_VALUE : LIMITES_PRECIO_CENTAVOS[i] - 1;
+            if (superior < desde || inferior > hasta) {
+                continue;
+            }
+            if (inferior >= desde && superior <= hasta) {
+                bits.or(porRango[i]);
+                continue;
+            }
+            for (int ordinal = porRango[i].nextSetBit(0); ordinal >= 0; ordinal = porRango[i].nextSetBit(ordinal + 1)) {
+                if (precios[ordinal] >= desde && precios[ordinal] <= hasta) {
+                    bits.set(ordinal);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Intersección de los productos vigentes con las facetas indicadas; null significa sin filtro.
+     */
+    private BitSet interseccion(BitSet categoria, BitSet precio, BitSet estado) {
+        BitSet resultado = (BitSet) vigentes.clone();
+        for (BitSet faceta : new BitSet[]{categoria, precio, estado}) {
+            if (faceta != null) {
+                resultado.and(faceta);
+            }
+        }
+        return resultado;
+    }
+
+    private static BitSet unir(List<BitSet> valores) {
+        if (valores == null || valores.isEmpty()) {
+            return null;
+        }
+        BitSet union = new BitSet();
+        for (BitSet valor : valores) {
+            if (valor != null) {
+                union.or(valor);
+            }
+        }
+        return union;
+    }
+
+    private static int contar(BitSet valor, BitSet filtro, BitSet auxiliar) {
+        auxiliar.clear();
+        auxiliar.or(valor);
+        auxiliar.and(filtro);
+        return auxiliar.cardinality();
+    }
+
+    private int nuevoOrdinal(long id) {
+        int ordinal = ordinales++;
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            categorias = Arrays.copyOf(categorias, categorias.length * 2);
+            precios = Arrays.copyOf(precios, precios.length * 2);
+        }
+        ids[ordinal] = id;
+        ordinalPorId.put(id, ordinal);
+        vigentes.set(ordinal);
+        return ordinal;
+    }
+
+    private void limpiarCategoriaYPrecio(int ordinal) {
+        BitSet categoria = porCategoria.get(categorias[ordinal]);
+        if (categoria != null) {
+            categoria.clear(ordinal);
+        }
+        porRango[rango(precios[ordinal])].clear(ordinal);
+    }
+
+    private void asignarEstado(int ordinal, EstadoStock estado) {
+        for (BitSet bits : porEstado) {
+            bits.clear(ordinal);
+        }
+        porEstado[estado.ordinal()].set(ordinal);
+    }
+
+    static int rango(long centavos) {
+        for (int i = 0; i < LIMITES_PRECIO_CENTAVOS.length; i++) {
+            if (centavos < LIMITES_PRECIO_CENTAVOS[i]) {
+                return i;
+            }
+        }
+        return LIMITES_PRECIO_CENTAVOS.length;
+    }
+
+    private static long centavos(BigDecimal precio, RoundingMode redondeo) {
+        return precio != null ? precio.movePointRight(2).setScale(0, redondeo).longValueExact() : 0L;
+    }
+
+    private static BitSet[] bitmaps(int cantidad) {
+        BitSet[] bitmaps = new BitSet[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+}
@@ -0,0 +1,331 @@
+package com.microservices_system.data_service.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre nombre y descripción de productos, con
+ * ranking BM25. Los términos se normalizan sin acentos y en minúsculas y se
+ * guardan ordenados, de modo que cada término de la consulta se expande a los
+ * términos que empiezan con él: los de menos de {@value #LARGO_MINIMO_PREFIJO}
+ * letras solo coinciden exactos, y el resto se expande a lo sumo a los
+ * {@value #MAXIMO_EXPANSIONES} términos con más productos.
+ * <p>
+ * Cada producto indexado recibe un ordinal interno; las listas de postings
+ * guardan ordinales en arreglos de int. Modificar o eliminar un producto libera
+ * su ordinal sin recorrer las listas: las entradas huérfanas se descartan al
+ * consultar y desaparecen cuando el índice se reconstruye. Cada lista lleva la
+ * cuenta de sus productos vivos, que es la que usa el idf, y el término sale del
+ * diccionario cuando se queda sin ninguno.
+ */
+final class IndiceProductos {
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PESO_NOMBRE = 2;
+    static final int LARGO_MINIMO_PREFIJO = 3;
+    static final int MAXIMO_EXPANSIONES = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> terminos = new TreeMap<>();
+    private final Map<Long, Integer> ordinalPorId = new HashMap<>();
+    private long[] ids = new long[1024];
+    private int[] longitudes = new int[1024];
+    private Postings[][] terminosDe = new Postings[1024][];
+    private int ordinales;
+    private long longitudTotal;
+
+    /**
+     * Indexa (o reindexa) un producto. El nombre pesa el doble que la descripción.
+     */
+    void indexar(long id, String nombre, String descripcion) {
+        Map<String, Integer> frecuencias = new HashMap<>();
+        int longitud = contar(nombre, PESO_NOMBRE, frecuencias) + contar(descripcion, 1, frecuencias);
+        lock.writeLock().lock();
+        try {
+            liberar(id);
+            if (frecuencias.isEmpty()) {
+                return;
+            }
+            int ordinal = ordinales++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                longitudes = Arrays.copyOf(longitudes, longitudes.length * 2);
+                terminosDe = Arrays.copyOf(terminosDe, terminosDe.length * 2);
+            }
+            ids[ordinal] = id;
+            longitudes[ordinal] = longitud;
+            longitudTotal += longitud;
+            ordinalPorId.put(id, ordinal);
+            Postings[] propios = new Postings[frecuencias.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> frecuencia : frecuencias.entrySet()) {
+                Postings postings = terminos.computeIfAbsent(frecuencia.getKey(), Postings::new);
+                postings.agregar(ordinal, frecuencia.getValue());
+                propios[i++] = postings;
+            }
+            terminosDe[ordinal] = propios;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void eliminar(long id) {
+        lock.writeLock().lock();
+        try {
+            liberar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int tamanio() {
+        lock.readLock().lock();
+        try {
+            return ordinalPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si más de la cuarta parte de los ordinales quedó huérfana y
+     * conviene reconstruir el índice para compactar las listas de postings.
+     */
+    boolean requiereReconstruccion() {
+        lock.readLock().lock();
+        try {
+            int huerfanos = ordinales - ordinalPorId.size();
+            return huerfanos > 1024 && huerfanos > ordinales / 4;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna los IDs de los productos mejor puntuados para la consulta, de mayor a menor relevancia.
+     */
+    List<Long> buscar(String consulta, int limite) {
+        Set<String> tokens = new LinkedHashSet<>(tokenizar(consulta));
+        if (tokens.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int documentos = ordinalPorId.size();
+            if (documentos == 0) {
+                return List.of();
+            }
+            double longitudPromedio = (double) longitudTotal / documentos;
+            List<Postings> expandidos = new ArrayList<>();
+            long esperados = 0;
+            for (String token : tokens) {
+                for (Postings postings : expandir(token)) {
+                    expandidos.add(postings);
+                    esperados += postings.vivos;
+                }
+            }
+            Acumulador puntajes = new Acumulador((int) Math.min(esperados, documentos), ordinales);
+
+            for (Postings postings : expandidos) {
+                double idf = Math.log(1 + (documentos - postings.vivos + 0.5) / (postings.vivos + 0.5));
+                for (int i = 0; i < postings.tamanio; i++) {
+                    int ordinal = postings.ordinales[i];
+                    if (ids[ordinal] == 0) {
+                        continue;
+                    }
+                    int tf = postings.frecuencias[i];
+                    double normalizacion = K1 * (1 - B + B * longitudes[ordinal] / longitudPromedio);
+                    puntajes.sumar(ordinal, (float) (idf * tf * (K1 + 1) / (tf + normalizacion)));
+                }
+            }
+
+            PriorityQueue<Integer> mejores = new PriorityQueue<>(limite + 1, (a, b) -> {
+                float puntajeA = puntajes.puntaje(a);
+                float puntajeB = puntajes.puntaje(b);
+                return puntajeA != puntajeB
+                        ? Float.compare(puntajeA, puntajeB)
+                        : Long.compare(ids[puntajes.ordinal(b)], ids[puntajes.ordinal(a)]);
+            });
+            for (int i = 0; i < puntajes.cantidad; i++) {
+                mejores.offer(puntajes.ranuras[i]);
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+            Long[] resultado = new Long[mejores.size()];
+            for (int i = resultado.length - 1; i >= 0; i--) {
+                resultado[i] = ids[puntajes.ordinal(mejores.poll())];
+            }
+            return Arrays.asList(resultado);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Términos del diccionario a los que se expande un término de la consulta:
+     * el término exacto, si existe, y hasta completar {@value #MAXIMO_EXPANSIONES}
+     * los que empiezan con él y tienen más productos. Así un prefijo corto o muy
+     * común no recorre las listas de miles de términos.
+     */
+    private List<Postings> expandir(String token) {
+        Postings exacto = terminos.get(token);
+        if (token.length() < LARGO_MINIMO_PREFIJO) {
+            return exacto != null ? List.of(exacto) : List.of();
+        }
+        int cupo = exacto != null ? MAXIMO_EXPANSIONES - 1 : MAXIMO_EXPANSIONES;
+        PriorityQueue<Postings> mayores = new PriorityQueue<>(cupo + 1,
+                (a, b) -> Integer.compare(a.vivos, b.vivos));
+        for (Postings postings : terminos.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            mayores.offer(postings);
+            if (mayores.size() > cupo) {
+                mayores.poll();
+            }
+        }
+        List<Postings> expandidos = new ArrayList<>(mayores);
+        if (exacto != null) {
+            expandidos.add(exacto);
+        }
+        return expandidos;
+    }
+
+    /**
+     * Separa el texto en términos sin acentos y en minúsculas.
+     */
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int contar(String texto, int peso, Map<String, Integer> frecuencias) {
+        List<String> tokens = tokenizar(texto);
+        tokens.forEach(token -> frecuencias.merge(token, peso, Integer::sum));
+        return tokens.size() * peso;
+    }
+
+    private void liberar(long id) {
+        Integer anterior = ordinalPorId.remove(id);
+        if (anterior != null) {
+            ids[anterior] = 0;
+            longitudTotal -= longitudes[anterior];
+            for (Postings postings : terminosDe[anterior]) {
+                if (--postings.vivos == 0) {
+                    terminos.remove(postings.termino);
+                }
+            }
+            terminosDe[anterior] = null;
+        }
+    }
+
+    private static final class Postings {
+        private final String termino;
+        private int[] ordinales = new int[4];
+        private int[] frecuencias = new int[4];
+        /** Entradas de la lista, incluidas las de ordinales ya liberados. */
+        private int tamanio;
+        /** Productos vivos que contienen el término. */
+        private int vivos;
+
+        private Postings(String termino) {
+            this.termino = termino;
+        }
+
+        private void agregar(int ordinal, int frecuencia) {
+            if (tamanio == ordinales.length) {
+                ordinales = Arrays.copyOf(ordinales, tamanio * 2);
+                frecuencias = Arrays.copyOf(frecuencias, tamanio * 2);
+            }
+            ordinales[tamanio] = ordinal;
+            frecuencias[tamanio++] = frecuencia;
+            vivos++;
+        }
+    }
+
+    /**
+     * Puntajes de una consulta, del tamaño de los productos que toca y no del
+     * índice entero: una tabla de direccionamiento abierto de ordinal a puntaje,
+     * dimensionada de antemano con la suma de productos vivos de los términos
+     * expandidos. Solo si esa tabla ocuparía más que un arreglo denso de
+     * ordinales usa el arreglo.
+     */
+    private static final class Acumulador {
+        private static final int MEZCLA = 0x9E3779B9;
+
+        /** Ordinal + 1 de cada ranura (0 si está libre); null en modo denso. */
+        private final int[] claves;
+        private final float[] puntajes;
+        private final int mascara;
+        /** Ranuras ocupadas, en orden de llegada. */
+        private int[] ranuras = new int[64];
+        private int cantidad;
+
+        private Acumulador(int esperados, int ordinales) {
+            int capacidad = Integer.highestOneBit(Math.max(16, esperados * 2) - 1) << 1;
+            if (capacidad >= ordinales / 2) {
+                claves = null;
+                puntajes = new float[ordinales];
+                mascara = 0;
+            } else {
+                claves = new int[capacidad];
+                puntajes = new float[capacidad];
+                mascara = capacidad - 1;
+            }
+        }
+
+        private void sumar(int ordinal, float puntaje) {
+            int ranura;
+            boolean nueva;
+            if (claves == null) {
+                ranura = ordinal;
+                nueva = puntajes[ranura] == 0;
+            } else {
+                ranura = (ordinal * MEZCLA) & mascara;
+                while (claves[ranura] != 0 && claves[ranura] != ordinal + 1) {
+                    ranura = (ranura + 1) & mascara;
+                }
+                nueva = claves[ranura] == 0;
+                claves[ranura] = ordinal + 1;
+            }
+            if (nueva) {
+                if (cantidad == ranuras.length) {
+                    ranuras = Arrays.copyOf(ranuras, cantidad * 2);
+                }
+                ranuras[cantidad++] = ranura;
+            }
+            puntajes[ranura] += puntaje;
+        }
+
+        private float puntaje(int ranura) {
+            return puntajes[ranura];
+        }
+
+        private int ordinal(int ranura) {
+            return claves == null ? ranura : claves[ranura] - 1;
+        }
+    }
+}
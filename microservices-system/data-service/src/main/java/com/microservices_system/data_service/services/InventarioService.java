@@ -0,0 +1,216 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ConflictoConcurrenciaException;
+import com.microservices_system.business_service.exceptions.InventarioNoEncontradoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.AjusteInventarioRespuesta;
+import com.microservices_system.data_service.dto.ContencionProducto;
+import com.microservices_system.data_service.dto.ResumenCategoria;
+import com.microservices_system.data_service.dto.StockHistorico;
+import com.microservices_system.data_service.dto.ValorStockProducto;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.MovimientoInventario;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.TipoMovimiento;
+import com.microservices_system.data_service.repositories.InventarioRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@Transactional
+public class InventarioService {
+    static final int TOP_VALOR_MAXIMO = 1000;
+
+    private final InventarioRepository inventarioRepository;
+    private final ReintentoOptimista reintentoOptimista;
+    private final AjusteInventarioBuffer ajusteInventarioBuffer;
+    private final MovimientoInventarioService movimientoInventarioService;
+    private final CambioService cambioService;
+
+    public InventarioService(InventarioRepository inventarioRepository,
+                             ReintentoOptimista reintentoOptimista,
+                             AjusteInventarioBuffer ajusteInventarioBuffer,
+                             MovimientoInventarioService movimientoInventarioService,
+                             CambioService cambioService) {
+        this.inventarioRepository = inventarioRepository;
+        this.reintentoOptimista = reintentoOptimista;
+        this.ajusteInventarioBuffer = ajusteInventarioBuffer;
+        this.movimientoInventarioService = movimientoInventarioService;
+        this.cambioService = cambioService;
+    }
+
+    public Inventario guardar(Inventario inventario) {
+        inventario.setFechaActualizacion(LocalDateTime.now());
+        Inventario guardado = inventarioRepository.save(inventario);
+        movimientoInventarioService.registrar(productoIdDe(guardado), TipoMovimiento.ENTRADA, valor(guardado.getCantidad()));
+        cambioService.registrar(EntidadCambio.INVENTARIO, guardado.getId(), OperacionCambio.CREACION);
+        return guardado;
+    }
+
+    @Transactional(readOnly = true)
+    public Inventario buscarPorId(Long id) {
+        return inventarioRepository.findById(id)
+                .orElseThrow(() -> new InventarioNoEncontradoException("Inventario no encontrado con ID: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Inventario buscarPorProductoId(Long productoId) {
+        return inventarioRepository.findByProductoId(productoId)
+                .orElseThrow(() -> new InventarioNoEncontradoException("Inventario no encontrado para producto ID: " + productoId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Inventario> obtenerTodos() {
+        return inventarioRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Inventario> obtenerProductosConStockBajo() {
+        return inventarioRepository.findInventariosConStockBajo();
+    }
+
+    /**
+     * Reemplaza los datos de un inventario usando bloqueo optimista.
+     * Si el cuerpo trae una versión distinta a la almacenada se rechaza sin reintentar,
+     * ya que el cliente trabajó sobre datos desactualizados.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Inventario actualizar(Long id, Inventario inventario) {
+        Long productoId = inventario.getProducto() != null ? inventario.getProducto().getId() : null;
+        return reintentoOptimista.ejecutar(productoId, () -> {
+            Inventario actual = buscarPorId(id);
+            if (inventario.getVersion() != null && !inventario.getVersion().equals(actual.getVersion())) {
+                throw new ConflictoConcurrenciaException("El inventario con ID " + id + " fue modificado por otra operación");
+            }
+            Long productoAnterior = productoIdDe(actual);
+            int cantidadAnterior = valor(actual.getCantidad());
+            actual.setProducto(inventario.getProducto());
+            actual.setCantidad(inventario.getCantidad());
+            actual.setStockMinimo(inventario.getStockMinimo());
+            actual.setFechaActualizacion(LocalDateTime.now());
+            Inventario guardado = inventarioRepository.save(actual);
+            registrarCambioStock(productoAnterior, cantidadAnterior, productoIdDe(guardado), valor(guardado.getCantidad()));
+            cambioService.registrar(EntidadCambio.INVENTARIO, id, OperacionCambio.ACTUALIZACION);
+            return guardado;
+        });
+    }
+
+    public void eliminar(Long id) {
+        Inventario inventario = buscarPorId(id);
+        movimientoInventarioService.registrar(productoIdDe(inventario), TipoMovimiento.AJUSTE, -valor(inventario.getCantidad()));
+        cambioService.registrar(EntidadCambio.INVENTARIO, id, OperacionCambio.ELIMINACION);
+        inventarioRepository.delete(inventario);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Inventario actualizarCantidad(Long productoId, Integer nuevaCantidad) {
+        if (nuevaCantidad < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa");
+        }
+
+        return reintentoOptimista.ejecutar(productoId, () -> {
+            Inventario inventario = buscarPorProductoId(productoId);
+            int cantidadAnterior = valor(inventario.getCantidad());
+            inventario.setCantidad(nuevaCantidad);
+            inventario.setFechaActualizacion(LocalDateTime.now());
+            Inventario guardado = inventarioRepository.save(inventario);
+            movimientoInventarioService.registrar(productoId, TipoMovimiento.AJUSTE, nuevaCantidad - cantidadAnterior);
+            cambioService.registrar(EntidadCambio.INVENTARIO, guardado.getId(), OperacionCambio.ACTUALIZACION);
+            return guardado;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<MovimientoInventario> obtenerMovimientos(Long productoId, LocalDateTime desde, LocalDateTime hasta) {
+        return movimientoInventarioService.obtenerMovimientos(productoId, desde, hasta);
+    }
+
+    @Transactional(readOnly = true)
+    public StockHistorico obtenerStockEn(Long productoId, LocalDateTime fecha) {
+        return movimientoInventarioService.obtenerStockEn(productoId, fecha);
+    }
+
+    /**
+     * Registra un ajuste relativo de stock que se aplicará coalescido con los
+     * demás ajustes del mismo producto recibidos en la ventana actual.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<AjusteInventarioRespuesta> ajustarCantidad(Long productoId, Integer delta) {
+        return ajusteInventarioBuffer.registrar(productoId, delta);
+    }
+
+    /**
+     * Valorización, unidades y productos con stock bajo por categoría, agregados en la base de datos.
+     * Incluye las categorías sin productos o sin inventario, con valores en cero.
+     */
+    @Transactional(readOnly = true)
+    public List<ResumenCategoria> obtenerResumenPorCategoria() {
+        return inventarioRepository.resumirPorCategoria();
+    }
+
+    /**
+     * Productos con mayor capital inmovilizado (cantidad * precio), calculados en la base
+     * de datos: el ORDER BY ... LIMIT permite un ordenamiento top-N que mantiene solo K filas.
+     *
+     * @param k            Cantidad de productos a retornar (en total o por categoría)
+     * @param porCategoria Si es true, retorna los K primeros de cada categoría
+     */
+    @Transactional(readOnly = true)
+    public List<ValorStockProducto> obtenerTopPorValor(int k, boolean porCategoria) {
+        if (k <= 0 || k > TOP_VALOR_MAXIMO) {
+            throw new ValidacionNegocioException("K debe estar entre 1 y " + TOP_VALOR_MAXIMO);
+        }
+        List<InventarioRepository.ValorStock> filas = porCategoria
+                ? inventarioRepository.findTopPorValorPorCategoria(k)
+                : inventarioRepository.findTopPorValor(k);
+        return filas.stream()
+                .map(fila -> new ValorStockProducto(fila.getProductoId(), fila.getNombre(), fila.getCategoriaId(),
+                        fila.getCategoria(), fila.getCantidad(), fila.getPrecio(), fila.getValor(), fila.getPosicion()))
+                .toList();
+    }
+
+    public List<ContencionProducto> obtenerContencion(int limite) {
+        return reintentoOptimista.obtenerContencion(limite);
+    }
+
+
+    @Transactional(readOnly = true)
+    public boolean tieneStockSuficiente(Long productoId, Integer cantidadRequerida) {
+        Boolean resultado = inventarioRepository.tieneStockSuficiente(productoId, cantidadRequerida);
+        return resultado != null ? resultado : false;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Inventario> obtenerProductosSinStock() {
+        return inventarioRepository.findByCantidad(0);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Inventario> obtenerTodosConProducto(){
+        return inventarioRepository.findAllWithProducto();
+    }
+
+    private void registrarCambioStock(Long productoAnterior, int cantidadAnterior, Long productoNuevo, int cantidadNueva) {
+        if (Objects.equals(productoAnterior, productoNuevo)) {
+            movimientoInventarioService.registrar(productoNuevo, TipoMovimiento.AJUSTE, cantidadNueva - cantidadAnterior);
+        } else {
+            movimientoInventarioService.registrar(productoAnterior, TipoMovimiento.AJUSTE, -cantidadAnterior);
+            movimientoInventarioService.registrar(productoNuevo, TipoMovimiento.AJUSTE, cantidadNueva);
+        }
+    }
+
+    private static Long productoIdDe(Inventario inventario) {
+        return inventario.getProducto() != null ? inventario.getProducto().getId() : null;
+    }
+
+    private static int valor(Integer cantidad) {
+        return cantidad != null ? cantidad : 0;
+    }
+}
@@ -0,0 +1,181 @@
+package com.microservices_system.data_service.services;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lee un archivo generado por {@code GET /data/export/catalogo} de a un bloque
+ * por vez. Cada bloque expone sus columnas como arreglos, sin crear un objeto
+ * por fila; el formato está descrito en {@link EscritorCatalogoColumnar}.
+ */
+public final class LectorCatalogoColumnar {
+    private final DataInputStream entrada;
+    private final int escalaPrecio;
+    private final long versionCambios;
+    private final List<String> diccionario = new ArrayList<>();
+    private long ultimoId;
+    private boolean terminado;
+
+    /**
+     * Bloque de filas del catálogo. Las posiciones de {@code cantidades} y
+     * {@code stockMinimos} son las de la fila; valen 0 donde
+     * {@code conInventario} es false.
+     */
+    public record Bloque(int filas, long[] ids, String[] nombres, String[] descripciones, String[] categorias,
+                         long[] preciosEscalados, int escalaPrecio, boolean[] conInventario,
+                         int[] cantidades, int[] stockMinimos) {
+
+        public BigDecimal precio(int fila) {
+            return BigDecimal.valueOf(preciosEscalados[fila], escalaPrecio);
+        }
+    }
+
+    public LectorCatalogoColumnar(InputStream entrada) throws IOException {
+        this.entrada = new DataInputStream(new BufferedInputStream(entrada, 64 * 1024));
+        byte[] magia = new byte[EscritorCatalogoColumnar.MAGIA.length];
+        this.entrada.readFully(magia);
+        if (!Arrays.equals(magia, EscritorCatalogoColumnar.MAGIA)) {
+            throw new IOException("El archivo no es una exportación columnar del catálogo");
+        }
+        int version = this.entrada.readUnsignedByte();
+        if (version != EscritorCatalogoColumnar.VERSION) {
+            throw new IOException("Versión de exportación no soportada: " + version);
+        }
+        this.escalaPrecio = this.entrada.readUnsignedByte();
+        this.versionCambios = leerVarLong();
+    }
+
+    /**
+     * @return Versión del feed de cambios desde la que continuar después de cargar el archivo
+     */
+    public long versionCambios() {
+        return versionCambios;
+    }
+
+    /**
+     * @return El próximo bloque, o null al llegar a la marca de fin
+     */
+    public Bloque siguiente() throws IOException {
+        if (terminado) {
+            return null;
+        }
+        int filas = Math.toIntExact(leerVarLong());
+        if (filas == 0) {
+            terminado = true;
+            return null;
+        }
+        int nuevasCategorias = Math.toIntExact(leerVarLong());
+        for (int i = 0; i < nuevasCategorias; i++) {
+            diccionario.add(leerTexto(Math.toIntExact(leerVarLong())));
+        }
+
+        long[] ids = new long[filas];
+        for (int i = 0; i < filas; i++) {
+            ultimoId += deszigzag(leerVarLong());
+            ids[i] = ultimoId;
+        }
+        int[] indicesCategoria = leerEmpaquetados(filas);
+        String[] categorias = new String[filas];
+        for (int i = 0; i < filas; i++) {
+            categorias[i] = indicesCategoria[i] == 0 ? null : diccionario.get(indicesCategoria[i] - 1);
+        }
+        long[] precios = new long[filas];
+        for (int i = 0; i < filas; i++) {
+            precios[i] = deszigzag(leerVarLong());
+        }
+        boolean[] conInventario = leerBitmap(filas);
+        int conStock = 0;
+        for (boolean valor : conInventario) {
+            conStock += valor ? 1 : 0;
+        }
+        int[] cantidades = expandir(leerEmpaquetados(conStock), conInventario);
+        int[] stockMinimos = expandir(leerEmpaquetados(conStock), conInventario);
+        String[] nombres = new String[filas];
+        for (int i = 0; i < filas; i++) {
+            nombres[i] = leerTexto(Math.toIntExact(leerVarLong()));
+        }
+        String[] descripciones = new String[filas];
+        for (int i = 0; i < filas; i++) {
+            int largo = Math.toIntExact(leerVarLong());
+            descripciones[i] = largo == 0 ? null : leerTexto(largo - 1);
+        }
+        return new Bloque(filas, ids, nombres, descripciones, categorias, precios, escalaPrecio,
+                conInventario, cantidades, stockMinimos);
+    }
+
+    private int[] leerEmpaquetados(int cantidad) throws IOException {
+        int ancho = entrada.readUnsignedByte();
+        int[] valores = new int[cantidad];
+        if (ancho == 0) {
+            return valores;
+        }
+        long mascara = (1L << ancho) - 1;
+        long acumulado = 0;
+        int bits = 0;
+        for (int i = 0; i < cantidad; i++) {
+            while (bits < ancho) {
+                acumulado |= (long) entrada.readUnsignedByte() << bits;
+                bits += 8;
+            }
+            int valor = (int) (acumulado & mascara);
+            valores[i] = (valor >>> 1) ^ -(valor & 1);
+            acumulado >>>= ancho;
+            bits -= ancho;
+        }
+        return valores;
+    }
+
+    private boolean[] leerBitmap(int cantidad) throws IOException {
+        boolean[] valores = new boolean[cantidad];
+        for (int inicio = 0; inicio < cantidad; inicio += 8) {
+            int octeto = entrada.readUnsignedByte();
+            for (int i = inicio; i < Math.min(inicio + 8, cantidad); i++) {
+                valores[i] = (octeto & (1 << (i - inicio))) != 0;
+            }
+        }
+        return valores;
+    }
+
+    private static int[] expandir(int[] compactos, boolean[] presentes) {
+        int[] valores = new int[presentes.length];
+        for (int i = 0, j = 0; i < presentes.length; i++) {
+            if (presentes[i]) {
+                valores[i] = compactos[j++];
+            }
+        }
+        return valores;
+    }
+
+    private String leerTexto(int largo) throws IOException {
+        byte[] bytes = new byte[largo];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long leerVarLong() throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int octeto = entrada.read();
+            if (octeto < 0) {
+                throw new EOFException("Exportación truncada");
+            }
+            valor |= (long) (octeto & 0x7F) << desplazamiento;
+            if ((octeto & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Entero variable mal formado");
+    }
+
+    private static long deszigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+}
@@ -0,0 +1,141 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV (RFC 4180) que entrega un registro por vez, sin cargar el
+ * archivo en memoria. Admite campos entre comillas con comas, saltos de línea
+ * y comillas dobladas, y descarta la marca BOM inicial.
+ */
+final class LectorCsv {
+    static final int LARGO_MAXIMO_REGISTRO = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int posicion;
+    private int limite;
+    private long linea = 1;
+    private long lineaRegistro;
+    private boolean inicio = true;
+
+    LectorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lee el próximo registro; las líneas vacías se omiten.
+     *
+     * @return Campos del registro, o null al terminar el archivo
+     */
+    List<String> siguiente() throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        boolean vacio = true;
+        int largo = 0;
+        lineaRegistro = linea;
+        int c;
+        while ((c = leer()) != -1) {
+            if (++largo > LARGO_MAXIMO_REGISTRO) {
+                throw new ValidacionNegocioException("El registro de la línea " + lineaRegistro +
+                        " supera los " + LARGO_MAXIMO_REGISTRO + " caracteres");
+            }
+            if (entreComillas) {
+                if (c == '"') {
+                    if (mirar() == '"') {
+                        leer();
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        linea++;
+                    }
+                    campo.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    entreComillas = true;
+                    vacio = false;
+                }
+                case ',' -> {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                    vacio = false;
+                }
+                case '\r' -> {
+                    // Se ignora; el fin de registro lo marca '\n'.
+                }
+                case '\n' -> {
+                    linea++;
+                    if (vacio && campo.isEmpty()) {
+                        lineaRegistro = linea;
+                        largo = 0;
+                        continue;
+                    }
+                    campos.add(campo.toString());
+                    return campos;
+                }
+                default -> {
+                    campo.append((char) c);
+                    vacio = false;
+                }
+            }
+        }
+        if (entreComillas) {
+            throw new ValidacionNegocioException("Comillas sin cerrar en el registro de la línea " + lineaRegistro);
+        }
+        if (vacio && campo.isEmpty()) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    /**
+     * Línea del archivo en la que empieza el último registro leído.
+     */
+    long linea() {
+        return lineaRegistro;
+    }
+
+    private int leer() throws IOException {
+        if (posicion == limite && !llenar()) {
+            return -1;
+        }
+        return buffer[posicion++];
+    }
+
+    private int mirar() throws IOException {
+        if (posicion == limite && !llenar()) {
+            return -1;
+        }
+        return buffer[posicion];
+    }
+
+    private boolean llenar() throws IOException {
+        do {
+            limite = reader.read(buffer);
+            posicion = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return false;
+            }
+            if (inicio) {
+                inicio = false;
+                if (buffer[0] == '\uFEFF') {
+                    posicion = 1;
+                }
+            }
+        } while (posicion == limite);
+        return true;
+    }
+}
@@ -0,0 +1,314 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.StockHistorico;
+import com.microservices_system.data_service.entity.MovimientoInventario;
+import com.microservices_system.data_service.entity.SnapshotInventario;
+import com.microservices_system.data_service.entity.TipoMovimiento;
+import com.microservices_system.data_service.repositories.MovimientoInventarioRepository;
+import com.microservices_system.data_service.repositories.MovimientoInventarioRepository.ResumenMovimientos;
+import com.microservices_system.data_service.repositories.MovimientoInventarioRepository.TramoMovimientos;
+import com.microservices_system.data_service.repositories.SnapshotInventarioRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Libro mayor de movimientos de inventario.
+ * Los movimientos se insertan en la misma transacción que el cambio de stock
+ * y nunca se modifican. Una tarea periódica compacta los movimientos nuevos en
+ * snapshots por producto, de modo que una consulta a una fecha cualquiera lee
+ * un snapshot y reproduce solo los movimientos posteriores a él.
+ * <p>
+ * Como en el log de cambios, "posterior" no se mide por ID: una transacción que
+ * obtuvo un ID menor puede hacer commit después de que la compactación pasó por
+ * encima de él. La compactación asigna primero una secuencia creciente a los
+ * movimientos ya confirmados y compacta por secuencia; un movimiento que todavía
+ * no es visible recibe su secuencia en una pasada posterior, y hasta entonces
+ * las consultas históricas lo reproducen como uno nuevo.
+ * <p>
+ * Para cada producto la suma de sus movimientos es su stock actual: las bajas
+ * en cascada (de un producto o de una categoría) registran la salida del stock
+ * que se elimina, y al iniciar se concilia el libro con la tabla de inventario
+ * para dar saldo inicial a los inventarios anteriores al libro.
+ * <p>
+ * Con sharding cada shard lleva el libro y los snapshots de sus productos: las
+ * consultas se dirigen al shard del producto (ver {@link CatalogoDistribuidoService})
+ * y la conciliación y la compactación corren en cada shard.
+ */
+@Service
+@Transactional
+@Slf4j
+public class MovimientoInventarioService {
+    static final String SQL_MOVIMIENTO =
+            "INSERT INTO movimientos_inventario (producto_id, tipo, cantidad, fecha, periodo) VALUES (?, ?, ?, ?, ?)";
+    static final String SQL_BAJA_INVENTARIO_DE_PRODUCTO =
+            "INSERT INTO movimientos_inventario (producto_id, tipo, cantidad, fecha, periodo) " +
+            "SELECT producto_id, 'AJUSTE', -cantidad, ?, ? FROM inventario WHERE producto_id = ? AND cantidad <> 0";
+    static final String SQL_BAJA_INVENTARIOS_DE_CATEGORIA =
+            "INSERT INTO movimientos_inventario (producto_id, tipo, cantidad, fecha, periodo) " +
+            "SELECT i.producto_id, 'AJUSTE', -i.cantidad, ?, ? FROM inventario i " +
+            "JOIN productos p ON i.producto_id = p.id WHERE p.categoria_id = ? AND i.cantidad <> 0";
+    /** Productos cuyo stock no coincide con la suma de sus movimientos, tengan o no inventario. */
+    static final String SQL_DESCUADRES =
+            "SELECT i.producto_id FROM inventario i LEFT JOIN (SELECT producto_id, SUM(cantidad) AS total " +
+            "FROM movimientos_inventario GROUP BY producto_id) m ON m.producto_id = i.producto_id " +
+            "WHERE i.cantidad <> COALESCE(m.total, 0) " +
+            "UNION SELECT m.producto_id FROM (SELECT producto_id, SUM(cantidad) AS total " +
+            "FROM movimientos_inventario GROUP BY producto_id) m WHERE m.total <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM inventario i WHERE i.producto_id = m.producto_id)";
+    static final String SQL_STOCK =
+            "SELECT producto_id, cantidad, fecha_actualizacion FROM inventario WHERE producto_id IN (%s) FOR UPDATE";
+    static final String SQL_SALDO_LIBRO =
+            "SELECT producto_id, SUM(cantidad), MIN(fecha) FROM movimientos_inventario " +
+            "WHERE producto_id IN (%s) GROUP BY producto_id";
+    private static final int TAMANIO_LOTE_COMPACTACION = 1000;
+    private static final int TAMANIO_LOTE_SECUENCIA = 1000;
+    private static final int TAMANIO_LOTE_CONCILIACION = 1000;
+
+    private final MovimientoInventarioRepository movimientoRepository;
+    private final SnapshotInventarioRepository snapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final EnrutadorShards enrutador;
+
+    public MovimientoInventarioService(MovimientoInventarioRepository movimientoRepository,
+                                       SnapshotInventarioRepository snapshotRepository,
+                                       JdbcTemplate jdbcTemplate,
+                                       TransactionOperations transactionOperations,
+                                       EnrutadorShards enrutador) {
+        this.movimientoRepository = movimientoRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.enrutador = enrutador;
+    }
+
+    public void registrar(Long productoId, TipoMovimiento tipo, int cantidad) {
+        if (productoId == null || cantidad == 0) {
+            return;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        movimientoRepository.save(new MovimientoInventario(null, productoId, tipo, cantidad, ahora, periodo(ahora), null));
+    }
+
+    /**
+     * Inserta en un único batch JDBC un movimiento por producto.
+     * Los deltas positivos se registran como entradas y los negativos como salidas.
+     */
+    public void registrarLote(Map<Long, Integer> deltasPorProducto, LocalDateTime fecha) {
+        List<Object[]> argumentos = new ArrayList<>(deltasPorProducto.size());
+        deltasPorProducto.forEach((productoId, delta) -> {
+            TipoMovimiento tipo = delta > 0 ? TipoMovimiento.ENTRADA : TipoMovimiento.SALIDA;
+            argumentos.add(new Object[]{productoId, tipo.name(), delta, fecha, periodo(fecha)});
+        });
+        if (!argumentos.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_MOVIMIENTO, argumentos);
+        }
+    }
+
+    /**
+     * Registra la salida del stock de un producto cuyo inventario se elimina en
+     * cascada con él. Debe invocarse antes de borrar el producto.
+     */
+    public void registrarBajaProducto(Long productoId) {
+        LocalDateTime ahora = LocalDateTime.now();
+        jdbcTemplate.update(SQL_BAJA_INVENTARIO_DE_PRODUCTO, ahora, periodo(ahora), productoId);
+    }
+
+    /**
+     * Registra la salida del stock de los productos de una categoría que se
+     * elimina en cascada con ella. Debe invocarse antes de borrar la categoría.
+     */
+    public void registrarBajaCategoria(Long categoriaId) {
+        LocalDateTime ahora = LocalDateTime.now();
+        jdbcTemplate.update(SQL_BAJA_INVENTARIOS_DE_CATEGORIA, ahora, periodo(ahora), categoriaId);
+    }
+
+    /**
+     * Registra un AJUSTE por la diferencia entre el stock de cada producto y la
+     * suma de sus movimientos. Da saldo inicial a los inventarios cargados antes
+     * de que existiera el libro (fechado en su primer movimiento o, si no tiene,
+     * en su última actualización) y cierra el saldo de los productos eliminados
+     * sin registrar su salida. En una base ya conciliada no registra nada.
+     * <p>
+     * Cada tramo corre en su propia transacción que primero bloquea el inventario
+     * de sus productos y recién después suma sus movimientos: una escritura
+     * concurrente, o la conciliación de otra instancia que arranca a la vez,
+     * termina antes de la suma y no se cuenta dos veces.
+     *
+     * @return Cantidad de ajustes registrados
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int conciliar() {
+        int ajustes = enrutador.porShard(shard -> conciliarShard()).stream().mapToInt(Integer::intValue).sum();
+        if (ajustes > 0) {
+            log.info("Conciliado el libro de inventario con {} ajustes de saldo", ajustes);
+        }
+        return ajustes;
+    }
+
+    private int conciliarShard() {
+        List<Long> productoIds = jdbcTemplate.queryForList(SQL_DESCUADRES, Long.class);
+        int ajustes = 0;
+        for (int inicio = 0; inicio < productoIds.size(); inicio += TAMANIO_LOTE_CONCILIACION) {
+            List<Long> tramo = productoIds.subList(inicio, Math.min(inicio + TAMANIO_LOTE_CONCILIACION, productoIds.size()));
+            ajustes += transactionOperations.execute(estado -> conciliar(tramo));
+        }
+        return ajustes;
+    }
+
+    private int conciliar(List<Long> productoIds) {
+        String marcadores = String.join(", ", Collections.nCopies(productoIds.size(), "?"));
+        Map<Long, Integer> stock = new HashMap<>(productoIds.size() * 2);
+        Map<Long, LocalDateTime> actualizacion = new HashMap<>();
+        jdbcTemplate.query(String.format(SQL_STOCK, marcadores), (RowCallbackHandler) fila -> {
+            stock.put(fila.getLong(1), fila.getInt(2));
+            Timestamp fecha = fila.getTimestamp(3);
+            if (fecha != null) {
+                actualizacion.put(fila.getLong(1), fecha.toLocalDateTime());
+            }
+        }, productoIds.toArray());
+        Map<Long, Long> saldo = new HashMap<>(productoIds.size() * 2);
+        Map<Long, LocalDateTime> primerMovimiento = new HashMap<>(productoIds.size() * 2);
+        jdbcTemplate.query(String.format(SQL_SALDO_LIBRO, marcadores), (RowCallbackHandler) fila -> {
+            saldo.put(fila.getLong(1), fila.getLong(2));
+            primerMovimiento.put(fila.getLong(1), fila.getTimestamp(3).toLocalDateTime());
+        }, productoIds.toArray());
+
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Object[]> argumentos = new ArrayList<>();
+        for (Long productoId : productoIds) {
+            long diferencia = stock.getOrDefault(productoId, 0) - saldo.getOrDefault(productoId, 0L);
+            if (diferencia == 0) {
+                continue;
+            }
+            LocalDateTime fecha = ahora;
+            if (stock.containsKey(productoId)) {
+                fecha = primerMovimiento.getOrDefault(productoId, actualizacion.getOrDefault(productoId, ahora));
+            }
+            argumentos.add(new Object[]{productoId, TipoMovimiento.AJUSTE.name(), Math.toIntExact(diferencia),
+                    fecha, periodo(fecha)});
+        }
+        if (!argumentos.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_MOVIMIENTO, argumentos);
+        }
+        return argumentos.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<MovimientoInventario> obtenerMovimientos(Long productoId, LocalDateTime desde, LocalDateTime hasta) {
+        return movimientoRepository.findByProductoIdAndFechaBetweenOrderByIdAsc(productoId, desde, hasta);
+    }
+
+    /**
+     * Reconstruye el stock de un producto a una fecha: último snapshot anterior
+     * a la fecha más los movimientos que no entraron en ese snapshot (con una
+     * secuencia mayor, o todavía sin secuencia).
+     */
+    @Transactional(readOnly = true)
+    public StockHistorico obtenerStockEn(Long productoId, LocalDateTime fecha) {
+        SnapshotInventario snapshot = snapshotRepository
+                .findFirstByProductoIdAndFechaLessThanEqualOrderByUltimaSecuenciaDesc(productoId, fecha)
+                .orElse(null);
+        long base = snapshot != null ? snapshot.getCantidad() : 0;
+        long desde = snapshot != null ? snapshot.getUltimaSecuencia() : 0L;
+
+        ResumenMovimientos resumen = movimientoRepository.resumirDesde(productoId, desde, fecha);
+        return new StockHistorico(productoId, fecha, Math.toIntExact(base + resumen.getTotal()), resumen.getMovimientos());
+    }
+
+    /**
+     * Genera snapshots para los productos con movimientos nuevos desde la última compactación.
+     * Antes asigna secuencia a los movimientos confirmados que no la tienen, y
+     * compacta hasta la última secuencia asignada. El snapshot se fecha con el
+     * movimiento más reciente que acumula, aunque provenga de un tramo anterior,
+     * para que ninguna consulta a una fecha previa lo use.
+     * Con sharding compacta cada shard en su propia transacción.
+     *
+     * @return Cantidad de snapshots generados
+     */
+    @Scheduled(fixedDelayString = "${inventario.movimientos.compactacion-ms:60000}")
+    public int compactar() {
+        return enrutador.porShard(shard -> transactionOperations.execute(estado -> compactarShard()))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    private int compactarShard() {
+        asignarSecuencias();
+        Long compactada = snapshotRepository.findUltimaSecuenciaCompactada();
+        long desde = compactada != null ? compactada : 0L;
+        Long hasta = movimientoRepository.findUltimaSecuencia();
+        if (hasta == null || hasta <= desde) {
+            return 0;
+        }
+
+        List<TramoMovimientos> tramos = movimientoRepository.agruparPorProducto(desde, hasta);
+        List<SnapshotInventario> snapshots = new ArrayList<>(tramos.size());
+        for (int inicio = 0; inicio < tramos.size(); inicio += TAMANIO_LOTE_COMPACTACION) {
+            List<TramoMovimientos> lote = tramos.subList(inicio, Math.min(inicio + TAMANIO_LOTE_COMPACTACION, tramos.size()));
+            Map<Long, SnapshotInventario> anteriores = snapshotRepository
+                    .findUltimosPorProducto(lote.stream().map(TramoMovimientos::getProductoId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(SnapshotInventario::getProductoId, Function.identity()));
+            for (TramoMovimientos tramo : lote) {
+                SnapshotInventario anterior = anteriores.get(tramo.getProductoId());
+                long base = anterior != null ? anterior.getCantidad() : 0;
+                LocalDateTime fecha = anterior != null && anterior.getFecha().isAfter(tramo.getUltimaFecha())
+                        ? anterior.getFecha() : tramo.getUltimaFecha();
+                snapshots.add(new SnapshotInventario(null, tramo.getProductoId(),
+                        Math.toIntExact(base + tramo.getTotal()), hasta, fecha));
+            }
+        }
+        snapshotRepository.saveAll(snapshots);
+        log.info("Compactados movimientos de inventario hasta la secuencia {} en {} snapshots", hasta, snapshots.size());
+        return snapshots.size();
+    }
+
+    /**
+     * Asigna secuencias crecientes, en orden de ID, a los movimientos confirmados
+     * que todavía no la tienen. Si otra instancia asigna a la vez, la restricción
+     * única sobre la secuencia hace fallar a una de las dos, que reintenta en la
+     * próxima pasada.
+     */
+    private void asignarSecuencias() {
+        List<MovimientoInventario> pendientes;
+        do {
+            pendientes = movimientoRepository.findBySecuenciaIsNullOrderByIdAsc(Limit.of(TAMANIO_LOTE_SECUENCIA));
+            if (pendientes.isEmpty()) {
+                break;
+            }
+            Long ultima = movimientoRepository.findUltimaSecuencia();
+            long secuencia = ultima != null ? ultima : 0L;
+            for (MovimientoInventario movimiento : pendientes) {
+                movimiento.setSecuencia(++secuencia);
+            }
+            movimientoRepository.flush();
+        } while (pendientes.size() == TAMANIO_LOTE_SECUENCIA);
+    }
+
+    private static int periodo(LocalDateTime fecha) {
+        return fecha.getYear() * 100 + fecha.getMonthValue();
+    }
+}
@@ -0,0 +1,103 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mantiene las particiones mensuales del libro mayor de inventario cuando la
+ * tabla está particionada en PostgreSQL (ver db/postgres/movimientos_inventario_particionado.sql).
+ * Crea por adelantado la partición del mes actual y las de los meses siguientes,
+ * de modo que la partición default no reciba filas: una vez que la default tiene
+ * filas de un mes, PostgreSQL ya no permite crear la partición de ese mes.
+ * En otras bases, o si la tabla no está particionada, no hace nada. Con sharding
+ * revisa cada shard por separado.
+ */
+@Component
+@Slf4j
+public class ParticionesMovimientos {
+    static final String SQL_TABLA_PARTICIONADA =
+            "SELECT COUNT(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+            "WHERE c.relname = 'movimientos_inventario'";
+    static final String SQL_PARTICION =
+            "CREATE TABLE IF NOT EXISTS movimientos_inventario_%d " +
+            "PARTITION OF movimientos_inventario FOR VALUES FROM (%d) TO (%d)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EnrutadorShards enrutador;
+    private final int mesesAnticipados;
+    /** Si la tabla está particionada en cada shard; null mientras no se consultó. */
+    private final Boolean[] particionada;
+
+    public ParticionesMovimientos(JdbcTemplate jdbcTemplate,
+                                  EnrutadorShards enrutador,
+                                  @Value("${inventario.movimientos.particiones.meses-anticipados:3}") int mesesAnticipados) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enrutador = enrutador;
+        this.mesesAnticipados = mesesAnticipados;
+        this.particionada = new Boolean[enrutador.cantidad()];
+    }
+
+    /**
+     * Crea las particiones que falten. Corre al iniciar y luego una vez por día.
+     *
+     * @return Cantidad de sentencias ejecutadas en todos los shards (0 si la tabla no está particionada)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${inventario.movimientos.particiones.intervalo-ms:86400000}")
+    public int crearParticiones() {
+        return enrutador.porShard(this::crearParticiones).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int crearParticiones(int shard) {
+        if (!particionada(shard)) {
+            return 0;
+        }
+        List<String> sentencias = sentencias(YearMonth.now(), mesesAnticipados);
+        for (String sentencia : sentencias) {
+            try {
+                jdbcTemplate.execute(sentencia);
+            } catch (DataAccessException e) {
+                // Típicamente la partición default ya tiene filas del mes: hay que moverlas a mano
+                log.warn("No se pudo crear la partición del libro de inventario ({}): {}", sentencia, e.getMessage());
+            }
+        }
+        return sentencias.size();
+    }
+
+    /**
+     * @return Una sentencia por mes, desde {@code desde} y {@code meses} meses más
+     */
+    static List<String> sentencias(YearMonth desde, int meses) {
+        List<String> sentencias = new ArrayList<>(meses + 1);
+        for (int i = 0; i <= meses; i++) {
+            YearMonth mes = desde.plusMonths(i);
+            int periodo = periodo(mes);
+            sentencias.add(String.format(SQL_PARTICION, periodo, periodo, periodo(mes.plusMonths(1))));
+        }
+        return sentencias;
+    }
+
+    private boolean particionada(int shard) {
+        if (particionada[shard] == null) {
+            String base = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            Integer tablas = "PostgreSQL".equals(base)
+                    ? jdbcTemplate.queryForObject(SQL_TABLA_PARTICIONADA, Integer.class)
+                    : Integer.valueOf(0);
+            particionada[shard] = tablas != null && tablas > 0;
+        }
+        return particionada[shard];
+    }
+
+    private static int periodo(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+}
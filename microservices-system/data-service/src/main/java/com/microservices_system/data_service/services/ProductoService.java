@@ -0,0 +1,141 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ProductoDuplicadoException;
+import com.microservices_system.business_service.exceptions.ProductoNoEncontradoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.PaginaProductos;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static com.microservices_system.data_service.repositories.ProductoSpecifications.*;
+
+@Service
+@Transactional
+public class ProductoService {
+    static final Set<String> CAMPOS_ORDENABLES = Set.of("id", "nombre", "precio");
+    static final int TAMANIO_MAXIMO_PAGINA = 100;
+
+    private final ProductoRepository productoRepository;
+    private final CambioService cambioService;
+    private final FiltroNombres filtroNombres;
+    private final MovimientoInventarioService movimientoInventarioService;
+
+    public ProductoService(ProductoRepository productoRepository, CambioService cambioService,
+                           FiltroNombres filtroNombres, MovimientoInventarioService movimientoInventarioService) {
+        this.productoRepository = productoRepository;
+        this.cambioService = cambioService;
+        this.filtroNombres = filtroNombres;
+        this.movimientoInventarioService = movimientoInventarioService;
+    }
+
+    public Producto guardar (Producto producto) {
+        if (filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, producto.getNombre(),
+                () -> productoRepository.existsByNombreIgnoreCase(producto.getNombre()))) {
+            throw new ProductoDuplicadoException("El producto ya está registrado: " + producto.getNombre());
+        }
+        Producto guardado;
+        try {
+            guardado = productoRepository.save(producto);
+        } catch (DataIntegrityViolationException e) {
+            if (!ViolacionUnicidad.es(e)) {
+                throw e;
+            }
+            // Alta concurrente del mismo nombre, o de otra instancia que el filtro aún no conoce
+            throw new ProductoDuplicadoException("El producto ya está registrado: " + producto.getNombre());
+        }
+        filtroNombres.agregar(FiltroNombres.Tabla.PRODUCTOS, guardado.getNombre());
+        cambioService.registrar(EntidadCambio.PRODUCTO, guardado.getId(), OperacionCambio.CREACION);
+        if (guardado.getInventario() != null) {
+            cambioService.registrar(EntidadCambio.INVENTARIO, guardado.getInventario().getId(), OperacionCambio.CREACION);
+        }
+        return guardado;
+    }
+
+    @Transactional(readOnly = true)
+    public Producto buscarPorId(Long id){
+        return productoRepository.findById(id)
+                .orElseThrow(() -> new ProductoNoEncontradoException("Producto no encontrado con ID: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Producto> buscarPorCategoria(String nombreCategoria) {
+        return productoRepository.findByNombreCategoria(nombreCategoria);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Producto> obtenerTodos() {
+        return productoRepository.findAll();
+    }
+
+    /**
+     * Filtra productos combinando los criterios indicados (los null se ignoran)
+     * en una única consulta paginada. No ejecuta consulta de conteo: se lee un
+     * producto más que el tamaño de página para saber si hay página siguiente.
+     */
+    @Transactional(readOnly = true)
+    public PaginaProductos buscarPorCriterios(String nombre, BigDecimal precioMin, BigDecimal precioMax,
+                                              Long categoriaId, Boolean conStock,
+                                              int pagina, int tamanio, String ordenarPor, Sort.Direction direccion) {
+        if (!CAMPOS_ORDENABLES.contains(ordenarPor)) {
+            throw new ValidacionNegocioException("No se puede ordenar productos por: " + ordenarPor);
+        }
+        if (pagina < 0 || tamanio <= 0 || tamanio > TAMANIO_MAXIMO_PAGINA) {
+            throw new ValidacionNegocioException(
+                    "La página debe ser positiva y el tamaño estar entre 1 y " + TAMANIO_MAXIMO_PAGINA);
+        }
+        Sort orden = "id".equals(ordenarPor)
+                ? Sort.by(direccion, "id")
+                : Sort.by(direccion, ordenarPor).and(Sort.by("id"));
+        Specification<Producto> criterios = Specification.allOf(
+                nombreContiene(nombre), precioDesde(precioMin), precioHasta(precioMax),
+                deCategoria(categoriaId), conStock(conStock), conInventario());
+        Slice<Producto> slice = productoRepository.findBy(criterios,
+                consulta -> consulta.slice(PageRequest.of(pagina, tamanio, orden)));
+        return new PaginaProductos(slice.getContent(), pagina, tamanio, slice.hasNext());
+    }
+
+    public Producto actualizar(Long id, Producto producto){
+        if (!productoRepository.existsById(id)) {
+            throw new ProductoNoEncontradoException("Producto no encontrado con ID: " + id);
+        }
+        producto.setId(id);
+        Producto actualizado;
+        try {
+            // El flush hace que la restricción única falle acá y no al confirmar la transacción
+            actualizado = productoRepository.saveAndFlush(producto);
+        } catch (DataIntegrityViolationException e) {
+            if (!ViolacionUnicidad.es(e)) {
+                throw e;
+            }
+            throw new ProductoDuplicadoException("El producto ya está registrado: " + producto.getNombre());
+        }
+        filtroNombres.agregar(FiltroNombres.Tabla.PRODUCTOS, actualizado.getNombre());
+        cambioService.registrar(EntidadCambio.PRODUCTO, id, OperacionCambio.ACTUALIZACION);
+        return actualizado;
+    }
+
+    public void eliminar(Long id){
+        if (!productoRepository.existsById(id)) {
+            throw new ProductoNoEncontradoException("Empleado no encontrado con ID: " + id);
+        }
+        cambioService.registrarInventariosDeProductos(List.of(id), OperacionCambio.ELIMINACION, LocalDateTime.now());
+        cambioService.registrar(EntidadCambio.PRODUCTO, id, OperacionCambio.ELIMINACION);
+        movimientoInventarioService.registrarBajaProducto(id);
+        productoRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,121 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ConflictoConcurrenciaException;
+import com.microservices_system.data_service.dto.ContencionProducto;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta operaciones de escritura sobre inventario con bloqueo optimista.
+ * Cada intento corre en su propia transacción; ante un conflicto de versión
+ * se espera un tiempo aleatorio (backoff exponencial con jitter completo) y
+ * se reintenta hasta agotar el máximo configurado.
+ * Lleva contadores de conflictos y reintentos por producto.
+ */
+@Component
+@Slf4j
+public class ReintentoOptimista {
+    private final TransactionOperations transactionOperations;
+    private final int maxIntentos;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final Map<Long, Contadores> contadores = new ConcurrentHashMap<>();
+
+    public ReintentoOptimista(TransactionOperations transactionOperations,
+                              @Value("${inventario.reintentos.max-intentos:8}") int maxIntentos,
+                              @Value("${inventario.reintentos.backoff-base-ms:2}") long backoffBaseMs,
+                              @Value("${inventario.reintentos.backoff-max-ms:100}") long backoffMaxMs) {
+        if (maxIntentos < 1) {
+            throw new IllegalArgumentException("El máximo de intentos debe ser al menos 1");
+        }
+        this.transactionOperations = transactionOperations;
+        this.maxIntentos = maxIntentos;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+    }
+
+    /**
+     * Ejecuta la operación en una transacción nueva por intento.
+     *
+     * @param productoId Producto afectado, usado para las métricas (puede ser null)
+     * @param operacion  Operación de lectura-modificación-escritura a ejecutar
+     * @return Resultado del primer intento que confirma sin conflicto
+     * @throws ConflictoConcurrenciaException si todos los intentos fallan por conflicto
+     */
+    public <T> T ejecutar(Long productoId, Supplier<T> operacion) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return transactionOperations.execute(status -> operacion.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                Contadores contador = contadoresDe(productoId);
+                if (contador != null) {
+                    contador.conflictos.increment();
+                }
+                if (intento >= maxIntentos) {
+                    if (contador != null) {
+                        contador.agotados.increment();
+                    }
+                    log.warn("Conflicto de concurrencia persistente en inventario del producto {} tras {} intentos",
+                            productoId, intento);
+                    throw new ConflictoConcurrenciaException(
+                            "El inventario del producto " + productoId + " fue modificado concurrentemente, reintente la operación");
+                }
+                if (contador != null) {
+                    contador.reintentos.increment();
+                }
+                esperar(intento);
+            }
+        }
+    }
+
+    /**
+     * Devuelve los contadores por producto ordenados de mayor a menor cantidad de conflictos.
+     *
+     * @param limite Cantidad máxima de productos a devolver
+     */
+    public List<ContencionProducto> obtenerContencion(int limite) {
+        return contadores.entrySet().stream()
+                .map(e -> new ContencionProducto(e.getKey(),
+                        e.getValue().conflictos.sum(),
+                        e.getValue().reintentos.sum(),
+                        e.getValue().agotados.sum()))
+                .sorted(Comparator.comparing(ContencionProducto::getConflictos).reversed())
+                .limit(limite)
+                .toList();
+    }
+
+    private Contadores contadoresDe(Long productoId) {
+        return productoId == null ? null : contadores.computeIfAbsent(productoId, id -> new Contadores());
+    }
+
+    private void esperar(int intento) {
+        long tope = Math.min(backoffMaxMs, backoffBaseMs << Math.min(intento, 20));
+        if (tope <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(tope + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictoConcurrenciaException("Reintento de actualización de inventario interrumpido");
+        }
+    }
+
+    private static final class Contadores {
+        private final LongAdder conflictos = new LongAdder();
+        private final LongAdder reintentos = new LongAdder();
+        private final LongAdder agotados = new LongAdder();
+    }
+}
@@ -0,0 +1,90 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.entity.Cambio;
+import com.microservices_system.data_service.repositories.CambioRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lleva al shard principal los cambios que registraron las escrituras de los
+ * shards secundarios, para que {@link CambioService#publicar()} les asigne
+ * versión en el único feed del catálogo.
+ * <p>
+ * Cada pasada copia un lote al principal en una transacción y recién después lo
+ * borra del shard, así que un cambio nunca se pierde; si la instancia cae entre
+ * los dos pasos, o dos instancias relevan a la vez, el cambio se publica dos
+ * veces, lo que para los consumidores del feed equivale a releer el estado actual
+ * de la entidad. El orden entre cambios de shards distintos no se conserva: cada
+ * entrada del feed lleva el estado actual de la entidad, no el de la escritura.
+ */
+@Component
+@Slf4j
+public class RelevoCambios {
+    static final int LOTE_RELEVO = 1000;
+
+    private final CambioRepository cambioRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final EnrutadorShards enrutador;
+
+    public RelevoCambios(CambioRepository cambioRepository,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionOperations transactionOperations,
+                         EnrutadorShards enrutador) {
+        this.cambioRepository = cambioRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.enrutador = enrutador;
+    }
+
+    /**
+     * Releva los cambios pendientes de todos los shards secundarios. Sin sharding no hace nada.
+     *
+     * @return Cantidad de cambios relevados
+     */
+    @Scheduled(fixedDelayString = "${cambios.publicacion-ms:100}")
+    public int relevar() {
+        int relevados = 0;
+        for (int shard = EnrutadorShards.PRINCIPAL + 1; shard < enrutador.cantidad(); shard++) {
+            relevados += relevar(shard);
+        }
+        return relevados;
+    }
+
+    private int relevar(int shard) {
+        int relevados = 0;
+        List<Cambio> pendientes;
+        do {
+            pendientes = enrutador.en(shard, () -> cambioRepository.findAllByOrderByIdAsc(Limit.of(LOTE_RELEVO)));
+            if (pendientes.isEmpty()) {
+                break;
+            }
+            List<Object[]> argumentos = new ArrayList<>(pendientes.size());
+            List<Long> ids = new ArrayList<>(pendientes.size());
+            for (Cambio cambio : pendientes) {
+                argumentos.add(new Object[]{cambio.getEntidad().name(), cambio.getEntidadId(),
+                        cambio.getOperacion().name(), cambio.getFecha()});
+                ids.add(cambio.getId());
+            }
+            enrutador.en(EnrutadorShards.PRINCIPAL, () -> transactionOperations.execute(
+                    status -> jdbcTemplate.batchUpdate(CambioService.SQL_CAMBIO, argumentos)));
+            enrutador.en(shard, () -> {
+                cambioRepository.deleteAllByIdInBatch(ids);
+                return null;
+            });
+            relevados += pendientes.size();
+        } while (pendientes.size() == LOTE_RELEVO);
+        if (relevados > 0) {
+            log.debug("Relevados {} cambios del shard {}", relevados, shard);
+        }
+        return relevados;
+    }
+}
@@ -0,0 +1,214 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.CambioEntidad;
+import com.microservices_system.data_service.dto.FeedCambios;
+import com.microservices_system.data_service.dto.ReporteStockBajo;
+import com.microservices_system.data_service.dto.ReporteValorInventario;
+import com.microservices_system.data_service.entity.EstadoReporteInventario;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.ReporteInventarioCategoria;
+import com.microservices_system.data_service.entity.ReporteInventarioProducto;
+import com.microservices_system.data_service.repositories.EstadoReporteInventarioRepository;
+import com.microservices_system.data_service.repositories.ReporteInventarioCategoriaRepository;
+import com.microservices_system.data_service.repositories.ReporteInventarioProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reportes de inventario materializados (stock bajo y valor del inventario).
+ * Una tarea periódica aplica los cambios publicados en el feed desde la última
+ * versión procesada, que se guarda como marca de agua: solo se vuelven a
+ * materializar los productos afectados y a agregar sus categorías. Las lecturas
+ * consultan las tablas materializadas e informan cuándo se refrescaron.
+ * <p>
+ * Con sharding cada shard materializa sus propios productos y categorías, en una
+ * transacción propia, y las lecturas unen los reportes de todos los shards. La
+ * marca de agua vive en el principal y avanza después de que los shards
+ * confirmaron; si algo falla en el medio, la próxima pasada vuelve a materializar
+ * los mismos productos, lo que no cambia el resultado.
+ */
+@Service
+@Transactional
+@Slf4j
+public class ReporteInventarioService {
+    private static final int TAMANIO_PAGINA_CAMBIOS = 1000;
+    private static final int TAMANIO_LOTE = 500;
+
+    private final ReporteInventarioProductoRepository productoReporteRepository;
+    private final ReporteInventarioCategoriaRepository categoriaReporteRepository;
+    private final EstadoReporteInventarioRepository estadoRepository;
+    private final CambioService cambioService;
+    private final EnrutadorShards enrutador;
+    private final TransactionOperations transactionOperations;
+
+    public ReporteInventarioService(ReporteInventarioProductoRepository productoReporteRepository,
+                                    ReporteInventarioCategoriaRepository categoriaReporteRepository,
+                                    EstadoReporteInventarioRepository estadoRepository,
+                                    CambioService cambioService,
+                                    EnrutadorShards enrutador,
+                                    TransactionOperations transactionOperations) {
+        this.productoReporteRepository = productoReporteRepository;
+        this.categoriaReporteRepository = categoriaReporteRepository;
+        this.estadoRepository = estadoRepository;
+        this.cambioService = cambioService;
+        this.enrutador = enrutador;
+        this.transactionOperations = transactionOperations;
+    }
+
+    public ReporteStockBajo obtenerStockBajo() {
+        EstadoReporteInventario estado = estadoActual();
+        List<ReporteInventarioProducto> productos = enrutador.reunir(
+                productoReporteRepository::findByStockBajoTrueOrderByProductoIdAsc,
+                Comparator.comparing(ReporteInventarioProducto::getProductoId));
+        return new ReporteStockBajo(productos, estado.getFechaRefresco(), estado.getVersion());
+    }
+
+    public ReporteValorInventario obtenerValorInventario() {
+        EstadoReporteInventario estado = estadoActual();
+        BigDecimal valor = BigDecimal.ZERO;
+        long unidades = 0;
+        long productos = 0;
+        long productosStockBajo = 0;
+        List<ReporteInventarioCategoria> categorias = enrutador.reunir(categoriaReporteRepository::findAll,
+                Comparator.comparing(ReporteInventarioCategoria::getCategoriaId));
+        for (ReporteInventarioCategoria categoria : categorias) {
+            valor = valor.add(categoria.getValor());
+            unidades += categoria.getUnidades();
+            productos += categoria.getProductos();
+            productosStockBajo += categoria.getProductosStockBajo();
+        }
+        return new ReporteValorInventario(valor, unidades, productos, productosStockBajo,
+                estado.getFechaRefresco(), estado.getVersion());
+    }
+
+    /**
+     * Aplica a los reportes los cambios publicados desde la marca de agua y la avanza,
+     * todo en una transacción (una por shard con sharding). La primera vez
+     * materializa los reportes completos.
+     *
+     * @return Cantidad de productos materializados nuevamente
+     */
+    @Scheduled(fixedDelayString = "${reportes.inventario.intervalo-ms:30000}")
+    public synchronized int refrescar() {
+        EstadoReporteInventario estado = estadoRepository.bloquear().orElse(null);
+        if (estado == null) {
+            return reconstruir();
+        }
+
+        Set<Long> productoIds = new HashSet<>();
+        Set<Long> inventariosEliminados = new HashSet<>();
+        Set<Long> categoriaIds = new HashSet<>();
+        long version = estado.getVersion();
+        FeedCambios feed;
+        do {
+            feed = cambioService.obtenerCambios(version, TAMANIO_PAGINA_CAMBIOS);
+            for (CambioEntidad cambio : feed.getCambios()) {
+                switch (cambio.getEntidad()) {
+                    case PRODUCTO -> productoIds.add(cambio.getEntidadId());
+                    case INVENTARIO -> {
+                        if (cambio.getInventario() != null) {
+                            productoIds.add(cambio.getInventario().getProductoId());
+                        } else {
+                            inventariosEliminados.add(cambio.getEntidadId());
+                        }
+                    }
+                    case CATEGORIA -> {
+                        if (cambio.getOperacion() != OperacionCambio.ELIMINACION) {
+                            categoriaIds.add(cambio.getEntidadId());
+                        }
+                    }
+                }
+            }
+            version = feed.getUltimaVersion();
+        } while (feed.isHayMas());
+
+        int materializados = enrutador.porShard(shard -> transactionOperations.execute(
+                        status -> rematerializar(shard, productoIds, inventariosEliminados, categoriaIds)))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        estado.setVersion(version);
+        estado.setFechaRefresco(LocalDateTime.now());
+        if (materializados > 0) {
+            log.debug("Reportes de inventario refrescados hasta la versión {} ({} productos)", version, materializados);
+        }
+        return materializados;
+    }
+
+    /**
+     * Reemplaza las filas de los productos indicados por su estado actual y vuelve a
+     * agregar las categorías en las que estaban o en las que quedaron. Con sharding
+     * corre en cada shard y solo toma los productos que le pertenecen.
+     *
+     * @return Cantidad de productos materializados nuevamente en el shard
+     */
+    private int rematerializar(int shard, Set<Long> cambiados, Set<Long> inventariosEliminados,
+                               Set<Long> categoriaIds) {
+        Set<Long> afectados = new HashSet<>();
+        for (Long productoId : cambiados) {
+            if (enrutador.shardDeId(productoId) == shard) {
+                afectados.add(productoId);
+            }
+        }
+        // Las bajas de inventario y los cambios de nombre de categoría solo se pueden
+        // llevar a productos a través de las filas ya materializadas.
+        if (!inventariosEliminados.isEmpty()) {
+            afectados.addAll(productoReporteRepository.findProductoIdsByInventarioIdIn(inventariosEliminados));
+        }
+        if (!categoriaIds.isEmpty()) {
+            afectados.addAll(productoReporteRepository.findProductoIdsByCategoriaIdIn(categoriaIds));
+        }
+        List<Long> productoIds = new ArrayList<>(afectados);
+        Set<Long> categoriasAfectadas = new HashSet<>();
+        for (int inicio = 0; inicio < productoIds.size(); inicio += TAMANIO_LOTE) {
+            List<Long> lote = productoIds.subList(inicio, Math.min(inicio + TAMANIO_LOTE, productoIds.size()));
+            categoriasAfectadas.addAll(productoReporteRepository.findCategoriaIdsByProductoIdIn(lote));
+            productoReporteRepository.eliminarProductos(lote);
+            productoReporteRepository.materializarProductos(lote);
+            categoriasAfectadas.addAll(productoReporteRepository.findCategoriaIdsByProductoIdIn(lote));
+        }
+        if (!categoriasAfectadas.isEmpty()) {
+            categoriaReporteRepository.eliminarCategorias(categoriasAfectadas);
+            categoriaReporteRepository.agregarCategorias(categoriasAfectadas);
+        }
+        return productoIds.size();
+    }
+
+    private int reconstruir() {
+        long version = cambioService.obtenerVersionVisible();
+        int productos = enrutador.porShard(shard -> transactionOperations.execute(status -> {
+                    productoReporteRepository.deleteAllInBatch();
+                    categoriaReporteRepository.deleteAllInBatch();
+                    int materializados = productoReporteRepository.materializarTodos();
+                    categoriaReporteRepository.agregarTodas();
+                    return materializados;
+                }))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        estadoRepository.save(new EstadoReporteInventario(EstadoReporteInventario.ID, version, LocalDateTime.now()));
+        log.info("Reportes de inventario materializados con {} productos hasta la versión {}", productos, version);
+        return productos;
+    }
+
+    private EstadoReporteInventario estadoActual() {
+        EstadoReporteInventario estado = estadoRepository.findById(EstadoReporteInventario.ID).orElse(null);
+        if (estado == null) {
+            refrescar();
+            estado = estadoRepository.findById(EstadoReporteInventario.ID).orElseThrow();
+        }
+        return estado;
+    }
+}
@@ -0,0 +1,30 @@
+package com.microservices_system.data_service.services;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Distingue, entre las {@link DataIntegrityViolationException}, las que vienen
+ * de una restricción única de las que vienen de una clave foránea, un
+ * {@code NOT NULL} o una columna demasiado larga, que no son un duplicado.
+ */
+final class ViolacionUnicidad {
+    /** SQLState estándar de una violación de unicidad (H2, PostgreSQL, HSQLDB, Derby). */
+    private static final String SQLSTATE_UNICIDAD = "23505";
+    /** MySQL y MariaDB informan la clase genérica 23000 con su propio código. */
+    private static final int CODIGO_MYSQL_DUPLICADO = 1062;
+
+    private ViolacionUnicidad() {
+    }
+
+    static boolean es(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql
+                    && (SQLSTATE_UNICIDAD.equals(sql.getSQLState()) || sql.getErrorCode() == CODIGO_MYSQL_DUPLICADO)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
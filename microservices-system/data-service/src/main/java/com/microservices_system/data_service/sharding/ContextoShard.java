@@ -0,0 +1,39 @@
+package com.microservices_system.data_service.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard al que se dirigen las conexiones que abra el hilo actual. Se fija antes
+ * de iniciar la transacción: la conexión se obtiene al comenzarla y queda
+ * atada a ese shard hasta el final.
+ */
+public final class ContextoShard {
+    private static final ThreadLocal<Integer> ACTUAL = new ThreadLocal<>();
+
+    private ContextoShard() {
+    }
+
+    /**
+     * @return Shard fijado en el hilo, o null si se usa el principal
+     */
+    public static Integer actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Ejecuta la acción con el shard indicado y restaura el anterior al terminar.
+     */
+    public static <T> T ejecutar(int shard, Supplier<T> accion) {
+        Integer anterior = ACTUAL.get();
+        ACTUAL.set(shard);
+        try {
+            return accion.get();
+        } finally {
+            if (anterior != null) {
+                ACTUAL.set(anterior);
+            } else {
+                ACTUAL.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.microservices_system.data_service.sharding;
+
+import com.microservices_system.business_service.exceptions.CategoriaNoEncontradaException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Reparto de productos e inventario entre shards. La clave es la categoría:
+ * una categoría pertenece al shard {@code (categoriaId - 1) mod N} y sus
+ * productos e inventarios se guardan ahí. Cada shard genera IDs de producto e
+ * inventario intercalados ({@code shard + 1}, {@code shard + 1 + N}, ...),
+ * así que el shard de un producto se deduce de su ID sin consultar a nadie.
+ * <p>
+ * Cada shard guarda, junto con sus productos, los movimientos de inventario,
+ * los snapshots y los reportes materializados de esos productos, y las filas del
+ * log de cambios de las escrituras que recibió; las de los shards secundarios se
+ * relevan al feed del principal (ver {@code RelevoCambios}).
+ * <p>
+ * Con sharding deshabilitado hay un único shard y todas las operaciones se
+ * ejecutan directamente en el hilo que llama.
+ */
+@Component
+@Slf4j
+public class EnrutadorShards {
+    public static final int PRINCIPAL = 0;
+    static final List<String> TABLAS_INTERCALADAS = List.of("productos", "inventario");
+    static final String SQL_EXISTE_CATEGORIA = "SELECT COUNT(*) FROM categorias WHERE id = ?";
+    static final String SQL_CATEGORIA = "SELECT id, nombre, descripcion FROM categorias WHERE id = ?";
+    static final String SQL_COPIAR_CATEGORIA = "INSERT INTO categorias (id, nombre, descripcion) VALUES (?, ?, ?)";
+
+    private final int cantidad;
+    private final boolean crearEsquema;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService consultas;
+
+    public EnrutadorShards(@Value("${sharding.habilitado:false}") boolean habilitado,
+                           @Value("${sharding.urls:}") List<String> urls,
+                           @Value("${sharding.crear-esquema:false}") boolean crearEsquema,
+                           EntityManagerFactory entityManagerFactory,
+                           JdbcTemplate jdbcTemplate) {
+        this.cantidad = habilitado ? Math.max(1, urls.size()) : 1;
+        this.crearEsquema = habilitado && crearEsquema;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        AtomicInteger numero = new AtomicInteger();
+        this.consultas = cantidad > 1 ? Executors.newFixedThreadPool(cantidad, tarea -> {
+            Thread hilo = new Thread(tarea, "shard-consulta-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        }) : null;
+    }
+
+    /**
+     * Crea el esquema en los shards secundarios (el principal lo crea Hibernate)
+     * e intercala las identidades de productos e inventario. Solo corre con
+     * {@code sharding.crear-esquema}; en bases existentes las identidades se
+     * configuran en la migración de cada shard (ver {@link #sentenciaIdentidad}).
+     */
+    @PostConstruct
+    void inicializar() {
+        if (!crearEsquema) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (int shard = 0; shard < cantidad; shard++) {
+            int destino = shard;
+            ContextoShard.ejecutar(destino, () -> {
+                if (destino != PRINCIPAL) {
+                    sessionFactory.getSchemaManager().exportMappedObjects(false);
+                }
+                String base = jdbcTemplate.execute(
+                        (ConnectionCallback<String>) conexion -> conexion.getMetaData().getDatabaseProductName());
+                for (String tabla : TABLAS_INTERCALADAS) {
+                    jdbcTemplate.execute(sentenciaIdentidad(base, tabla, destino + 1, cantidad));
+                }
+                return null;
+            });
+        }
+        log.info("Esquema creado en {} shards con identidades intercaladas", cantidad);
+    }
+
+    /**
+     * Sentencia que hace que la identidad de la tabla genere {@code inicio},
+     * {@code inicio + incremento}, ... La columna debe ser una identidad
+     * ({@code GENERATED ... AS IDENTITY}), como la crea Hibernate en H2 y PostgreSQL.
+     *
+     * @param base Nombre de la base según los metadatos JDBC
+     * @throws IllegalStateException Si la base no admite un incremento por tabla
+     */
+    static String sentenciaIdentidad(String base, String tabla, int inicio, int incremento) {
+        return switch (base) {
+            case "H2" -> "ALTER TABLE " + tabla + " ALTER COLUMN id RESTART WITH " + inicio +
+                    " SET INCREMENT BY " + incremento;
+            case "PostgreSQL" -> "ALTER TABLE " + tabla + " ALTER COLUMN id SET INCREMENT BY " + incremento +
+                    " RESTART WITH " + inicio;
+            // MySQL y MariaDB solo tienen auto_increment_increment/offset por servidor o sesión
+            default -> throw new IllegalStateException("sharding.crear-esquema no admite " + base +
+                    ": configure auto_increment_increment = " + incremento + " y auto_increment_offset = " +
+                    inicio + " en el servidor del shard");
+        };
+    }
+
+    @PreDestroy
+    void cerrar() {
+        if (consultas != null) {
+            consultas.shutdownNow();
+        }
+    }
+
+    public int cantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Shard de un producto o inventario a partir de su ID.
+     */
+    public int shardDeId(long id) {
+        return (int) Math.floorMod(id - 1, (long) cantidad);
+    }
+
+    /**
+     * Shard donde se guardan los productos de la categoría; sin categoría, el principal.
+     */
+    public int shardDeCategoria(Long categoriaId) {
+        return categoriaId != null ? shardDeId(categoriaId) : PRINCIPAL;
+    }
+
+    /**
+     * Ejecuta la acción con las conexiones dirigidas al shard indicado. La acción
+     * debe abrir su propia transacción: una transacción ya iniciada conserva su conexión.
+     */
+    public <T> T en(int shard, Supplier<T> accion) {
+        return cantidad == 1 ? accion.get() : ContextoShard.ejecutar(shard, accion);
+    }
+
+    /**
+     * Ejecuta la consulta en todos los shards en paralelo.
+     *
+     * @return Un resultado por shard, en orden de shard
+     */
+    public <T> List<T> enTodos(Supplier<T> consulta) {
+        return porShard(shard -> consulta.get());
+    }
+
+    /**
+     * Ejecuta la acción en todos los shards en paralelo, cada una en un hilo
+     * propio y sin transacción: la acción abre la suya en su shard. Con un único
+     * shard corre en el hilo que llama y se suma a su transacción, si la hay.
+     *
+     * @return Un resultado por shard, en orden de shard
+     */
+    public <T> List<T> porShard(IntFunction<T> accion) {
+        if (cantidad == 1) {
+            return List.of(accion.apply(PRINCIPAL));
+        }
+        List<Future<T>> pendientes = new ArrayList<>(cantidad);
+        for (int shard = 0; shard < cantidad; shard++) {
+            int destino = shard;
+            pendientes.add(consultas.submit(() -> ContextoShard.ejecutar(destino, () -> accion.apply(destino))));
+        }
+        List<T> resultados = new ArrayList<>(cantidad);
+        for (Future<T> pendiente : pendientes) {
+            resultados.add(esperar(pendiente));
+        }
+        return resultados;
+    }
+
+    /**
+     * Como {@link #porShard}, pero de a un shard por vez y en orden de shard,
+     * para consumidores que no admiten llamadas concurrentes (un archivo que se
+     * escribe en streaming, por ejemplo).
+     */
+    public void enCadaShard(IntConsumer accion) {
+        if (cantidad == 1) {
+            accion.accept(PRINCIPAL);
+            return;
+        }
+        for (int shard = 0; shard < cantidad; shard++) {
+            int destino = shard;
+            esperar(consultas.submit(() -> ContextoShard.ejecutar(destino, () -> {
+                accion.accept(destino);
+                return null;
+            })));
+        }
+    }
+
+    /**
+     * Copia la categoría del principal al shard indicado si todavía no está ahí,
+     * para que los productos que se guarden en ese shard puedan referenciarla.
+     * Se invoca fuera de toda transacción.
+     */
+    public void copiarCategoria(Long categoriaId, int shard) {
+        if (categoriaId == null || shard == PRINCIPAL
+                || en(shard, () -> jdbcTemplate.queryForObject(SQL_EXISTE_CATEGORIA, Integer.class, categoriaId)) > 0) {
+            return;
+        }
+        List<Object[]> categoria = en(PRINCIPAL, () -> jdbcTemplate.query(SQL_CATEGORIA,
+                (fila, numero) -> new Object[]{fila.getLong(1), fila.getString(2), fila.getString(3)}, categoriaId));
+        if (categoria.isEmpty()) {
+            throw new CategoriaNoEncontradaException("Categoría no encontrada con ID: " + categoriaId);
+        }
+        try {
+            en(shard, () -> jdbcTemplate.update(SQL_COPIAR_CATEGORIA, categoria.get(0)));
+        } catch (DuplicateKeyException e) {
+            // Otra petición la copió al mismo tiempo.
+        }
+    }
+
+    /**
+     * Ejecuta la consulta en todos los shards en paralelo y une las listas en el orden indicado.
+     */
+    public <T> List<T> reunir(Supplier<List<T>> consulta, Comparator<? super T> orden) {
+        if (cantidad == 1) {
+            return consulta.get();
+        }
+        List<T> unidos = new ArrayList<>();
+        enTodos(consulta).forEach(unidos::addAll);
+        unidos.sort(orden);
+        return unidos;
+    }
+
+    private static <T> T esperar(Future<T> pendiente) {
+        try {
+            return pendiente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta a shards interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
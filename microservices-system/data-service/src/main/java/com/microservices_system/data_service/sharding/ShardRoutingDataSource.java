@@ -0,0 +1,15 @@
+package com.microservices_system.data_service.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource que entrega conexiones del shard fijado en {@link ContextoShard};
+ * sin shard fijado usa el principal.
+ */
+class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoShard.actual();
+    }
+}
@@ -0,0 +1,52 @@
+package com.microservices_system.data_service.sharding;
+
+import com.microservices_system.data_service.pool.TelemetriaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reemplaza el DataSource de Spring Boot por uno que reparte las conexiones
+ * entre los shards de {@code sharding.urls}. El primero es el shard principal.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.habilitado", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Value("${sharding.urls}") List<String> urls,
+                                 @Value("${spring.datasource.username:}") String usuario,
+                                 @Value("${spring.datasource.password:}") String password,
+                                 TelemetriaPool telemetriaPool) {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("sharding.urls debe indicar al menos un shard");
+        }
+        Map<Object, Object> shards = new HashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .username(usuario)
+                    .password(password)
+                    .build();
+            shard.setPoolName("shard-" + i);
+            telemetriaPool.registrar(shard);
+            shards.put(i, shard);
+        }
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(shards);
+        dataSource.setDefaultTargetDataSource(shards.get(EnrutadorShards.PRINCIPAL));
+        dataSource.setLenientFallback(false);
+        return dataSource;
+    }
+}
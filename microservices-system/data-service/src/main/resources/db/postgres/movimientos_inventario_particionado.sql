@@ -0,0 +1,32 @@
+-- Libro mayor de inventario particionado por mes (PostgreSQL 12+).
+-- Crear antes de iniciar la aplicación con el perfil postgres para que
+-- ddl-auto=update reutilice la tabla particionada en lugar de crear una común.
+-- Las particiones viejas pueden desacoplarse (DETACH) y archivarse sin tocar
+-- la partición activa, que es la única que recibe inserciones.
+
+CREATE TABLE IF NOT EXISTS movimientos_inventario (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    producto_id BIGINT      NOT NULL,
+    tipo        VARCHAR(10) NOT NULL,
+    cantidad    INTEGER     NOT NULL,
+    fecha       TIMESTAMP   NOT NULL,
+    periodo     INTEGER     NOT NULL,
+    secuencia   BIGINT,
+    PRIMARY KEY (id, periodo)
+) PARTITION BY RANGE (periodo);
+
+CREATE INDEX IF NOT EXISTS idx_movimientos_producto ON movimientos_inventario (producto_id, secuencia);
+
+-- Una restricción única sobre una tabla particionada debe incluir la clave de
+-- partición, así que la de la secuencia se declara por período: detecta dos
+-- compactaciones concurrentes que numeran movimientos de un mismo mes (casi
+-- siempre el actual), no las que numeran solo movimientos de meses distintos.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_movimientos_secuencia ON movimientos_inventario (secuencia, periodo);
+
+-- Una partición por mes. La aplicación (ParticionesMovimientos) crea al iniciar
+-- y una vez por día la del mes actual y las de los siguientes
+-- (inventario.movimientos.particiones.meses-anticipados, 3 por defecto).
+-- La partición default solo recibe filas si esa tarea dejó de correr; en ese
+-- caso hay que mover sus filas antes de poder crear la partición del mes.
+CREATE TABLE IF NOT EXISTS movimientos_inventario_default
+    PARTITION OF movimientos_inventario DEFAULT;
@@ -0,0 +1,10 @@
+-- Unicidad de nombres sin distinguir mayúsculas (PostgreSQL).
+-- La restricción única que crea ddl-auto sobre productos.nombre y
+-- categorias.nombre distingue mayúsculas, mientras que el alta compara con
+-- existsByNombreIgnoreCase (UPPER en ambos lados). Estos índices cierran ese
+-- hueco para las altas concurrentes o de otra instancia de data-service.
+-- Ejecutar una vez creado el esquema; falla si ya hay nombres repetidos.
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_productos_nombre_mayusculas ON productos (UPPER(nombre));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_categorias_nombre_mayusculas ON categorias (UPPER(nombre));
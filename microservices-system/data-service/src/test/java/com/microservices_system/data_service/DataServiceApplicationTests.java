@@ -1,10 +1,10 @@
-package com.microservices_system;
+package com.microservices_system.data_service;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
-class MicroservicesSystemApplicationTests {
+class DataServiceApplicationTests {
 
 	@Test
 	void contextLoads() {
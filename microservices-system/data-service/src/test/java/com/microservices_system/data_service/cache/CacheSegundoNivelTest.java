@@ -0,0 +1,176 @@
+package com.microservices_system.data_service.cache;
+
+import com.microservices_system.business_service.exceptions.CategoriaNoEncontradaException;
+import com.microservices_system.business_service.exceptions.ProductoNoEncontradoException;
+import com.microservices_system.data_service.dto.EstadisticaRegionCache;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.services.CategoriaService;
+import com.microservices_system.data_service.services.InventarioService;
+import com.microservices_system.data_service.services.ProductoService;
+import com.microservices_system.data_service.services.ReporteInventarioService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cuenta las sentencias preparadas de toda la SessionFactory, así que las tareas
+ * periódicas están apagadas para que su actividad de fondo no se sume a la medición.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-segundo-nivel;DB_CLOSE_DELAY=-1",
+        "programacion.habilitada=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+class CacheSegundoNivelTest {
+    private static final int CATEGORIAS = 10;
+    private static final int PRODUCTOS_POR_CATEGORIA = 10;
+    private static final int PETICIONES = 100;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private ReporteInventarioService reporteInventarioService;
+
+    @Autowired
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void escrituras_DeberianInvalidarLasEntradasCacheadas() {
+        // Given
+        Statistics estadisticas = estadisticas();
+        Categoria perifericos = categoriaService.guardar(new Categoria(null, "Periféricos", null, null));
+        Producto mouse = productoService.guardar(
+                new Producto(null, "Mouse", null, new BigDecimal("10.00"), perifericos, null));
+        categoriaService.buscarPorNombre("periféricos");
+
+        // When: lecturas repetidas, con un refresco de reportes (SQL nativo sobre otras tablas) en el medio
+        reporteInventarioService.refrescar();
+        long sentencias = estadisticas.getPrepareStatementCount();
+        assertThat(categoriaService.buscarPorNombre("periféricos").getId()).isEqualTo(perifericos.getId());
+        assertThat(categoriaService.buscarPorId(perifericos.getId()).getNombre()).isEqualTo("Periféricos");
+
+        // Then: no van a la base
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(sentencias);
+
+        // When / Then: actualizar invalida la entidad y las consultas sobre su tabla
+        assertThat(productoService.buscarPorCategoria("Periféricos")).extracting(Producto::getNombre).containsExactly("Mouse");
+        categoriaService.actualizar(perifericos.getId(), new Categoria(null, "Accesorios", null, null));
+        assertThatThrownBy(() -> categoriaService.buscarPorNombre("periféricos"))
+                .isInstanceOf(CategoriaNoEncontradaException.class);
+        assertThat(categoriaService.buscarPorNombre("accesorios").getId()).isEqualTo(perifericos.getId());
+        assertThat(categoriaService.buscarPorId(perifericos.getId()).getNombre()).isEqualTo("Accesorios");
+        assertThat(productoService.buscarPorCategoria("Periféricos")).isEmpty();
+        assertThat(productoService.buscarPorCategoria("Accesorios")).extracting(Producto::getNombre).containsExactly("Mouse");
+
+        productoService.actualizar(mouse.getId(),
+                new Producto(null, "Mouse", null, new BigDecimal("12.50"), perifericos, null));
+        assertThat(productoService.buscarPorId(mouse.getId()).getPrecio()).isEqualByComparingTo("12.50");
+
+        // When / Then: eliminar lo retira del cache
+        productoService.eliminar(mouse.getId());
+        assertThatThrownBy(() -> productoService.buscarPorId(mouse.getId()))
+                .isInstanceOf(ProductoNoEncontradoException.class);
+        assertThat(productoService.buscarPorCategoria("Accesorios")).isEmpty();
+
+        assertThat(cacheSegundoNivel.obtenerEstadisticas())
+                .extracting(EstadisticaRegionCache::getRegion)
+                .contains(CacheSegundoNivel.CATEGORIAS, CacheSegundoNivel.CONSULTAS);
+        assertThat(cacheSegundoNivel.obtenerEstadisticas())
+                .filteredOn(region -> region.getRegion().equals(CacheSegundoNivel.CATEGORIAS))
+                .allSatisfy(region -> assertThat(region.getAciertos()).isPositive());
+    }
+
+    @Test
+    void peticionesDeLectura_DeberianHacerMenosViajesALaBaseConCache() {
+        // Given
+        for (int c = 0; c < CATEGORIAS; c++) {
+            Categoria categoria = categoriaService.guardar(new Categoria(null, "Categoría " + c, null, null));
+            for (int p = 0; p < PRODUCTOS_POR_CATEGORIA; p++) {
+                Producto producto = new Producto(null, "Producto " + c + "-" + p, null, BigDecimal.TEN, categoria, null);
+                producto.setInventario(new Inventario(null, producto, p, 5, LocalDateTime.now(), null));
+                productoService.guardar(producto);
+            }
+        }
+        Statistics estadisticas = estadisticas();
+        simularPeticiones(CacheMode.NORMAL);
+
+        // When
+        long comienzo = estadisticas.getPrepareStatementCount();
+        simularPeticiones(CacheMode.IGNORE);
+        long sinCache = estadisticas.getPrepareStatementCount() - comienzo;
+
+        comienzo = estadisticas.getPrepareStatementCount();
+        simularPeticiones(CacheMode.NORMAL);
+        long conCache = estadisticas.getPrepareStatementCount() - comienzo;
+
+        // Then
+        assertThat(conCache * 2)
+                .as("%d peticiones: %d sentencias sin cache, %d con cache", PETICIONES, sinCache, conCache)
+                .isLessThan(sinCache);
+    }
+
+    /**
+     * Cada transacción imita una petición: la búsqueda de una categoría por
+     * nombre, los productos de una categoría con su categoría serializada y,
+     * una de cada diez veces, el inventario con producto y categoría.
+     */
+    private void simularPeticiones(CacheMode modo) {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        for (int i = 0; i < PETICIONES; i++) {
+            String nombre = "Categoría " + (i % CATEGORIAS);
+            lectura.executeWithoutResult(estado -> {
+                entityManager.unwrap(Session.class).setCacheMode(modo);
+                categoriaService.buscarPorNombre(nombre);
+            });
+            lectura.executeWithoutResult(estado -> {
+                entityManager.unwrap(Session.class).setCacheMode(modo);
+                productoService.buscarPorCategoria(nombre).forEach(producto -> producto.getCategoria().getNombre());
+            });
+            if (i % 10 == 0) {
+                lectura.executeWithoutResult(estado -> {
+                    entityManager.unwrap(Session.class).setCacheMode(modo);
+                    inventarioService.obtenerTodosConProducto()
+                            .forEach(inventario -> inventario.getProducto().getCategoria().getNombre());
+                });
+            }
+        }
+    }
+
+    private Statistics estadisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,592 @@
+package com.microservices_system.data_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices_system.business_service.exceptions.ProductoNoEncontradoException;
+import com.microservices_system.data_service.cache.CacheSegundoNivel;
+import com.microservices_system.data_service.dto.AjusteInventarioRequest;
+import com.microservices_system.data_service.dto.AjusteInventarioRespuesta;
+import com.microservices_system.data_service.dto.CambioEntidad;
+import com.microservices_system.data_service.dto.ContencionProducto;
+import com.microservices_system.data_service.dto.ErrorImportacion;
+import com.microservices_system.data_service.dto.EstadisticaFiltroNombres;
+import com.microservices_system.data_service.dto.EstadisticaRegionCache;
+import com.microservices_system.data_service.dto.EstadoPool;
+import com.microservices_system.data_service.dto.EstadoStock;
+import com.microservices_system.data_service.dto.FeedCambios;
+import com.microservices_system.data_service.dto.InventarioDatos;
+import com.microservices_system.data_service.dto.PaginaProductos;
+import com.microservices_system.data_service.dto.ReporteValorInventario;
+import com.microservices_system.data_service.dto.ResultadoFiltroProductos;
+import com.microservices_system.data_service.dto.ResultadoImportacion;
+import com.microservices_system.data_service.dto.UsoConexionEndpoint;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.pool.TelemetriaPool;
+import com.microservices_system.data_service.services.BusquedaProductoService;
+import com.microservices_system.data_service.services.CambioService;
+import com.microservices_system.data_service.services.CatalogoDistribuidoService;
+import com.microservices_system.data_service.services.CategoriaService;
+import com.microservices_system.data_service.services.ExportacionService;
+import com.microservices_system.data_service.services.FiltroProductoService;
+import com.microservices_system.data_service.services.ImportacionService;
+import com.microservices_system.data_service.services.InventarioService;
+import com.microservices_system.data_service.services.ProductoService;
+import com.microservices_system.data_service.services.ReporteInventarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DataController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+public class DataControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductoService productoService;
+
+    @MockBean
+    private CategoriaService categoriaService;
+
+    @MockBean
+    private InventarioService inventarioService;
+
+    @MockBean
+    private CambioService cambioService;
+
+    @MockBean
+    private BusquedaProductoService busquedaProductoService;
+
+    @MockBean
+    private FiltroProductoService filtroProductoService;
+
+    @MockBean
+    private ReporteInventarioService reporteInventarioService;
+
+    @MockBean
+    private ImportacionService importacionService;
+
+    @MockBean
+    private ExportacionService exportacionService;
+
+    @MockBean
+    private CatalogoDistribuidoService catalogoDistribuidoService;
+
+    @MockBean
+    private TelemetriaPool telemetriaPool;
+
+    @MockBean
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    @MockBean
+    private FiltroNombres filtroNombres;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void cuandoCrearProducto_entoncesSePersisteCorrectamente() throws Exception {
+        // Arrange
+        Producto producto = new Producto();
+        producto.setNombre("Producto Test");
+        producto.setDescripcion("Descripción de prueba");
+        producto.setPrecio(BigDecimal.valueOf(100.50));
+
+        Producto productoGuardado = new Producto();
+        productoGuardado.setId(1L);
+        productoGuardado.setNombre("Producto Test");
+        productoGuardado.setDescripcion("Descripción de prueba");
+        productoGuardado.setPrecio(BigDecimal.valueOf(100.50));
+
+        when(catalogoDistribuidoService.guardar(any(Producto.class))).thenReturn(productoGuardado);
+
+        // Act & Assert
+        mockMvc.perform(post("/data/productos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(producto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.nombre").value("Producto Test"))
+                .andExpect(jsonPath("$.descripcion").value("Descripción de prueba"))
+                .andExpect(jsonPath("$.precio").value(100.50));
+
+        verify(catalogoDistribuidoService).guardar(any(Producto.class));
+    }
+
+    @Test
+    void cuandoBuscarProductoInexistente_entoncesRetorna404() throws Exception {
+        // Arrange
+        when(catalogoDistribuidoService.buscarPorId(999L)).thenThrow(new ProductoNoEncontradoException("Producto no encontrado con ID: 999"));
+
+        // Act & Assert
+        mockMvc.perform(get("/data/productos/999"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Producto no encontrado con ID: 999"));
+
+        verify(catalogoDistribuidoService).buscarPorId(999L);
+    }
+
+    @Test
+    void cuandoObtenerTodosLosProductos_entoncesRetornaLista() throws Exception {
+        // Arrange
+        Producto producto1 = new Producto();
+        producto1.setId(1L);
+        producto1.setNombre("Producto 1");
+        producto1.setDescripcion("Descripción 1");
+        producto1.setPrecio(BigDecimal.valueOf(50.00));
+
+        Producto producto2 = new Producto();
+        producto2.setId(2L);
+        producto2.setNombre("Producto 2");
+        producto2.setDescripcion("Descripción 2");
+        producto2.setPrecio(BigDecimal.valueOf(75.00));
+
+        List<Producto> productos = Arrays.asList(producto1, producto2);
+        when(catalogoDistribuidoService.obtenerTodos()).thenReturn(productos);
+
+        // Act & Assert
+        mockMvc.perform(get("/data/productos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].nombre").value("Producto 1"))
+                .andExpect(jsonPath("$[1].nombre").value("Producto 2"));
+
+        verify(catalogoDistribuidoService).obtenerTodos();
+    }
+
+    @Test
+    void cuandoObtenerProductoPorId_entoncesRetornaProducto() throws Exception {
+        // Arrange
+        Producto producto = new Producto();
+        producto.setId(1L);
+        producto.setNombre("Producto Test ID");
+        producto.setDescripcion("Descripción para buscar por ID");
+        producto.setPrecio(BigDecimal.valueOf(120.00));
+
+        when(catalogoDistribuidoService.buscarPorId(1L)).thenReturn(producto);
+
+        // Act & Assert
+        mockMvc.perform(get("/data/productos/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.nombre").value("Producto Test ID"))
+                .andExpect(jsonPath("$.descripcion").value("Descripción para buscar por ID"))
+                .andExpect(jsonPath("$.precio").value(120.00));
+
+        verify(catalogoDistribuidoService).buscarPorId(1L);
+    }
+
+    @Test
+    void cuandoActualizarProducto_entoncesSeModificaCorrectamente() throws Exception {
+        // Arrange
+        Producto productoActualizado = new Producto();
+        productoActualizado.setNombre("Producto Actualizado");
+        productoActualizado.setDescripcion("Descripción actualizada");
+        productoActualizado.setPrecio(BigDecimal.valueOf(150.00));
+
+        Producto productoResultado = new Producto();
+        productoResultado.setId(1L);
+        productoResultado.setNombre("Producto Actualizado");
+        productoResultado.setDescripcion("Descripción actualizada");
+        productoResultado.setPrecio(BigDecimal.valueOf(150.00));
+
+        when(catalogoDistribuidoService.actualizar(eq(1L), any(Producto.class))).thenReturn(productoResultado);
+
+        // Act & Assert
+        mockMvc.perform(put("/data/productos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(productoActualizado)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.nombre").value("Producto Actualizado"))
+                .andExpect(jsonPath("$.descripcion").value("Descripción actualizada"))
+                .andExpect(jsonPath("$.precio").value(150.00));
+
+        verify(catalogoDistribuidoService).actualizar(eq(1L), any(Producto.class));
+    }
+
+    @Test
+    void cuandoEliminarProducto_entoncesSeEliminaCorrectamente() throws Exception {
+        // Arrange
+        doNothing().when(catalogoDistribuidoService).eliminar(1L);
+
+        // Act & Assert
+        mockMvc.perform(delete("/data/productos/1"))
+                .andExpect(status().isNoContent());
+
+        verify(catalogoDistribuidoService).eliminar(1L);
+    }
+
+    @Test
+    void cuandoObtenerProductosPorCategoria_entoncesRetornaProductosDeLaCategoria() throws Exception {
+        // Arrange
+        String nombreCategoria = "Electrónicos";
+
+        Producto producto1 = new Producto();
+        producto1.setId(1L);
+        producto1.setNombre("Laptop");
+        producto1.setDescripcion("Laptop gaming");
+        producto1.setPrecio(BigDecimal.valueOf(1500.00));
+
+        List<Producto> productos = Arrays.asList(producto1);
+        when(catalogoDistribuidoService.buscarPorCategoria(nombreCategoria)).thenReturn(productos);
+
+        // Act & Assert
+        mockMvc.perform(get("/data/productos/categoria/" + nombreCategoria))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nombre").value("Laptop"));
+
+        verify(catalogoDistribuidoService).buscarPorCategoria(nombreCategoria);
+    }
+
+    @Test
+    void cuandoObtenerProductosConStockBajo_entoncesRetornaInventarioConStockBajo() throws Exception {
+        // Arrange
+        Inventario inventario1 = new Inventario();
+        inventario1.setId(1L);
+        inventario1.setCantidad(5);
+        inventario1.setStockMinimo(10);
+
+        List<Inventario> inventarios = Arrays.asList(inventario1);
+        when(catalogoDistribuidoService.obtenerProductosConStockBajo()).thenReturn(inventarios);
+
+        // Act & Assert
+        mockMvc.perform(get("/data/inventario/stock-bajo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].cantidad").value(5))
+                .andExpect(jsonPath("$[0].stockMinimo").value(10));
+
+        verify(catalogoDistribuidoService).obtenerProductosConStockBajo();
+    }
+
+    @Test
+    void cuandoImportarCsv_entoncesRetornaResumenConErroresPorFila() throws Exception {
+        // Arrange
+        when(importacionService.importar(any())).thenReturn(new ResultadoImportacion(2L, 1L, 0L, 0L, 1L,
+                List.of(new ErrorImportacion(3L, "Valor numérico inválido: abc"))));
+
+        // Act & Assert
+        mockMvc.perform(post("/data/import")
+                        .contentType("text/csv")
+                        .content("nombre,precio\nLaptop HP,1299.99\nMouse,abc\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productosCreados").value(1))
+                .andExpect(jsonPath("$.errores[0].linea").value(3));
+
+        verify(importacionService).importar(any());
+    }
+
+    @Test
+    void cuandoExportarCatalogo_entoncesEscribeElArchivoEnLaRespuesta() throws Exception {
+        // Arrange
+        when(exportacionService.exportarCatalogo(any())).thenAnswer(invocacion -> {
+            invocacion.getArgument(0, OutputStream.class).write(new byte[]{'C', 'A', 'T', 'X'});
+            return 0L;
+        });
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/data/export/catalogo"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalogo.catx\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes(new byte[]{'C', 'A', 'T', 'X'}));
+        verify(exportacionService).exportarCatalogo(any());
+    }
+
+    @Test
+    void cuandoObtenerReporteValorInventario_entoncesRetornaTotalesConFrescura() throws Exception {
+        // Arrange
+        LocalDateTime fechaRefresco = LocalDateTime.of(2025, 1, 15, 14, 22, 30);
+        when(reporteInventarioService.obtenerValorInventario()).thenReturn(
+                new ReporteValorInventario(new BigDecimal("84500.50"), 340L, 12L, 2L, fechaRefresco, 1520L));
+
+        // Act & Assert
+        mockMvc.perform(get("/data/reportes/valor-inventario"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valor").value(84500.50))
+                .andExpect(jsonPath("$.productosStockBajo").value(2))
+                .andExpect(jsonPath("$.fechaRefresco").value("2025-01-15T14:22:30"))
+                .andExpect(jsonPath("$.version").value(1520));
+
+        verify(reporteInventarioService).obtenerValorInventario();
+    }
+
+    @Test
+    void cuandoObtenerTodoElInventario_entoncesRetornaTodosLosInventarios() throws Exception {
+        // Arrange
+        Inventario inventario1 = new Inventario();
+        inventario1.setId(1L);
+        inventario1.setCantidad(20);
+        inventario1.setStockMinimo(10);
+
+        Inventario inventario2 = new Inventario();
+        inventario2.setId(2L);
+        inventario2.setCantidad(15);
+        inventario2.setStockMinimo(5);
+
+        List<Inventario> inventarios = Arrays.asList(inventario1, inventario2);
+        when(catalogoDistribuidoService.obtenerInventarios()).thenReturn(inventarios);
+
+        // Act & Assert
+        mockMvc.perform(get("/data/inventario"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].cantidad").value(20))
+                .andExpect(jsonPath("$[1].cantidad").value(15));
+
+        verify(catalogoDistribuidoService).obtenerInventarios();
+    }
+
+
+    @Test
+    void cuandoActualizarProductoInexistente_entoncesRetorna404() throws Exception {
+        // Arrange
+        Producto producto = new Producto();
+        producto.setNombre("Producto Inexistente");
+        producto.setDescripcion("No existe");
+        producto.setPrecio(BigDecimal.valueOf(100.00));
+
+        when(catalogoDistribuidoService.actualizar(eq(999L), any(Producto.class)))
+                .thenThrow(new ProductoNoEncontradoException("Producto no encontrado con ID: 999"));
+
+        // Act & Assert
+        mockMvc.perform(put("/data/productos/999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(producto)))
+                .andExpect(status().isNotFound());
+
+        verify(catalogoDistribuidoService).actualizar(eq(999L), any(Producto.class));
+    }
+
+    @Test
+    void cuandoEliminarProductoInexistente_entoncesRetorna404() throws Exception {
+        // Arrange
+        doThrow(new ProductoNoEncontradoException("Producto no encontrado con ID: 999"))
+                .when(catalogoDistribuidoService).eliminar(999L);
+
+        // Act & Assert
+        mockMvc.perform(delete("/data/productos/999"))
+                .andExpect(status().isNotFound());
+
+        verify(catalogoDistribuidoService).eliminar(999L);
+    }
+
+    @Test
+    void cuandoObtenerContencionInventario_entoncesRetornaContadoresPorProducto() throws Exception {
+        // Arrange
+        when(inventarioService.obtenerContencion(5))
+                .thenReturn(List.of(new ContencionProducto(7L, 12L, 11L, 1L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/data/inventario/contencion").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].productoId").value(7))
+                .andExpect(jsonPath("$[0].conflictos").value(12))
+                .andExpect(jsonPath("$[0].agotados").value(1));
+
+        verify(inventarioService).obtenerContencion(5);
+    }
+
+    @Test
+    void cuandoObtenerEstadoPool_entoncesRetornaOcupacionYUsoPorEndpoint() throws Exception {
+        // Arrange
+        when(telemetriaPool.obtenerEstados()).thenReturn(List.of(new EstadoPool("HikariPool-1", 3, 7, 10, 0, 10, 10,
+                1500L, 0L, 0.05, 12.5, Map.of("<=0.1ms", 1490L, ">5000ms", 0L),
+                List.of(new UsoConexionEndpoint("GET /data/productos/{id}", 900L, 1.2, 40L)))));
+
+        // Act & Assert
+        mockMvc.perform(get("/data/pool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].activas").value(3))
+                .andExpect(jsonPath("$[0].histogramaEspera['<=0.1ms']").value(1490))
+                .andExpect(jsonPath("$[0].usoPorEndpoint[0].endpoint").value("GET /data/productos/{id}"));
+    }
+
+    @Test
+    void cuandoObtenerEstadisticasCache_entoncesRetornaContadoresPorRegion() throws Exception {
+        // Arrange
+        when(cacheSegundoNivel.obtenerEstadisticas()).thenReturn(List.of(
+                new EstadisticaRegionCache("categorias", 12, 1000, 3600L, 5400L, 14L, 14L, 0L, 2L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/data/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].region").value("categorias"))
+                .andExpect(jsonPath("$[0].aciertos").value(5400));
+    }
+
+    @Test
+    void cuandoObtenerEstadisticasFiltrosNombres_entoncesRetornaTasasPorTabla() throws Exception {
+        // Arrange
+        when(filtroNombres.obtenerEstadisticas()).thenReturn(List.of(
+                new EstadisticaFiltroNombres("productos", true, LocalDateTime.of(2025, 1, 15, 14, 20), 48000L,
+                        96000L, 920192L, 7, 0.0004, 12000L, 11990L, 4L, 0.0003)));
+
+        // Act & Assert
+        mockMvc.perform(get("/data/filtros-nombres"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].tabla").value("productos"))
+                .andExpect(jsonPath("$[0].descartadas").value(11990))
+                .andExpect(jsonPath("$[0].tasaFalsosPositivos").value(0.0003));
+    }
+
+    @Test
+    void cuandoAjustarInventario_entoncesRespondeTrasConfirmarElLote() throws Exception {
+        // Arrange
+        when(inventarioService.ajustarCantidad(1L, -2))
+                .thenReturn(CompletableFuture.completedFuture(new AjusteInventarioRespuesta(1L, -2, -7, 4)));
+
+        // Act
+        var resultado = mockMvc.perform(post("/data/inventario/1/ajustes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AjusteInventarioRequest(-2))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productoId").value(1))
+                .andExpect(jsonPath("$.deltaLote").value(-7))
+                .andExpect(jsonPath("$.ajustesLote").value(4));
+
+        verify(inventarioService).ajustarCantidad(1L, -2);
+    }
+
+    @Test
+    void cuandoObtenerCambios_entoncesRetornaPaginaDesdeLaVersion() throws Exception {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 15, 14, 22);
+        FeedCambios feed = new FeedCambios(List.of(
+                new CambioEntidad(121L, EntidadCambio.INVENTARIO, 3L, OperacionCambio.ACTUALIZACION, fecha,
+                        null, null, new InventarioDatos(3L, 7L, 12, 5, fecha)),
+                new CambioEntidad(122L, EntidadCambio.PRODUCTO, 9L, OperacionCambio.ELIMINACION, fecha,
+                        null, null, null)), 122L, true);
+        when(cambioService.obtenerCambios(120L, 2)).thenReturn(feed);
+
+        // Act & Assert
+        mockMvc.perform(get("/data/cambios").param("desde", "120").param("limite", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cambios", hasSize(2)))
+                .andExpect(jsonPath("$.cambios[0].inventario.cantidad").value(12))
+                .andExpect(jsonPath("$.cambios[1].operacion").value("ELIMINACION"))
+                .andExpect(jsonPath("$.ultimaVersion").value(122))
+                .andExpect(jsonPath("$.hayMas").value(true));
+
+        verify(cambioService).obtenerCambios(120L, 2);
+    }
+
+    @Test
+    void cuandoBuscarProductos_entoncesRetornaResultadosEnOrdenDeRelevancia() throws Exception {
+        // Arrange
+        Producto teclado = new Producto();
+        teclado.setId(4L);
+        teclado.setNombre("Teclado Mecánico");
+        Producto cable = new Producto();
+        cable.setId(9L);
+        cable.setNombre("Cable para teclado");
+        when(busquedaProductoService.buscar("teclado", 20)).thenReturn(List.of(teclado, cable));
+
+        // Act & Assert
+        mockMvc.perform(get("/data/productos/buscar").param("q", "teclado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(jsonPath("$[1].id").value(9));
+
+        verify(busquedaProductoService).buscar("teclado", 20);
+    }
+
+    @Test
+    void cuandoFiltrarProductos_entoncesRetornaPaginaYConteosPorFaceta() throws Exception {
+        // Arrange
+        Producto producto = new Producto();
+        producto.setId(1L);
+        producto.setNombre("Laptop HP");
+        ResultadoFiltroProductos resultado = new ResultadoFiltroProductos(12L, List.of(producto),
+                Map.of(1L, 12, 2L, 30), Map.of("1000+", 2), Map.of(EstadoStock.STOCK_BAJO, 2));
+        when(filtroProductoService.filtrar(List.of(1L), null, new BigDecimal("100"),
+                List.of(EstadoStock.STOCK_BAJO, EstadoStock.DISPONIBLE), 0, 20)).thenReturn(resultado);
+
+        // Act & Assert
+        mockMvc.perform(get("/data/productos/filtrar")
+                        .param("categoriaId", "1")
+                        .param("precioMax", "100")
+                        .param("stock", "STOCK_BAJO", "DISPONIBLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(12))
+                .andExpect(jsonPath("$.productos[0].id").value(1))
+                .andExpect(jsonPath("$.categorias.2").value(30))
+                .andExpect(jsonPath("$.estadosStock.STOCK_BAJO").value(2));
+    }
+
+    @Test
+    void cuandoFiltrarProductosPorCriterios_entoncesRetornaPaginaSinTotal() throws Exception {
+        // Arrange
+        Producto producto = new Producto();
+        producto.setId(1L);
+        producto.setNombre("Laptop HP");
+        when(productoService.buscarPorCriterios("lap", null, new BigDecimal("1500"), null, true,
+                0, 20, "precio", Sort.Direction.DESC))
+                .thenReturn(new PaginaProductos(List.of(producto), 0, 20, true));
+
+        // Act & Assert
+        mockMvc.perform(get("/data/productos/filtro")
+                        .param("nombre", "lap")
+                        .param("precioMax", "1500")
+                        .param("conStock", "true")
+                        .param("ordenarPor", "precio")
+                        .param("direccion", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productos[0].nombre").value("Laptop HP"))
+                .andExpect(jsonPath("$.hayMas").value(true));
+    }
+}
@@ -0,0 +1,160 @@
+package com.microservices_system.data_service.nombres;
+
+import com.microservices_system.data_service.dto.EstadisticaFiltroNombres;
+import com.microservices_system.data_service.repositories.CategoriaRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FiltroNombresTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    private FiltroNombres filtroNombres;
+
+    @BeforeEach
+    void setUp() {
+        filtroNombres = new FiltroNombres(productoRepository, categoriaRepository,
+                new EnrutadorShards(false, List.of(), false, null, null), true, 0.01, 2.0);
+    }
+
+    @Test
+    void filtroBloom_NoDeberiaTenerFalsosNegativosYRespetarLaTasa() {
+        // Given
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.agregar("producto " + i);
+        }
+
+        // When
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.puedeContener("otro " + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filtro.puedeContener("producto " + i)).isTrue();
+        }
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+        assertThat(filtro.tasaEstimada()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void existe_SinConstruir_DeberiaConsultarSiempre() {
+        // Given
+        AtomicInteger consultas = new AtomicInteger();
+
+        // When
+        boolean existe = filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, "Mouse", () -> {
+            consultas.incrementAndGet();
+            return false;
+        });
+
+        // Then
+        assertThat(existe).isFalse();
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    void existe_NombreNuevo_NoDeberiaConsultarLaBase() {
+        // Given
+        when(productoRepository.findAllNombres()).thenReturn(List.of("Teclado", "Monitor"));
+        when(categoriaRepository.findAllNombres()).thenReturn(List.of("Periféricos"));
+        filtroNombres.reconstruir();
+        AtomicInteger consultas = new AtomicInteger();
+
+        // When
+        boolean existe = filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, "Mouse inalámbrico", () -> {
+            consultas.incrementAndGet();
+            return false;
+        });
+
+        // Then
+        assertThat(existe).isFalse();
+        assertThat(consultas).hasValue(0);
+        EstadisticaFiltroNombres productos = filtroNombres.obtenerEstadisticas().get(0);
+        assertThat(productos.getTabla()).isEqualTo("productos");
+        assertThat(productos.getNombresReconstruccion()).isEqualTo(2L);
+        assertThat(productos.getDescartadas()).isEqualTo(1L);
+    }
+
+    @Test
+    void existe_NombreConocidoEnOtrasMayusculas_DeberiaConsultarLaBase() {
+        // Given
+        when(productoRepository.findAllNombres()).thenReturn(List.of("Teclado Mecánico"));
+        when(categoriaRepository.findAllNombres()).thenReturn(List.of("Periféricos"));
+        filtroNombres.reconstruir();
+
+        // When & Then
+        assertThat(filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, "TECLADO MECÁNICO", () -> true)).isTrue();
+        assertThat(filtroNombres.existe(FiltroNombres.Tabla.CATEGORIAS, "periféricos", () -> false)).isFalse();
+        EstadisticaFiltroNombres categorias = filtroNombres.obtenerEstadisticas().get(1);
+        assertThat(categorias.getFalsosPositivos()).isEqualTo(1L);
+        assertThat(categorias.getTasaFalsosPositivos()).isEqualTo(1.0);
+    }
+
+    @Test
+    void agregar_DespuesDeConstruir_NoDeberiaDescartarElNombre() {
+        // Given
+        when(productoRepository.findAllNombres()).thenReturn(List.of());
+        when(categoriaRepository.findAllNombres()).thenReturn(List.of());
+        filtroNombres.reconstruir();
+
+        // When
+        filtroNombres.agregar(FiltroNombres.Tabla.PRODUCTOS, "Webcam HD");
+
+        // Then
+        assertThat(filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, "webcam hd", () -> true)).isTrue();
+    }
+
+    @Test
+    void reconstruir_ConAltasMientrasLeeLaTabla_DeberiaConservarlas() {
+        // Given: un alta confirmada después de que la consulta leyó la tabla
+        when(productoRepository.findAllNombres()).thenAnswer(invocacion -> {
+            filtroNombres.agregar(FiltroNombres.Tabla.PRODUCTOS, "Auriculares");
+            return List.of("Teclado");
+        });
+        when(categoriaRepository.findAllNombres()).thenReturn(List.of());
+
+        // When
+        filtroNombres.reconstruir();
+
+        // Then
+        assertThat(filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, "Auriculares", () -> true)).isTrue();
+        assertThat(filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, "Teclado", () -> true)).isTrue();
+    }
+
+    @Test
+    void reconstruir_ConErrorDeLaBase_DeberiaConservarElFiltroAnterior() {
+        // Given
+        when(productoRepository.findAllNombres()).thenReturn(List.of("Teclado"))
+                .thenThrow(new IllegalStateException("sin conexión"));
+        when(categoriaRepository.findAllNombres()).thenReturn(List.of());
+        filtroNombres.reconstruir();
+
+        // When
+        filtroNombres.reconstruir();
+
+        // Then
+        assertThat(filtroNombres.existe(FiltroNombres.Tabla.PRODUCTOS, "Teclado", () -> true)).isTrue();
+        assertThat(filtroNombres.obtenerEstadisticas().get(0).getConstruido()).isTrue();
+    }
+}
@@ -0,0 +1,131 @@
+package com.microservices_system.data_service.pool;
+
+import com.microservices_system.data_service.dto.EstadoPool;
+import com.microservices_system.data_service.dto.UsoConexionEndpoint;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TelemetriaPoolTest {
+    private final TelemetriaPool telemetria = new TelemetriaPool();
+    private final InterceptorEndpointPool interceptor = new InterceptorEndpointPool();
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:telemetria-pool;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPoolName("pool-prueba");
+        dataSource.setMaximumPoolSize(2);
+        telemetria.registrar(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void usoDeConexiones_DeberiaAtribuirseAlEndpointQueLasRetiene() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/data/productos/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/data/productos/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(request, response, null);
+        for (int i = 0; i < 3; i++) {
+            retener(20);
+        }
+        interceptor.afterCompletion(request, response, null, null);
+        retener(0);
+
+        // Then
+        EstadoPool estado = telemetria.obtenerEstados().get(0);
+        assertThat(estado.getNombre()).isEqualTo("pool-prueba");
+        assertThat(estado.getAdquisiciones()).isEqualTo(4);
+        assertThat(estado.getHistogramaEspera().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(4);
+        assertThat(estado.getHistogramaEspera()).containsKeys("<=0.1ms", "<=1ms", ">5000ms");
+        assertThat(estado.getUsoPorEndpoint())
+                .extracting(UsoConexionEndpoint::getEndpoint, UsoConexionEndpoint::getUsos)
+                .containsExactly(
+                        tuple("GET /data/productos/{id}", 3L),
+                        tuple(RegistroPool.SIN_PETICION, 1L));
+        assertThat(estado.getUsoPorEndpoint().get(0).getPromedioMs()).isGreaterThanOrEqualTo(20);
+        assertThat(InterceptorEndpointPool.actual()).isNull();
+    }
+
+    @Test
+    void controlador_DeberiaCrecerBajoSaturacionYAchicarseSinCarga() throws Exception {
+        // Given
+        ControladorTamanioPool controlador = new ControladorTamanioPool(telemetria, 2, 8, 1.5);
+        retener(0);
+        controlador.ajustar();
+
+        // When: seis hilos compiten por dos conexiones
+        ExecutorService hilos = Executors.newFixedThreadPool(6);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tareas.add(hilos.submit(() -> {
+                for (int j = 0; j < 5; j++) {
+                    retener(30);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        hilos.shutdown();
+        controlador.ajustar();
+
+        // Then: la concurrencia medida (~2) con holgura supera el tamaño actual
+        EstadoPool estado = telemetria.obtenerEstados().get(0);
+        assertThat(estado.getEsperaMaximaMs()).isGreaterThan(10);
+        int crecido = dataSource.getMaximumPoolSize();
+        assertThat(crecido).isGreaterThan(2);
+
+        // When: sin carga (Hikari refresca activas/esperando cada segundo)
+        Thread.sleep(1_100);
+        controlador.ajustar();
+
+        // Then: baja de a una conexión
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(crecido - 1);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(2);
+    }
+
+    @Test
+    void objetivo_DeberiaAplicarLeyDeLittleDentroDeLosLimites() {
+        ControladorTamanioPool controlador = new ControladorTamanioPool(telemetria, 2, 20, 1.5);
+
+        // 200 adquisiciones/s retenidas 25 ms = 5 conexiones ocupadas en promedio
+        assertThat(controlador.objetivo(200, 25, 0, 0)).isEqualTo(8);
+        assertThat(controlador.objetivo(200, 25, 3, 4)).isEqualTo(12);
+        assertThat(controlador.objetivo(200, 25, 10, 0)).isEqualTo(10);
+        assertThat(controlador.objetivo(0, 0, 0, 0)).isEqualTo(2);
+        assertThat(controlador.objetivo(5_000, 100, 0, 0)).isEqualTo(20);
+    }
+
+    private void retener(long ms) throws SQLException, InterruptedException {
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.isValid(1);
+            Thread.sleep(ms);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.microservices_system.data_service.replicas;
+
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.services.CategoriaService;
+import com.microservices_system.data_service.services.InventarioService;
+import com.microservices_system.data_service.services.ProductoService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primario y réplica son dos bases H2 en memoria; la replicación se simula
+ * copiando el primario completo a la réplica con SCRIPT. Las tareas periódicas
+ * están apagadas: también abren transacciones de solo lectura y moverían los
+ * contadores de lecturas entre la medición y la aserción.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=" + MonitorReplicasTest.URL_PRIMARIO,
+        "programacion.habilitada=false",
+        "replicas.habilitado=true",
+        "replicas.urls=" + MonitorReplicasTest.URL_REPLICA,
+        "replicas.retraso-maximo-ms=60000"})
+@Slf4j
+class MonitorReplicasTest {
+    static final String URL_PRIMARIO = "jdbc:h2:mem:lectura-primario;DB_CLOSE_DELAY=-1";
+    static final String URL_REPLICA = "jdbc:h2:mem:lectura-replica;DB_CLOSE_DELAY=-1";
+
+    private final JdbcTemplate primario = new JdbcTemplate(new DriverManagerDataSource(URL_PRIMARIO, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(URL_REPLICA, "sa", ""));
+
+    @Autowired
+    private MonitorReplicas monitor;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Test
+    void lecturas_DeberianIrALaReplicaSoloMientrasEsteAlDia() {
+        // Given
+        replicar();
+        Producto teclado = productoService.guardar(
+                new Producto(null, "Teclado", null, new BigDecimal("50.00"), null, null));
+
+        // When: la réplica no tiene el alta y el cambio pendiente tiene una hora
+        primario.update("UPDATE cambios SET fecha = DATEADD('HOUR', -1, fecha) WHERE entidad_id = ?", teclado.getId());
+        monitor.medir();
+        long lecturasEnPrimario = monitor.lecturasEnPrimario();
+
+        // Then: la lectura cae al primario y encuentra el producto
+        assertThat(monitor.retrasos().get(0)).isGreaterThan(60_000L);
+        assertThat(productoService.buscarPorId(teclado.getId()).getNombre()).isEqualTo("Teclado");
+        assertThat(monitor.lecturasEnPrimario()).isEqualTo(lecturasEnPrimario + 1);
+
+        // When: la réplica se pone al día y el primario cambia sin que ella lo vea todavía
+        replicar();
+        monitor.medir();
+        primario.update("UPDATE productos SET nombre = 'Teclado mecánico' WHERE id = ?", teclado.getId());
+
+        // Then: la lectura la atiende la réplica
+        assertThat(monitor.retrasos()).containsExactly(0L);
+        assertThat(productoService.buscarPorId(teclado.getId()).getNombre()).isEqualTo("Teclado");
+    }
+
+    @Test
+    void cargaDeLectura_DeberiaDejarAlPrimarioSoloLasEscrituras() {
+        // Given
+        replicar();
+        monitor.medir();
+        long lecturasEnReplicas = monitor.lecturasEnReplicas();
+        long lecturasEnPrimario = monitor.lecturasEnPrimario();
+        int escrituras = 0;
+
+        // When: 90% lecturas, 10% escrituras
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 == 0) {
+                productoService.guardar(new Producto(null, "Carga " + i, null, BigDecimal.TEN, null, null));
+                escrituras++;
+            } else if (i % 3 == 0) {
+                categoriaService.obtenerTodas();
+            } else if (i % 3 == 1) {
+                inventarioService.obtenerTodos();
+            } else {
+                productoService.obtenerTodos();
+            }
+        }
+
+        // Then
+        long enReplicas = monitor.lecturasEnReplicas() - lecturasEnReplicas;
+        long enPrimario = monitor.lecturasEnPrimario() - lecturasEnPrimario;
+        log.info("Transacciones atendidas por el primario: {} de {} ({} lecturas en réplicas)",
+                escrituras + enPrimario, 100, enReplicas);
+        assertThat(enPrimario).isZero();
+        assertThat(enReplicas).isGreaterThanOrEqualTo(90);
+    }
+
+    private void replicar() {
+        replica.execute("DROP ALL OBJECTS");
+        primario.queryForList("SCRIPT", String.class).forEach(replica::execute);
+    }
+}
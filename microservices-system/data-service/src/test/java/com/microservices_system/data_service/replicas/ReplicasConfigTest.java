@@ -0,0 +1,19 @@
+package com.microservices_system.data_service.replicas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicasConfigTest {
+
+    @Test
+    void monitorReplicas_ConShardingHabilitado_DeberiaFallar() {
+        // When / Then: ambas configuraciones declaran el DataSource principal
+        assertThatThrownBy(() -> new ReplicasConfig()
+                .monitorReplicas(null, List.of("jdbc:h2:mem:replica"), 1000, true, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("replicas.habilitado y sharding.habilitado no se pueden habilitar a la vez");
+    }
+}
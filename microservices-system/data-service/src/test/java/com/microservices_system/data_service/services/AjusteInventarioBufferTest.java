@@ -0,0 +1,141 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.AjusteInventarioRespuesta;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.repositories.InventarioRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@Import({AjusteInventarioBuffer.class, MovimientoInventarioService.class, CambioService.class, EnrutadorShards.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AjusteInventarioBufferTest {
+
+    @Autowired
+    private AjusteInventarioBuffer ajusteInventarioBuffer;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Test
+    void aplicarPendientes_VariosAjustesDelMismoProducto_DeberiaAplicarUnaSolaSuma() {
+        // Given
+        Long productoId = crearInventario("Teclado", 10);
+        CompletableFuture<AjusteInventarioRespuesta> primero = ajusteInventarioBuffer.registrar(productoId, 5);
+        CompletableFuture<AjusteInventarioRespuesta> segundo = ajusteInventarioBuffer.registrar(productoId, -3);
+        CompletableFuture<AjusteInventarioRespuesta> tercero = ajusteInventarioBuffer.registrar(productoId, 2);
+
+        // When
+        ajusteInventarioBuffer.aplicarPendientes();
+
+        // Then
+        assertThat(primero.join().getDeltaLote()).isEqualTo(4);
+        assertThat(segundo.join().getDelta()).isEqualTo(-3);
+        assertThat(tercero.join().getAjustesLote()).isEqualTo(3);
+        Inventario inventario = inventarioRepository.findByProductoId(productoId).orElseThrow();
+        assertThat(inventario.getCantidad()).isEqualTo(14);
+        assertThat(inventario.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void aplicarPendientes_StockNegativoEnUnProducto_DeberiaFallarSoloEseProducto() {
+        // Given
+        Long mouse = crearInventario("Mouse", 3);
+        Long monitor = crearInventario("Monitor", 7);
+        CompletableFuture<AjusteInventarioRespuesta> ajusteMouse = ajusteInventarioBuffer.registrar(mouse, -5);
+        CompletableFuture<AjusteInventarioRespuesta> ajusteMonitor = ajusteInventarioBuffer.registrar(monitor, -5);
+        CompletableFuture<AjusteInventarioRespuesta> ajusteInexistente = ajusteInventarioBuffer.registrar(999_999L, 1);
+
+        // When
+        ajusteInventarioBuffer.aplicarPendientes();
+
+        // Then
+        assertThatThrownBy(ajusteMouse::join).hasCauseInstanceOf(ValidacionNegocioException.class);
+        assertThatThrownBy(ajusteInexistente::join).hasCauseInstanceOf(ValidacionNegocioException.class);
+        assertThat(ajusteMonitor.join().getDeltaLote()).isEqualTo(-5);
+        assertThat(inventarioRepository.findByProductoId(mouse).orElseThrow().getCantidad()).isEqualTo(3);
+        assertThat(inventarioRepository.findByProductoId(monitor).orElseThrow().getCantidad()).isEqualTo(2);
+    }
+
+    @Test
+    void aplicarPendientes_SumaNegativa_DeberiaRechazarSoloLosAjustesQueDejanStockNegativo() {
+        // Given: el primer ajuste no alcanza, pero la reposición que llega después sí
+        Long productoId = crearInventario("Auriculares", 3);
+        CompletableFuture<AjusteInventarioRespuesta> venta = ajusteInventarioBuffer.registrar(productoId, -5);
+        CompletableFuture<AjusteInventarioRespuesta> reposicion = ajusteInventarioBuffer.registrar(productoId, 10);
+        CompletableFuture<AjusteInventarioRespuesta> otraVenta = ajusteInventarioBuffer.registrar(productoId, -8);
+        CompletableFuture<AjusteInventarioRespuesta> ventaSinStock = ajusteInventarioBuffer.registrar(productoId, -20);
+
+        // When
+        ajusteInventarioBuffer.aplicarPendientes();
+
+        // Then
+        assertThatThrownBy(venta::join).hasCauseInstanceOf(ValidacionNegocioException.class);
+        assertThatThrownBy(ventaSinStock::join).hasCauseInstanceOf(ValidacionNegocioException.class);
+        assertThat(reposicion.join().getDeltaLote()).isEqualTo(2);
+        assertThat(otraVenta.join().getAjustesLote()).isEqualTo(2);
+        assertThat(inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidad()).isEqualTo(5);
+    }
+
+    @Test
+    void aplicarPendientes_StockQueExcedeElMaximo_DeberiaRechazarConErrorDeValidacion() {
+        // Given
+        Long productoId = crearInventario("Cables", Integer.MAX_VALUE - 1);
+        CompletableFuture<AjusteInventarioRespuesta> excedido = ajusteInventarioBuffer.registrar(productoId, Integer.MAX_VALUE);
+        CompletableFuture<AjusteInventarioRespuesta> salida = ajusteInventarioBuffer.registrar(productoId, -1);
+
+        // When
+        ajusteInventarioBuffer.aplicarPendientes();
+
+        // Then
+        assertThatThrownBy(excedido::join).hasCauseInstanceOf(ValidacionNegocioException.class);
+        assertThat(salida.join().getDeltaLote()).isEqualTo(-1);
+        assertThat(inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidad())
+                .isEqualTo(Integer.MAX_VALUE - 2);
+    }
+
+    @Test
+    void registrar_DeltaCero_DeberiaLanzarExcepcion() {
+        assertThatThrownBy(() -> ajusteInventarioBuffer.registrar(1L, 0))
+                .isInstanceOf(ValidacionNegocioException.class)
+                .hasMessage("El ajuste de stock debe ser distinto de cero");
+    }
+
+    private Long crearInventario(String nombre, int cantidad) {
+        return transactionOperations.execute(status -> {
+            Producto producto = new Producto();
+            producto.setNombre(nombre);
+            producto.setPrecio(BigDecimal.ONE);
+            producto = productoRepository.save(producto);
+
+            Inventario inventario = new Inventario();
+            inventario.setProducto(producto);
+            inventario.setCantidad(cantidad);
+            inventario.setStockMinimo(1);
+            inventario.setFechaActualizacion(LocalDateTime.now());
+            inventarioRepository.save(inventario);
+            return producto.getId();
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@Import({BusquedaProductoService.class, CambioService.class, ProductoService.class, CategoriaService.class,
+        FiltroNombres.class, EnrutadorShards.class, MovimientoInventarioService.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BusquedaProductoServiceTest {
+
+    @Autowired
+    private BusquedaProductoService busquedaProductoService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CambioService cambioService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Test
+    void buscar_DeberiaReflejarLosCambiosDelFeedAlSincronizar() {
+        // Given
+        Categoria categoria = categoriaService.guardar(new Categoria(null, "Periféricos", null, null));
+        Producto teclado = productoService.guardar(
+                new Producto(null, "Teclado Mecánico", "Switch azul", BigDecimal.TEN, categoria, null));
+        cambioService.publicar();
+        busquedaProductoService.sincronizar();
+        assertThat(busquedaProductoService.buscar("mecanico", 10)).containsExactly(teclado);
+
+        Producto mouse = productoService.guardar(
+                new Producto(null, "Mouse Óptico", null, BigDecimal.ONE, categoria, null));
+        teclado.setNombre("Teclado de membrana");
+        productoService.actualizar(teclado.getId(), teclado);
+
+        // When
+        cambioService.publicar();
+        busquedaProductoService.sincronizar();
+
+        // Then
+        assertThat(busquedaProductoService.buscar("optico", 10)).extracting(Producto::getId)
+                .containsExactly(mouse.getId());
+        assertThat(busquedaProductoService.buscar("mecanico", 10)).isEmpty();
+        assertThat(busquedaProductoService.buscar("membr", 10)).extracting(Producto::getId)
+                .containsExactly(teclado.getId());
+    }
+
+    @Test
+    void buscar_ProductosDeUnaCategoriaEliminada_NoDeberiaRetornarlos() {
+        // Given
+        Categoria categoria = categoriaService.guardar(new Categoria(null, "Audio", null, null));
+        productoService.guardar(new Producto(null, "Auriculares", null, BigDecimal.TEN, categoria, null));
+        entityManager.flush();
+        entityManager.clear();
+        cambioService.publicar();
+        busquedaProductoService.sincronizar();
+        assertThat(busquedaProductoService.buscar("auriculares", 10)).hasSize(1);
+
+        // When
+        categoriaService.eliminar(categoria.getId());
+        cambioService.publicar();
+        busquedaProductoService.sincronizar();
+
+        // Then
+        assertThat(busquedaProductoService.buscar("auriculares", 10)).isEmpty();
+    }
+}
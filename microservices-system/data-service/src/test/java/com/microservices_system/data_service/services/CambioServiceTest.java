@@ -0,0 +1,159 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.CambioEntidad;
+import com.microservices_system.data_service.dto.CategoriaDatos;
+import com.microservices_system.data_service.dto.FeedCambios;
+import com.microservices_system.data_service.dto.InventarioDatos;
+import com.microservices_system.data_service.dto.ProductoDatos;
+import com.microservices_system.data_service.dto.SnapshotCatalogo;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(showSql = false)
+@Import({CambioService.class, ProductoService.class, CategoriaService.class, FiltroNombres.class,
+        EnrutadorShards.class, MovimientoInventarioService.class})
+class CambioServiceTest {
+
+    @Autowired
+    private CambioService cambioService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void obtenerCambios_SinPublicar_NoDeberiaRetornarlos() {
+        // Given
+        categoriaService.guardar(new Categoria(null, "Cables", null, null));
+
+        // When
+        FeedCambios feed = cambioService.obtenerCambios(0, 10);
+
+        // Then
+        assertThat(feed.getCambios()).isEmpty();
+        assertThat(feed.getUltimaVersion()).isZero();
+        assertThat(cambioService.obtenerVersionVisible()).isZero();
+    }
+
+    @Test
+    void publicar_CambioConIdMenorConfirmadoDespues_DeberiaRecibirVersionPosteriorALaLeida() {
+        // Given
+        Categoria categoria = categoriaService.guardar(new Categoria(null, "Redes", null, null));
+        cambioService.publicar();
+        long version = cambioService.obtenerCambios(0, 10).getUltimaVersion();
+        Long idMenor = jdbcTemplate.queryForObject("SELECT MIN(id) - 1 FROM cambios", Long.class);
+        jdbcTemplate.update("INSERT INTO cambios (id, entidad, entidad_id, operacion, fecha) VALUES (?, ?, ?, ?, ?)",
+                idMenor, "CATEGORIA", categoria.getId(), "ACTUALIZACION", LocalDateTime.now());
+
+        // When
+        int publicados = cambioService.publicar();
+
+        // Then
+        FeedCambios feed = cambioService.obtenerCambios(version, 10);
+        assertThat(publicados).isEqualTo(1);
+        assertThat(feed.getCambios()).singleElement().satisfies(cambio -> {
+            assertThat(cambio.getVersion()).isEqualTo(version + 1);
+            assertThat(cambio.getOperacion()).isEqualTo(OperacionCambio.ACTUALIZACION);
+        });
+    }
+
+    @Test
+    void obtenerCambios_DeberiaPaginarPorVersionConElEstadoActual() {
+        // Given
+        Categoria categoria = categoriaService.guardar(new Categoria(null, "Periféricos", null, null));
+        Producto producto = productoService.guardar(
+                new Producto(null, "Mouse", null, new BigDecimal("20.00"), categoria, null));
+        producto.setPrecio(new BigDecimal("25.00"));
+        productoService.actualizar(producto.getId(), producto);
+
+        // When
+        cambioService.publicar();
+        FeedCambios primeraPagina = cambioService.obtenerCambios(0, 2);
+        FeedCambios segundaPagina = cambioService.obtenerCambios(primeraPagina.getUltimaVersion(), 2);
+
+        // Then
+        assertThat(primeraPagina.isHayMas()).isTrue();
+        assertThat(primeraPagina.getCambios())
+                .extracting(CambioEntidad::getEntidad, CambioEntidad::getOperacion)
+                .containsExactly(tuple(EntidadCambio.CATEGORIA, OperacionCambio.CREACION),
+                        tuple(EntidadCambio.PRODUCTO, OperacionCambio.CREACION));
+        assertThat(primeraPagina.getCambios().get(0).getCategoria().getNombre()).isEqualTo("Periféricos");
+        assertThat(primeraPagina.getCambios().get(1).getProducto().getPrecio()).isEqualByComparingTo("25.00");
+        assertThat(primeraPagina.getCambios().get(1).getProducto().getCategoriaId()).isEqualTo(categoria.getId());
+
+        assertThat(segundaPagina.isHayMas()).isFalse();
+        assertThat(segundaPagina.getCambios()).singleElement()
+                .satisfies(cambio -> assertThat(cambio.getOperacion()).isEqualTo(OperacionCambio.ACTUALIZACION));
+        assertThat(cambioService.obtenerCambios(segundaPagina.getUltimaVersion(), 2).getCambios()).isEmpty();
+    }
+
+    @Test
+    void registrarBajaCategoria_DeberiaIncluirProductosEInventariosEnCascada() {
+        // Given
+        Categoria categoria = categoriaService.guardar(new Categoria(null, "Audio", null, null));
+        Producto producto = productoService.guardar(
+                new Producto(null, "Auriculares", null, BigDecimal.TEN, categoria, null));
+        Inventario inventario = entityManager.persistFlushFind(
+                new Inventario(null, producto, 4, 1, null, null));
+        cambioService.publicar();
+        long version = cambioService.obtenerCambios(0, 10).getUltimaVersion();
+
+        // When
+        cambioService.registrarBajaCategoria(categoria.getId());
+        cambioService.publicar();
+
+        // Then
+        FeedCambios feed = cambioService.obtenerCambios(version, 10);
+        assertThat(feed.getCambios())
+                .extracting(CambioEntidad::getEntidad, CambioEntidad::getEntidadId, CambioEntidad::getOperacion)
+                .containsExactly(tuple(EntidadCambio.INVENTARIO, inventario.getId(), OperacionCambio.ELIMINACION),
+                        tuple(EntidadCambio.PRODUCTO, producto.getId(), OperacionCambio.ELIMINACION),
+                        tuple(EntidadCambio.CATEGORIA, categoria.getId(), OperacionCambio.ELIMINACION));
+        assertThat(feed.getCambios()).allSatisfy(cambio -> assertThat(cambio.getInventario()).isNull());
+    }
+
+    @Test
+    void obtenerSnapshot_DeberiaRetornarCatalogoYVersionDesdeLaQueContinuar() {
+        // Given
+        Categoria categoria = categoriaService.guardar(new Categoria(null, "Monitores", null, null));
+        Producto producto = productoService.guardar(
+                new Producto(null, "Monitor 27", null, BigDecimal.TEN, categoria, null));
+        entityManager.persistAndFlush(new Inventario(null, producto, 8, 2, null, null));
+
+        cambioService.publicar();
+
+        // When
+        SnapshotCatalogo snapshot = cambioService.obtenerSnapshot();
+
+        // Then
+        assertThat(snapshot.getVersion()).isEqualTo(cambioService.obtenerCambios(0, 10).getUltimaVersion());
+        assertThat(snapshot.getCategorias()).extracting(CategoriaDatos::getNombre).containsExactly("Monitores");
+        assertThat(snapshot.getProductos()).extracting(ProductoDatos::getCategoriaId).containsExactly(categoria.getId());
+        assertThat(snapshot.getInventarios()).extracting(InventarioDatos::getProductoId).containsExactly(producto.getId());
+    }
+}
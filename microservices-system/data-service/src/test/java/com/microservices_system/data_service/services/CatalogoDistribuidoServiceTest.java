@@ -0,0 +1,254 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ProductoDuplicadoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.CambioEntidad;
+import com.microservices_system.data_service.dto.FeedCambios;
+import com.microservices_system.data_service.dto.ResultadoImportacion;
+import com.microservices_system.data_service.dto.ValorStockProducto;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.MovimientoInventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.entity.ReporteInventarioProducto;
+import com.microservices_system.data_service.repositories.CategoriaRepository;
+import com.microservices_system.data_service.sharding.ContextoShard;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "sharding.habilitado=true",
+        "sharding.crear-esquema=true",
+        "cambios.publicacion-ms=3600000",
+        "reportes.inventario.intervalo-ms=3600000",
+        "sharding.urls=jdbc:h2:mem:catalogo-shard0;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:catalogo-shard1;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:catalogo-shard2;DB_CLOSE_DELAY=-1"})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CatalogoDistribuidoServiceTest {
+
+    @Autowired
+    private CatalogoDistribuidoService catalogoDistribuidoService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EnrutadorShards enrutador;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RelevoCambios relevoCambios;
+
+    @Autowired
+    private CambioService cambioService;
+
+    @Autowired
+    private ReporteInventarioService reporteInventarioService;
+
+    @Autowired
+    private MovimientoInventarioService movimientoInventarioService;
+
+    @Autowired
+    private AjusteInventarioBuffer ajusteInventarioBuffer;
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Test
+    @Order(1)
+    void guardar_DeberiaRepartirPorCategoriaYReunirLosListados() {
+        // Given: una categoría por shard, creadas en el principal
+        List<Categoria> categorias = categoriaRepository.saveAll(List.of(
+                new Categoria(null, "Periféricos", null, null),
+                new Categoria(null, "Monitores", null, null),
+                new Categoria(null, "Almacenamiento", null, null)));
+
+        // When
+        Producto mouse = catalogoDistribuidoService.guardar(producto("Mouse", categorias.get(0), 3, 5));
+        Producto monitor = catalogoDistribuidoService.guardar(producto("Monitor 27", categorias.get(1), 10, 2));
+        Producto disco = catalogoDistribuidoService.guardar(producto("Disco SSD", categorias.get(2), 1, 4));
+        Producto cable = catalogoDistribuidoService.guardar(producto("Cable", null, 50, 10));
+
+        // Then: cada producto vive en el shard de su categoría y su ID lo indica
+        assertThat(enrutador.cantidad()).isEqualTo(3);
+        for (Producto producto : List.of(mouse, monitor, disco)) {
+            int shard = enrutador.shardDeCategoria(producto.getCategoria().getId());
+            assertThat(enrutador.shardDeId(producto.getId())).isEqualTo(shard);
+            assertThat(enrutador.shardDeId(producto.getInventario().getId())).isEqualTo(shard);
+            assertThat(nombresEnShard(shard)).contains(producto.getNombre());
+        }
+        assertThat(nombresEnShard(EnrutadorShards.PRINCIPAL)).contains("Cable");
+        assertThat(List.of(nombresEnShard(0).size(), nombresEnShard(1).size(), nombresEnShard(2).size()))
+                .containsExactlyInAnyOrder(2, 1, 1);
+
+        assertThat(catalogoDistribuidoService.obtenerTodos())
+                .extracting(Producto::getId)
+                .containsExactlyElementsOf(List.of(mouse.getId(), monitor.getId(), disco.getId(), cable.getId())
+                        .stream().sorted().toList());
+        assertThat(catalogoDistribuidoService.buscarPorId(monitor.getId()).getNombre()).isEqualTo("Monitor 27");
+        assertThat(catalogoDistribuidoService.buscarPorCategoria("Almacenamiento"))
+                .extracting(Producto::getNombre)
+                .containsExactly("Disco SSD");
+        assertThat(catalogoDistribuidoService.obtenerInventarios()).hasSize(4);
+        assertThat(catalogoDistribuidoService.obtenerProductosConStockBajo())
+                .extracting(Inventario::getCantidad)
+                .containsExactlyInAnyOrder(3, 1);
+
+        // Los nombres son únicos entre shards y un producto no cambia de shard
+        assertThatThrownBy(() -> catalogoDistribuidoService.guardar(producto("mouse", categorias.get(1), 1, 1)))
+                .isInstanceOf(ProductoDuplicadoException.class);
+        assertThatThrownBy(() -> catalogoDistribuidoService.actualizar(mouse.getId(),
+                new Producto(null, "Mouse", null, new BigDecimal("10.00"), categorias.get(1), null)))
+                .isInstanceOf(ValidacionNegocioException.class);
+
+        catalogoDistribuidoService.eliminar(disco.getId());
+        assertThat(catalogoDistribuidoService.obtenerTodos()).hasSize(3);
+    }
+
+    @Test
+    void publicar_DeberiaRelevarLosCambiosDeLosShardsSecundariosAlFeed() {
+        // Given: un producto guardado en un shard secundario
+        Categoria categoria = categoriaEnShardSecundario("Impresoras");
+        int shard = enrutador.shardDeCategoria(categoria.getId());
+        Producto impresora = catalogoDistribuidoService.guardar(producto("Impresora láser", categoria, 4, 2));
+        assertThat(cambiosPendientesEn(shard)).isPositive();
+
+        // When
+        relevoCambios.relevar();
+        cambioService.publicar();
+
+        // Then: el feed del principal lo publica con los datos leídos de su shard
+        assertThat(cambiosPendientesEn(shard)).isZero();
+        assertThat(feedCompleto())
+                .filteredOn(cambio -> cambio.getEntidad() == EntidadCambio.PRODUCTO
+                        && impresora.getId().equals(cambio.getEntidadId()))
+                .singleElement()
+                .satisfies(cambio -> assertThat(cambio.getProducto().getNombre()).isEqualTo("Impresora láser"));
+        assertThat(cambioService.obtenerSnapshot().getProductos())
+                .anySatisfy(producto -> assertThat(producto.getId()).isEqualTo(impresora.getId()));
+    }
+
+    @Test
+    void reportesYLibro_DeberianCubrirLosProductosDeCadaShard() {
+        // Given: un producto con stock bajo en un shard secundario y su saldo conciliado
+        Categoria categoria = categoriaEnShardSecundario("Escáneres");
+        Producto escaner = catalogoDistribuidoService.guardar(producto("Escáner de red", categoria, 1, 3));
+        movimientoInventarioService.conciliar();
+
+        // When: se ajusta su stock a través del buffer y se refrescan los reportes
+        var ajuste = ajusteInventarioBuffer.registrar(escaner.getId(), 5);
+        ajusteInventarioBuffer.aplicarPendientes();
+        relevoCambios.relevar();
+        cambioService.publicar();
+        reporteInventarioService.refrescar();
+
+        // Then
+        assertThat(ajuste.join().getDelta()).isEqualTo(5);
+        assertThat(catalogoDistribuidoService.buscarPorId(escaner.getId()).getInventario().getCantidad()).isEqualTo(6);
+        assertThat(catalogoDistribuidoService.obtenerMovimientos(escaner.getId(),
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)))
+                .extracting(MovimientoInventario::getCantidad)
+                .containsExactly(1, 5);
+        assertThat(catalogoDistribuidoService.obtenerStockEn(escaner.getId(), LocalDateTime.now().plusMinutes(1))
+                .getCantidad()).isEqualTo(6);
+        assertThat(reporteInventarioService.obtenerStockBajo().getProductos())
+                .extracting(ReporteInventarioProducto::getProductoId)
+                .doesNotContain(escaner.getId());
+        assertThat(catalogoDistribuidoService.obtenerTopPorValor(1000, false))
+                .extracting(ValorStockProducto::getProductoId)
+                .contains(escaner.getId());
+        assertThat(catalogoDistribuidoService.obtenerTopPorValor(1, true))
+                .filteredOn(valor -> categoria.getId().equals(valor.getCategoriaId()))
+                .extracting(ValorStockProducto::getProductoId, ValorStockProducto::getPosicion)
+                .containsExactly(tuple(escaner.getId(), 1));
+        assertThat(catalogoDistribuidoService.obtenerResumenPorCategoria())
+                .filteredOn(resumen -> categoria.getId().equals(resumen.getCategoriaId()))
+                .singleElement()
+                .satisfies(resumen -> assertThat(resumen.getUnidades()).isEqualTo(6L));
+    }
+
+    @Test
+    void importarYExportar_DeberianTrabajarConElShardDeCadaProducto() throws IOException {
+        // Given
+        Categoria categoria = categoriaEnShardSecundario("Proyectores");
+        int shard = enrutador.shardDeCategoria(categoria.getId());
+        String csv = "nombre,precio,categoria,cantidad,stockMinimo\n"
+                + "Proyector 4K,900.00," + categoria.getNombre() + ",2,1\n"
+                + "Pantalla,150.00,,5,1\n";
+
+        // When
+        ResultadoImportacion resultado = importacionService.importar(new StringReader(csv));
+        ResultadoImportacion repetido = importacionService.importar(new StringReader(csv));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        long exportados = exportacionService.exportarCatalogo(salida);
+
+        // Then: el producto nuevo va al shard de su categoría y la segunda pasada lo actualiza ahí
+        assertThat(resultado.getProductosCreados()).isEqualTo(2);
+        assertThat(repetido.getProductosActualizados()).isEqualTo(2);
+        assertThat(repetido.getFilasConError()).isZero();
+        assertThat(nombresEnShard(shard)).contains("Proyector 4K");
+        assertThat(nombresEnShard(EnrutadorShards.PRINCIPAL)).contains("Pantalla");
+        assertThat(exportados).isEqualTo(catalogoDistribuidoService.obtenerTodos().size());
+    }
+
+    private Categoria categoriaEnShardSecundario(String nombre) {
+        Categoria categoria;
+        do {
+            categoria = categoriaRepository.save(new Categoria(null, nombre + " " + System.nanoTime(), null, null));
+        } while (enrutador.shardDeCategoria(categoria.getId()) == EnrutadorShards.PRINCIPAL);
+        return categoria;
+    }
+
+    private int cambiosPendientesEn(int shard) {
+        return ContextoShard.ejecutar(shard,
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cambios", Integer.class));
+    }
+
+    private List<CambioEntidad> feedCompleto() {
+        List<CambioEntidad> cambios = new ArrayList<>();
+        FeedCambios feed;
+        long version = 0;
+        do {
+            feed = cambioService.obtenerCambios(version, CambioService.LIMITE_MAXIMO);
+            cambios.addAll(feed.getCambios());
+            version = feed.getUltimaVersion();
+        } while (feed.isHayMas());
+        return cambios;
+    }
+
+    private List<String> nombresEnShard(int shard) {
+        return ContextoShard.ejecutar(shard,
+                () -> jdbcTemplate.queryForList("SELECT nombre FROM productos", String.class));
+    }
+
+    private static Producto producto(String nombre, Categoria categoria, int cantidad, int stockMinimo) {
+        Producto producto = new Producto(null, nombre, null, new BigDecimal("10.00"), categoria, null);
+        producto.setInventario(new Inventario(null, producto, cantidad, stockMinimo, LocalDateTime.now(), null));
+        return producto;
+    }
+}
@@ -3,6 +3,9 @@ package com.microservices_system.data_service.services;
 import com.microservices_system.business_service.exceptions.CategoriaDuplicadaException;
 import com.microservices_system.business_service.exceptions.CategoriaNoEncontradaException;
 import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.nombres.FiltroNombres;
 import com.microservices_system.data_service.repositories.CategoriaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,10 +13,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +30,15 @@ class CategoriaServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private CambioService cambioService;
+
+    @Mock
+    private FiltroNombres filtroNombres;
+
+    @Mock
+    private MovimientoInventarioService movimientoInventarioService;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -31,6 +46,9 @@ class CategoriaServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Filtro sin construir: toda comprobación de nombre va al repositorio
+        lenient().when(filtroNombres.existe(any(), any(), any()))
+                .thenAnswer(invocacion -> invocacion.<Supplier<Boolean>>getArgument(2).get());
         categoria = new Categoria();
         categoria.setId(1L);
         categoria.setNombre("Electrónicos");
@@ -51,6 +69,7 @@ class CategoriaServiceTest {
         assertThat(resultado.getNombre()).isEqualTo("Electrónicos");
         verify(categoriaRepository).existsByNombreIgnoreCase("Electrónicos");
         verify(categoriaRepository).save(categoria);
+        verify(cambioService).registrar(EntidadCambio.CATEGORIA, 1L, OperacionCambio.CREACION);
     }
 
     @Test
@@ -141,7 +160,7 @@ class CategoriaServiceTest {
     void actualizar_CategoriaExistente_DeberiaActualizarCorrectamente() {
         // Given
         when(categoriaRepository.existsById(1L)).thenReturn(true);
-        when(categoriaRepository.save(categoria)).thenReturn(categoria);
+        when(categoriaRepository.saveAndFlush(categoria)).thenReturn(categoria);
 
         // When
         Categoria resultado = categoriaService.actualizar(1L, categoria);
@@ -150,7 +169,23 @@ class CategoriaServiceTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.getId()).isEqualTo(1L);
         verify(categoriaRepository).existsById(1L);
-        verify(categoriaRepository).save(categoria);
+        verify(categoriaRepository).saveAndFlush(categoria);
+    }
+
+    @Test
+    void actualizar_NombreDeOtraCategoria_DeberiaLanzarExcepcionDeDuplicado() {
+        // Given
+        when(categoriaRepository.existsById(1L)).thenReturn(true);
+        when(categoriaRepository.saveAndFlush(categoria)).thenThrow(new DataIntegrityViolationException(
+                "uk_categorias_nombre", new SQLException("Unique index or primary key violation", "23505")));
+
+        // When & Then
+        assertThatThrownBy(() -> categoriaService.actualizar(1L, categoria))
+                .isInstanceOf(CategoriaDuplicadaException.class)
+                .hasMessage("La categoría ya está registrada: " + categoria.getNombre());
+
+        verify(filtroNombres, never()).agregar(any(), any());
+        verify(cambioService, never()).registrar(any(), any(), any());
     }
 
     @Test
@@ -164,7 +199,7 @@ class CategoriaServiceTest {
                 .hasMessage("Categoría no encontrada con ID: 1");
 
         verify(categoriaRepository).existsById(1L);
-        verify(categoriaRepository, never()).save(any(Categoria.class));
+        verify(categoriaRepository, never()).saveAndFlush(any(Categoria.class));
     }
 
     @Test
@@ -177,6 +212,8 @@ class CategoriaServiceTest {
 
         // Then
         verify(categoriaRepository).existsById(1L);
+        verify(cambioService).registrarBajaCategoria(1L);
+        verify(movimientoInventarioService).registrarBajaCategoria(1L);
         verify(categoriaRepository).deleteById(1L);
     }
 
@@ -192,5 +229,6 @@ class CategoriaServiceTest {
 
         verify(categoriaRepository).existsById(1L);
         verify(categoriaRepository, never()).deleteById(any(Long.class));
+        verifyNoInteractions(cambioService, movimientoInventarioService);
     }
 }
@@ -0,0 +1,159 @@
+package com.microservices_system.data_service.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.repositories.CategoriaRepository;
+import com.microservices_system.data_service.repositories.InventarioRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(showSql = false)
+@Import({ExportacionService.class, CambioService.class, EnrutadorShards.class})
+@TestPropertySource(properties = "exportacion.tamanio-fetch=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportacionServiceTest {
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Autowired
+    private CambioService cambioService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @AfterEach
+    void limpiar() {
+        jdbcTemplate.update("DELETE FROM inventario");
+        jdbcTemplate.update("DELETE FROM productos");
+        jdbcTemplate.update("DELETE FROM categorias");
+        jdbcTemplate.update("DELETE FROM cambios");
+    }
+
+    @Test
+    void exportarCatalogo_DeberiaLeerseConLosMismosValores() throws IOException {
+        // Given
+        List<Long> ids = transactionOperations.execute(status -> {
+            Categoria perifericos = categoriaRepository.save(new Categoria(null, "Periféricos", null, null));
+            Producto teclado = productoRepository.save(
+                    new Producto(null, "Teclado", "Mecánico, RGB", new BigDecimal("55.50"), perifericos, null));
+            Producto cable = productoRepository.save(
+                    new Producto(null, "Cable", null, new BigDecimal("2.05"), null, null));
+            Producto mouse = productoRepository.save(
+                    new Producto(null, "Mouse", "", new BigDecimal("1299.99"), perifericos, null));
+            inventarioRepository.save(new Inventario(null, teclado, 8, 2, LocalDateTime.now(), null));
+            inventarioRepository.save(new Inventario(null, mouse, 0, 300, LocalDateTime.now(), null));
+            cambioService.registrar(EntidadCambio.PRODUCTO, teclado.getId(), OperacionCambio.CREACION);
+            return List.of(teclado.getId(), cable.getId(), mouse.getId());
+        });
+        cambioService.publicar();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // When
+        long filas = exportacionService.exportarCatalogo(salida);
+
+        // Then
+        assertThat(filas).isEqualTo(3);
+        LectorCatalogoColumnar lector = new LectorCatalogoColumnar(new ByteArrayInputStream(salida.toByteArray()));
+        assertThat(lector.versionCambios()).isEqualTo(cambioService.obtenerVersionVisible());
+        LectorCatalogoColumnar.Bloque bloque = lector.siguiente();
+        assertThat(bloque.filas()).isEqualTo(3);
+        assertThat(bloque.ids()).containsExactly(ids.get(0), ids.get(1), ids.get(2));
+        assertThat(bloque.nombres()).containsExactly("Teclado", "Cable", "Mouse");
+        assertThat(bloque.descripciones()).containsExactly("Mecánico, RGB", null, "");
+        assertThat(bloque.categorias()).containsExactly("Periféricos", null, "Periféricos");
+        assertThat(bloque.precio(0)).isEqualByComparingTo("55.50");
+        assertThat(bloque.precio(1)).isEqualByComparingTo("2.05");
+        assertThat(bloque.precio(2)).isEqualByComparingTo("1299.99");
+        assertThat(bloque.conInventario()).containsExactly(true, false, true);
+        assertThat(bloque.cantidades()).containsExactly(8, 0, 0);
+        assertThat(bloque.stockMinimos()).containsExactly(2, 0, 300);
+        assertThat(lector.siguiente()).isNull();
+    }
+
+    @Test
+    void exportarCatalogo_DeberiaOcuparMenosQueElSnapshotJson() throws IOException {
+        // Given: más filas que un bloque y pocas categorías repetidas
+        int productos = EscritorCatalogoColumnar.TAMANIO_BLOQUE + 904;
+        jdbcTemplate.update("INSERT INTO categorias (nombre) VALUES ('Periféricos'), ('Monitores'), ('Almacenamiento')");
+        List<Long> categorias = jdbcTemplate.queryForList("SELECT id FROM categorias ORDER BY id", Long.class);
+        List<Object[]> filas = new ArrayList<>();
+        for (int i = 0; i < productos; i++) {
+            filas.add(new Object[]{"Producto " + i, new BigDecimal(i % 500).add(new BigDecimal("0.99")),
+                    categorias.get(i % categorias.size())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO productos (nombre, precio, categoria_id) VALUES (?, ?, ?)", filas);
+        jdbcTemplate.update("INSERT INTO inventario (producto_id, cantidad, stock_minimo, fecha_actualizacion, version) " +
+                "SELECT id, MOD(id, 200), 10, CURRENT_TIMESTAMP, 0 FROM productos WHERE MOD(id, 5) <> 0");
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // When
+        long exportadas = exportacionService.exportarCatalogo(salida);
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule())
+                .writeValueAsBytes(cambioService.obtenerSnapshot());
+
+        // Then
+        assertThat(exportadas).isEqualTo(productos);
+        assertThat(salida.size()).isLessThan(json.length / 6);
+        LectorCatalogoColumnar lector = new LectorCatalogoColumnar(new ByteArrayInputStream(salida.toByteArray()));
+        long leidas = 0;
+        long unidades = 0;
+        LectorCatalogoColumnar.Bloque bloque;
+        while ((bloque = lector.siguiente()) != null) {
+            leidas += bloque.filas();
+            for (int cantidad : bloque.cantidades()) {
+                unidades += cantidad;
+            }
+            assertThat(bloque.categorias()).containsOnly("Periféricos", "Monitores", "Almacenamiento");
+        }
+        assertThat(leidas).isEqualTo(productos);
+        assertThat(unidades).isEqualTo(jdbcTemplate.queryForObject("SELECT SUM(cantidad) FROM inventario", Long.class));
+    }
+
+    @Test
+    void lector_DeberiaRechazarArchivoAjeno() {
+        byte[] json = "{\"version\":1}".getBytes();
+
+        assertThatThrownBy(() -> new LectorCatalogoColumnar(new ByteArrayInputStream(json)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("exportación columnar");
+    }
+}
@@ -0,0 +1,78 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.EstadoStock;
+import com.microservices_system.data_service.dto.ResultadoFiltroProductos;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.OperacionCambio;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DataJpaTest(showSql = false)
+@Import({FiltroProductoService.class, CambioService.class, ProductoService.class, CategoriaService.class,
+        InventarioService.class, ReintentoOptimista.class, AjusteInventarioBuffer.class,
+        MovimientoInventarioService.class, FiltroNombres.class, EnrutadorShards.class})
+class FiltroProductoServiceTest {
+
+    @Autowired
+    private FiltroProductoService filtroProductoService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private CambioService cambioService;
+
+    @Test
+    void filtrar_DeberiaReflejarCambiosDeProductosEInventarioDelFeed() {
+        // Given
+        Categoria categoria = categoriaService.guardar(new Categoria(null, "Monitores", null, null));
+        Producto monitor = productoService.guardar(
+                new Producto(null, "Monitor 24", null, new BigDecimal("150.00"), categoria, null));
+        Producto soporte = productoService.guardar(
+                new Producto(null, "Soporte", null, new BigDecimal("30.00"), categoria, null));
+        Inventario inventario = inventarioService.guardar(new Inventario(null, monitor, 3, 5, null, null));
+        cambioService.publicar();
+        filtroProductoService.sincronizar();
+
+        // When
+        ResultadoFiltroProductos resultado = filtroProductoService.filtrar(List.of(categoria.getId()),
+                new BigDecimal("100"), null, List.of(EstadoStock.STOCK_BAJO), 0, 10);
+
+        // Then
+        assertThat(resultado.getTotal()).isEqualTo(1);
+        assertThat(resultado.getProductos()).extracting(Producto::getId).containsExactly(monitor.getId());
+        assertThat(resultado.getCategorias()).containsOnly(entry(categoria.getId(), 1));
+        assertThat(resultado.getEstadosStock()).contains(entry(EstadoStock.STOCK_BAJO, 1), entry(EstadoStock.SIN_STOCK, 0));
+
+        // When
+        productoService.eliminar(soporte.getId());
+        inventario.setCantidad(40);
+        cambioService.registrar(EntidadCambio.INVENTARIO, inventario.getId(), OperacionCambio.ACTUALIZACION);
+        cambioService.publicar();
+        filtroProductoService.sincronizar();
+        resultado = filtroProductoService.filtrar(List.of(categoria.getId()), null, null, null, 0, 10);
+
+        // Then
+        assertThat(resultado.getProductos()).extracting(Producto::getId).containsExactly(monitor.getId());
+        assertThat(resultado.getEstadosStock()).contains(entry(EstadoStock.DISPONIBLE, 1), entry(EstadoStock.STOCK_BAJO, 0));
+    }
+}
@@ -0,0 +1,140 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.ErrorImportacion;
+import com.microservices_system.data_service.dto.ResultadoImportacion;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.repositories.CambioRepository;
+import com.microservices_system.data_service.repositories.CategoriaRepository;
+import com.microservices_system.data_service.repositories.InventarioRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(showSql = false)
+@Import({ImportacionService.class, MovimientoInventarioService.class, CambioService.class, FiltroNombres.class,
+        EnrutadorShards.class})
+@TestPropertySource(properties = {"importacion.tamanio-lote=2", "importacion.hilos-validacion=2"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportacionServiceTest {
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private CambioRepository cambioRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Test
+    void importar_DeberiaCrearActualizarYReportarErroresPorFila() throws IOException {
+        // Given
+        transactionOperations.executeWithoutResult(status -> {
+            Categoria perifericos = categoriaRepository.save(new Categoria(null, "Periféricos", null, null));
+            Producto teclado = productoRepository.save(
+                    new Producto(null, "Teclado", null, new BigDecimal("50.00"), perifericos, null));
+            inventarioRepository.save(new Inventario(null, teclado, 5, 2, LocalDateTime.now(), null));
+        });
+        long cambiosPrevios = cambioRepository.count();
+        String csv = """
+                nombre,descripcion,precio,categoria,cantidad,stockMinimo
+                teclado,"Mecánico, RGB",55.50,PERIFÉRICOS,8,
+                Monitor 27,,300,Monitores,4,2
+                Mouse,,abc,Periféricos,,
+                ,,10,,,
+                Cable,,2.5,,,
+                monitor 27,,310.00,,,
+                """;
+
+        // When
+        ResultadoImportacion resultado = importacionService.importar(new StringReader(csv));
+
+        // Then
+        assertThat(resultado.getFilas()).isEqualTo(6);
+        assertThat(resultado.getProductosCreados()).isEqualTo(2);
+        assertThat(resultado.getProductosActualizados()).isEqualTo(2);
+        assertThat(resultado.getCategoriasCreadas()).isEqualTo(1);
+        assertThat(resultado.getFilasConError()).isEqualTo(2);
+        assertThat(resultado.getErrores()).extracting(ErrorImportacion::getLinea, ErrorImportacion::getMensaje)
+                .containsExactly(tuple(4L, "Valor numérico inválido: abc"), tuple(5L, "El nombre es obligatorio"));
+
+        transactionOperations.executeWithoutResult(status -> {
+            Producto teclado = productoRepository.findByNombreCategoria("Periféricos").get(0);
+            assertThat(teclado.getNombre()).isEqualTo("Teclado");
+            assertThat(teclado.getPrecio()).isEqualByComparingTo("55.50");
+            assertThat(teclado.getDescripcion()).isEqualTo("Mecánico, RGB");
+            assertThat(teclado.getInventario().getCantidad()).isEqualTo(8);
+            assertThat(teclado.getInventario().getStockMinimo()).isEqualTo(2);
+
+            Producto monitor = productoRepository.findByNombreCategoria("Monitores").get(0);
+            assertThat(monitor.getPrecio()).isEqualByComparingTo("310.00");
+            assertThat(monitor.getInventario().getCantidad()).isEqualTo(4);
+        });
+        assertThat(productoRepository.count()).isEqualTo(3);
+        // Categoría, 2 productos creados, 2 actualizados (Teclado y Monitor 27), 1 inventario creado y 1 actualizado
+        assertThat(cambioRepository.count() - cambiosPrevios).isEqualTo(7);
+    }
+
+    @Test
+    void importar_ProductoRepetidoEnElMismoLote_DeberiaCrearloUnaVezConElUltimoEstado() throws IOException {
+        // Given
+        String csv = """
+                nombre,descripcion,precio,categoria,cantidad,stockMinimo
+                Hub USB,,10,,,
+                hub usb,4 puertos,12.00,,3,
+                """;
+
+        // When
+        ResultadoImportacion resultado = importacionService.importar(new StringReader(csv));
+
+        // Then
+        assertThat(resultado.getProductosCreados()).isEqualTo(1);
+        assertThat(resultado.getProductosActualizados()).isZero();
+        transactionOperations.executeWithoutResult(status -> {
+            Producto hub = productoRepository.findConInventarioByNombreEnMinusculasIn(List.of("hub usb")).get(0);
+            assertThat(hub.getNombre()).isEqualTo("Hub USB");
+            assertThat(hub.getPrecio()).isEqualByComparingTo("12.00");
+            assertThat(hub.getDescripcion()).isEqualTo("4 puertos");
+            assertThat(hub.getInventario().getCantidad()).isEqualTo(3);
+            assertThat(hub.getInventario().getStockMinimo()).isZero();
+            assertThat(hub.getInventario().getVersion()).isZero();
+        });
+    }
+
+    @Test
+    void importar_EncabezadoSinPrecio_DeberiaLanzarExcepcion() {
+        assertThatThrownBy(() -> importacionService.importar(new StringReader("nombre,cantidad\nTeclado,3\n")))
+                .isInstanceOf(ValidacionNegocioException.class)
+                .hasMessage("El encabezado debe incluir las columnas nombre y precio");
+    }
+}
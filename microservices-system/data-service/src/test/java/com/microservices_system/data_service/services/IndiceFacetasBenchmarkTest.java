@@ -0,0 +1,86 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.EstadoStock;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark del filtrado por facetas sobre un millón de productos en memoria.
+ * Compara el total de cada consulta con un recorrido lineal de los mismos datos.
+ */
+@Tag("benchmark")
+@Slf4j
+class IndiceFacetasBenchmarkTest {
+
+    private static final int PRODUCTOS = 1_000_000;
+    private static final int CATEGORIAS = 200;
+    private static final int CONSULTAS = 200;
+
+    @Test
+    void filtrar_UnMillonDeProductos_DeberiaCoincidirConElRecorridoLineal() {
+        // Arrange
+        Random random = new Random(42);
+        int[] categorias = new int[PRODUCTOS];
+        long[] precios = new long[PRODUCTOS];
+        EstadoStock[] estados = new EstadoStock[PRODUCTOS];
+        IndiceFacetas indice = new IndiceFacetas();
+        long comienzo = System.nanoTime();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            categorias[i] = 1 + random.nextInt(CATEGORIAS);
+            precios[i] = random.nextInt(200_000);
+            int cantidad = random.nextInt(50);
+            int stockMinimo = 10;
+            estados[i] = EstadoStock.de(cantidad, stockMinimo);
+            indice.actualizarProducto(i + 1, (long) categorias[i], BigDecimal.valueOf(precios[i], 2));
+            indice.actualizarInventario(i + 1, i + 1, cantidad, stockMinimo);
+        }
+        long construccionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - comienzo);
+
+        // Act
+        long[] totales = new long[CONSULTAS];
+        IndiceFacetas.Filtro[] filtros = new IndiceFacetas.Filtro[CONSULTAS];
+        for (int consulta = 0; consulta < CONSULTAS; consulta++) {
+            long minimo = random.nextInt(100_000);
+            filtros[consulta] = new IndiceFacetas.Filtro(
+                    List.of(1L + random.nextInt(CATEGORIAS), 1L + random.nextInt(CATEGORIAS)),
+                    BigDecimal.valueOf(minimo, 2), BigDecimal.valueOf(minimo + random.nextInt(100_000), 2),
+                    List.of(EstadoStock.STOCK_BAJO, EstadoStock.DISPONIBLE));
+        }
+        comienzo = System.nanoTime();
+        for (int consulta = 0; consulta < CONSULTAS; consulta++) {
+            totales[consulta] = indice.filtrar(filtros[consulta], 0, 20).total();
+        }
+        long consultasMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - comienzo);
+
+        log.info("Facetas: {} productos indexados en {} ms, {} consultas en {} ms ({} ms/consulta)",
+                PRODUCTOS, construccionMs, CONSULTAS, consultasMs, String.format("%.2f", (double) consultasMs / CONSULTAS));
+
+        // Assert
+        for (int consulta = 0; consulta < CONSULTAS; consulta += 20) {
+            assertThat(totales[consulta])
+                    .isEqualTo(contarLineal(categorias, precios, estados, filtros[consulta]));
+        }
+    }
+
+    private static long contarLineal(int[] categorias, long[] precios, EstadoStock[] estados,
+                                     IndiceFacetas.Filtro filtro) {
+        long minimo = filtro.precioMin().unscaledValue().longValue();
+        long maximo = filtro.precioMax().unscaledValue().longValue();
+        long conteo = 0;
+        for (int i = 0; i < categorias.length; i++) {
+            if (filtro.categoriaIds().contains((long) categorias[i]) && precios[i] >= minimo && precios[i] <= maximo
+                    && filtro.estados().contains(estados[i])) {
+                conteo++;
+            }
+        }
+        return conteo;
+    }
+}
@@ -0,0 +1,69 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.EstadoStock;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class IndiceFacetasTest {
+
+    @Test
+    void filtrar_DeberiaCombinarFacetasYContarCadaUnaSinSuPropioFiltro() {
+        // Given
+        IndiceFacetas indice = new IndiceFacetas();
+        producto(indice, 1L, 1L, "5.00", 0, 2);
+        producto(indice, 2L, 1L, "45.50", 3, 5);
+        producto(indice, 3L, 1L, "80.00", 20, 5);
+        producto(indice, 4L, 2L, "45.00", 10, 2);
+        producto(indice, 5L, 2L, "1500.00", 1, 1);
+
+        // When
+        IndiceFacetas.Resultado resultado = indice.filtrar(new IndiceFacetas.Filtro(
+                List.of(1L), new BigDecimal("20"), new BigDecimal("90"),
+                List.of(EstadoStock.STOCK_BAJO, EstadoStock.DISPONIBLE)), 0, 10);
+
+        // Then
+        assertThat(resultado.total()).isEqualTo(2);
+        assertThat(resultado.ids()).containsExactly(2L, 3L);
+        assertThat(resultado.categorias()).containsOnly(entry(1L, 2), entry(2L, 1));
+        assertThat(resultado.rangosPrecio()).containsExactly(entry("0-10", 0), entry("10-50", 1),
+                entry("50-100", 1), entry("100-500", 0), entry("500-1000", 0), entry("1000+", 0));
+        assertThat(resultado.estadosStock()).containsExactly(entry(EstadoStock.SIN_STOCK, 0),
+                entry(EstadoStock.STOCK_BAJO, 1), entry(EstadoStock.DISPONIBLE, 1));
+    }
+
+    @Test
+    void actualizarYEliminar_DeberianMoverAlProductoEntreValoresDeFaceta() {
+        // Given
+        IndiceFacetas indice = new IndiceFacetas();
+        producto(indice, 1L, 1L, "10.00", 8, 2);
+        producto(indice, 2L, 1L, "20.00", 8, 2);
+        indice.actualizarProducto(3L, null, new BigDecimal("30.00"));
+
+        // When
+        indice.actualizarProducto(1L, 2L, new BigDecimal("600.00"));
+        indice.eliminarInventario(20L);
+        indice.eliminarProducto(3L);
+        IndiceFacetas.Resultado resultado = indice.filtrar(
+                new IndiceFacetas.Filtro(null, null, null, null), 0, 10);
+
+        // Then
+        assertThat(resultado.ids()).containsExactly(1L, 2L);
+        assertThat(resultado.categorias()).containsOnly(entry(1L, 1), entry(2L, 1));
+        assertThat(resultado.rangosPrecio()).contains(entry("10-50", 1), entry("500-1000", 1));
+        assertThat(resultado.estadosStock()).contains(entry(EstadoStock.SIN_STOCK, 1), entry(EstadoStock.DISPONIBLE, 1));
+        assertThat(indice.filtrar(new IndiceFacetas.Filtro(null, null, null, null), 1, 10).ids())
+                .containsExactly(2L);
+    }
+
+    private static void producto(IndiceFacetas indice, long id, long categoriaId, String precio,
+                                 int cantidad, int stockMinimo) {
+        indice.actualizarProducto(id, categoriaId, new BigDecimal(precio));
+        indice.actualizarInventario(id * 10, id, cantidad, stockMinimo);
+    }
+}
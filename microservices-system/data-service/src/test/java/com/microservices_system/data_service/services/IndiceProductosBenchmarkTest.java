@@ -0,0 +1,117 @@
+package com.microservices_system.data_service.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de la búsqueda de texto sobre un millón de productos en memoria.
+ * Mide tiempo y bytes asignados por consulta para términos completos, poco
+ * frecuentes, y para prefijos cortos que se expanden a muchos términos.
+ */
+@Tag("benchmark")
+@Slf4j
+class IndiceProductosBenchmarkTest {
+
+    private static final int PRODUCTOS = 1_000_000;
+    private static final int VOCABULARIO = 50_000;
+    private static final int CONSULTAS = 500;
+    private static final int LIMITE = 20;
+
+    @Test
+    void buscar_UnMillonDeProductos_DeberiaAsignarSegunLosProductosTocados() {
+        // Arrange
+        Random random = new Random(42);
+        String[] palabras = new String[VOCABULARIO];
+        for (int i = 0; i < VOCABULARIO; i++) {
+            palabras[i] = palabra(i);
+        }
+        int[][] terminos = new int[PRODUCTOS][];
+        IndiceProductos indice = new IndiceProductos();
+        long comienzo = System.nanoTime();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            terminos[i] = new int[]{random.nextInt(VOCABULARIO), random.nextInt(VOCABULARIO), random.nextInt(VOCABULARIO)};
+            indice.indexar(i + 1, palabras[terminos[i][0]] + " " + palabras[terminos[i][1]],
+                    palabras[terminos[i][2]]);
+        }
+        long construccionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - comienzo);
+        int[] buscados = new int[CONSULTAS];
+        String[] completas = new String[CONSULTAS];
+        String[] prefijos = new String[CONSULTAS];
+        for (int consulta = 0; consulta < CONSULTAS; consulta++) {
+            buscados[consulta] = random.nextInt(VOCABULARIO);
+            completas[consulta] = palabras[buscados[consulta]];
+            prefijos[consulta] = completas[consulta].substring(0, IndiceProductos.LARGO_MINIMO_PREFIJO);
+        }
+        medir(indice, completas);
+        medir(indice, prefijos);
+
+        // Act
+        long[] porTermino = medir(indice, completas);
+        long[] porPrefijo = medir(indice, prefijos);
+
+        // Assert
+        log.info("Búsqueda: {} productos indexados en {} ms", PRODUCTOS, construccionMs);
+        log.info("Término completo: {} µs/consulta, {} bytes/consulta",
+                porTermino[0] / 1000 / CONSULTAS, porTermino[1] / CONSULTAS);
+        log.info("Prefijo de {} letras: {} µs/consulta, {} bytes/consulta",
+                IndiceProductos.LARGO_MINIMO_PREFIJO, porPrefijo[0] / 1000 / CONSULTAS, porPrefijo[1] / CONSULTAS);
+
+        for (int consulta = 0; consulta < CONSULTAS; consulta += 50) {
+            int termino = buscados[consulta];
+            List<Long> resultado = indice.buscar(completas[consulta], LIMITE);
+            assertThat(resultado).hasSize((int) Math.min(LIMITE, contarLineal(terminos, termino)));
+            resultado.forEach(id -> assertThat(terminos[(int) (id - 1)]).contains(termino));
+        }
+        assertThat(porTermino[1] / CONSULTAS)
+                .as("Un término poco frecuente no debería asignar un puntaje por producto del índice")
+                .isLessThan(PRODUCTOS * (long) Float.BYTES / 10);
+    }
+
+    /**
+     * Palabra de cinco letras que codifica el número en base 26: cada prefijo
+     * de tres letras comparte 676 palabras.
+     */
+    private static String palabra(int numero) {
+        char[] letras = new char[5];
+        for (int i = letras.length - 1; i >= 0; i--) {
+            letras[i] = (char) ('a' + numero % 26);
+            numero /= 26;
+        }
+        return new String(letras);
+    }
+
+    /**
+     * @return Duración total en nanosegundos y bytes asignados por el hilo
+     */
+    private static long[] medir(IndiceProductos indice, String[] consultas) {
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        long bytesInicio = hilos.getCurrentThreadAllocatedBytes();
+        long comienzo = System.nanoTime();
+        for (String consulta : consultas) {
+            total += indice.buscar(consulta, LIMITE).size();
+        }
+        long duracion = System.nanoTime() - comienzo;
+        long bytes = hilos.getCurrentThreadAllocatedBytes() - bytesInicio;
+        assertThat(total).isPositive();
+        return new long[]{duracion, bytes};
+    }
+
+    private static long contarLineal(int[][] terminos, int termino) {
+        long total = 0;
+        for (int[] producto : terminos) {
+            if (producto[0] == termino || producto[1] == termino || producto[2] == termino) {
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+package com.microservices_system.data_service.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceProductosTest {
+
+    @Test
+    void buscar_SinDistinguirAcentosNiMayusculas_DeberiaEncontrarPorPrefijo() {
+        // Given
+        IndiceProductos indice = new IndiceProductos();
+        indice.indexar(1L, "Teclado Mecánico", "Switch azul");
+        indice.indexar(2L, "Mouse inalámbrico", null);
+
+        // When / Then
+        assertThat(indice.buscar("MECANICO", 10)).containsExactly(1L);
+        assertThat(indice.buscar("inalam", 10)).containsExactly(2L);
+        assertThat(indice.buscar("tecl sw", 10)).containsExactly(1L);
+        assertThat(indice.buscar("monitor", 10)).isEmpty();
+    }
+
+    @Test
+    void buscar_DeberiaOrdenarPorRelevanciaYRespetarElLimite() {
+        // Given
+        IndiceProductos indice = new IndiceProductos();
+        indice.indexar(1L, "Cable USB", "Cable para teclado");
+        indice.indexar(2L, "Teclado Gamer", "Teclado compacto con teclado numérico aparte");
+        indice.indexar(3L, "Teclado", null);
+
+        // When / Then
+        assertThat(indice.buscar("teclado", 10)).containsExactly(3L, 2L, 1L);
+        assertThat(indice.buscar("teclado", 2)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void indexarYEliminar_DeberianReemplazarLosTerminosDelProducto() {
+        // Given
+        IndiceProductos indice = new IndiceProductos();
+        indice.indexar(1L, "Monitor 24", null);
+        indice.indexar(2L, "Monitor 27", null);
+
+        // When
+        indice.indexar(1L, "Parlante", null);
+        indice.eliminar(2L);
+
+        // Then
+        assertThat(indice.buscar("monitor", 10)).isEmpty();
+        assertThat(indice.buscar("parlante", 10)).containsExactly(1L);
+        assertThat(indice.tamanio()).isEqualTo(1);
+    }
+
+    @Test
+    void buscar_ConPostingsHuerfanos_DeberiaCalcularElIdfSoloConProductosVivos() {
+        // Given
+        IndiceProductos indice = new IndiceProductos();
+        indice.indexar(1L, "Alfa", null);
+        indice.indexar(2L, "Beta", null);
+        for (long id = 3; id <= 10; id++) {
+            indice.indexar(id, "Alfa Gamma", null);
+            indice.eliminar(id);
+        }
+
+        // When / Then
+        assertThat(indice.buscar("alfa beta", 10)).containsExactly(1L, 2L);
+        assertThat(indice.buscar("gamma", 10)).isEmpty();
+    }
+
+    @Test
+    void buscar_TerminoCorto_DeberiaCoincidirSoloExacto() {
+        // Given
+        IndiceProductos indice = new IndiceProductos();
+        indice.indexar(1L, "Teclado", null);
+        indice.indexar(2L, "Soporte TV", null);
+
+        // When / Then
+        assertThat(indice.buscar("te", 10)).isEmpty();
+        assertThat(indice.buscar("tec", 10)).containsExactly(1L);
+        assertThat(indice.buscar("tv", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void buscar_PrefijoConMuchosTerminos_DeberiaExpandirASoloLosMasFrecuentes() {
+        // Given
+        IndiceProductos indice = new IndiceProductos();
+        long id = 1;
+        for (int i = 0; i < IndiceProductos.MAXIMO_EXPANSIONES; i++) {
+            String termino = "cab" + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            indice.indexar(id++, termino, null);
+            indice.indexar(id++, termino, null);
+        }
+        long raro = id;
+        indice.indexar(raro, "cabzz", null);
+
+        // When
+        List<Long> resultado = indice.buscar("cab", 1000);
+
+        // Then
+        assertThat(resultado).hasSize(2 * IndiceProductos.MAXIMO_EXPANSIONES).doesNotContain(raro);
+        assertThat(indice.buscar("cabzz", 10)).containsExactly(raro);
+    }
+}
@@ -0,0 +1,137 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ConflictoConcurrenciaException;
+import com.microservices_system.data_service.dto.ContencionProducto;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.repositories.InventarioRepository;
+import com.microservices_system.data_service.repositories.ProductoRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de contención: 64 escritores concurrentes actualizan el stock de
+ * unos pocos productos. Verifica que ninguna actualización confirmada se pierda
+ * (cada confirmación incrementa la versión exactamente una vez).
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({InventarioService.class, ReintentoOptimista.class, AjusteInventarioBuffer.class,
+        MovimientoInventarioService.class, CambioService.class, EnrutadorShards.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "inventario.reintentos.max-intentos=30",
+        "inventario.reintentos.backoff-base-ms=1",
+        "inventario.reintentos.backoff-max-ms=20",
+        "spring.datasource.url=jdbc:h2:mem:contencion;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+@Slf4j
+class InventarioContencionBenchmarkTest {
+
+    private static final int ESCRITORES = 64;
+    private static final int ESCRITURAS_POR_HILO = 10;
+    private static final int PRODUCTOS = 8;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Test
+    void escritoresConcurrentes_NoPierdenActualizacionesConfirmadas() throws InterruptedException {
+        // Arrange
+        List<Long> productoIds = transactionOperations.execute(status -> crearProductos());
+        ExecutorService executor = Executors.newFixedThreadPool(ESCRITORES);
+        CountDownLatch inicio = new CountDownLatch(1);
+        AtomicInteger confirmadas = new AtomicInteger();
+        AtomicInteger agotadas = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < ESCRITORES; i++) {
+            executor.submit(() -> {
+                inicio.await();
+                for (int j = 0; j < ESCRITURAS_POR_HILO; j++) {
+                    Long productoId = productoIds.get(ThreadLocalRandom.current().nextInt(PRODUCTOS));
+                    try {
+                        inventarioService.actualizarCantidad(productoId, ThreadLocalRandom.current().nextInt(1000));
+                        confirmadas.incrementAndGet();
+                    } catch (ConflictoConcurrenciaException e) {
+                        agotadas.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        long comienzo = System.nanoTime();
+        inicio.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - comienzo);
+
+        // Assert
+        long versionesTotales = inventarioRepository.findAll().stream()
+                .mapToLong(Inventario::getVersion)
+                .sum();
+        List<ContencionProducto> contencion = inventarioService.obtenerContencion(PRODUCTOS);
+        long conflictos = contencion.stream().mapToLong(ContencionProducto::getConflictos).sum();
+
+        log.info("Contención inventario: {} escritores, {} confirmadas, {} agotadas, {} conflictos, {} ms ({} escrituras/s)",
+                ESCRITORES, confirmadas.get(), agotadas.get(), conflictos, duracionMs,
+                confirmadas.get() * 1000L / Math.max(duracionMs, 1));
+
+        assertThat(confirmadas.get() + agotadas.get()).isEqualTo(ESCRITORES * ESCRITURAS_POR_HILO);
+        assertThat(versionesTotales).isEqualTo(confirmadas.get());
+        assertThat(contencion.stream().mapToLong(ContencionProducto::getAgotados).sum()).isEqualTo(agotadas.get());
+    }
+
+    private List<Long> crearProductos() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            Producto producto = new Producto();
+            producto.setNombre("Producto contención " + i);
+            producto.setPrecio(BigDecimal.TEN);
+            producto = productoRepository.save(producto);
+
+            Inventario inventario = new Inventario();
+            inventario.setProducto(producto);
+            inventario.setCantidad(100);
+            inventario.setStockMinimo(10);
+            inventario.setFechaActualizacion(LocalDateTime.now());
+            inventarioRepository.save(inventario);
+            ids.add(producto.getId());
+        }
+        return ids;
+    }
+}
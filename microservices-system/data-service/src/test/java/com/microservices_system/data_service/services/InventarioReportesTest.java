@@ -0,0 +1,94 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.ResumenCategoria;
+import com.microservices_system.data_service.dto.ValorStockProducto;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(showSql = false)
+@Import({InventarioService.class, ReintentoOptimista.class, AjusteInventarioBuffer.class,
+        MovimientoInventarioService.class, CambioService.class, EnrutadorShards.class})
+class InventarioReportesTest {
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Categoria computacion = entityManager.persist(new Categoria(null, "Computación", null, null));
+        Categoria muebles = entityManager.persist(new Categoria(null, "Muebles", null, null));
+        inventario("Laptop", "1000.00", computacion, 5);
+        inventario("Mouse", "20.00", computacion, 100);
+        inventario("Monitor", "300.00", computacion, 10);
+        inventario("Silla", "150.00", muebles, 20);
+        inventario("Mesa", "400.00", muebles, 0);
+        entityManager.persist(new Categoria(null, "Jardín", null, null));
+        entityManager.flush();
+    }
+
+    @Test
+    void obtenerTopPorValor_DeberiaRetornarLosKDeMayorValor() {
+        // When
+        List<ValorStockProducto> top = inventarioService.obtenerTopPorValor(3, false);
+
+        // Then
+        assertThat(top).extracting(ValorStockProducto::getNombre, ValorStockProducto::getPosicion)
+                .containsExactly(tuple("Laptop", 1), tuple("Monitor", 2), tuple("Silla", 3));
+        assertThat(top.get(0).getValor()).isEqualByComparingTo("5000.00");
+        assertThat(top.get(2).getCategoria()).isEqualTo("Muebles");
+    }
+
+    @Test
+    void obtenerTopPorValor_PorCategoria_DeberiaRankearDentroDeCadaCategoria() {
+        // When
+        List<ValorStockProducto> top = inventarioService.obtenerTopPorValor(2, true);
+
+        // Then
+        assertThat(top).extracting(ValorStockProducto::getCategoria, ValorStockProducto::getNombre,
+                        ValorStockProducto::getPosicion)
+                .containsExactly(tuple("Computación", "Laptop", 1), tuple("Computación", "Monitor", 2),
+                        tuple("Muebles", "Silla", 1));
+        assertThatThrownBy(() -> inventarioService.obtenerTopPorValor(0, true))
+                .isInstanceOf(ValidacionNegocioException.class);
+    }
+
+    @Test
+    void obtenerResumenPorCategoria_DeberiaAgregarValorUnidadesYStockBajo() {
+        // When
+        List<ResumenCategoria> resumen = inventarioService.obtenerResumenPorCategoria();
+
+        // Then
+        assertThat(resumen).extracting(ResumenCategoria::getCategoria, ResumenCategoria::getProductos,
+                        ResumenCategoria::getUnidades, ResumenCategoria::getProductosStockBajo)
+                .containsExactly(tuple("Computación", 3L, 115L, 0L), tuple("Jardín", 0L, 0L, 0L),
+                        tuple("Muebles", 2L, 20L, 1L));
+        assertThat(resumen.get(0).getValor()).isEqualByComparingTo("10000.00");
+        assertThat(resumen.get(1).getValor()).isEqualByComparingTo("0");
+        assertThat(resumen.get(2).getValor()).isEqualByComparingTo("3000.00");
+    }
+
+    private void inventario(String nombre, String precio, Categoria categoria, int cantidad) {
+        Producto producto = entityManager.persist(
+                new Producto(null, nombre, null, new BigDecimal(precio), categoria, null));
+        entityManager.persist(new Inventario(null, producto, cantidad, 1, null, null));
+    }
+}
@@ -1,8 +1,11 @@
 package com.microservices_system.data_service.services;
 
+import com.microservices_system.business_service.exceptions.ConflictoConcurrenciaException;
 import com.microservices_system.business_service.exceptions.InventarioNoEncontradoException;
+import com.microservices_system.data_service.dto.AjusteInventarioRespuesta;
 import com.microservices_system.data_service.entity.Inventario;
 import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.entity.TipoMovimiento;
 import com.microservices_system.data_service.repositories.InventarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,12 +13,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +33,19 @@ class InventarioServiceTest {
     @Mock
     private InventarioRepository inventarioRepository;
 
+    @Mock
+    private AjusteInventarioBuffer ajusteInventarioBuffer;
+
+    @Mock
+    private MovimientoInventarioService movimientoInventarioService;
+
+    @Mock
+    private CambioService cambioService;
+
+    @Spy
+    private ReintentoOptimista reintentoOptimista =
+            new ReintentoOptimista(TransactionOperations.withoutTransaction(), 3, 0, 0);
+
     @InjectMocks
     private InventarioService inventarioService;
 
@@ -63,6 +83,7 @@ class InventarioServiceTest {
             assertThat(resultado).isNotNull();
             assertThat(resultado.getFechaActualizacion()).isEqualTo(fechaFija);
             verify(inventarioRepository).save(inventario);
+            verify(movimientoInventarioService).registrar(1L, TipoMovimiento.ENTRADA, 10);
         }
     }
 
@@ -154,17 +175,23 @@ class InventarioServiceTest {
         // Given
         try (MockedStatic<LocalDateTime> mockedLocalDateTime = mockStatic(LocalDateTime.class)) {
             mockedLocalDateTime.when(LocalDateTime::now).thenReturn(fechaFija);
-            when(inventarioRepository.existsById(1L)).thenReturn(true);
+            Inventario cambios = new Inventario();
+            cambios.setProducto(producto);
+            cambios.setCantidad(25);
+            cambios.setStockMinimo(8);
+            when(inventarioRepository.findById(1L)).thenReturn(Optional.of(inventario));
             when(inventarioRepository.save(inventario)).thenReturn(inventario);
 
             // When
-            Inventario resultado = inventarioService.actualizar(1L, inventario);
+            Inventario resultado = inventarioService.actualizar(1L, cambios);
 
             // Then
             assertThat(resultado).isNotNull();
             assertThat(resultado.getId()).isEqualTo(1L);
+            assertThat(resultado.getCantidad()).isEqualTo(25);
+            assertThat(resultado.getStockMinimo()).isEqualTo(8);
             assertThat(resultado.getFechaActualizacion()).isEqualTo(fechaFija);
-            verify(inventarioRepository).existsById(1L);
+            verify(inventarioRepository).findById(1L);
             verify(inventarioRepository).save(inventario);
         }
     }
@@ -172,42 +199,100 @@ class InventarioServiceTest {
     @Test
     void actualizar_InventarioNoExistente_DeberiaLanzarExcepcion() {
         // Given
-        when(inventarioRepository.existsById(1L)).thenReturn(false);
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> inventarioService.actualizar(1L, inventario))
                 .isInstanceOf(InventarioNoEncontradoException.class)
                 .hasMessage("Inventario no encontrado con ID: 1");
 
-        verify(inventarioRepository).existsById(1L);
+        verify(inventarioRepository).findById(1L);
+        verify(inventarioRepository, never()).save(any(Inventario.class));
+    }
+
+    @Test
+    void actualizar_VersionDesactualizada_DeberiaLanzarConflictoSinGuardar() {
+        // Given
+        inventario.setVersion(3L);
+        Inventario cambios = new Inventario();
+        cambios.setProducto(producto);
+        cambios.setCantidad(25);
+        cambios.setVersion(2L);
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.of(inventario));
+
+        // When & Then
+        assertThatThrownBy(() -> inventarioService.actualizar(1L, cambios))
+                .isInstanceOf(ConflictoConcurrenciaException.class);
+
         verify(inventarioRepository, never()).save(any(Inventario.class));
     }
 
     @Test
-    void eliminar_InventarioExistente_DeberiaEliminarCorrectamente() {
+    void actualizarCantidad_ConflictoOptimista_DeberiaReintentarYContarConflicto() {
         // Given
-        when(inventarioRepository.existsById(1L)).thenReturn(true);
+        when(inventarioRepository.findByProductoId(1L)).thenReturn(Optional.of(inventario));
+        when(inventarioRepository.save(inventario))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Inventario.class, 1L))
+                .thenReturn(inventario);
+
+        // When
+        Inventario resultado = inventarioService.actualizarCantidad(1L, 15);
+
+        // Then
+        assertThat(resultado.getCantidad()).isEqualTo(15);
+        verify(inventarioRepository, times(2)).save(inventario);
+        assertThat(inventarioService.obtenerContencion(10))
+                .singleElement()
+                .satisfies(c -> {
+                    assertThat(c.getProductoId()).isEqualTo(1L);
+                    assertThat(c.getConflictos()).isEqualTo(1L);
+                    assertThat(c.getReintentos()).isEqualTo(1L);
+                    assertThat(c.getAgotados()).isZero();
+                });
+    }
+
+    @Test
+    void actualizarCantidad_ConflictoPersistente_DeberiaLanzarConflictoConcurrencia() {
+        // Given
+        when(inventarioRepository.findByProductoId(1L)).thenReturn(Optional.of(inventario));
+        when(inventarioRepository.save(inventario))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Inventario.class, 1L));
+
+        // When & Then
+        assertThatThrownBy(() -> inventarioService.actualizarCantidad(1L, 15))
+                .isInstanceOf(ConflictoConcurrenciaException.class);
+
+        verify(inventarioRepository, times(3)).save(inventario);
+        assertThat(inventarioService.obtenerContencion(10).get(0).getAgotados()).isEqualTo(1L);
+    }
+
+    @Test
+    void eliminar_InventarioExistente_DeberiaEliminarYRegistrarSalidaDelStock() {
+        // Given
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.of(inventario));
 
         // When
         inventarioService.eliminar(1L);
 
         // Then
-        verify(inventarioRepository).existsById(1L);
-        verify(inventarioRepository).deleteById(1L);
+        verify(inventarioRepository).findById(1L);
+        verify(inventarioRepository).delete(inventario);
+        verify(movimientoInventarioService).registrar(1L, TipoMovimiento.AJUSTE, -10);
     }
 
     @Test
     void eliminar_InventarioNoExistente_DeberiaLanzarExcepcion() {
         // Given
-        when(inventarioRepository.existsById(1L)).thenReturn(false);
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> inventarioService.eliminar(1L))
                 .isInstanceOf(InventarioNoEncontradoException.class)
                 .hasMessage("Inventario no encontrado con ID: 1");
 
-        verify(inventarioRepository).existsById(1L);
-        verify(inventarioRepository, never()).deleteById(any(Long.class));
+        verify(inventarioRepository).findById(1L);
+        verify(inventarioRepository, never()).delete(any(Inventario.class));
+        verifyNoInteractions(movimientoInventarioService);
     }
 
     @Test
@@ -226,6 +311,7 @@ class InventarioServiceTest {
             assertThat(resultado.getFechaActualizacion()).isEqualTo(fechaFija);
             verify(inventarioRepository).findByProductoId(1L);
             verify(inventarioRepository).save(inventario);
+            verify(movimientoInventarioService).registrar(1L, TipoMovimiento.AJUSTE, 5);
         }
     }
 
@@ -240,6 +326,21 @@ class InventarioServiceTest {
         verify(inventarioRepository, never()).save(any(Inventario.class));
     }
 
+    @Test
+    void ajustarCantidad_DeberiaDelegarEnElBufferDeAjustes() {
+        // Given
+        CompletableFuture<AjusteInventarioRespuesta> confirmacion = new CompletableFuture<>();
+        when(ajusteInventarioBuffer.registrar(1L, -2)).thenReturn(confirmacion);
+
+        // When
+        CompletableFuture<AjusteInventarioRespuesta> resultado = inventarioService.ajustarCantidad(1L, -2);
+
+        // Then
+        assertThat(resultado).isSameAs(confirmacion);
+        verify(ajusteInventarioBuffer).registrar(1L, -2);
+        verifyNoInteractions(inventarioRepository);
+    }
+
     @Test
     void tieneStockSuficiente_ConStockSuficiente_DeberiaRetornarTrue() {
         // Given
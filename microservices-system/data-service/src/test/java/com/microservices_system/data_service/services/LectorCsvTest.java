@@ -0,0 +1,46 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LectorCsvTest {
+
+    @Test
+    void siguiente_DeberiaRespetarComillasYContarLineas() throws IOException {
+        // Given
+        LectorCsv lector = new LectorCsv(new StringReader(
+                "\uFEFFnombre,descripcion\r\n" +
+                "Teclado,\"Mecánico, RGB\"\r\n" +
+                "\r\n" +
+                "Monitor,\"Dice \"\"27\"\"\nen dos líneas\"\n" +
+                "Cable,"));
+
+        // When / Then
+        assertThat(lector.siguiente()).containsExactly("nombre", "descripcion");
+        assertThat(lector.siguiente()).containsExactly("Teclado", "Mecánico, RGB");
+        assertThat(lector.linea()).isEqualTo(2);
+        assertThat(lector.siguiente()).containsExactly("Monitor", "Dice \"27\"\nen dos líneas");
+        assertThat(lector.linea()).isEqualTo(4);
+        assertThat(lector.siguiente()).containsExactly("Cable", "");
+        assertThat(lector.linea()).isEqualTo(6);
+        assertThat(lector.siguiente()).isNull();
+    }
+
+    @Test
+    void siguiente_ComillasSinCerrar_DeberiaLanzarExcepcion() throws IOException {
+        // Given
+        LectorCsv lector = new LectorCsv(new StringReader("nombre\n\"Teclado\n"));
+        lector.siguiente();
+
+        // When / Then
+        assertThatThrownBy(lector::siguiente)
+                .isInstanceOf(ValidacionNegocioException.class)
+                .hasMessage("Comillas sin cerrar en el registro de la línea 2");
+    }
+}
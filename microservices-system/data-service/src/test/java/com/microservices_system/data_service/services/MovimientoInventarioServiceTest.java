@@ -0,0 +1,229 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.StockHistorico;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.MovimientoInventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.entity.TipoMovimiento;
+import com.microservices_system.data_service.repositories.MovimientoInventarioRepository;
+import com.microservices_system.data_service.repositories.SnapshotInventarioRepository;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@Import({MovimientoInventarioService.class, EnrutadorShards.class})
+class MovimientoInventarioServiceTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 10, 9, 0);
+
+    @Autowired
+    private MovimientoInventarioService movimientoInventarioService;
+
+    @Autowired
+    private MovimientoInventarioRepository movimientoRepository;
+
+    @Autowired
+    private SnapshotInventarioRepository snapshotRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Test
+    void obtenerStockEn_SinSnapshots_DeberiaReproducirTodosLosMovimientosHastaLaFecha() {
+        // Given
+        movimiento(1L, TipoMovimiento.ENTRADA, 20, INICIO);
+        movimiento(1L, TipoMovimiento.SALIDA, -5, INICIO.plusDays(1));
+        movimiento(1L, TipoMovimiento.AJUSTE, 3, INICIO.plusDays(2));
+
+        // When
+        StockHistorico stock = movimientoInventarioService.obtenerStockEn(1L, INICIO.plusDays(1).plusHours(1));
+
+        // Then
+        assertThat(stock.getCantidad()).isEqualTo(15);
+        assertThat(stock.getMovimientosReproducidos()).isEqualTo(2);
+    }
+
+    @Test
+    void compactar_DeberiaCrearSnapshotsYAcotarLaReproduccion() {
+        // Given
+        movimiento(1L, TipoMovimiento.ENTRADA, 20, INICIO);
+        movimiento(2L, TipoMovimiento.ENTRADA, 7, INICIO);
+        movimiento(1L, TipoMovimiento.SALIDA, -5, INICIO.plusDays(1));
+
+        // When
+        int snapshots = movimientoInventarioService.compactar();
+        movimiento(1L, TipoMovimiento.SALIDA, -2, INICIO.plusDays(3));
+        int segundaCompactacion = movimientoInventarioService.compactar();
+        movimiento(1L, TipoMovimiento.ENTRADA, 10, INICIO.plusDays(4));
+
+        // Then
+        assertThat(snapshots).isEqualTo(2);
+        assertThat(segundaCompactacion).isEqualTo(1);
+        assertThat(snapshotRepository.count()).isEqualTo(3);
+
+        StockHistorico actual = movimientoInventarioService.obtenerStockEn(1L, INICIO.plusDays(5));
+        assertThat(actual.getCantidad()).isEqualTo(23);
+        assertThat(actual.getMovimientosReproducidos()).isEqualTo(1);
+
+        StockHistorico intermedio = movimientoInventarioService.obtenerStockEn(1L, INICIO.plusDays(2));
+        assertThat(intermedio.getCantidad()).isEqualTo(15);
+        assertThat(intermedio.getMovimientosReproducidos()).isZero();
+
+        assertThat(movimientoInventarioService.obtenerStockEn(2L, INICIO.plusDays(5)).getCantidad()).isEqualTo(7);
+    }
+
+    @Test
+    void compactar_MovimientoConfirmadoDespuesDeLaCompactacion_NoDeberiaPerderse() {
+        // Given: un movimiento con ID menor que los ya compactados, como el de una
+        // transacción que obtuvo su ID antes pero hizo commit después
+        movimientoConId(100L, 1L, TipoMovimiento.ENTRADA, 20, INICIO.plusDays(1));
+        movimientoConId(101L, 1L, TipoMovimiento.SALIDA, -5, INICIO.plusDays(2));
+        movimientoInventarioService.compactar();
+        movimientoConId(50L, 1L, TipoMovimiento.ENTRADA, 4, INICIO);
+
+        // When
+        StockHistorico antesDeCompactar = movimientoInventarioService.obtenerStockEn(1L, INICIO.plusDays(3));
+        int snapshots = movimientoInventarioService.compactar();
+
+        // Then
+        assertThat(antesDeCompactar.getCantidad()).isEqualTo(19);
+        assertThat(snapshots).isEqualTo(1);
+        StockHistorico actual = movimientoInventarioService.obtenerStockEn(1L, INICIO.plusDays(3));
+        assertThat(actual.getCantidad()).isEqualTo(19);
+        assertThat(actual.getMovimientosReproducidos()).isZero();
+        assertThat(movimientoInventarioService.obtenerStockEn(1L, INICIO.plusDays(1).minusSeconds(1)).getCantidad())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void registrarLote_DeberiaClasificarEntradasYSalidasPorSigno() {
+        // When
+        movimientoInventarioService.registrarLote(Map.of(1L, 4, 2L, -6), INICIO);
+
+        // Then
+        List<MovimientoInventario> movimientos = movimientoRepository.findAll();
+        assertThat(movimientos).hasSize(2);
+        assertThat(movimientos).anySatisfy(m -> {
+            assertThat(m.getProductoId()).isEqualTo(1L);
+            assertThat(m.getTipo()).isEqualTo(TipoMovimiento.ENTRADA);
+            assertThat(m.getPeriodo()).isEqualTo(202501);
+        });
+        assertThat(movimientos).anySatisfy(m -> {
+            assertThat(m.getProductoId()).isEqualTo(2L);
+            assertThat(m.getTipo()).isEqualTo(TipoMovimiento.SALIDA);
+            assertThat(m.getCantidad()).isEqualTo(-6);
+        });
+    }
+
+    @Test
+    void registrarBajaCategoria_DeberiaRegistrarLaSalidaDelStockEliminadoEnCascada() {
+        // Given
+        Categoria categoria = entityManager.persist(new Categoria(null, "Audio", null, null));
+        Producto parlante = entityManager.persist(new Producto(null, "Parlante", null, BigDecimal.TEN, categoria, null));
+        Producto cable = entityManager.persist(new Producto(null, "Cable", null, BigDecimal.ONE, categoria, null));
+        entityManager.persist(new Inventario(null, parlante, 6, 1, null, null));
+        entityManager.persist(new Inventario(null, cable, 0, 1, null, null));
+        entityManager.flush();
+        movimiento(parlante.getId(), TipoMovimiento.ENTRADA, 6, INICIO);
+
+        // When
+        movimientoInventarioService.registrarBajaCategoria(categoria.getId());
+
+        // Then
+        assertThat(movimientoRepository.findAll()).filteredOn(m -> m.getTipo() == TipoMovimiento.AJUSTE)
+                .singleElement()
+                .satisfies(m -> {
+                    assertThat(m.getProductoId()).isEqualTo(parlante.getId());
+                    assertThat(m.getCantidad()).isEqualTo(-6);
+                });
+        assertThat(movimientoInventarioService.obtenerStockEn(parlante.getId(), LocalDateTime.now()).getCantidad()).isZero();
+    }
+
+    @Test
+    void registrarBajaProducto_DeberiaRegistrarLaSalidaDeSuStock() {
+        // Given
+        Producto producto = entityManager.persist(new Producto(null, "Webcam", null, BigDecimal.TEN, null, null));
+        entityManager.persistAndFlush(new Inventario(null, producto, 4, 1, null, null));
+
+        // When
+        movimientoInventarioService.registrarBajaProducto(producto.getId());
+
+        // Then
+        assertThat(movimientoRepository.findAll()).singleElement().satisfies(m -> {
+            assertThat(m.getTipo()).isEqualTo(TipoMovimiento.AJUSTE);
+            assertThat(m.getCantidad()).isEqualTo(-4);
+        });
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void conciliar_DeberiaDarSaldoInicialAInventariosAnterioresAlLibroYCerrarLosEliminados() {
+        try {
+            // Given
+            long[] ids = transactionOperations.execute(estado -> {
+                Producto sinMovimientos = entityManager.persist(new Producto(null, "Monitor", null, BigDecimal.TEN, null, null));
+                Producto conMovimientos = entityManager.persist(new Producto(null, "Teclado", null, BigDecimal.TEN, null, null));
+                Producto cuadrado = entityManager.persist(new Producto(null, "Mouse", null, BigDecimal.TEN, null, null));
+                entityManager.persist(new Inventario(null, sinMovimientos, 10, 1, INICIO, null));
+                entityManager.persist(new Inventario(null, conMovimientos, 8, 1, null, null));
+                entityManager.persist(new Inventario(null, cuadrado, 3, 1, null, null));
+                return new long[]{sinMovimientos.getId(), conMovimientos.getId(), cuadrado.getId()};
+            });
+            long eliminado = ids[2] + 100;
+            movimiento(ids[1], TipoMovimiento.SALIDA, -2, INICIO.plusDays(1));
+            movimiento(ids[2], TipoMovimiento.ENTRADA, 3, INICIO);
+            movimiento(eliminado, TipoMovimiento.ENTRADA, 5, INICIO);
+
+            // When
+            int ajustes = movimientoInventarioService.conciliar();
+            int segundaConciliacion = movimientoInventarioService.conciliar();
+
+            // Then
+            assertThat(ajustes).isEqualTo(3);
+            assertThat(segundaConciliacion).isZero();
+            assertThat(movimientoInventarioService.obtenerStockEn(ids[0], INICIO).getCantidad()).isEqualTo(10);
+            assertThat(movimientoInventarioService.obtenerStockEn(ids[1], INICIO.plusDays(1).minusSeconds(1)).getCantidad())
+                    .isZero();
+            assertThat(movimientoInventarioService.obtenerStockEn(ids[1], INICIO.plusDays(1)).getCantidad()).isEqualTo(8);
+            assertThat(movimientoInventarioService.obtenerStockEn(ids[2], LocalDateTime.now()).getCantidad()).isEqualTo(3);
+            assertThat(movimientoInventarioService.obtenerStockEn(eliminado, LocalDateTime.now()).getCantidad()).isZero();
+        } finally {
+            jdbcTemplate.update("DELETE FROM movimientos_inventario");
+            jdbcTemplate.update("DELETE FROM inventario");
+            jdbcTemplate.update("DELETE FROM productos");
+        }
+    }
+
+    private void movimiento(Long productoId, TipoMovimiento tipo, int cantidad, LocalDateTime fecha) {
+        movimientoRepository.save(new MovimientoInventario(null, productoId, tipo, cantidad, fecha,
+                fecha.getYear() * 100 + fecha.getMonthValue(), null));
+    }
+
+    private void movimientoConId(Long id, Long productoId, TipoMovimiento tipo, int cantidad, LocalDateTime fecha) {
+        jdbcTemplate.update("INSERT INTO movimientos_inventario (id, producto_id, tipo, cantidad, fecha, periodo) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", id, productoId, tipo.name(), cantidad, fecha,
+                fecha.getYear() * 100 + fecha.getMonthValue());
+    }
+}
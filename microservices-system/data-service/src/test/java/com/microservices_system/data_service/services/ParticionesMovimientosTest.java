@@ -0,0 +1,26 @@
+package com.microservices_system.data_service.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParticionesMovimientosTest {
+
+    @Test
+    void sentencias_DeberianCubrirElMesActualYLosSiguientesCruzandoElAnio() {
+        // When
+        List<String> sentencias = ParticionesMovimientos.sentencias(YearMonth.of(2025, 11), 2);
+
+        // Then
+        assertThat(sentencias).containsExactly(
+                "CREATE TABLE IF NOT EXISTS movimientos_inventario_202511 "
+                        + "PARTITION OF movimientos_inventario FOR VALUES FROM (202511) TO (202512)",
+                "CREATE TABLE IF NOT EXISTS movimientos_inventario_202512 "
+                        + "PARTITION OF movimientos_inventario FOR VALUES FROM (202512) TO (202601)",
+                "CREATE TABLE IF NOT EXISTS movimientos_inventario_202601 "
+                        + "PARTITION OF movimientos_inventario FOR VALUES FROM (202601) TO (202602)");
+    }
+}
@@ -0,0 +1,110 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.business_service.exceptions.ProductoDuplicadoException;
+import com.microservices_system.business_service.exceptions.ValidacionNegocioException;
+import com.microservices_system.data_service.dto.PaginaProductos;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(showSql = false)
+@Import({ProductoService.class, CambioService.class, FiltroNombres.class, EnrutadorShards.class,
+        MovimientoInventarioService.class})
+class ProductoServiceFiltroTest {
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Categoria computacion;
+
+    @BeforeEach
+    void setUp() {
+        computacion = entityManager.persist(new Categoria(null, "Computación", null, null));
+        Categoria audio = entityManager.persist(new Categoria(null, "Audio", null, null));
+        producto("Laptop HP", "1299.99", computacion, 4);
+        producto("Laptop Dell", "999.00", computacion, 0);
+        producto("Lápiz 100%_grafito", "1.50", computacion, 10);
+        producto("Auriculares", "80.00", audio, 2);
+        producto("Parlante", "120.00", audio, null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void buscarPorCriterios_DeberiaCombinarCriteriosYOrdenar() {
+        // When
+        PaginaProductos resultado = productoService.buscarPorCriterios("LAP", new BigDecimal("100"), null,
+                computacion.getId(), null, 0, 10, "precio", Sort.Direction.DESC);
+
+        // Then
+        assertThat(resultado.getProductos()).extracting(Producto::getNombre)
+                .containsExactly("Laptop HP", "Laptop Dell");
+        assertThat(resultado.isHayMas()).isFalse();
+        assertThat(productoService.buscarPorCriterios(null, null, null, null, false, 0, 10, "nombre", Sort.Direction.ASC)
+                .getProductos()).extracting(Producto::getNombre)
+                .containsExactly("Laptop Dell", "Parlante");
+        assertThat(productoService.buscarPorCriterios("100%_", null, null, null, true, 0, 10, "id", Sort.Direction.ASC)
+                .getProductos()).extracting(Producto::getNombre)
+                .containsExactly("Lápiz 100%_grafito");
+    }
+
+    @Test
+    void actualizar_ConElNombreDeOtroProducto_DeberiaInformarDuplicado() {
+        // Given
+        Producto dell = productoService.buscarPorCriterios("Dell", null, null, null, null, 0, 1, "id",
+                Sort.Direction.ASC).getProductos().get(0);
+
+        // When & Then: la restricción única salta en el flush de actualizar, no al confirmar
+        assertThatThrownBy(() -> productoService.actualizar(dell.getId(),
+                new Producto(null, "Laptop HP", null, new BigDecimal("999.00"), computacion, null)))
+                .isInstanceOf(ProductoDuplicadoException.class)
+                .hasMessage("El producto ya está registrado: Laptop HP");
+    }
+
+    @Test
+    void buscarPorCriterios_DeberiaIndicarSiHayPaginaSiguiente() {
+        // When
+        PaginaProductos primera = productoService.buscarPorCriterios(null, null, null, null, true, 0, 2, "precio", Sort.Direction.ASC);
+        PaginaProductos segunda = productoService.buscarPorCriterios(null, null, null, null, true, 1, 2, "precio", Sort.Direction.ASC);
+
+        // Then
+        assertThat(primera.getProductos()).extracting(Producto::getNombre).containsExactly("Lápiz 100%_grafito", "Auriculares");
+        assertThat(primera.isHayMas()).isTrue();
+        assertThat(segunda.getProductos()).extracting(Producto::getNombre).containsExactly("Laptop HP");
+        assertThat(segunda.isHayMas()).isFalse();
+        assertThat(segunda.getProductos().get(0).getInventario().getCantidad()).isEqualTo(4);
+    }
+
+    @Test
+    void buscarPorCriterios_CampoDeOrdenNoPermitido_DeberiaLanzarExcepcion() {
+        assertThatThrownBy(() -> productoService.buscarPorCriterios(null, null, null, null, null, 0, 10,
+                "categoria.nombre", Sort.Direction.ASC))
+                .isInstanceOf(ValidacionNegocioException.class)
+                .hasMessage("No se puede ordenar productos por: categoria.nombre");
+    }
+
+    private void producto(String nombre, String precio, Categoria categoria, Integer cantidad) {
+        Producto producto = entityManager.persist(
+                new Producto(null, nombre, null, new BigDecimal(precio), categoria, null));
+        if (cantidad != null) {
+            entityManager.persist(new Inventario(null, producto, cantidad, 1, null, null));
+        }
+    }
+}
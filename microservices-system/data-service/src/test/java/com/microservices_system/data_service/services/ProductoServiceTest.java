@@ -3,7 +3,10 @@ package com.microservices_system.data_service.services;
 import com.microservices_system.business_service.exceptions.ProductoDuplicadoException;
 import com.microservices_system.business_service.exceptions.ProductoNoEncontradoException;
 import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.EntidadCambio;
+import com.microservices_system.data_service.entity.OperacionCambio;
 import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
 import com.microservices_system.data_service.repositories.ProductoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,11 +14,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +33,15 @@ class ProductoServiceTest {
     @Mock
     private ProductoRepository productoRepository;
 
+    @Mock
+    private CambioService cambioService;
+
+    @Mock
+    private FiltroNombres filtroNombres;
+
+    @Mock
+    private MovimientoInventarioService movimientoInventarioService;
+
     @InjectMocks
     private ProductoService productoService;
 
@@ -34,6 +50,9 @@ class ProductoServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Filtro sin construir: toda comprobación de nombre va al repositorio
+        lenient().when(filtroNombres.existe(any(), any(), any()))
+                .thenAnswer(invocacion -> invocacion.<Supplier<Boolean>>getArgument(2).get());
         categoria = new Categoria();
         categoria.setId(1L);
         categoria.setNombre("Electrónicos");
@@ -76,6 +95,34 @@ class ProductoServiceTest {
         verify(productoRepository, never()).save(any(Producto.class));
     }
 
+    @Test
+    void guardar_NombreTomadoPorAltaConcurrente_DeberiaLanzarExcepcionDeDuplicado() {
+        // Given
+        when(productoRepository.existsByNombreIgnoreCase("Laptop HP")).thenReturn(false);
+        when(productoRepository.save(producto)).thenThrow(new DataIntegrityViolationException("uk_productos_nombre",
+                new SQLException("Unique index or primary key violation", "23505")));
+
+        // When & Then
+        assertThatThrownBy(() -> productoService.guardar(producto))
+                .isInstanceOf(ProductoDuplicadoException.class)
+                .hasMessage("El producto ya está registrado: Laptop HP");
+
+        verify(filtroNombres, never()).agregar(any(), any());
+        verify(cambioService, never()).registrar(any(), any(), any());
+    }
+
+    @Test
+    void guardar_ViolacionQueNoEsDeUnicidad_DeberiaPropagarla() {
+        // Given: la categoría referenciada no existe
+        when(productoRepository.existsByNombreIgnoreCase("Laptop HP")).thenReturn(false);
+        DataIntegrityViolationException violacion = new DataIntegrityViolationException("fk_productos_categoria",
+                new SQLException("Referential integrity constraint violation", "23506"));
+        when(productoRepository.save(producto)).thenThrow(violacion);
+
+        // When & Then
+        assertThatThrownBy(() -> productoService.guardar(producto)).isSameAs(violacion);
+    }
+
     @Test
     void buscarPorId_ProductoExistente_DeberiaRetornarProducto() {
         // Given
@@ -138,7 +185,7 @@ class ProductoServiceTest {
     void actualizar_ProductoExistente_DeberiaActualizarCorrectamente() {
         // Given
         when(productoRepository.existsById(1L)).thenReturn(true);
-        when(productoRepository.save(producto)).thenReturn(producto);
+        when(productoRepository.saveAndFlush(producto)).thenReturn(producto);
 
         // When
         Producto resultado = productoService.actualizar(1L, producto);
@@ -147,7 +194,23 @@ class ProductoServiceTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.getId()).isEqualTo(1L);
         verify(productoRepository).existsById(1L);
-        verify(productoRepository).save(producto);
+        verify(productoRepository).saveAndFlush(producto);
+    }
+
+    @Test
+    void actualizar_NombreDeOtroProducto_DeberiaLanzarExcepcionDeDuplicado() {
+        // Given
+        when(productoRepository.existsById(1L)).thenReturn(true);
+        when(productoRepository.saveAndFlush(producto)).thenThrow(new DataIntegrityViolationException(
+                "uk_productos_nombre", new SQLException("Unique index or primary key violation", "23505")));
+
+        // When & Then
+        assertThatThrownBy(() -> productoService.actualizar(1L, producto))
+                .isInstanceOf(ProductoDuplicadoException.class)
+                .hasMessage("El producto ya está registrado: Laptop HP");
+
+        verify(filtroNombres, never()).agregar(any(), any());
+        verify(cambioService, never()).registrar(any(), any(), any());
     }
 
     @Test
@@ -161,7 +224,7 @@ class ProductoServiceTest {
                 .hasMessage("Producto no encontrado con ID: 1");
 
         verify(productoRepository).existsById(1L);
-        verify(productoRepository, never()).save(any(Producto.class));
+        verify(productoRepository, never()).saveAndFlush(any(Producto.class));
     }
 
     @Test
@@ -174,6 +237,9 @@ class ProductoServiceTest {
 
         // Then
         verify(productoRepository).existsById(1L);
+        verify(cambioService).registrarInventariosDeProductos(eq(List.of(1L)), eq(OperacionCambio.ELIMINACION), any(LocalDateTime.class));
+        verify(cambioService).registrar(EntidadCambio.PRODUCTO, 1L, OperacionCambio.ELIMINACION);
+        verify(movimientoInventarioService).registrarBajaProducto(1L);
         verify(productoRepository).deleteById(1L);
     }
 
@@ -189,5 +255,6 @@ class ProductoServiceTest {
 
         verify(productoRepository).existsById(1L);
         verify(productoRepository, never()).deleteById(any(Long.class));
+        verifyNoInteractions(cambioService, movimientoInventarioService);
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.microservices_system.data_service.services;
+
+import com.microservices_system.data_service.dto.ReporteStockBajo;
+import com.microservices_system.data_service.dto.ReporteValorInventario;
+import com.microservices_system.data_service.entity.Categoria;
+import com.microservices_system.data_service.entity.Inventario;
+import com.microservices_system.data_service.entity.Producto;
+import com.microservices_system.data_service.entity.ReporteInventarioProducto;
+import com.microservices_system.data_service.nombres.FiltroNombres;
+import com.microservices_system.data_service.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@Import({ReporteInventarioService.class, CambioService.class, ProductoService.class, CategoriaService.class,
+        InventarioService.class, ReintentoOptimista.class, AjusteInventarioBuffer.class,
+        MovimientoInventarioService.class, FiltroNombres.class, EnrutadorShards.class})
+@TestPropertySource(properties = {"reportes.inventario.intervalo-ms=3600000"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReporteInventarioServiceTest {
+
+    @Autowired
+    private ReporteInventarioService reporteInventarioService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CambioService cambioService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Test
+    void refrescar_DeberiaRematerializarSoloLosProductosCambiadosDesdeLaMarcaDeAgua() {
+        // Given
+        Categoria categoria = categoriaService.guardar(new Categoria(null, "Periféricos", null, null));
+        Producto teclado = productoService.guardar(
+                new Producto(null, "Teclado", null, new BigDecimal("50.00"), categoria, null));
+        Producto mouse = productoService.guardar(
+                new Producto(null, "Mouse", null, new BigDecimal("20.00"), categoria, null));
+        Producto cable = productoService.guardar(new Producto(null, "Cable", null, new BigDecimal("2.00"), null, null));
+        inventarioService.guardar(new Inventario(null, teclado, 10, 5, null, null));
+        inventarioService.guardar(new Inventario(null, mouse, 2, 5, null, null));
+        inventarioService.guardar(new Inventario(null, cable, 7, 1, null, null));
+        cambioService.publicar();
+        reporteInventarioService.refrescar();
+
+        // When
+        ReporteStockBajo stockBajo = reporteInventarioService.obtenerStockBajo();
+        ReporteValorInventario valor = reporteInventarioService.obtenerValorInventario();
+
+        // Then
+        assertThat(stockBajo.getProductos()).extracting(ReporteInventarioProducto::getNombre).containsExactly("Mouse");
+        assertThat(stockBajo.getProductos().get(0).getCategoria()).isEqualTo("Periféricos");
+        assertThat(valor.getValor()).isEqualByComparingTo("554.00");
+        assertThat(valor.getUnidades()).isEqualTo(19L);
+        assertThat(valor.getProductos()).isEqualTo(3L);
+        assertThat(valor.getProductosStockBajo()).isEqualTo(1L);
+        assertThat(valor.getFechaRefresco()).isNotNull();
+
+        // When
+        inventarioService.actualizarCantidad(mouse.getId(), 30);
+        productoService.eliminar(teclado.getId());
+        categoriaService.actualizar(categoria.getId(), new Categoria(null, "Accesorios", null, null));
+        cambioService.publicar();
+        reporteInventarioService.refrescar();
+        stockBajo = reporteInventarioService.obtenerStockBajo();
+        ReporteValorInventario refrescado = reporteInventarioService.obtenerValorInventario();
+
+        // Then
+        assertThat(stockBajo.getProductos()).isEmpty();
+        assertThat(refrescado.getValor()).isEqualByComparingTo("614.00");
+        assertThat(refrescado.getUnidades()).isEqualTo(37L);
+        assertThat(refrescado.getProductos()).isEqualTo(2L);
+        assertThat(refrescado.getProductosStockBajo()).isZero();
+        assertThat(refrescado.getVersion()).isGreaterThan(valor.getVersion());
+        assertThat(refrescado.getFechaRefresco()).isAfterOrEqualTo(valor.getFechaRefresco());
+    }
+}
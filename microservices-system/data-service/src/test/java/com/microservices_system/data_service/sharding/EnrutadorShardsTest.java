@@ -0,0 +1,27 @@
+package com.microservices_system.data_service.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EnrutadorShardsTest {
+
+    @Test
+    void sentenciaIdentidad_DeberiaUsarLaSintaxisDeCadaBase() {
+        // When / Then
+        assertThat(EnrutadorShards.sentenciaIdentidad("H2", "productos", 2, 3))
+                .isEqualTo("ALTER TABLE productos ALTER COLUMN id RESTART WITH 2 SET INCREMENT BY 3");
+        assertThat(EnrutadorShards.sentenciaIdentidad("PostgreSQL", "inventario", 3, 3))
+                .isEqualTo("ALTER TABLE inventario ALTER COLUMN id SET INCREMENT BY 3 RESTART WITH 3");
+    }
+
+    @Test
+    void sentenciaIdentidad_ConBaseSinIncrementoPorTabla_DeberiaFallar() {
+        // When / Then
+        assertThatThrownBy(() -> EnrutadorShards.sentenciaIdentidad("MySQL", "productos", 2, 3))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("auto_increment_increment = 3")
+                .hasMessageContaining("auto_increment_offset = 2");
+    }
+}
@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Mide el tiempo desde el lanzamiento de ambos servicios hasta la primera
+# respuesta exitosa de /api/productos, en milisegundos, con y sin el
+# arranque rápido.
+#
+# uso: scripts/benchmark-arranque.sh [corridas]    (por defecto 5)
+#
+#   base:       "$JAVA" -jar; data-service con dev,test y el esquema validado
+#               con ddl-auto=update, business-service con test
+#   optimizado: AOT + CDS + perfil arranque en ambos (inicialización diferida;
+#               en data-service además repositorios JPA diferidos, sin
+#               metadatos JDBC ni DDL)
+#
+# data-service usa la misma base H2 en archivo en todas las corridas, así que
+# el esquema ya existe. El perfil test desactiva la seguridad para que
+# business-service pueda llamar a data-service.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+source scripts/comun.sh
+
+CORRIDAS=${1:-5}
+PUERTO_DATOS=${PUERTO_DATOS:-8081}
+PUERTO_NEGOCIO=${PUERTO_NEGOCIO:-8080}
+BASE_H2="--spring.datasource.url=jdbc:h2:file:./$(dir_arranque "$DATOS")/benchmark --spring.docker.compose.enabled=false"
+DIALECTO_H2=--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect
+URL_DATOS=--data.service.url=http://localhost:$PUERTO_DATOS
+
+# El entrenamiento crea el esquema; dev no fija dialecto y el perfil arranque lo necesita
+PERFILES_DATOS=dev,test,arranque PERFILES_NEGOCIO=test,arranque \
+PUERTO_DATOS=$PUERTO_DATOS PUERTO_NEGOCIO=$PUERTO_NEGOCIO \
+ENTRENAMIENTO_ARGS="$BASE_H2 --spring.jpa.hibernate.ddl-auto=update $DIALECTO_H2" \
+scripts/construir-arranque.sh
+
+# lanzar <modo> <módulo> <args...>: se llama en segundo plano y reemplaza el
+# subshell por la JVM del servicio, así $! es el pid de la JVM
+lanzar() {
+  local modo=$1 modulo=$2
+  shift 2
+  exec > "$(dir_arranque "$modulo")/benchmark-$modo.log" 2>&1
+  if [ "$modo" = base ]; then
+    exec "$JAVA" -jar "$(jar_empaquetado "$modulo")" "$@"
+  fi
+  exec "$JAVA" -XX:SharedArchiveFile="$(dir_arranque "$modulo")/app.jsa" -Dspring.aot.enabled=true \
+    -jar "$(jar_extraido "$modulo")" "$@"
+}
+
+# medir <modo>: levanta ambos servicios e imprime los ms hasta la primera respuesta
+medir() {
+  local modo=$1 perfiles_datos=dev,test perfiles_negocio=test extra=--spring.jpa.hibernate.ddl-auto=update
+  local inicio pid_datos pid_negocio
+  if [ "$modo" = optimizado ]; then
+    perfiles_datos=dev,test,arranque
+    perfiles_negocio=test,arranque
+    extra=$DIALECTO_H2
+  fi
+  inicio=$(date +%s%N)
+  lanzar "$modo" "$DATOS" --spring.profiles.active="$perfiles_datos" --server.port="$PUERTO_DATOS" $BASE_H2 "$extra" &
+  pid_datos=$!
+  lanzar "$modo" "$NEGOCIO" --spring.profiles.active="$perfiles_negocio" --server.port="$PUERTO_NEGOCIO" "$URL_DATOS" &
+  pid_negocio=$!
+  esperar_primera_respuesta "http://localhost:$PUERTO_NEGOCIO/api/productos" "$pid_datos" "$pid_negocio"
+  echo $(( ($(date +%s%N) - inicio) / 1000000 ))
+  detener "$pid_negocio" "$pid_datos"
+}
+
+mediana() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+base=()
+optimizado=()
+for ((i = 1; i <= CORRIDAS; i++)); do
+  base+=("$(medir base)")
+  optimizado+=("$(medir optimizado)")
+  echo "corrida $i: base ${base[-1]} ms, optimizado ${optimizado[-1]} ms"
+done
+
+mediana_base=$(printf '%s\n' "${base[@]}" | mediana)
+mediana_optimizado=$(printf '%s\n' "${optimizado[@]}" | mediana)
+echo "Mediana hasta la primera respuesta de /api/productos ($CORRIDAS corridas):"
+echo "  base:       $mediana_base ms"
+echo "  optimizado: $mediana_optimizado ms"
+awk -v b="$mediana_base" -v o="$mediana_optimizado" 'BEGIN { printf "  mejora:     %.1fx\n", b / o }'
@@ -0,0 +1,49 @@
+# Variables y funciones compartidas por los scripts locales.
+# Se incluye con "source"; el directorio de trabajo es la raíz del proyecto.
+
+DATOS=data-service
+NEGOCIO=business-service
+# Igual que mvnw: la JVM de JAVA_HOME si está definido
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+# Directorio del paquete de arranque rápido de un módulo
+dir_arranque() {
+  echo "$1/target/arranque"
+}
+
+# Jar ejecutable generado por Maven (excluye el .original del repackage)
+jar_empaquetado() {
+  ls "$1"/target/*.jar | grep -v '\.original$' | head -n 1
+}
+
+# Jar de la aplicación dentro del directorio extraído
+jar_extraido() {
+  echo "$(dir_arranque "$1")/$(basename "$(jar_empaquetado "$1")")"
+}
+
+# esperar_primera_respuesta <url> <pid>...: espera el primer 200 de la URL
+# mientras sigan vivos todos los procesos indicados
+esperar_primera_respuesta() {
+  local url=$1 pid
+  shift
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "$url")" = 200 ]; do
+    for pid in "$@"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "El proceso $pid terminó antes de que $url respondiera" >&2
+        return 1
+      fi
+    done
+    sleep 0.02
+  done
+}
+
+# detener <pid>...: apagado ordenado (el archivo CDS se escribe al salir la JVM)
+detener() {
+  local pid
+  for pid in "$@"; do
+    kill -TERM "$pid" 2>/dev/null || true
+  done
+  for pid in "$@"; do
+    wait "$pid" 2>/dev/null || true
+  done
+}
@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Construye el paquete de arranque rápido de data-service y business-service:
+#   1. empaqueta cada servicio con procesamiento AOT (perfil Maven arranque-rapido)
+#   2. extrae los jars (java -Djarmode=tools) para que AppCDS pueda usarlos
+#   3. hace una corrida de entrenamiento de ambos servicios hasta la primera
+#      respuesta de /api/productos y guarda las clases cargadas por cada uno
+#      en su archivo CDS
+#
+# uso: scripts/construir-arranque.sh
+#
+#   PERFILES_DATOS      perfiles de data-service (postgres,arranque)
+#   PERFILES_NEGOCIO    perfiles de business-service (arranque)
+#   PUERTO_DATOS        puerto de data-service (8081)
+#   PUERTO_NEGOCIO      puerto de business-service (8080)
+#   ENTRENAMIENTO_ARGS  argumentos extra para data-service en el entrenamiento
+#
+# Los perfiles quedan fijos en el código AOT; scripts/iniciar-arranque.sh
+# arranca con los mismos. El entrenamiento necesita la base del perfil disponible.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+source scripts/comun.sh
+
+PERFILES_DATOS=${PERFILES_DATOS:-postgres,arranque}
+PERFILES_NEGOCIO=${PERFILES_NEGOCIO:-arranque}
+PUERTO_DATOS=${PUERTO_DATOS:-8081}
+PUERTO_NEGOCIO=${PUERTO_NEGOCIO:-8080}
+
+./mvnw -B -Parranque-rapido -pl "$DATOS" -am -Darranque.perfiles="$PERFILES_DATOS" -DskipTests package
+./mvnw -B -Parranque-rapido -pl "$NEGOCIO" -am -Darranque.perfiles="$PERFILES_NEGOCIO" -DskipTests package
+
+for modulo in "$DATOS" "$NEGOCIO"; do
+  rm -rf "$(dir_arranque "$modulo")"
+  "$JAVA" -Djarmode=tools -jar "$(jar_empaquetado "$modulo")" extract --destination "$(dir_arranque "$modulo")"
+done
+echo "$PERFILES_DATOS" > "$(dir_arranque "$DATOS")/perfiles"
+echo "$PERFILES_NEGOCIO" > "$(dir_arranque "$NEGOCIO")/perfiles"
+
+"$JAVA" -XX:ArchiveClassesAtExit="$(dir_arranque "$DATOS")/app.jsa" -Dspring.aot.enabled=true \
+  -jar "$(jar_extraido "$DATOS")" --spring.profiles.active="$PERFILES_DATOS" --server.port="$PUERTO_DATOS" \
+  ${ENTRENAMIENTO_ARGS:-} > "$(dir_arranque "$DATOS")/entrenamiento.log" 2>&1 &
+pid_datos=$!
+"$JAVA" -XX:ArchiveClassesAtExit="$(dir_arranque "$NEGOCIO")/app.jsa" -Dspring.aot.enabled=true \
+  -jar "$(jar_extraido "$NEGOCIO")" --spring.profiles.active="$PERFILES_NEGOCIO" --server.port="$PUERTO_NEGOCIO" \
+  --data.service.url="http://localhost:$PUERTO_DATOS" > "$(dir_arranque "$NEGOCIO")/entrenamiento.log" 2>&1 &
+pid_negocio=$!
+esperar_primera_respuesta "http://localhost:$PUERTO_NEGOCIO/api/productos" "$pid_datos" "$pid_negocio"
+detener "$pid_negocio" "$pid_datos"
+
+for modulo in "$DATOS" "$NEGOCIO"; do
+  echo "$modulo: $(du -h "$(dir_arranque "$modulo")/app.jsa" | cut -f1) de CDS, perfiles $(cat "$(dir_arranque "$modulo")/perfiles")"
+done
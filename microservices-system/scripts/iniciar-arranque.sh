@@ -0,0 +1,13 @@
+#!/usr/bin/env bash
+# Arranca un servicio construido por scripts/construir-arranque.sh con el
+# código AOT y el archivo CDS.
+#
+# uso: scripts/iniciar-arranque.sh data-service|business-service [argumentos de la aplicación]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+source scripts/comun.sh
+
+modulo=$1
+shift
+exec "$JAVA" -XX:SharedArchiveFile="$(dir_arranque "$modulo")/app.jsa" -Dspring.aot.enabled=true \
+  -jar "$(jar_extraido "$modulo")" --spring.profiles.active="$(cat "$(dir_arranque "$modulo")/perfiles")" "$@"
@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Levanta N instancias de business-service contra M instancias de data-service.
+# Cada instancia de negocio reparte sus llamadas entre todas las de datos
+# (balanceo.instancias). Ctrl-C las detiene a todas.
+#
+# uso: scripts/levantar-local.sh [N] [M]    (por defecto 2 y 1)
+#
+#   PERFILES_DATOS        perfiles de data-service (dev,test); con dev todas las
+#                         instancias comparten una base H2 en archivo
+#   PERFILES_NEGOCIO      perfiles de business-service (test)
+#   PUERTO_NEGOCIO        puerto de la primera instancia de negocio (8080)
+#   PUERTO_DATOS          puerto de la primera instancia de datos (8180)
+#   OPCIONES_JVM_DATOS    opciones de la JVM de data-service
+#   OPCIONES_JVM_NEGOCIO  opciones de la JVM de business-service
+#
+# El perfil test desactiva la seguridad para que business-service pueda
+# llamar a data-service. Los logs quedan en target/local.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+source scripts/comun.sh
+
+N=${1:-2}
+M=${2:-1}
+PERFILES_DATOS=${PERFILES_DATOS:-dev,test}
+PERFILES_NEGOCIO=${PERFILES_NEGOCIO:-test}
+PUERTO_NEGOCIO=${PUERTO_NEGOCIO:-8080}
+PUERTO_DATOS=${PUERTO_DATOS:-8180}
+OPCIONES_JVM_DATOS=${OPCIONES_JVM_DATOS:--Xmx512m}
+# El cliente HTTP del JDK que usa Feign guarda solo 5 conexiones libres por destino
+OPCIONES_JVM_NEGOCIO=${OPCIONES_JVM_NEGOCIO:--Xmx256m -Dhttp.maxConnections=50}
+LOGS=target/local
+
+if [ ! -f "$(jar_empaquetado "$DATOS" 2>/dev/null)" ] || [ ! -f "$(jar_empaquetado "$NEGOCIO" 2>/dev/null)" ]; then
+  ./mvnw -B -DskipTests package
+fi
+mkdir -p "$LOGS"
+
+ARGS_DATOS=()
+if [[ ",$PERFILES_DATOS," == *,dev,* ]]; then
+  # Base H2 compartida entre procesos; el esquema se actualiza en lugar de recrearse
+  ARGS_DATOS=(--spring.datasource.url="jdbc:h2:file:./$LOGS/datos;AUTO_SERVER=TRUE"
+              --spring.jpa.hibernate.ddl-auto=update --spring.docker.compose.enabled=false)
+fi
+
+pids=()
+trap 'detener "${pids[@]}"' EXIT
+trap 'exit 130' INT TERM
+
+for ((j = 0; j < M; j++)); do
+  puerto=$((PUERTO_DATOS + j))
+  "$JAVA" $OPCIONES_JVM_DATOS -jar "$(jar_empaquetado "$DATOS")" --spring.profiles.active="$PERFILES_DATOS" \
+    --server.port="$puerto" "${ARGS_DATOS[@]}" > "$LOGS/datos-$j.log" 2>&1 &
+  pids+=($!)
+  echo "data-service $j: http://localhost:$puerto (pid $!)"
+done
+
+instancias=$(for ((j = 0; j < M; j++)); do printf 'http://localhost:%d,' $((PUERTO_DATOS + j)); done)
+instancias=${instancias%,}
+
+for ((i = 0; i < N; i++)); do
+  puerto=$((PUERTO_NEGOCIO + i))
+  "$JAVA" $OPCIONES_JVM_NEGOCIO -jar "$(jar_empaquetado "$NEGOCIO")" --spring.profiles.active="$PERFILES_NEGOCIO" \
+    --server.port="$puerto" --data.service.url="http://localhost:$PUERTO_DATOS" \
+    --balanceo.instancias="$instancias" > "$LOGS/negocio-$i.log" 2>&1 &
+  pids+=($!)
+  echo "business-service $i: http://localhost:$puerto -> $instancias (pid $!)"
+done
+
+for ((i = 0; i < N; i++)); do
+  esperar_primera_respuesta "http://localhost:$((PUERTO_NEGOCIO + i))/api/productos" "${pids[@]}"
+done
+echo "Listo: $N instancias de negocio y $M de datos. Ctrl-C para detenerlas."
+wait
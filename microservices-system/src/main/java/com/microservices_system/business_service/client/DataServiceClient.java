@@ -1,42 +0,0 @@
-package com.microservices_system.business_service.client;
-
-import com.microservices_system.business_service.dto.CategoriaDTO;
-import com.microservices_system.business_service.dto.InventarioDTO;
-import com.microservices_system.business_service.dto.ProductoDTO;
-import com.microservices_system.business_service.dto.ProductoRequest;
-import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.web.bind.annotation.*;
-
-import java.math.BigDecimal;
-import java.util.List;
-
-@FeignClient(name = "data-service", url = "${data.service.url}")
-public interface DataServiceClient {
-    @GetMapping("/data/productos")
-    List<ProductoDTO> obtenerTodosLosProductos();
-
-    @GetMapping("/data/productos/{id}")
-    ProductoDTO obtenerProductoPorId(@PathVariable Long id);
-
-    @PostMapping("/data/productos")
-    ProductoDTO crearProducto(@RequestBody ProductoRequest request);
-
-    @PutMapping("/data/productos/{id}")
-    ProductoDTO actualizarProducto(@PathVariable Long id, @RequestBody ProductoRequest request);
-
-    @DeleteMapping("/data/productos/{id}")
-    void eliminarProducto(@PathVariable Long id);
-
-    @GetMapping("/data/productos/categoria/{nombre}")
-    List<ProductoDTO> obtenerProductosPorCategoria(@PathVariable String nombre);
-
-    @GetMapping("/data/categorias")
-    List<CategoriaDTO> obtenerTodasLasCategorias();
-
-    @GetMapping("/data/inventario")
-    List<InventarioDTO> obtenerTodosLosInventarios();
-
-    @GetMapping("/data/inventario/stock-bajo")
-    List<InventarioDTO> obtenerProductosConStockBajo();
-
-}
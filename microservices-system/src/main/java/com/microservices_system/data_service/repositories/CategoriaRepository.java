@@ -1,11 +0,0 @@
-package com.microservices_system.data_service.repositories;
-
-import com.microservices_system.data_service.entity.Categoria;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.Optional;
-
-public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
-    Boolean existsByNombreIgnoreCase(String nombre);
-    Optional<Categoria> findByNombreIgnoreCase(String nombre);
-}